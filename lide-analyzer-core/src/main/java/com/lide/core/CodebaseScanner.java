@@ -1,6 +1,7 @@
 package com.lide.core;
 
 import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.fs.ScanListener;
 
 import java.nio.file.Path;
 
@@ -17,4 +18,22 @@ public interface CodebaseScanner {
      * @return {@link CodebaseIndex} containing categorized file paths
      */
     CodebaseIndex scan(Path outputDirectory);
+
+    /**
+     * Same as {@link #scan(Path)}, additionally reporting each discovered file to {@code listener}.
+     * Implementations that walk incrementally report files as they are found; this default reports them
+     * once the scan has finished.
+     *
+     * @param outputDirectory directory intended to store analysis outputs
+     * @param listener        receives discovered pages and Java sources
+     * @return {@link CodebaseIndex} containing categorized file paths
+     */
+    default CodebaseIndex scan(Path outputDirectory, ScanListener listener) {
+        CodebaseIndex index = scan(outputDirectory);
+        index.getJspFiles().forEach(listener::pageDiscovered);
+        index.getHtmlFiles().forEach(listener::pageDiscovered);
+        index.getJavaFiles().forEach(listener::javaFileDiscovered);
+        index.getScriptFiles().forEach(listener::scriptDiscovered);
+        return index;
+    }
 }
@@ -6,6 +6,7 @@ import com.lide.core.config.AnalyzerConfigLoader;
 import com.lide.core.extractors.FrameAnalyzer;
 import com.lide.core.extractors.CrossFrameInteractionExtractor;
 import com.lide.core.extractors.HiddenFieldStateExtractor;
+import com.lide.core.extractors.IncludeExtractor;
 import com.lide.core.extractors.JsRoutingExtractor;
 import com.lide.core.extractors.NavigationTargetExtractor;
 import com.lide.core.extractors.PageDependencyGraphBuilder;
@@ -19,6 +20,8 @@ import com.lide.core.java.JavaUsageAnalyzer;
 import com.lide.core.jsp.DefaultFrameAnalyzer;
 import com.lide.core.jsp.DefaultCrossFrameInteractionExtractor;
 import com.lide.core.jsp.DefaultHiddenFieldStateExtractor;
+import com.lide.core.jsp.DefaultIncludeExtractor;
+import com.lide.core.jsp.DefaultIncludeGraphBuilder;
 import com.lide.core.jsp.DefaultJspAnalyzer;
 import com.lide.core.jsp.DefaultJsRoutingExtractor;
 import com.lide.core.jsp.DefaultNavigationTargetExtractor;
@@ -27,14 +30,22 @@ import com.lide.core.jsp.DefaultUrlParameterExtractor;
 import com.lide.core.jsp.DefaultPageDependencyGraphBuilder;
 import com.lide.core.jsp.JspAnalyzer;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.pipeline.AnalysisPipeline;
 import com.lide.core.report.DefaultJsonSchemaGenerator;
 import com.lide.core.report.JsonSchemaGenerator;
 import com.lide.core.report.DefaultMigrationReportGenerator;
 import com.lide.core.report.MigrationReportGenerator;
+import com.lide.core.report.PagePackReader;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -48,6 +59,7 @@ import java.util.stream.Collectors;
 public final class LideCli {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LideCli.class);
+    private static final String CAT_COMMAND = "cat";
 
     private LideCli() {
         // Utility class
@@ -55,6 +67,10 @@ public final class LideCli {
 
     public static void main(String[] args) {
         try {
+            if (args.length > 0 && CAT_COMMAND.equals(args[0])) {
+                catPage(Arrays.copyOfRange(args, 1, args.length), System.out);
+                return;
+            }
             CliOptions options = parseArgs(args);
             AnalyzerConfig config = loadConfiguration(options);
 
@@ -62,65 +78,54 @@ public final class LideCli {
                     config.getIncludePatterns(), config.getExcludePatterns());
             JspAnalyzer jspAnalyzer = new DefaultJspAnalyzer();
             FrameAnalyzer frameAnalyzer = new DefaultFrameAnalyzer();
-            CrossFrameInteractionExtractor crossFrameInteractionExtractor = new DefaultCrossFrameInteractionExtractor();
-            NavigationTargetExtractor navigationTargetExtractor = new DefaultNavigationTargetExtractor();
-            JsRoutingExtractor jsRoutingExtractor = new DefaultJsRoutingExtractor();
+            CrossFrameInteractionExtractor crossFrameInteractionExtractor = new DefaultCrossFrameInteractionExtractor(config);
+            NavigationTargetExtractor navigationTargetExtractor = new DefaultNavigationTargetExtractor(config);
+            JsRoutingExtractor jsRoutingExtractor = new DefaultJsRoutingExtractor(config);
             HiddenFieldStateExtractor hiddenFieldStateExtractor = new DefaultHiddenFieldStateExtractor();
-            SessionUsageExtractor sessionUsageExtractor = new DefaultSessionUsageExtractor();
-            UrlParameterExtractor urlParameterExtractor = new DefaultUrlParameterExtractor();
+            SessionUsageExtractor sessionUsageExtractor = new DefaultSessionUsageExtractor(config);
+            UrlParameterExtractor urlParameterExtractor = new DefaultUrlParameterExtractor(config);
+            IncludeExtractor includeExtractor = new DefaultIncludeExtractor(config);
             PageDependencyGraphBuilder pageDependencyGraphBuilder = new DefaultPageDependencyGraphBuilder();
             JavaUsageAnalyzer javaUsageAnalyzer = new DefaultJavaUsageAnalyzer();
             JsonSchemaGenerator jsonSchemaGenerator = new DefaultJsonSchemaGenerator(config);
-            MigrationReportGenerator migrationReportGenerator = new DefaultMigrationReportGenerator();
+            MigrationReportGenerator migrationReportGenerator = new DefaultMigrationReportGenerator(config);
 
             LOGGER.info("Starting scan from {} with output {}", config.getRootDir(), config.getOutputDir());
             LOGGER.info("Include patterns: {}", config.getIncludePatterns());
             LOGGER.info("Exclude patterns: {}", config.getExcludePatterns());
 
-            CodebaseIndex index = scanner.scan(config.getOutputDir());
-            LOGGER.info("Scan complete. Total relevant files: {}", index.totalDiscoveredFiles());
-            LOGGER.info("JSP/JSPF: {}, HTML/HTM: {}, Java: {}",
-                    index.getJspFiles().size(), index.getHtmlFiles().size(), index.getJavaFiles().size());
-
-            List<PageDescriptor> pages = jspAnalyzer.analyze(config.getRootDir(), index);
-            LOGGER.info("JSP analysis generated {} page descriptors", pages.size());
-
-            frameAnalyzer.extract(config.getRootDir(), pages);
-            LOGGER.info("Frame extraction complete for {} pages", pages.size());
-
-            navigationTargetExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("Navigation extraction complete for {} pages", pages.size());
-
-            crossFrameInteractionExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("Cross-frame interaction extraction complete for {} pages", pages.size());
+            AnalysisPipeline pipeline = new AnalysisPipeline(config, scanner, jspAnalyzer, List.of(
+                    frameAnalyzer::extract,
+                    navigationTargetExtractor::extract,
+                    crossFrameInteractionExtractor::extract,
+                    jsRoutingExtractor::extract,
+                    hiddenFieldStateExtractor::extract,
+                    sessionUsageExtractor::extract,
+                    urlParameterExtractor::extract,
+                    includeExtractor::extract,
+                    pageDependencyGraphBuilder::build),
+                    new DefaultIncludeGraphBuilder(), javaUsageAnalyzer, jsonSchemaGenerator);
 
-            jsRoutingExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("JS routing extraction complete for {} pages", pages.size());
+            AnalysisPipeline.Result result = pipeline.run();
+            try (CodebaseIndex index = result.index()) {
+                LOGGER.info("Scan complete. Total relevant files: {}", index.totalDiscoveredFiles());
+                LOGGER.info("JSP/JSPF: {}, HTML/HTM: {}, Java: {}, JavaScript: {}",
+                        index.getJspFiles().size(), index.getHtmlFiles().size(), index.getJavaFiles().size(),
+                        index.getScriptFiles().size());
 
-            hiddenFieldStateExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("Hidden field extraction complete for {} pages", pages.size());
+                List<PageDescriptor> pages = result.pages();
+                JavaMetadataIndex javaMetadata = result.javaMetadata();
+                LOGGER.info("Java metadata classes: {}", javaMetadata.getClassNames().size());
+                LOGGER.info("Struts forms: {}, Struts actions: {}, Spring controllers: {}",
+                        javaMetadata.getStrutsFormClasses().size(),
+                        javaMetadata.getStrutsActionClasses().size(),
+                        javaMetadata.getControllerClasses().size());
 
-            sessionUsageExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("Session usage extraction complete for {} pages", pages.size());
+                LOGGER.info("JSON generation complete: artifacts available under {}", config.getOutputDir());
 
-            urlParameterExtractor.extract(config.getRootDir(), pages);
-            LOGGER.info("URL parameter extraction complete for {} pages", pages.size());
-
-            pageDependencyGraphBuilder.build(config.getRootDir(), pages);
-            LOGGER.info("Page dependency graph construction complete for {} pages", pages.size());
-
-            JavaMetadataIndex javaMetadata = javaUsageAnalyzer.analyze(index);
-            LOGGER.info("Java metadata classes: {}", javaMetadata.getFieldsByClass().size());
-            LOGGER.info("Struts forms: {}, Struts actions: {}, Spring controllers: {}",
-                    javaMetadata.getStrutsFormClasses().size(),
-                    javaMetadata.getStrutsActionClasses().size(),
-                    javaMetadata.getControllerClasses().size());
-
-            jsonSchemaGenerator.generate(config.getRootDir(), config.getOutputDir(), pages, javaMetadata);
-            LOGGER.info("JSON generation complete: artifacts available under {}", config.getOutputDir());
-
-            migrationReportGenerator.generate(config.getRootDir(), config.getOutputDir(), pages, javaMetadata);
-            LOGGER.info("Migration report complete: dashboard available under {}", config.getOutputDir());
+                migrationReportGenerator.generate(config.getRootDir(), config.getOutputDir(), pages, javaMetadata);
+                LOGGER.info("Migration report complete: dashboard available under {}", config.getOutputDir());
+            }
         } catch (Exception ex) {
             LOGGER.error("Scan failed: {}", ex.getMessage(), ex);
             System.exit(1);
@@ -130,7 +135,8 @@ public final class LideCli {
     private static AnalyzerConfig loadConfiguration(CliOptions options) {
         AnalyzerConfig config = AnalyzerConfigLoader.load(options.configPath());
         config = config.applyCliOverrides(options.rootDir(), options.outputDir(),
-                options.includePatterns(), options.excludePatterns());
+                options.includePatterns(), options.excludePatterns(), options.outputFormat(),
+                options.deterministicOutput());
         config.normalize();
         return config;
     }
@@ -141,6 +147,8 @@ public final class LideCli {
         List<String> include = new ArrayList<>();
         List<String> exclude = new ArrayList<>();
         Path configPath = null;
+        AnalyzerConfig.OutputFormat outputFormat = null;
+        Boolean deterministicOutput = null;
 
         for (int i = 0; i < args.length; i++) {
             String arg = args[i];
@@ -159,6 +167,10 @@ public final class LideCli {
                         exclude.addAll(parsePatterns(value));
                     } else if ("config".equals(name)) {
                         configPath = Paths.get(value);
+                    } else if ("output-format".equals(name) || "outputFormat".equals(name)) {
+                        outputFormat = AnalyzerConfig.OutputFormat.fromValue(value);
+                    } else if ("deterministic".equals(name)) {
+                        deterministicOutput = parseBoolean(name, value);
                     } else {
                         throw new IllegalArgumentException("Unknown option --" + name);
                     }
@@ -181,7 +193,92 @@ public final class LideCli {
 
         Path normalizedRoot = rootDir == null ? null : rootDir.normalize();
         Path normalizedOutput = outputDir == null ? null : outputDir.normalize();
-        return new CliOptions(normalizedRoot, normalizedOutput, List.copyOf(include), List.copyOf(exclude), configPath);
+        return new CliOptions(normalizedRoot, normalizedOutput, List.copyOf(include), List.copyOf(exclude), configPath,
+                outputFormat, deterministicOutput);
+    }
+
+    private static Boolean parseBoolean(String name, String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Option --" + name + " expects true or false but was " + value);
+    }
+
+    /**
+     * Writes the stored JSON document for one page to {@code out}, reading from the pack when the summary says the
+     * run wrote one (or, without a summary, when one exists).
+     */
+    static void catPage(String[] args, OutputStream out) throws IOException {
+        Path outputDir = null;
+        Path configPath = null;
+        String pageId = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                if (pageId != null) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                pageId = arg;
+                continue;
+            }
+            String[] split = splitArg(arg, args, i);
+            if (split == null) {
+                throw new IllegalArgumentException("Option " + arg + " requires a value");
+            }
+            if ("outputDir".equals(split[0])) {
+                outputDir = Paths.get(split[1]);
+            } else if ("config".equals(split[0])) {
+                configPath = Paths.get(split[1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + split[0]);
+            }
+            if (!arg.contains("=")) {
+                i++;
+            }
+        }
+        if (pageId == null) {
+            throw new IllegalArgumentException("Usage: lide cat [--outputDir=<path>] <pageId>");
+        }
+        if (outputDir == null) {
+            outputDir = AnalyzerConfigLoader.load(configPath).getOutputDir();
+        }
+
+        Path summaryPath = outputDir.resolve("summary.json");
+        JsonNode summary = Files.isRegularFile(summaryPath) ? new ObjectMapper().readTree(summaryPath.toFile()) : null;
+        boolean packed = summary != null
+                ? AnalyzerConfig.OutputFormat.PACK.toValue().equals(summary.path("outputFormat").asText(null))
+                : PagePackReader.exists(outputDir);
+
+        if (packed) {
+            try (PagePackReader reader = PagePackReader.open(outputDir)) {
+                if (!reader.transferTo(pageId, Channels.newChannel(out))) {
+                    throw new IllegalArgumentException("Page not found in pack: " + pageId);
+                }
+            }
+            out.write('\n');
+            out.flush();
+            return;
+        }
+
+        if (summary == null) {
+            throw new IllegalArgumentException("No analyzer output found under " + outputDir);
+        }
+        for (JsonNode entry : summary.path("pages")) {
+            if (pageId.equals(entry.path("pageId").asText(null))) {
+                Path document = outputDir.resolve(entry.path("output").asText()).normalize();
+                if (!document.startsWith(outputDir.normalize())) {
+                    throw new IllegalArgumentException("Page output escapes " + outputDir + ": " + pageId);
+                }
+                Files.copy(document, out);
+                out.flush();
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Page not found in summary: " + pageId);
     }
 
     private static List<String> parsePatterns(String value) {
@@ -211,7 +308,9 @@ public final class LideCli {
     private static void printUsage() {
         String usage = "Usage: java -jar lide-analyzer-core.jar [--config=<file>] "
                 + "[--rootDir=<path>] [--outputDir=<path>] "
-                + "[--include=glob1,glob2] [--exclude=glob3,glob4]";
+                + "[--include=glob1,glob2] [--exclude=glob3,glob4] [--output-format=files|pack] [--deterministic=true|false]"
+                + System.lineSeparator()
+                + "       java -jar lide-analyzer-core.jar cat [--outputDir=<path>] <pageId>";
         LOGGER.info(usage);
     }
 
@@ -219,15 +318,13 @@ public final class LideCli {
                       Path outputDir,
                       List<String> includePatterns,
                       List<String> excludePatterns,
-                      Path configPath) {
+                      Path configPath,
+                      AnalyzerConfig.OutputFormat outputFormat,
+                      Boolean deterministicOutput) {
         CliOptions {
             includePatterns = includePatterns == null ? List.of() : List.copyOf(includePatterns);
             excludePatterns = excludePatterns == null ? List.of() : List.copyOf(excludePatterns);
-            this.rootDir = rootDir;
-            this.outputDir = outputDir;
-            this.includePatterns = includePatterns;
-            this.excludePatterns = excludePatterns;
-            this.configPath = configPath == null ? null : configPath.normalize();
+            configPath = configPath == null ? null : configPath.normalize();
         }
     }
 }
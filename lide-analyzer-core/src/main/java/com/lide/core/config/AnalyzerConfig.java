@@ -1,16 +1,23 @@
 package com.lide.core.config;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Configuration object controlling how the analyzer scans the filesystem and maps pages to Java assets.
  */
 public class AnalyzerConfig {
 
+    public static final long DEFAULT_PAGE_TIME_BUDGET_MILLIS = 30_000L;
+    public static final long DEFAULT_LARGE_FILE_THRESHOLD_BYTES = 2L * 1024 * 1024;
+
     private Path rootDir;
     private Path outputDir;
     private List<String> includePatterns;
@@ -18,6 +25,11 @@ public class AnalyzerConfig {
     private List<String> strutsActionPackages;
     private List<String> springControllerPackages;
     private NamingConventions namingConventions;
+    private OutputFormat outputFormat;
+    private Boolean deterministicOutput;
+    private Long pageTimeBudgetMillis;
+    private Long largeFileThresholdBytes;
+    private Integer workerThreads;
 
     public AnalyzerConfig() {
         // default constructor for Jackson
@@ -32,6 +44,11 @@ public class AnalyzerConfig {
         config.setStrutsActionPackages(List.of());
         config.setSpringControllerPackages(List.of());
         config.setNamingConventions(NamingConventions.defaultConfig());
+        config.setOutputFormat(OutputFormat.FILES);
+        config.setDeterministicOutput(Boolean.FALSE);
+        config.setPageTimeBudgetMillis(DEFAULT_PAGE_TIME_BUDGET_MILLIS);
+        config.setLargeFileThresholdBytes(DEFAULT_LARGE_FILE_THRESHOLD_BYTES);
+        config.setWorkerThreads(0);
         return config;
     }
 
@@ -61,13 +78,30 @@ public class AnalyzerConfig {
         if (override.getNamingConventions() != null) {
             merged.setNamingConventions(merged.getNamingConventions().merge(override.getNamingConventions()));
         }
+        if (override.getOutputFormat() != null) {
+            merged.setOutputFormat(override.getOutputFormat());
+        }
+        if (override.getDeterministicOutput() != null) {
+            merged.setDeterministicOutput(override.getDeterministicOutput());
+        }
+        if (override.getPageTimeBudgetMillis() != null) {
+            merged.setPageTimeBudgetMillis(override.getPageTimeBudgetMillis());
+        }
+        if (override.getLargeFileThresholdBytes() != null) {
+            merged.setLargeFileThresholdBytes(override.getLargeFileThresholdBytes());
+        }
+        if (override.getWorkerThreads() != null) {
+            merged.setWorkerThreads(override.getWorkerThreads());
+        }
         return merged;
     }
 
     public AnalyzerConfig applyCliOverrides(Path rootDirOverride,
                                             Path outputDirOverride,
                                             List<String> includeOverride,
-                                            List<String> excludeOverride) {
+                                            List<String> excludeOverride,
+                                            OutputFormat outputFormatOverride,
+                                            Boolean deterministicOutputOverride) {
         AnalyzerConfig merged = copy();
         if (rootDirOverride != null) {
             merged.setRootDir(rootDirOverride);
@@ -81,6 +115,12 @@ public class AnalyzerConfig {
         if (excludeOverride != null && !excludeOverride.isEmpty()) {
             merged.setExcludePatterns(excludeOverride);
         }
+        if (outputFormatOverride != null) {
+            merged.setOutputFormat(outputFormatOverride);
+        }
+        if (deterministicOutputOverride != null) {
+            merged.setDeterministicOutput(deterministicOutputOverride);
+        }
         return merged;
     }
 
@@ -100,6 +140,21 @@ public class AnalyzerConfig {
         } else {
             namingConventions = namingConventions.normalize();
         }
+        if (outputFormat == null) {
+            outputFormat = OutputFormat.FILES;
+        }
+        if (deterministicOutput == null) {
+            deterministicOutput = Boolean.FALSE;
+        }
+        if (pageTimeBudgetMillis == null) {
+            pageTimeBudgetMillis = DEFAULT_PAGE_TIME_BUDGET_MILLIS;
+        }
+        if (largeFileThresholdBytes == null || largeFileThresholdBytes <= 0) {
+            largeFileThresholdBytes = DEFAULT_LARGE_FILE_THRESHOLD_BYTES;
+        }
+        if (workerThreads == null || workerThreads < 0) {
+            workerThreads = 0;
+        }
     }
 
     private AnalyzerConfig copy() {
@@ -111,6 +166,11 @@ public class AnalyzerConfig {
         copy.setStrutsActionPackages(strutsActionPackages);
         copy.setSpringControllerPackages(springControllerPackages);
         copy.setNamingConventions(namingConventions);
+        copy.setOutputFormat(outputFormat);
+        copy.setDeterministicOutput(deterministicOutput);
+        copy.setPageTimeBudgetMillis(pageTimeBudgetMillis);
+        copy.setLargeFileThresholdBytes(largeFileThresholdBytes);
+        copy.setWorkerThreads(workerThreads);
         return copy;
     }
 
@@ -186,6 +246,86 @@ public class AnalyzerConfig {
         this.namingConventions = namingConventions;
     }
 
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    /**
+     * When {@code true}, run timestamps are omitted so that re-analyzing unchanged sources yields identical bytes.
+     */
+    public Boolean getDeterministicOutput() {
+        return deterministicOutput;
+    }
+
+    public void setDeterministicOutput(Boolean deterministicOutput) {
+        this.deterministicOutput = deterministicOutput;
+    }
+
+    /**
+     * Wall-clock time each extractor may spend scanning one page before it stops and marks the page as
+     * partially analyzed. Zero or a negative value disables the budget.
+     */
+    public Long getPageTimeBudgetMillis() {
+        return pageTimeBudgetMillis;
+    }
+
+    public void setPageTimeBudgetMillis(Long pageTimeBudgetMillis) {
+        this.pageTimeBudgetMillis = pageTimeBudgetMillis;
+    }
+
+    /**
+     * Pages larger than this are scanned by the regex extractors in overlapping windows. Despite the name, which
+     * is kept for existing configuration files, the threshold is compared against the page's decoded characters,
+     * not its size on disk.
+     */
+    public Long getLargeFileThresholdBytes() {
+        return largeFileThresholdBytes;
+    }
+
+    public void setLargeFileThresholdBytes(Long largeFileThresholdBytes) {
+        this.largeFileThresholdBytes = largeFileThresholdBytes;
+    }
+
+    /**
+     * Number of threads analyzing pages concurrently; zero uses one per available processor.
+     */
+    public Integer getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(Integer workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Layout of the per-page JSON artifacts: one file per page, or a single indexed pack.
+     */
+    public enum OutputFormat {
+        FILES,
+        PACK;
+
+        @JsonCreator
+        public static OutputFormat fromValue(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return OutputFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported output format: " + value, ex);
+            }
+        }
+
+        @JsonValue
+        public String toValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
     public static final class NamingConventions {
         private List<String> jspToControllerPatterns;
         private List<String> formBeanSuffixes;
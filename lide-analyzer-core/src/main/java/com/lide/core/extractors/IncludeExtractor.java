@@ -0,0 +1,20 @@
+package com.lide.core.extractors;
+
+import com.lide.core.model.PageDescriptor;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Extracts static includes, {@code <jsp:include>} and {@code <c:import>} references from JSP pages.
+ */
+public interface IncludeExtractor {
+
+    /**
+     * Enriches the provided page descriptors with the include references found in their source.
+     *
+     * @param rootDir base directory for resolving relative paths
+     * @param pages   page descriptors to enrich
+     */
+    void extract(Path rootDir, List<PageDescriptor> pages);
+}
@@ -0,0 +1,23 @@
+package com.lide.core.extractors;
+
+import com.lide.core.model.IncludeMetrics;
+import com.lide.core.model.PageDescriptor;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resolves include references between analyzed pages and folds included fragments into the pages using them.
+ */
+public interface IncludeGraphBuilder {
+
+    /**
+     * Resolves every page's include references against the other pages and merges the findings of the included
+     * fragments, transitively, into each including page.
+     *
+     * @param rootDir codebase root used to resolve relative paths
+     * @param pages   every analyzed page; include targets are looked up among them
+     * @return resolution counts, cycles and per-fragment reuse
+     */
+    IncludeMetrics build(Path rootDir, List<PageDescriptor> pages);
+}
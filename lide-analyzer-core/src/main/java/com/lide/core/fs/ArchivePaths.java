@@ -0,0 +1,82 @@
+package com.lide.core.fs;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recognizes deployable archives and gives paths inside opened archives a stable, readable form.
+ * <p>
+ * Entries of the scanned archive are described relative to its root ({@code WEB-INF/views/home.jsp}); entries of
+ * archives nested inside it are prefixed with the nested archive's own location ({@code web.war/index.jsp}),
+ * matching the layout of the exploded deployment.
+ * </p>
+ */
+public final class ArchivePaths {
+
+    private static final List<String> ARCHIVE_EXTENSIONS = List.of(".war", ".ear", ".jar", ".zip");
+    private static final List<String> APPLICATION_EXTENSIONS = List.of(".war", ".ear");
+    private static final Map<FileSystem, String> PREFIXES = new ConcurrentHashMap<>();
+
+    private ArchivePaths() {
+    }
+
+    public static boolean hasArchiveExtension(Path path) {
+        return hasExtension(path, ARCHIVE_EXTENSIONS);
+    }
+
+    /**
+     * Whether the path names a deployable web or enterprise application (WAR, EAR) rather than a library archive.
+     */
+    public static boolean isApplicationArchive(Path path) {
+        return hasExtension(path, APPLICATION_EXTENSIONS);
+    }
+
+    private static boolean hasExtension(Path path, List<String> extensions) {
+        Path fileName = path.getFileName();
+        if (fileName == null) {
+            return false;
+        }
+        String name = fileName.toString().toLowerCase(Locale.ROOT);
+        for (String extension : extensions) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isArchive(Path path) {
+        return hasArchiveExtension(path) && Files.isRegularFile(path);
+    }
+
+    /**
+     * Returns the archive-relative form of a path inside an opened archive, or {@link Path#toString()} otherwise.
+     */
+    public static String describe(Path path) {
+        String prefix = PREFIXES.get(path.getFileSystem());
+        if (prefix == null) {
+            return path.toString();
+        }
+        String entry = path.toAbsolutePath().normalize().toString();
+        while (entry.startsWith("/")) {
+            entry = entry.substring(1);
+        }
+        if (prefix.isEmpty()) {
+            return entry;
+        }
+        return entry.isEmpty() ? prefix : prefix + "/" + entry;
+    }
+
+    static void register(FileSystem fileSystem, String prefix) {
+        PREFIXES.put(fileSystem, prefix);
+    }
+
+    static void unregister(FileSystem fileSystem) {
+        PREFIXES.remove(fileSystem);
+    }
+}
@@ -0,0 +1,55 @@
+package com.lide.core.fs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link CharSequence} over single-byte (ISO-8859-1 or ASCII) content, decoding each byte on access.
+ * <p>
+ * Backed directly by the (possibly memory-mapped) buffer the file was loaded into, so regex scanning does not
+ * need a decoded copy of the page. Only {@link #toString()} materializes a {@link String}.
+ * </p>
+ */
+final class ByteCharSequence implements CharSequence {
+
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    ByteCharSequence(ByteBuffer bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.limit()) {
+            throw new IndexOutOfBoundsException("[" + offset + ", " + (offset + length) + ")");
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("[" + start + ", " + end + ")");
+        }
+        return new ByteCharSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        byte[] copy = new byte[length];
+        bytes.get(offset, copy);
+        return new String(copy, StandardCharsets.ISO_8859_1);
+    }
+}
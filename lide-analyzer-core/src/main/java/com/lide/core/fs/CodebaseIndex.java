@@ -1,5 +1,11 @@
 package com.lide.core.fs;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystem;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -7,12 +13,22 @@ import java.util.List;
 
 /**
  * Mutable index of files discovered within a legacy codebase scan.
+ * <p>
+ * When the codebase is an archive, the indexed paths belong to the archive file systems opened for the scan. The
+ * index owns those file systems and they stay readable until it is closed.
+ * </p>
  */
-public final class CodebaseIndex {
+public final class CodebaseIndex implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodebaseIndex.class);
 
     private final List<Path> jspFiles = new ArrayList<>();
     private final List<Path> htmlFiles = new ArrayList<>();
     private final List<Path> javaFiles = new ArrayList<>();
+    private final List<Path> scriptFiles = new ArrayList<>();
+    private final List<Path> strutsConfigFiles = new ArrayList<>();
+    private final List<Path> webXmlFiles = new ArrayList<>();
+    private final List<FileSystem> archives = new ArrayList<>();
 
     public void addJspFile(Path path) {
         jspFiles.add(path);
@@ -26,6 +42,18 @@ public final class CodebaseIndex {
         javaFiles.add(path);
     }
 
+    public void addScriptFile(Path path) {
+        scriptFiles.add(path);
+    }
+
+    public void addStrutsConfigFile(Path path) {
+        strutsConfigFiles.add(path);
+    }
+
+    public void addWebXmlFile(Path path) {
+        webXmlFiles.add(path);
+    }
+
     public List<Path> getJspFiles() {
         return Collections.unmodifiableList(jspFiles);
     }
@@ -38,7 +66,51 @@ public final class CodebaseIndex {
         return Collections.unmodifiableList(javaFiles);
     }
 
+    /**
+     * Returns the external JavaScript ({@code .js}) assets pages may load through {@code <script src=...>}.
+     */
+    public List<Path> getScriptFiles() {
+        return Collections.unmodifiableList(scriptFiles);
+    }
+
+    /**
+     * Returns the Struts 1 configuration files ({@code struts-config*.xml}) in discovery order.
+     */
+    public List<Path> getStrutsConfigFiles() {
+        return Collections.unmodifiableList(strutsConfigFiles);
+    }
+
+    /**
+     * Returns the deployment descriptors ({@code web.xml}) in discovery order.
+     */
+    public List<Path> getWebXmlFiles() {
+        return Collections.unmodifiableList(webXmlFiles);
+    }
+
     public int totalDiscoveredFiles() {
-        return jspFiles.size() + htmlFiles.size() + javaFiles.size();
+        return jspFiles.size() + htmlFiles.size() + javaFiles.size() + scriptFiles.size() + strutsConfigFiles.size()
+                + webXmlFiles.size();
+    }
+
+    void addArchive(FileSystem archive, String prefix) {
+        ArchivePaths.register(archive, prefix);
+        archives.add(archive);
+    }
+
+    /**
+     * Closes the archive file systems opened for the scan, innermost first.
+     */
+    @Override
+    public void close() {
+        for (int i = archives.size() - 1; i >= 0; i--) {
+            FileSystem archive = archives.get(i);
+            ArchivePaths.unregister(archive);
+            try {
+                archive.close();
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to close archive {}: {}", archive, ex.getMessage());
+            }
+        }
+        archives.clear();
     }
 }
@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -20,10 +22,17 @@ import java.util.stream.Collectors;
 
 /**
  * Default {@link CodebaseScanner} implementation backed by {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)}.
+ * <p>
+ * The root may also be a WAR, EAR, JAR or ZIP archive. It is walked through a zip {@link FileSystem} without
+ * extracting anything to disk, descending into the WARs and EARs nested inside it (a WAR inside an EAR, for
+ * example). Library JARs and ZIPs inside an archive, such as {@code WEB-INF/lib/*.jar}, are not opened.
+ * A {@link ScanListener} is told about each file as soon as the walk reaches it.
+ * </p>
  */
 public class DefaultCodebaseScanner implements CodebaseScanner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodebaseScanner.class);
+    private static final int MAX_ARCHIVE_DEPTH = 4;
 
     private final Path rootDir;
     private final List<String> includePatterns;
@@ -37,6 +46,12 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
 
     @Override
     public CodebaseIndex scan(Path outputDirectory) {
+        return scan(outputDirectory, ScanListener.NONE);
+    }
+
+    @Override
+    public CodebaseIndex scan(Path outputDirectory, ScanListener listener) {
+        Objects.requireNonNull(listener, "listener");
         validateRootDirectory();
         validateOutputDirectory(outputDirectory);
 
@@ -46,24 +61,45 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
         List<PathMatcher> excludeMatchers = compileMatchers(excludePatterns);
 
         try {
-            Files.walkFileTree(rootDir, new ScanningFileVisitor(rootDir, index, includeMatchers, excludeMatchers));
+            if (ArchivePaths.isArchive(rootDir)) {
+                FileSystem archive = FileSystems.newFileSystem(rootDir);
+                index.addArchive(archive, "");
+                walk(archive.getPath("/"), "", 1, index, listener, includeMatchers, excludeMatchers);
+            } else {
+                walk(rootDir, "", 0, index, listener, includeMatchers, excludeMatchers);
+            }
         } catch (IOException e) {
+            index.close();
             throw new IllegalStateException("Failed to traverse codebase at " + rootDir, e);
+        } catch (RuntimeException e) {
+            index.close();
+            throw e;
         }
 
         LOGGER.info("Scanned {} files from {}", index.totalDiscoveredFiles(), rootDir);
-        LOGGER.info("Discovered {} JSP, {} HTML, {} Java files", index.getJspFiles().size(),
-                index.getHtmlFiles().size(), index.getJavaFiles().size());
+        LOGGER.info("Discovered {} JSP, {} HTML, {} Java, {} JavaScript files", index.getJspFiles().size(),
+                index.getHtmlFiles().size(), index.getJavaFiles().size(), index.getScriptFiles().size());
 
         return index;
     }
 
+    private static void walk(Path start,
+                             String prefix,
+                             int archiveDepth,
+                             CodebaseIndex index,
+                             ScanListener listener,
+                             List<PathMatcher> includeMatchers,
+                             List<PathMatcher> excludeMatchers) throws IOException {
+        Files.walkFileTree(start,
+                new ScanningFileVisitor(start, prefix, archiveDepth, index, listener, includeMatchers, excludeMatchers));
+    }
+
     private void validateRootDirectory() {
         if (!Files.exists(rootDir)) {
             throw new IllegalArgumentException("Root directory does not exist: " + rootDir);
         }
-        if (!Files.isDirectory(rootDir)) {
-            throw new IllegalArgumentException("Root path is not a directory: " + rootDir);
+        if (!Files.isDirectory(rootDir) && !ArchivePaths.isArchive(rootDir)) {
+            throw new IllegalArgumentException("Root path is not a directory or archive: " + rootDir);
         }
     }
 
@@ -91,16 +127,25 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
     private static final class ScanningFileVisitor extends SimpleFileVisitor<Path> {
 
         private final Path rootDir;
+        private final String prefix;
+        private final int archiveDepth;
         private final CodebaseIndex index;
+        private final ScanListener listener;
         private final List<PathMatcher> includeMatchers;
         private final List<PathMatcher> excludeMatchers;
 
         private ScanningFileVisitor(Path rootDir,
+                                    String prefix,
+                                    int archiveDepth,
                                     CodebaseIndex index,
+                                    ScanListener listener,
                                     List<PathMatcher> includeMatchers,
                                     List<PathMatcher> excludeMatchers) {
             this.rootDir = rootDir;
+            this.prefix = prefix;
+            this.archiveDepth = archiveDepth;
             this.index = index;
+            this.listener = listener;
             this.includeMatchers = includeMatchers;
             this.excludeMatchers = excludeMatchers;
         }
@@ -122,14 +167,41 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
             String lowerName = file.getFileName().toString().toLowerCase(Locale.ROOT);
             if (lowerName.endsWith(".jsp") || lowerName.endsWith(".jspf")) {
                 index.addJspFile(file);
+                listener.pageDiscovered(file);
             } else if (lowerName.endsWith(".html") || lowerName.endsWith(".htm")) {
                 index.addHtmlFile(file);
+                listener.pageDiscovered(file);
             } else if (lowerName.endsWith(".java")) {
                 index.addJavaFile(file);
+                listener.javaFileDiscovered(file);
+            } else if (lowerName.endsWith(".js")) {
+                index.addScriptFile(file);
+                listener.scriptDiscovered(file);
+            } else if (lowerName.startsWith("struts-config") && lowerName.endsWith(".xml")) {
+                index.addStrutsConfigFile(file);
+            } else if (lowerName.equals("web.xml")) {
+                index.addWebXmlFile(file);
+            } else if (archiveDepth > 0 && ArchivePaths.isApplicationArchive(file)) {
+                scanNestedArchive(file);
             }
             return FileVisitResult.CONTINUE;
         }
 
+        private void scanNestedArchive(Path file) {
+            if (archiveDepth >= MAX_ARCHIVE_DEPTH) {
+                LOGGER.warn("Skipping archive {} nested deeper than {} levels", ArchivePaths.describe(file), MAX_ARCHIVE_DEPTH);
+                return;
+            }
+            String nestedPrefix = ArchivePaths.describe(file);
+            try {
+                FileSystem nested = FileSystems.newFileSystem(file);
+                index.addArchive(nested, nestedPrefix);
+                walk(nested.getPath("/"), nestedPrefix, archiveDepth + 1, index, listener, includeMatchers, excludeMatchers);
+            } catch (IOException | RuntimeException ex) {
+                LOGGER.warn("Failed to read nested archive {}: {}", nestedPrefix, ex.getMessage());
+            }
+        }
+
         @Override
         public FileVisitResult visitFileFailed(Path file, IOException exc) {
             LOGGER.warn("Failed to access {}: {}", file, exc.getMessage());
@@ -145,7 +217,7 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
         }
 
         private boolean shouldInclude(Path path) {
-            Path relative = rootDir.relativize(path);
+            Path relative = relativize(path);
             if (matches(relative, excludeMatchers, false)) {
                 return false;
             }
@@ -156,10 +228,22 @@ public class DefaultCodebaseScanner implements CodebaseScanner {
         }
 
         private boolean shouldExclude(Path dir) {
-            Path relative = rootDir.relativize(dir);
+            Path relative = relativize(dir);
             return matches(relative, excludeMatchers, true);
         }
 
+        /**
+         * Path relative to the scan root; inside nested archives it starts with the archive's own location so
+         * include and exclude globs see the exploded layout.
+         */
+        private Path relativize(Path path) {
+            Path relative = rootDir.relativize(path);
+            if (prefix.isEmpty()) {
+                return relative;
+            }
+            return Path.of(prefix, relative.toString());
+        }
+
         private boolean matches(Path relative, List<PathMatcher> matchers, boolean directory) {
             for (PathMatcher matcher : matchers) {
                 if (matcher.matches(relative)) {
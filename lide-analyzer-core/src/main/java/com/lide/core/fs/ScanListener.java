@@ -0,0 +1,30 @@
+package com.lide.core.fs;
+
+import java.nio.file.Path;
+
+/**
+ * Notified on the scanning thread as relevant files are discovered, before the scan as a whole completes.
+ */
+public interface ScanListener {
+
+    ScanListener NONE = new ScanListener() {
+    };
+
+    /**
+     * Called for each JSP, JSPF, HTML or HTM page added to the index.
+     */
+    default void pageDiscovered(Path page) {
+    }
+
+    /**
+     * Called for each Java source file added to the index.
+     */
+    default void javaFileDiscovered(Path javaFile) {
+    }
+
+    /**
+     * Called for each JavaScript asset added to the index.
+     */
+    default void scriptDiscovered(Path script) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.lide.core.fs;
+
+import com.lide.core.model.SourceText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads page sources with their declared or detected charset from a single read of the file.
+ * <p>
+ * Larger files are memory-mapped; entries of archives opened by the scanner are streamed into a heap buffer.
+ * The charset comes from a byte order mark, then a {@code pageEncoding} or {@code contentType} charset in a page
+ * directive, both found by scanning the loaded bytes. Without either,
+ * UTF-8 is tried and pages that are not valid UTF-8 fall back to ISO-8859-1 instead of failing to load.
+ * ISO-8859-1 and pure ASCII content is exposed as a zero-copy {@link CharSequence} over the loaded bytes;
+ * any other content is decoded into a {@link String}.
+ * </p>
+ */
+public final class SourceFiles {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourceFiles.class);
+
+    /**
+     * Files smaller than this are read onto the heap; mapping them costs more than it saves.
+     */
+    static final long MAP_THRESHOLD = 64 * 1024;
+
+    private static final Pattern PAGE_ENCODING_PATTERN = Pattern.compile(
+            "<%@\\s*page\\b[^%]*?\\bpageEncoding\\s*=\\s*[\"']\\s*([\\w.:-]+)\\s*[\"']", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CONTENT_TYPE_CHARSET_PATTERN = Pattern.compile(
+            "<%@\\s*page\\b[^%]*?\\bcontentType\\s*=\\s*[\"'][^\"']*?charset\\s*=\\s*([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+
+    private SourceFiles() {
+    }
+
+    public static SourceText read(String id, Path path) throws IOException {
+        Objects.requireNonNull(path, "path");
+        return decode(id, load(path));
+    }
+
+    static SourceText decode(String id, ByteBuffer bytes) {
+        int limit = bytes.limit();
+        Charset bomCharset = bomCharset(bytes);
+        if (bomCharset != null) {
+            int bomLength = StandardCharsets.UTF_8.equals(bomCharset) ? 3 : 2;
+            return new SourceText(id, bomCharset.decode(bytes.slice(bomLength, limit - bomLength)).toString());
+        }
+
+        Charset declared = declaredCharset(id, new ByteCharSequence(bytes, 0, limit));
+        if (declared == null || StandardCharsets.UTF_8.equals(declared)) {
+            if (isAscii(bytes)) {
+                return new SourceText(id, new ByteCharSequence(bytes, 0, limit));
+            }
+            try {
+                return new SourceText(id, StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(bytes.duplicate())
+                        .toString());
+            } catch (CharacterCodingException ex) {
+                LOGGER.debug("Source {} is not valid UTF-8; reading it as ISO-8859-1", id);
+                return new SourceText(id, new ByteCharSequence(bytes, 0, limit));
+            }
+        }
+        if (StandardCharsets.ISO_8859_1.equals(declared) || StandardCharsets.US_ASCII.equals(declared)) {
+            return new SourceText(id, new ByteCharSequence(bytes, 0, limit));
+        }
+        CharBuffer decoded = declared.decode(bytes.duplicate());
+        return new SourceText(id, decoded.toString());
+    }
+
+    private static ByteBuffer load(Path path) throws IOException {
+        if (path.getFileSystem() != FileSystems.getDefault()) {
+            // Archive entries cannot be mapped; stream them straight into the buffer instead.
+            try (InputStream in = Files.newInputStream(path)) {
+                return ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Source file too large: " + path);
+            }
+            if (size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    private static Charset bomCharset(ByteBuffer bytes) {
+        int limit = bytes.limit();
+        if (limit >= 3 && (bytes.get(0) & 0xFF) == 0xEF && (bytes.get(1) & 0xFF) == 0xBB && (bytes.get(2) & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (limit >= 2) {
+            int first = bytes.get(0) & 0xFF;
+            int second = bytes.get(1) & 0xFF;
+            if (first == 0xFE && second == 0xFF) {
+                return StandardCharsets.UTF_16BE;
+            }
+            if (first == 0xFF && second == 0xFE) {
+                return StandardCharsets.UTF_16LE;
+            }
+        }
+        return null;
+    }
+
+    private static Charset declaredCharset(String id, CharSequence content) {
+        String name = firstGroup(PAGE_ENCODING_PATTERN.matcher(content));
+        if (name == null) {
+            name = firstGroup(CONTENT_TYPE_CHARSET_PATTERN.matcher(content));
+        }
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Charset.forName(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            LOGGER.debug("Ignoring unsupported charset {} declared by {}", name, id);
+            return null;
+        }
+    }
+
+    private static String firstGroup(Matcher matcher) {
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static boolean isAscii(ByteBuffer bytes) {
+        for (int i = 0, limit = bytes.limit(); i < limit; i++) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package com.lide.core.java;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Field metadata per class, parsed from source the first time a class is asked for.
+ * <p>
+ * Each source file is parsed at most once, whichever thread asks first; other threads asking for a class in the
+ * same file wait for that parse. A class's fields are its own followed by those of its source superclasses,
+ * nearest first, that it does not redeclare; the merged list is memoized per class. An index built from metadata
+ * already in hand ({@link #of(Map)}) never parses anything.
+ * </p>
+ */
+final class ClassFields {
+
+    private final Set<String> classNames;
+    private final Map<String, Path> sourceFiles;
+    private final ClassHierarchy hierarchy;
+    private final Function<Path, Map<String, List<JavaFieldMetadata>>> parser;
+    private final Map<Path, SourceFile> files = new ConcurrentHashMap<>();
+    private final Map<String, List<JavaFieldMetadata>> fieldsByClass = new ConcurrentHashMap<>();
+    private final AtomicInteger parsedFiles = new AtomicInteger();
+    private final int preparsedFiles;
+
+    /**
+     * @param classNames  every class in the sources, in discovery order
+     * @param sourceFiles the file declaring each class
+     * @param parser      parses a file into the fields each of its classes declares
+     * @param parsed      files already parsed, whose results are reused
+     */
+    ClassFields(Set<String> classNames,
+                Map<String, Path> sourceFiles,
+                ClassHierarchy hierarchy,
+                Function<Path, Map<String, List<JavaFieldMetadata>>> parser,
+                Map<Path, Map<String, List<JavaFieldMetadata>>> parsed) {
+        this.classNames = Collections.unmodifiableSet(new LinkedHashSet<>(classNames));
+        this.sourceFiles = Map.copyOf(sourceFiles);
+        this.hierarchy = hierarchy;
+        this.parser = parser;
+        this.preparsedFiles = parsed.size();
+        for (Map.Entry<Path, Map<String, List<JavaFieldMetadata>>> entry : parsed.entrySet()) {
+            files.put(entry.getKey(), new SourceFile(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Wraps metadata that is already complete, inherited fields included.
+     */
+    static ClassFields of(Map<String, List<JavaFieldMetadata>> fieldsByClass) {
+        ClassFields fields = new ClassFields(fieldsByClass.keySet(), Map.of(), null, path -> Map.of(), Map.of());
+        for (Map.Entry<String, List<JavaFieldMetadata>> entry : fieldsByClass.entrySet()) {
+            fields.fieldsByClass.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        return fields;
+    }
+
+    Set<String> classNames() {
+        return classNames;
+    }
+
+    List<JavaFieldMetadata> fields(String className) {
+        if (className == null) {
+            return List.of();
+        }
+        List<JavaFieldMetadata> cached = fieldsByClass.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        if (!sourceFiles.containsKey(className)) {
+            return List.of();
+        }
+        List<JavaFieldMetadata> own = declaredFields(className);
+        List<String> superclasses = hierarchy == null ? List.of() : hierarchy.sourceSuperclasses(className);
+        List<JavaFieldMetadata> fields = own;
+        if (!superclasses.isEmpty()) {
+            fields = new ArrayList<>(own);
+            Set<String> names = new HashSet<>();
+            for (JavaFieldMetadata field : own) {
+                names.add(field.getFieldName());
+            }
+            for (String superclass : superclasses) {
+                for (JavaFieldMetadata field : declaredFields(superclass)) {
+                    if (names.add(field.getFieldName())) {
+                        fields.add(field);
+                    }
+                }
+            }
+        }
+        List<JavaFieldMetadata> previous = fieldsByClass.putIfAbsent(className, List.copyOf(fields));
+        return previous != null ? previous : fieldsByClass.get(className);
+    }
+
+    /**
+     * Returns every class with field metadata, parsing whatever has not been parsed yet.
+     */
+    Map<String, List<JavaFieldMetadata>> all() {
+        Map<String, List<JavaFieldMetadata>> all = new LinkedHashMap<>();
+        for (String className : classNames) {
+            List<JavaFieldMetadata> fields = fields(className);
+            if (!fields.isEmpty()) {
+                all.put(className, fields);
+            }
+        }
+        return Collections.unmodifiableMap(all);
+    }
+
+    /**
+     * Returns how many source files have been parsed so far, including those parsed before construction.
+     */
+    int parsedFiles() {
+        return preparsedFiles + parsedFiles.get();
+    }
+
+    private List<JavaFieldMetadata> declaredFields(String className) {
+        Path file = sourceFiles.get(className);
+        if (file == null) {
+            return List.of();
+        }
+        return files.computeIfAbsent(file, path -> new SourceFile(path, null)).fields().getOrDefault(className, List.of());
+    }
+
+    private final class SourceFile {
+
+        private final Path path;
+        private Map<String, List<JavaFieldMetadata>> fields;
+
+        private SourceFile(Path path, Map<String, List<JavaFieldMetadata>> fields) {
+            this.path = path;
+            this.fields = fields;
+        }
+
+        private synchronized Map<String, List<JavaFieldMetadata>> fields() {
+            if (fields == null) {
+                fields = parser.apply(path);
+                parsedFiles.incrementAndGet();
+            }
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.lide.core.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Superclass links between every parsed class, with {@code extends} names resolved the way the compiler would:
+ * nested types of the enclosing classes, single-type imports, the class's own package, then on-demand imports.
+ * <p>
+ * Classes are numbered as they are added. A superclass that is not among the sources (a framework base class such
+ * as {@code ValidatorForm}) still gets an id, under its imported or written name, so chains end at a name the
+ * classification rules can test. Membership of a category ("some ancestor is a Struts form base") is memoized in
+ * one {@link BitSet} per category over the class ids: each chain is walked once and every class on it is marked,
+ * so classifying all classes costs time linear in their number.
+ * </p>
+ */
+final class ClassHierarchy {
+
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> ids;
+    private final List<String> names;
+    private final int[] superclasses;
+    private final BitSet sources;
+
+    private ClassHierarchy(Builder builder) {
+        this.ids = builder.ids;
+        this.names = builder.names;
+        this.sources = builder.sources;
+        this.superclasses = new int[names.size() + builder.pending.size()];
+        Arrays.fill(superclasses, NONE);
+        for (Builder.Pending pending : builder.pending) {
+            String resolved = builder.resolve(pending);
+            superclasses[pending.id] = resolved == null ? NONE : builder.idOf(resolved);
+        }
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the ids of classes with an ancestor, at any depth, whose fully qualified name the predicate accepts.
+     * The class itself does not count.
+     */
+    BitSet subclassesOf(Predicate<String> ancestor) {
+        int size = names.size();
+        BitSet resolved = new BitSet(size);
+        BitSet members = new BitSet(size);
+        int[] chain = new int[16];
+        for (int id = 0; id < size; id++) {
+            if (resolved.get(id)) {
+                continue;
+            }
+            int length = 0;
+            boolean member = false;
+            int current = superclasses[id];
+            chain[length++] = id;
+            while (current != NONE && length <= size) {
+                if (resolved.get(current)) {
+                    member = members.get(current) || ancestor.test(names.get(current));
+                    break;
+                }
+                if (ancestor.test(names.get(current))) {
+                    member = true;
+                    break;
+                }
+                if (length == chain.length) {
+                    chain = Arrays.copyOf(chain, length * 2);
+                }
+                chain[length++] = current;
+                current = superclasses[current];
+            }
+            // Unwind towards the starting class: a class is a member when its superclass is a member or matches.
+            for (int i = length - 1; i >= 0; i--) {
+                int walked = chain[i];
+                if (resolved.get(walked)) {
+                    continue;
+                }
+                resolved.set(walked);
+                if (member) {
+                    members.set(walked);
+                }
+                if (i > 0 && ancestor.test(names.get(walked))) {
+                    member = true;
+                }
+            }
+        }
+        return members;
+    }
+
+    boolean contains(BitSet ids, String className) {
+        Integer id = this.ids.get(className);
+        return id != null && ids.get(id);
+    }
+
+    /**
+     * Returns the superclasses of a class that were parsed from source, nearest first.
+     */
+    List<String> sourceSuperclasses(String className) {
+        Integer id = ids.get(className);
+        if (id == null) {
+            return List.of();
+        }
+        List<String> chain = new ArrayList<>();
+        int current = superclasses[id];
+        for (int steps = 0; current != NONE && steps < names.size(); steps++) {
+            if (sources.get(current)) {
+                chain.add(names.get(current));
+            }
+            current = superclasses[current];
+        }
+        return chain;
+    }
+
+    /**
+     * Returns the resolved name of the direct superclass, or {@code null} when the class extends nothing.
+     */
+    String superclassOf(String className) {
+        Integer id = ids.get(className);
+        if (id == null || superclasses[id] == NONE) {
+            return null;
+        }
+        return names.get(superclasses[id]);
+    }
+
+    /**
+     * The names visible in one compilation unit.
+     */
+    static final class Scope {
+
+        private final String packageName;
+        private final Map<String, String> singleTypeImports = new HashMap<>();
+        private final List<String> onDemandImports = new ArrayList<>();
+
+        Scope(String packageName) {
+            this.packageName = packageName == null ? "" : packageName;
+        }
+
+        void addImport(String name, boolean onDemand) {
+            if (onDemand) {
+                onDemandImports.add(name);
+            } else {
+                int dot = name.lastIndexOf('.');
+                singleTypeImports.putIfAbsent(name.substring(dot + 1), name);
+            }
+        }
+    }
+
+    static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final BitSet sources = new BitSet();
+        private final List<Pending> pending = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a class parsed from source.
+         *
+         * @param superclass the {@code extends} type as written, without type arguments; {@code null} if none
+         */
+        Builder addClass(String className, String superclass, Scope scope) {
+            Objects.requireNonNull(className, "className");
+            int id = idOf(className);
+            if (sources.get(id)) {
+                return this;
+            }
+            sources.set(id);
+            if (superclass != null && !superclass.isBlank()) {
+                pending.add(new Pending(id, className, superclass, Objects.requireNonNull(scope, "scope")));
+            }
+            return this;
+        }
+
+        ClassHierarchy build() {
+            return new ClassHierarchy(this);
+        }
+
+        private int idOf(String className) {
+            Integer id = ids.get(className);
+            if (id == null) {
+                id = names.size();
+                ids.put(className, id);
+                names.add(className);
+            }
+            return id;
+        }
+
+        private String resolve(Pending pending) {
+            String written = pending.superclass;
+            int dot = written.indexOf('.');
+            if (dot >= 0) {
+                // Outer.Inner resolves its first segment; anything else is taken as fully qualified.
+                String first = resolveSimple(written.substring(0, dot), pending);
+                return first != null ? first + written.substring(dot) : written;
+            }
+            String resolved = resolveSimple(written, pending);
+            return resolved != null ? resolved : written;
+        }
+
+        private String resolveSimple(String simpleName, Pending pending) {
+            Scope scope = pending.scope;
+            // Members of the enclosing classes, innermost first.
+            String enclosing = pending.className;
+            int lastDot = enclosing.lastIndexOf('.');
+            while (lastDot > scope.packageName.length()) {
+                enclosing = enclosing.substring(0, lastDot);
+                if (isSource(enclosing + "." + simpleName)) {
+                    return enclosing + "." + simpleName;
+                }
+                lastDot = enclosing.lastIndexOf('.');
+            }
+            String imported = scope.singleTypeImports.get(simpleName);
+            if (imported != null) {
+                return imported;
+            }
+            String samePackage = scope.packageName.isEmpty() ? simpleName : scope.packageName + "." + simpleName;
+            if (isSource(samePackage)) {
+                return samePackage;
+            }
+            for (String onDemand : scope.onDemandImports) {
+                if (isSource(onDemand + "." + simpleName)) {
+                    return onDemand + "." + simpleName;
+                }
+            }
+            return null;
+        }
+
+        private boolean isSource(String className) {
+            Integer id = ids.get(className);
+            return id != null && sources.get(id);
+        }
+
+        private record Pending(int id, String className, String superclass, Scope scope) {
+        }
+    }
+}
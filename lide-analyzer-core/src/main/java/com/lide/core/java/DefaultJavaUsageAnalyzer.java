@@ -25,11 +25,9 @@ import com.github.javaparser.ast.expr.MarkerAnnotationExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NormalAnnotationExpr;
-import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.expr.TextBlockLiteralExpr;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.expr.DoubleLiteralExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
 
@@ -39,8 +37,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -48,10 +49,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation that leverages JavaParser to inspect Struts/Spring Java sources.
+ * <p>
+ * Every file is first byte-scanned by {@link JavaSymbolScanner} into a symbol table of its classes, their
+ * superclasses and the file declaring each. Struts forms and actions are classified from that table through a
+ * {@link ClassHierarchy}, so {@code CustomerForm extends BaseCustomerForm extends ValidatorForm} is recognized as a
+ * form without parsing either file. Only files declaring a controller are parsed up front, because the request
+ * router needs their handler paths; every other file is parsed the first time the returned index is asked for one
+ * of its classes' fields. Field metadata declared on source superclasses is merged into each subclass's entry.
+ * </p>
  */
 public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
 
@@ -61,56 +71,121 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
     private static final Set<String> REQUEST_MAPPING_ANNOTATIONS = Set.of(
             "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping"
     );
+    private static final Set<String> STRUTS_FORM_BASES = Set.of(
+            "ValidatorForm", "ValidatorActionForm", "DynaValidatorForm", "BeanValidatorForm", "LazyValidatorForm"
+    );
+    private static final Predicate<String> STRUTS_FORM_ANCESTOR = className -> {
+        String simpleName = simpleName(className);
+        return simpleName.endsWith("ActionForm") || STRUTS_FORM_BASES.contains(simpleName);
+    };
+    private static final Predicate<String> STRUTS_ACTION_ANCESTOR =
+            className -> simpleName(className).endsWith("Action");
 
-    private final JavaParser parser;
+    private final ParserConfiguration configuration;
 
     public DefaultJavaUsageAnalyzer() {
-        ParserConfiguration configuration = new ParserConfiguration();
+        this.configuration = new ParserConfiguration();
         configuration.setLanguageLevel(LanguageLevel.JAVA_17);
-        this.parser = new JavaParser(configuration);
     }
 
     @Override
     public JavaMetadataIndex analyze(CodebaseIndex index) {
         Objects.requireNonNull(index, "index");
+        return analyze(index.getJavaFiles());
+    }
 
-        Map<String, List<JavaFieldMetadata>> fieldsByClass = new LinkedHashMap<>();
+    @Override
+    public JavaMetadataIndex analyze(Iterable<Path> javaFiles) {
+        Objects.requireNonNull(javaFiles, "javaFiles");
+
+        Map<Path, Map<String, List<JavaFieldMetadata>>> parsedFiles = new LinkedHashMap<>();
+        Map<String, Path> sourceFiles = new LinkedHashMap<>();
         Map<String, List<JavaMetadataIndex.HandlerMethodMetadata>> handlerMethods = new LinkedHashMap<>();
         Set<String> strutsFormClasses = new LinkedHashSet<>();
         Set<String> strutsActionClasses = new LinkedHashSet<>();
         Set<String> controllerClasses = new LinkedHashSet<>();
+        Set<String> classes = new LinkedHashSet<>();
+        ClassHierarchy.Builder hierarchyBuilder = ClassHierarchy.builder();
+        JavaParser parser = new JavaParser(configuration);
+        int scannedFiles = 0;
 
-        for (Path javaFile : index.getJavaFiles()) {
-            processJavaFile(javaFile, fieldsByClass, handlerMethods, strutsFormClasses, strutsActionClasses, controllerClasses);
+        for (Path javaFile : javaFiles) {
+            byte[] source;
+            try {
+                source = Files.readAllBytes(javaFile);
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to read {}: {}", javaFile, ex.getMessage());
+                continue;
+            }
+            scannedFiles++;
+            JavaSymbolScanner.FileSymbols symbols = JavaSymbolScanner.scan(source, CONTROLLER_ANNOTATIONS);
+            ClassHierarchy.Scope scope = symbols.scope();
+            boolean declaresController = false;
+            for (JavaSymbolScanner.TypeSymbol type : symbols.types()) {
+                hierarchyBuilder.addClass(type.qualifiedName(), type.superclass(), scope);
+                classes.add(type.qualifiedName());
+                sourceFiles.putIfAbsent(type.qualifiedName(), javaFile);
+                declaresController |= type.marked();
+            }
+            if (declaresController) {
+                String text = new String(source, StandardCharsets.UTF_8);
+                parsedFiles.put(javaFile, parseFile(parser, javaFile, text, handlerMethods, controllerClasses));
+            }
+        }
+
+        ClassHierarchy hierarchy = hierarchyBuilder.build();
+        BitSet forms = hierarchy.subclassesOf(STRUTS_FORM_ANCESTOR);
+        BitSet actions = hierarchy.subclassesOf(STRUTS_ACTION_ANCESTOR);
+        for (String className : classes) {
+            if (hierarchy.contains(forms, className)) {
+                strutsFormClasses.add(className);
+            }
+            if (hierarchy.contains(actions, className)) {
+                strutsActionClasses.add(className);
+            }
         }
 
-        LOGGER.info("Java analysis complete: {} classes with field metadata, {} controllers, {} Struts forms",
-                fieldsByClass.size(), controllerClasses.size(), strutsFormClasses.size());
+        LOGGER.info("Java analysis complete: {} classes, {} controllers, {} Struts forms; {} of {} files parsed up front",
+                classes.size(), controllerClasses.size(), strutsFormClasses.size(), parsedFiles.size(), scannedFiles);
 
-        return new JavaMetadataIndex(fieldsByClass, handlerMethods, strutsFormClasses, strutsActionClasses, controllerClasses);
+        ClassFields classFields = new ClassFields(classes, sourceFiles, hierarchy, this::parseFields, parsedFiles);
+        return new JavaMetadataIndex(classFields, handlerMethods, strutsFormClasses, strutsActionClasses, controllerClasses);
     }
 
-    private void processJavaFile(Path javaFile,
-                                 Map<String, List<JavaFieldMetadata>> fieldsByClass,
-                                 Map<String, List<JavaMetadataIndex.HandlerMethodMetadata>> handlerMethods,
-                                 Set<String> strutsFormClasses,
-                                 Set<String> strutsActionClasses,
-                                 Set<String> controllerClasses) {
-        ParseResult<CompilationUnit> result;
+    /**
+     * Parses a file on demand for the fields its classes declare. Runs on whichever thread first asks for one of
+     * them, so each call gets its own parser. Decodes the file like the up-front scan, replacing malformed input
+     * rather than failing on a source that is not UTF-8.
+     */
+    private Map<String, List<JavaFieldMetadata>> parseFields(Path javaFile) {
+        String text;
         try {
-            result = parser.parse(javaFile);
+            text = new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8);
         } catch (IOException ex) {
             LOGGER.warn("Failed to read {}: {}", javaFile, ex.getMessage());
-            return;
+            return Map.of();
         }
+        return parseFile(new JavaParser(configuration), javaFile, text, null, null);
+    }
 
+    /**
+     * Parses one file and returns the fields declared by each of its classes. When handler methods are being
+     * collected, controllers and their handler methods are recorded as well.
+     */
+    private Map<String, List<JavaFieldMetadata>> parseFile(JavaParser parser,
+                                                           Path javaFile,
+                                                           String text,
+                                                           Map<String, List<JavaMetadataIndex.HandlerMethodMetadata>> handlerMethods,
+                                                           Set<String> controllerClasses) {
+        ParseResult<CompilationUnit> result = parser.parse(text);
         if (!result.isSuccessful() || result.getResult().isEmpty()) {
             LOGGER.warn("Skipping {} due to parse errors: {}", javaFile, result.getProblems());
-            return;
+            return Map.of();
         }
 
         CompilationUnit unit = result.getResult().get();
         String packageName = unit.getPackageDeclaration().map(PackageDeclaration::getNameAsString).orElse("");
+        Map<String, List<JavaFieldMetadata>> fieldsByClass = new LinkedHashMap<>();
 
         for (ClassOrInterfaceDeclaration declaration : unit.findAll(ClassOrInterfaceDeclaration.class)) {
             if (declaration.isInterface()) {
@@ -119,27 +194,11 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
             String qualifiedName = computeQualifiedName(declaration, packageName);
             Map<String, JavaFieldMetadata.Builder> builders = new LinkedHashMap<>();
 
-            boolean isStrutsForm = declaration.getExtendedTypes().stream()
-                    .map(ClassOrInterfaceType::getName)
-                    .map(SimpleName::asString)
-                    .anyMatch(name -> name.endsWith("ActionForm"));
-
-            boolean isStrutsAction = declaration.getExtendedTypes().stream()
-                    .map(ClassOrInterfaceType::getName)
-                    .map(SimpleName::asString)
-                    .anyMatch(name -> name.endsWith("Action") || name.endsWith("DispatchAction"));
-
             boolean isController = declaration.getAnnotations().stream()
                     .map(annotation -> annotation.getName().getIdentifier())
                     .anyMatch(CONTROLLER_ANNOTATIONS::contains);
 
-            if (isStrutsForm) {
-                strutsFormClasses.add(qualifiedName);
-            }
-            if (isStrutsAction) {
-                strutsActionClasses.add(qualifiedName);
-            }
-            if (isController) {
+            if (isController && controllerClasses != null) {
                 controllerClasses.add(qualifiedName);
             }
 
@@ -150,16 +209,21 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
                 List<JavaFieldMetadata> metadata = builders.values().stream()
                         .map(JavaFieldMetadata.Builder::build)
                         .collect(Collectors.toCollection(ArrayList::new));
-                fieldsByClass.put(qualifiedName, metadata);
+                fieldsByClass.putIfAbsent(qualifiedName, metadata);
             }
 
-            if (isController) {
+            if (isController && handlerMethods != null) {
                 List<JavaMetadataIndex.HandlerMethodMetadata> mappings = analyzeControllerMethods(qualifiedName, declaration);
                 if (!mappings.isEmpty()) {
                     handlerMethods.put(qualifiedName, mappings);
                 }
             }
         }
+        return fieldsByClass;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
     }
 
     private void processFieldDeclarations(String qualifiedName,
@@ -206,6 +270,12 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
     private List<JavaMetadataIndex.HandlerMethodMetadata> analyzeControllerMethods(String qualifiedName,
                                                                                    ClassOrInterfaceDeclaration declaration) {
         List<JavaMetadataIndex.HandlerMethodMetadata> handlerMetadata = new ArrayList<>();
+        List<String> classPaths = new ArrayList<>();
+        for (AnnotationExpr annotation : declaration.getAnnotations()) {
+            if ("RequestMapping".equals(annotation.getName().getIdentifier())) {
+                classPaths.addAll(extractMappingPaths(annotation));
+            }
+        }
         for (MethodDeclaration method : declaration.getMethods()) {
             List<AnnotationExpr> handlerAnnotations = method.getAnnotations().stream()
                     .filter(annotation -> REQUEST_MAPPING_ANNOTATIONS.contains(annotation.getName().getIdentifier()))
@@ -219,13 +289,15 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
             for (AnnotationExpr annotation : handlerAnnotations) {
                 String annotationName = annotation.getName().getIdentifier();
                 httpMethods.addAll(resolveHttpMethods(annotationName, annotation));
-                paths.addAll(extractStringValues(annotation, "value"));
-                paths.addAll(extractStringValues(annotation, "path"));
+                paths.addAll(extractMappingPaths(annotation));
             }
 
             if (paths.isEmpty()) {
                 paths.add("/");
             }
+            if (!classPaths.isEmpty()) {
+                paths = combinePaths(classPaths, paths);
+            }
             if (httpMethods.isEmpty()) {
                 httpMethods.add("GET");
             }
@@ -245,6 +317,34 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
         return handlerMetadata;
     }
 
+    private List<String> extractMappingPaths(AnnotationExpr annotation) {
+        if (annotation instanceof SingleMemberAnnotationExpr single) {
+            return resolveStrings(single.getMemberValue());
+        }
+        List<String> paths = new ArrayList<>(extractStringValues(annotation, "value"));
+        paths.addAll(extractStringValues(annotation, "path"));
+        return paths;
+    }
+
+    /**
+     * Prefixes method-level mapping paths with the controller's class-level ones, as Spring does.
+     */
+    private List<String> combinePaths(List<String> classPaths, List<String> methodPaths) {
+        List<String> combined = new ArrayList<>();
+        for (String prefix : classPaths) {
+            String trimmedPrefix = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+            for (String path : methodPaths) {
+                String suffix = "/".equals(path) ? "" : path;
+                if (!suffix.isEmpty() && !suffix.startsWith("/")) {
+                    suffix = "/" + suffix;
+                }
+                String full = trimmedPrefix + suffix;
+                combined.add(full.isEmpty() ? "/" : full);
+            }
+        }
+        return combined;
+    }
+
     private JavaMetadataIndex.HandlerParameterMetadata toParameterMetadata(Parameter parameter) {
         String typeName = parameter.getType().asString();
         List<String> annotations = parameter.getAnnotations().stream()
@@ -297,6 +397,7 @@ public class DefaultJavaUsageAnalyzer implements JavaUsageAnalyzer {
             } else if ("Pattern".equals(name)) {
                 builder.addConstraint("pattern");
                 extractStringAttribute(annotation, "regexp")
+                        .map(Object.class::cast)
                         .or(() -> extractSingleValue(annotation))
                         .ifPresent(value -> builder.putAttribute("pattern", value));
             }
@@ -1,5 +1,9 @@
 package com.lide.core.java;
 
+import com.lide.core.webapp.RequestRouter;
+import com.lide.core.webapp.StrutsConfigIndex;
+import com.lide.core.webapp.WebXmlIndex;
+
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -9,34 +13,102 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
- * Immutable snapshot of metadata extracted from Java sources.
+ * Immutable snapshot of metadata extracted from Java sources, together with the Struts configuration and
+ * {@code web.xml} servlet mappings that map request paths onto those classes. The {@link RequestRouter} over the
+ * handler method paths and servlet mappings is built with each snapshot.
+ * <p>
+ * Field metadata may be loaded on demand: {@link #getFieldsForClass(String)} parses the declaring file the first
+ * time a class is asked for, safely from any thread, while {@link #getClassNames()} lists every class without
+ * parsing anything. {@link #getFieldsByClass()} loads all of it.
+ * </p>
  */
 public final class JavaMetadataIndex {
 
-    private final Map<String, List<JavaFieldMetadata>> fieldsByClass;
+    private final ClassFields classFields;
     private final Map<String, List<HandlerMethodMetadata>> handlerMethodsByController;
     private final Set<String> strutsFormClasses;
     private final Set<String> strutsActionClasses;
     private final Set<String> controllerClasses;
+    private final StrutsConfigIndex strutsConfig;
+    private final WebXmlIndex webXml;
+    private final RequestRouter requestRouter;
 
     public JavaMetadataIndex(Map<String, List<JavaFieldMetadata>> fieldsByClass,
                              Map<String, List<HandlerMethodMetadata>> handlerMethodsByController,
                              Set<String> strutsFormClasses,
                              Set<String> strutsActionClasses,
                              Set<String> controllerClasses) {
-        this.fieldsByClass = copyMap(fieldsByClass);
+        this(ClassFields.of(copyMap(fieldsByClass)), handlerMethodsByController, strutsFormClasses,
+                strutsActionClasses, controllerClasses);
+    }
+
+    JavaMetadataIndex(ClassFields classFields,
+                      Map<String, List<HandlerMethodMetadata>> handlerMethodsByController,
+                      Set<String> strutsFormClasses,
+                      Set<String> strutsActionClasses,
+                      Set<String> controllerClasses) {
+        this.classFields = Objects.requireNonNull(classFields, "classFields");
         this.handlerMethodsByController = copyMap(handlerMethodsByController);
         this.strutsFormClasses = Collections.unmodifiableSet(new LinkedHashSet<>(strutsFormClasses));
         this.strutsActionClasses = Collections.unmodifiableSet(new LinkedHashSet<>(strutsActionClasses));
         this.controllerClasses = Collections.unmodifiableSet(new LinkedHashSet<>(controllerClasses));
+        this.strutsConfig = StrutsConfigIndex.empty();
+        this.webXml = WebXmlIndex.empty();
+        this.requestRouter = buildRouter(this.handlerMethodsByController, this.webXml);
+    }
+
+    private JavaMetadataIndex(JavaMetadataIndex source, StrutsConfigIndex strutsConfig, WebXmlIndex webXml) {
+        this.classFields = source.classFields;
+        this.handlerMethodsByController = source.handlerMethodsByController;
+        this.strutsFormClasses = source.strutsFormClasses;
+        this.strutsActionClasses = source.strutsActionClasses;
+        this.controllerClasses = source.controllerClasses;
+        this.strutsConfig = strutsConfig;
+        this.webXml = webXml;
+        this.requestRouter = webXml == source.webXml
+                ? source.requestRouter : buildRouter(source.handlerMethodsByController, webXml);
     }
 
+    /**
+     * Returns a copy of this index carrying the given Struts configuration.
+     */
+    public JavaMetadataIndex withStrutsConfig(StrutsConfigIndex strutsConfig) {
+        return new JavaMetadataIndex(this, Objects.requireNonNull(strutsConfig, "strutsConfig"), webXml);
+    }
+
+    /**
+     * Returns a copy of this index carrying the given deployment descriptor mappings.
+     */
+    public JavaMetadataIndex withWebXml(WebXmlIndex webXml) {
+        return new JavaMetadataIndex(this, strutsConfig, Objects.requireNonNull(webXml, "webXml"));
+    }
+
+    /**
+     * Returns the field metadata of every class that has any, parsing whatever has not been parsed yet.
+     */
     public Map<String, List<JavaFieldMetadata>> getFieldsByClass() {
-        return fieldsByClass;
+        return classFields.all();
     }
 
+    /**
+     * Returns the fields of a class, inherited ones included, or an empty list for unknown classes.
+     */
     public List<JavaFieldMetadata> getFieldsForClass(String className) {
-        return fieldsByClass.getOrDefault(className, List.of());
+        return classFields.fields(className);
+    }
+
+    /**
+     * Returns every class found in the sources, whether or not its fields have been loaded.
+     */
+    public Set<String> getClassNames() {
+        return classFields.classNames();
+    }
+
+    /**
+     * Returns how many source files have been parsed for field metadata so far.
+     */
+    int getParsedFileCount() {
+        return classFields.parsedFiles();
     }
 
     public Map<String, List<HandlerMethodMetadata>> getHandlerMethodsByController() {
@@ -55,6 +127,35 @@ public final class JavaMetadataIndex {
         return controllerClasses;
     }
 
+    public StrutsConfigIndex getStrutsConfig() {
+        return strutsConfig;
+    }
+
+    public WebXmlIndex getWebXml() {
+        return webXml;
+    }
+
+    /**
+     * Returns the router resolving request paths to handler methods and servlets.
+     */
+    public RequestRouter getRequestRouter() {
+        return requestRouter;
+    }
+
+    private static RequestRouter buildRouter(Map<String, List<HandlerMethodMetadata>> handlerMethodsByController,
+                                             WebXmlIndex webXml) {
+        if (handlerMethodsByController.isEmpty() && webXml.isEmpty()) {
+            return RequestRouter.empty();
+        }
+        RequestRouter.Builder builder = RequestRouter.builder();
+        for (Map.Entry<String, List<HandlerMethodMetadata>> entry : handlerMethodsByController.entrySet()) {
+            for (HandlerMethodMetadata handler : entry.getValue()) {
+                builder.addHandler(entry.getKey(), handler.getMethodName(), handler.getHttpMethods(), handler.getPaths());
+            }
+        }
+        return builder.addServletMappings(webXml).build();
+    }
+
     private static <T> Map<String, List<T>> copyMap(Map<String, List<T>> source) {
         Map<String, List<T>> copy = new LinkedHashMap<>();
         for (Map.Entry<String, List<T>> entry : source.entrySet()) {
@@ -0,0 +1,337 @@
+package com.lide.core.java;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the type declarations of a Java source file from its bytes, without building a syntax tree.
+ * <p>
+ * Comments, string, text block and character literals are skipped; braces are counted to tell member types from
+ * method bodies. Each declaration is reported with the name {@link DefaultJavaUsageAnalyzer} gives it after a full
+ * parse: member types are qualified by their enclosing classes and interfaces, while local and anonymous-class
+ * members and types nested in enums, records or annotation types are qualified by the package alone. For classes, the
+ * {@code extends} type and whether a controller annotation precedes the declaration are recorded as well.
+ * </p>
+ */
+final class JavaSymbolScanner {
+
+    private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum", "record");
+
+    private final byte[] source;
+    private final int length;
+    private final Set<String> markerAnnotations;
+    private int position;
+
+    private JavaSymbolScanner(byte[] source, Set<String> markerAnnotations) {
+        this.source = source;
+        this.length = source.length;
+        this.markerAnnotations = markerAnnotations;
+    }
+
+    /**
+     * Scans a source file.
+     *
+     * @param markerAnnotations simple annotation names to report on class declarations
+     */
+    static FileSymbols scan(byte[] source, Set<String> markerAnnotations) {
+        return new JavaSymbolScanner(source, markerAnnotations).scan();
+    }
+
+    private FileSymbols scan() {
+        String packageName = "";
+        List<String> imports = new ArrayList<>();
+        List<TypeSymbol> types = new ArrayList<>();
+        Deque<OpenType> open = new ArrayDeque<>();
+        PendingType pending = null;
+        boolean marked = false;
+        int depth = 0;
+        int parens = 0;
+        byte previous = ' ';
+        while (position < length) {
+            byte current = source[position];
+            if (isWhitespace(current)) {
+                position++;
+                continue;
+            }
+            if (current == '/' && position + 1 < length && (source[position + 1] == '/' || source[position + 1] == '*')) {
+                skipComment();
+                continue;
+            }
+            if (current == '"' || current == '\'') {
+                skipLiteral(current);
+                previous = current;
+                continue;
+            }
+            if (current == '@') {
+                position++;
+                String annotation = readQualifiedName();
+                if ("interface".equals(annotation)) {
+                    // Annotation type declaration: only its name matters, for nesting.
+                    String name = readNextIdentifier();
+                    if (name != null && pending == null) {
+                        pending = new PendingType(name, "@interface", depth, false);
+                    }
+                } else if (markerAnnotations.contains(annotation.substring(annotation.lastIndexOf('.') + 1))) {
+                    marked = true;
+                }
+                previous = 'a';
+                continue;
+            }
+            if (isIdentifierStart(current)) {
+                String word = readIdentifier();
+                if (previous == '.') {
+                    // Member access such as Foo.class.
+                    previous = 'a';
+                    continue;
+                }
+                if (depth == 0 && types.isEmpty() && open.isEmpty() && pending == null && "package".equals(word)) {
+                    packageName = readQualifiedName();
+                } else if (depth == 0 && pending == null && "import".equals(word)) {
+                    readImport(imports);
+                } else if (parens == 0 && pending == null && TYPE_KEYWORDS.contains(word)) {
+                    int mark = position;
+                    String name = readNextIdentifier();
+                    boolean declaration = name != null
+                            && (!"record".equals(word) || peek() == '(' || peek() == '<');
+                    if (declaration) {
+                        pending = new PendingType(name, word, depth, marked);
+                    } else {
+                        position = mark;
+                    }
+                } else if (pending != null && pending.angles == 0 && "extends".equals(word)
+                        && "class".equals(pending.kind) && pending.superclass == null) {
+                    pending.superclass = readQualifiedName();
+                }
+                previous = 'a';
+                continue;
+            }
+            position++;
+            if (current == '(') {
+                parens++;
+            } else if (current == ')') {
+                parens = Math.max(0, parens - 1);
+            } else if (current == '<' && pending != null) {
+                pending.angles++;
+            } else if (current == '>' && pending != null && pending.angles > 0) {
+                pending.angles--;
+            } else if (current == '{') {
+                depth++;
+                if (pending != null && parens == 0) {
+                    String qualifiedName = qualify(packageName, pending, open);
+                    open.push(new OpenType(pending.name, pending.kind, pending.depth, depth));
+                    if ("class".equals(pending.kind)) {
+                        types.add(new TypeSymbol(qualifiedName, pending.superclass, pending.marked));
+                    }
+                    pending = null;
+                }
+                if (parens == 0) {
+                    marked = false;
+                }
+            } else if (current == '}') {
+                if (!open.isEmpty() && open.peek().bodyDepth == depth) {
+                    open.pop();
+                }
+                depth = Math.max(0, depth - 1);
+                if (parens == 0) {
+                    marked = false;
+                }
+            } else if (current == ';' && parens == 0) {
+                marked = false;
+                if (pending != null) {
+                    // A declaration without a body is malformed; forget it rather than misnest what follows.
+                    pending = null;
+                }
+            }
+            previous = current;
+        }
+        return new FileSymbols(packageName, imports, types);
+    }
+
+    /**
+     * Qualifies a declaration by the member chain of open types directly containing it, as
+     * {@code computeQualifiedName} does after a full parse.
+     */
+    private static String qualify(String packageName, PendingType pending, Deque<OpenType> open) {
+        StringBuilder name = new StringBuilder(pending.name);
+        int expectedBody = pending.depth;
+        for (OpenType type : open) {
+            if (type.bodyDepth != expectedBody || !"class".equals(type.kind) && !"interface".equals(type.kind)) {
+                break;
+            }
+            name.insert(0, '.').insert(0, type.name);
+            expectedBody = type.declarationDepth;
+        }
+        return packageName.isEmpty() ? name.toString() : packageName + "." + name;
+    }
+
+    private void readImport(List<String> imports) {
+        String name = readQualifiedName();
+        boolean isStatic = "static".equals(name);
+        if (isStatic) {
+            name = readQualifiedName();
+        }
+        skipWhitespaceAndComments();
+        boolean onDemand = false;
+        if (position + 1 < length && source[position] == '.' && source[position + 1] == '*') {
+            position += 2;
+            onDemand = true;
+        }
+        if (!isStatic && name != null && !name.isEmpty()) {
+            imports.add(onDemand ? name + ".*" : name);
+        }
+    }
+
+    private String readNextIdentifier() {
+        skipWhitespaceAndComments();
+        if (position < length && isIdentifierStart(source[position])) {
+            return readIdentifier();
+        }
+        return null;
+    }
+
+    /**
+     * Reads a dotted name, stopping before a {@code .*} or anything that is not part of the name.
+     */
+    private String readQualifiedName() {
+        StringBuilder name = new StringBuilder();
+        while (true) {
+            skipWhitespaceAndComments();
+            if (position >= length || !isIdentifierStart(source[position])) {
+                break;
+            }
+            name.append(readIdentifier());
+            int mark = position;
+            skipWhitespaceAndComments();
+            if (position + 1 < length && source[position] == '.' && source[position + 1] != '*') {
+                position++;
+                name.append('.');
+            } else {
+                position = mark;
+                break;
+            }
+        }
+        return name.toString();
+    }
+
+    private String readIdentifier() {
+        int start = position;
+        while (position < length && isIdentifierPart(source[position])) {
+            position++;
+        }
+        return new String(source, start, position - start, StandardCharsets.UTF_8);
+    }
+
+    private byte peek() {
+        skipWhitespaceAndComments();
+        return position < length ? source[position] : 0;
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (position < length) {
+            byte current = source[position];
+            if (isWhitespace(current)) {
+                position++;
+            } else if (current == '/' && position + 1 < length
+                    && (source[position + 1] == '/' || source[position + 1] == '*')) {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipComment() {
+        if (source[position + 1] == '/') {
+            while (position < length && source[position] != '\n') {
+                position++;
+            }
+            return;
+        }
+        position += 2;
+        while (position + 1 < length && !(source[position] == '*' && source[position + 1] == '/')) {
+            position++;
+        }
+        position = Math.min(length, position + 2);
+    }
+
+    private void skipLiteral(byte quote) {
+        if (quote == '"' && position + 2 < length && source[position + 1] == '"' && source[position + 2] == '"') {
+            position += 3;
+            while (position + 2 < length
+                    && !(source[position] == '"' && source[position + 1] == '"' && source[position + 2] == '"')) {
+                position += source[position] == '\\' ? 2 : 1;
+            }
+            position = Math.min(length, position + 3);
+            return;
+        }
+        position++;
+        while (position < length && source[position] != quote && source[position] != '\n') {
+            position += source[position] == '\\' ? 2 : 1;
+        }
+        position = Math.min(length, position + 1);
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r' || value == '\f';
+    }
+
+    private static boolean isIdentifierStart(byte value) {
+        return (value >= 'a' && value <= 'z') || (value >= 'A' && value <= 'Z') || value == '_' || value == '$'
+                || value < 0;
+    }
+
+    private static boolean isIdentifierPart(byte value) {
+        return isIdentifierStart(value) || (value >= '0' && value <= '9');
+    }
+
+    /**
+     * The declarations found in one file.
+     */
+    record FileSymbols(String packageName, List<String> imports, List<TypeSymbol> types) {
+
+        /**
+         * Returns the names visible to the file's declarations, for resolving their superclasses.
+         */
+        ClassHierarchy.Scope scope() {
+            ClassHierarchy.Scope scope = new ClassHierarchy.Scope(packageName);
+            for (String imported : imports) {
+                boolean onDemand = imported.endsWith(".*");
+                scope.addImport(onDemand ? imported.substring(0, imported.length() - 2) : imported, onDemand);
+            }
+            return scope;
+        }
+    }
+
+    /**
+     * A class declaration.
+     *
+     * @param superclass the {@code extends} type as written, or {@code null}
+     * @param marked     whether one of the marker annotations precedes the declaration
+     */
+    record TypeSymbol(String qualifiedName, String superclass, boolean marked) {
+    }
+
+    private static final class PendingType {
+
+        private final String name;
+        private final String kind;
+        private final int depth;
+        private final boolean marked;
+        private String superclass;
+        private int angles;
+
+        private PendingType(String name, String kind, int depth, boolean marked) {
+            this.name = name;
+            this.kind = kind;
+            this.depth = depth;
+            this.marked = marked;
+        }
+    }
+
+    private record OpenType(String name, String kind, int declarationDepth, int bodyDepth) {
+    }
+}
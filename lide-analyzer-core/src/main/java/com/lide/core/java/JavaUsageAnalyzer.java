@@ -2,6 +2,8 @@ package com.lide.core.java;
 
 import com.lide.core.fs.CodebaseIndex;
 
+import java.nio.file.Path;
+
 /**
  * Analyzer for Java controller and backend usage within JSP flows.
  */
@@ -15,4 +17,13 @@ public interface JavaUsageAnalyzer {
      * @return aggregated metadata for downstream enrichment
      */
     JavaMetadataIndex analyze(CodebaseIndex index);
+
+    /**
+     * Analyze the given Java sources in iteration order. The iterable may block while further files are still
+     * being discovered, which lets the analysis run alongside the scan.
+     *
+     * @param javaFiles Java source locations
+     * @return aggregated metadata for downstream enrichment
+     */
+    JavaMetadataIndex analyze(Iterable<Path> javaFiles);
 }
@@ -1,40 +1,53 @@
 package com.lide.core.jsp;
 
+import com.lide.core.config.AnalyzerConfig;
 import com.lide.core.extractors.CrossFrameInteractionExtractor;
 import com.lide.core.model.CrossFrameInteraction;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Default extractor that identifies script-based cross-frame interactions such as parent frame navigation.
+ * Default extractor that identifies script-based cross-frame interactions such as parent frame navigation, in the
+ * page itself and in the external scripts it loads.
  */
 public class DefaultCrossFrameInteractionExtractor implements CrossFrameInteractionExtractor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultCrossFrameInteractionExtractor.class);
 
     private static final Pattern PARENT_LOCATION_PATTERN = Pattern.compile(
-            "parent\\.([A-Za-z0-9_]+)\\.location\\s*[:=]\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]",
+            "parent\\.([A-Za-z0-9_]+)\\.location\\s*[:=]\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]",
             Pattern.CASE_INSENSITIVE);
     private static final Pattern WINDOW_PARENT_PATTERN = Pattern.compile(
-            "window\\.parent(?:\\.([A-Za-z0-9_]+))?\\.location\\s*[:=]\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]",
+            "window\\.parent(?:\\.([A-Za-z0-9_]+))?\\.location\\s*[:=]\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]",
             Pattern.CASE_INSENSITIVE);
     private static final Pattern TOP_FRAMES_PATTERN = Pattern.compile(
-            "top\\.frames\\[['\"]?([A-Za-z0-9_]+)['\"]?\\]?\\.location\\s*[:=]\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]",
+            "top\\.frames\\[['\"]?([A-Za-z0-9_]+)['\"]?\\]?\\.location\\s*[:=]\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]",
             Pattern.CASE_INSENSITIVE);
 
+    private final ScanLimits limits;
+    private final ScriptFindingCache<CrossFrameInteraction> scripts;
+
+    public DefaultCrossFrameInteractionExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultCrossFrameInteractionExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+        this.scripts = new ScriptFindingCache<>(limits, this::collectInteractions);
+    }
+
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
         Objects.requireNonNull(pages, "pages");
@@ -42,62 +55,81 @@ public class DefaultCrossFrameInteractionExtractor implements CrossFrameInteract
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(normalizedRoot, page,
+                    PageDescriptor::getCrossFrameInteractions, PageDescriptor::setCrossFrameInteractions, scripts)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setCrossFrameInteractions(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for cross-frame extraction: {}", sourcePath, ex.getMessage());
                 page.setCrossFrameInteractions(List.of());
                 continue;
             }
-
-            Set<String> seen = new LinkedHashSet<>();
+            Set<FindingKey> seen = new LinkedHashSet<>();
             List<CrossFrameInteraction> interactions = new ArrayList<>();
 
-            collectMatches(raw, PARENT_LOCATION_PATTERN, interactions, seen, "parent");
-            collectMatches(raw, WINDOW_PARENT_PATTERN, interactions, seen, "window.parent");
-            collectMatches(raw, TOP_FRAMES_PATTERN, interactions, seen, "top.frames");
+            PageScan scan = limits.beginScripts(page, source);
+            try {
+                collectInteractions(scan, source, interactions, seen);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - cross-frame extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "cross-frame extraction");
+            }
+            for (String script : scripts.appendTo(normalizedRoot, page, source, interactions)) {
+                scan.markPartial(page, "cross-frame extraction of " + script);
+            }
 
             page.setCrossFrameInteractions(interactions);
             LOGGER.info("Page {} - cross-frame interactions detected: {}", page.getPageId(), interactions.size());
         }
     }
 
-    private void collectMatches(String raw,
+    private void collectInteractions(PageScan scan, SourceText source, List<CrossFrameInteraction> interactions) {
+        collectInteractions(scan, source, interactions, new LinkedHashSet<>());
+    }
+
+    private void collectInteractions(PageScan scan,
+                                     SourceText source,
+                                     List<CrossFrameInteraction> interactions,
+                                     Set<FindingKey> seen) {
+        collectMatches(scan, source, PARENT_LOCATION_PATTERN, interactions, seen, "parent");
+        collectMatches(scan, source, WINDOW_PARENT_PATTERN, interactions, seen, "window.parent");
+        collectMatches(scan, source, TOP_FRAMES_PATTERN, interactions, seen, "top.frames");
+    }
+
+    private void collectMatches(PageScan scan,
+                                SourceText source,
                                 Pattern pattern,
                                 List<CrossFrameInteraction> interactions,
-                                Set<String> seen,
+                                Set<FindingKey> seen,
                                 String defaultFrame) {
-        Matcher matcher = pattern.matcher(raw);
-        while (matcher.find()) {
+        scan.find(pattern, matcher -> {
             String frame = matcher.groupCount() >= 1 ? matcher.group(1) : null;
             String target = matcher.groupCount() >= 2 ? matcher.group(2) : null;
-            addInteraction(interactions, seen, frame != null ? frame : defaultFrame, target,
-                    snippet(raw, matcher.start(), matcher.end()));
-        }
+            addInteraction(source, interactions, seen, frame != null ? frame : defaultFrame, target,
+                    Snippets.aroundMatch(source, matcher.start(), matcher.end(), Integer.MAX_VALUE), matcher.start());
+        });
     }
 
-    private void addInteraction(List<CrossFrameInteraction> interactions,
-                                Set<String> seen,
+    private void addInteraction(SourceText source,
+                                List<CrossFrameInteraction> interactions,
+                                Set<FindingKey> seen,
                                 String frame,
                                 String target,
-                                String snippet) {
+                                SourceSnippet snippet,
+                                int offset) {
         if (target == null || target.isBlank()) {
             return;
         }
-        String key = (frame == null ? "" : frame) + "|" + target + "|" + snippet;
-        if (!seen.add(key)) {
+        if (!seen.add(new FindingKey(frame == null ? "" : frame, target, snippet))) {
             return;
         }
 
@@ -105,14 +137,10 @@ public class DefaultCrossFrameInteractionExtractor implements CrossFrameInteract
         interaction.setFromFrame(frame);
         interaction.setToJsp(target);
         interaction.setType(CrossFrameInteraction.TYPE_LOCATION_CHANGE);
-        interaction.setSnippet(snippet);
+        interaction.setSnippetSource(snippet);
         interaction.setConfidence(CrossFrameInteraction.CONFIDENCE_MEDIUM);
+        interaction.setLine(source.lineOf(offset));
+        interaction.setColumn(source.columnOf(offset));
         interactions.add(interaction);
     }
-
-    private String snippet(String raw, int start, int end) {
-        int from = Math.max(0, start - 40);
-        int to = Math.min(raw.length(), end + 40);
-        return raw.substring(from, to).replaceAll("\n", " ");
-    }
 }
@@ -3,28 +3,30 @@ package com.lide.core.jsp;
 import com.lide.core.extractors.FrameAnalyzer;
 import com.lide.core.model.FrameDefinition;
 import com.lide.core.model.PageDescriptor;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
+import com.lide.core.model.SourceText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Extracts frameset and iframe metadata from JSP/HTML documents.
+ * <p>
+ * Reads the page with a {@link TagTokenizer} whose nesting stack follows the open framesets, so no DOM is built.
+ * </p>
  */
 public class DefaultFrameAnalyzer implements FrameAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFrameAnalyzer.class);
+    private static final Set<String> FRAMESET = Set.of("frameset");
 
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
@@ -33,6 +35,10 @@ public class DefaultFrameAnalyzer implements FrameAnalyzer {
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(page, PageDescriptor::getFrameDefinitions, PageDescriptor::setFrameDefinitions)) {
+                page.setFramesetPage(page.getCanonicalPage().getFramesetPage());
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setFrameDefinitions(List.of());
@@ -40,24 +46,17 @@ public class DefaultFrameAnalyzer implements FrameAnalyzer {
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for frame extraction: {}", sourcePath, ex.getMessage());
                 page.setFrameDefinitions(List.of());
                 page.setFramesetPage(Boolean.FALSE);
                 continue;
             }
-
-            Document document = Jsoup.parse(raw, "", Parser.htmlParser());
             List<FrameDefinition> frames = new ArrayList<>();
-            boolean framesetDetected = traverse(document, null, 0, frames);
+            boolean framesetDetected = collect(source, TagTokenizer.nesting(PageSources.markup(page, source), FRAMESET), frames);
 
             page.setFrameDefinitions(frames);
             page.setFramesetPage(framesetDetected || !frames.isEmpty());
@@ -66,31 +65,34 @@ public class DefaultFrameAnalyzer implements FrameAnalyzer {
         }
     }
 
-    private boolean traverse(Element element, String parentName, int depth, List<FrameDefinition> frames) {
+    private boolean collect(SourceText source, TagTokenizer tags, List<FrameDefinition> frames) {
         boolean framesetDetected = false;
-        for (Element child : element.children()) {
-            String tag = child.tagName().toLowerCase(Locale.ROOT);
-            boolean isFrame = "frame".equals(tag) || "iframe".equals(tag);
-            boolean isFrameset = "frameset".equals(tag);
-
-            if (isFrame || isFrameset) {
-                FrameDefinition definition = new FrameDefinition();
-                definition.setFrameName(sanitize(child.attr("name"), child.attr("id")));
-                definition.setSource(sanitize(child.attr("src")));
-                definition.setParentFrameName(parentName);
-                definition.setDepth(depth);
-                definition.setTag(tag.toUpperCase(Locale.ROOT));
-                definition.setConfidence(FrameDefinition.CONFIDENCE_HIGH);
-                frames.add(definition);
-
-                framesetDetected = framesetDetected || isFrameset;
-                String nextParent = definition.getFrameName();
-                if (nextParent == null || nextParent.isBlank()) {
-                    nextParent = definition.getTag() + "@" + depth;
-                }
-                framesetDetected = traverse(child, nextParent, depth + 1, frames) || framesetDetected;
-            } else {
-                framesetDetected = traverse(child, parentName, depth, frames) || framesetDetected;
+        // Parent names keyed by the start offset of each frameset, as reported by the tokenizer's nesting stack.
+        Map<Integer, String> framesetNames = new HashMap<>();
+        while (tags.next()) {
+            if (tags.isEndTag()) {
+                continue;
+            }
+            boolean isFrameset = tags.nameIs("frameset");
+            if (!isFrameset && !tags.nameIs("frame") && !tags.nameIs("iframe")) {
+                continue;
+            }
+            int depth = tags.depth();
+            FrameDefinition definition = new FrameDefinition();
+            definition.setFrameName(sanitize(tags.attribute("name"), tags.attribute("id")));
+            definition.setSource(sanitize(tags.attribute("src")));
+            definition.setParentFrameName(depth == 0 ? null : framesetNames.get(tags.openStart(depth - 1)));
+            definition.setDepth(depth);
+            definition.setTag(tags.name().toUpperCase(Locale.ROOT));
+            definition.setConfidence(FrameDefinition.CONFIDENCE_HIGH);
+            definition.setLine(source.lineOf(tags.start()));
+            definition.setColumn(source.columnOf(tags.start()));
+            frames.add(definition);
+
+            if (isFrameset) {
+                framesetDetected = true;
+                String name = definition.getFrameName();
+                framesetNames.put(tags.start(), name == null ? definition.getTag() + "@" + depth : name);
             }
         }
         return framesetDetected;
@@ -3,24 +3,18 @@ package com.lide.core.jsp;
 import com.lide.core.extractors.HiddenFieldStateExtractor;
 import com.lide.core.model.HiddenField;
 import com.lide.core.model.PageDescriptor;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Extracts hidden field state hints from JSP/HTML content.
@@ -28,8 +22,9 @@ import java.util.regex.Pattern;
 public class DefaultHiddenFieldStateExtractor implements HiddenFieldStateExtractor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultHiddenFieldStateExtractor.class);
+    private static final int SNIPPET_LENGTH = 200;
+    private static final Set<String> HIDDEN_TAGS = Set.of("s:hidden", "form:hidden", "html:hidden");
 
-    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{[^}]+}");
 
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
@@ -38,33 +33,36 @@ public class DefaultHiddenFieldStateExtractor implements HiddenFieldStateExtract
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(page, PageDescriptor::getHiddenFields, PageDescriptor::setHiddenFields)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setHiddenFields(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for hidden field extraction: {}", sourcePath, ex.getMessage());
                 page.setHiddenFields(List.of());
                 continue;
             }
-
-            Document document = Jsoup.parse(raw, "", Parser.htmlParser());
+            TagTokenizer tags = TagTokenizer.of(PageSources.markup(page, source));
             List<HiddenField> hiddenFields = new ArrayList<>();
-            Set<String> seen = new LinkedHashSet<>();
+            Set<FindingKey> seen = new LinkedHashSet<>();
 
-            for (Element element : document.select("input[type=hidden], s\\:hidden, form\\:hidden, html\\:hidden")) {
-                HiddenField field = toHiddenField(element);
-                if (field.getName() == null || !seen.add(field.getName() + "|" + field.getSnippet())) {
+            while (tags.next()) {
+                if (tags.isEndTag() || !isHiddenField(tags)) {
+                    continue;
+                }
+                SourceSnippet snippet = Snippets.tag(source, tags, SNIPPET_LENGTH);
+                HiddenField field = toHiddenField(tags, snippet);
+                field.setLine(source.lineOf(tags.start()));
+                field.setColumn(source.columnOf(tags.start()));
+                if (field.getName() == null || !seen.add(new FindingKey(field.getName(), null, snippet))) {
                     continue;
                 }
                 hiddenFields.add(field);
@@ -75,25 +73,25 @@ public class DefaultHiddenFieldStateExtractor implements HiddenFieldStateExtract
         }
     }
 
-    private HiddenField toHiddenField(Element element) {
+    private boolean isHiddenField(TagTokenizer tags) {
+        if (tags.nameIs("input")) {
+            String type = tags.attribute("type");
+            return type != null && "hidden".equalsIgnoreCase(type.trim());
+        }
+        return HIDDEN_TAGS.contains(tags.name());
+    }
+
+    private HiddenField toHiddenField(TagTokenizer tags, SourceSnippet snippet) {
         HiddenField field = new HiddenField();
-        field.setName(firstNonBlank(element.attr("name"), element.attr("id"), element.attr("property"), element.attr("path")));
-        field.setDefaultValue(emptyToNull(element.attr("value")));
-        field.setExpression(findExpression(element));
-        field.setSnippet(truncate(element.outerHtml(), 200));
+        field.setName(firstNonBlank(tags.attribute("name"), tags.attribute("id"), tags.attribute("property"), tags.attribute("path")));
+        String value = tags.attribute("value");
+        field.setDefaultValue(emptyToNull(value));
+        field.setExpression(ExpressionScanner.first(value, ExpressionScanner.DOLLAR));
+        field.setSnippetSource(snippet);
         field.setConfidence(HiddenField.CONFIDENCE_HIGH);
         return field;
     }
 
-    private String findExpression(Element element) {
-        String candidate = element.attr("value");
-        Matcher matcher = EXPRESSION_PATTERN.matcher(candidate);
-        if (matcher.find()) {
-            return matcher.group();
-        }
-        return null;
-    }
-
     private String firstNonBlank(String... values) {
         if (values == null) {
             return null;
@@ -112,11 +110,4 @@ public class DefaultHiddenFieldStateExtractor implements HiddenFieldStateExtract
         }
         return value;
     }
-
-    private String truncate(String value, int maxLength) {
-        if (value == null || value.length() <= maxLength) {
-            return value;
-        }
-        return value.substring(0, maxLength);
-    }
 }
@@ -0,0 +1,108 @@
+package com.lide.core.jsp;
+
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.extractors.IncludeExtractor;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.PageInclude;
+import com.lide.core.model.SourceText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts {@code <%@ include file=...%>}, {@code <jsp:directive.include>}, {@code <jsp:include page=...>} and
+ * {@code <c:import url=...>} references from JSP sources. Targets are recorded as written; resolving them to
+ * pages is left to the {@link DefaultIncludeGraphBuilder}.
+ */
+public class DefaultIncludeExtractor implements IncludeExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultIncludeExtractor.class);
+
+    private static final Pattern STATIC_INCLUDE_PATTERN =
+            Pattern.compile("<%@\\s*+include\\s++file\\s*+=\\s*+(['\"])([^'\"]*+)\\1");
+    private static final Pattern XML_INCLUDE_PATTERN =
+            Pattern.compile("<jsp:directive\\.include\\b[^>]*?\\bfile\\s*+=\\s*+(['\"])([^'\"]*+)\\1");
+    private static final Pattern JSP_INCLUDE_PATTERN =
+            Pattern.compile("<jsp:include\\b[^>]*?\\bpage\\s*+=\\s*+(['\"])([^'\"]*+)\\1");
+    private static final Pattern IMPORT_PATTERN =
+            Pattern.compile("<c:import\\b[^>]*?\\burl\\s*+=\\s*+(['\"])([^'\"]*+)\\1");
+
+    private final ScanLimits limits;
+
+    public DefaultIncludeExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultIncludeExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+    }
+
+    @Override
+    public void extract(Path rootDir, List<PageDescriptor> pages) {
+        Objects.requireNonNull(pages, "pages");
+
+        Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
+
+        for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(page, PageDescriptor::getIncludes, PageDescriptor::setIncludes)) {
+                continue;
+            }
+            Path sourcePath = page.getSourcePath();
+            if (sourcePath == null) {
+                page.setIncludes(List.of());
+                continue;
+            }
+
+            SourceText source;
+            try {
+                source = PageSources.load(normalizedRoot, page);
+            } catch (IOException ex) {
+                LOGGER.warn("Unable to read page {} for include extraction: {}", sourcePath, ex.getMessage());
+                page.setIncludes(List.of());
+                continue;
+            }
+            Set<String> seen = new LinkedHashSet<>();
+            List<PageInclude> includes = new ArrayList<>();
+
+            PageScan scan = limits.begin(page, source);
+            try {
+                collect(scan, source, STATIC_INCLUDE_PATTERN, PageInclude.TYPE_STATIC, includes, seen);
+                collect(scan, source, XML_INCLUDE_PATTERN, PageInclude.TYPE_STATIC, includes, seen);
+                collect(scan, source, JSP_INCLUDE_PATTERN, PageInclude.TYPE_DYNAMIC, includes, seen);
+                collect(scan, source, IMPORT_PATTERN, PageInclude.TYPE_IMPORT, includes, seen);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - include extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "include extraction");
+            }
+
+            page.setIncludes(includes);
+            LOGGER.info("Page {} - includes detected: {}", page.getPageId(), includes.size());
+        }
+    }
+
+    private void collect(PageScan scan,
+                         SourceText source,
+                         Pattern pattern,
+                         String type,
+                         List<PageInclude> includes,
+                         Set<String> seen) {
+        scan.find(pattern, matcher -> {
+            String target = matcher.group(2).trim();
+            if (target.isEmpty() || !seen.add(type + "|" + target)) {
+                return;
+            }
+            PageInclude include = new PageInclude(target, type);
+            include.setLine(source.lineOf(matcher.start()));
+            include.setColumn(source.columnOf(matcher.start()));
+            includes.add(include);
+        });
+    }
+}
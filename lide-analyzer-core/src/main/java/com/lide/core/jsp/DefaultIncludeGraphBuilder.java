@@ -0,0 +1,316 @@
+package com.lide.core.jsp;
+
+import com.lide.core.extractors.IncludeGraphBuilder;
+import com.lide.core.model.FormDescriptor;
+import com.lide.core.model.HiddenField;
+import com.lide.core.model.IncludeMetrics;
+import com.lide.core.model.NavigationTarget;
+import com.lide.core.model.PageDependency;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.PageInclude;
+import com.lide.core.model.SessionDependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resolves include references against the analyzed pages and merges each included fragment's forms, hidden
+ * fields, navigation targets and session dependencies into the pages that include it, transitively.
+ * <p>
+ * Each fragment's transitive include closure is computed once and reused by every page that includes it, and
+ * the fragment's own findings are taken from its single analysis rather than re-extracted per including page.
+ * Targets starting with {@code /} are resolved from the web root, which is found by suffix match so that
+ * {@code /WEB-INF/jspf/header.jspf} matches {@code src/main/webapp/WEB-INF/jspf/header.jspf}. Include cycles are
+ * cut at the edge closing them and reported.
+ * </p>
+ */
+public class DefaultIncludeGraphBuilder implements IncludeGraphBuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultIncludeGraphBuilder.class);
+    private static final Map<String, String> DEPENDENCY_TYPES = Map.of(
+            PageInclude.TYPE_STATIC, "staticInclude",
+            PageInclude.TYPE_DYNAMIC, "dynamicInclude",
+            PageInclude.TYPE_IMPORT, "importedPage");
+
+    @Override
+    public IncludeMetrics build(Path rootDir, List<PageDescriptor> pages) {
+        Objects.requireNonNull(pages, "pages");
+
+        Map<String, PageDescriptor> pagesById = new LinkedHashMap<>();
+        Map<String, List<String>> pageIdsByFileName = new HashMap<>();
+        for (PageDescriptor page : pages) {
+            String pageId = page.getPageId();
+            if (pageId != null && pagesById.putIfAbsent(pageId, page) == null) {
+                pageIdsByFileName.computeIfAbsent(fileName(pageId), key -> new ArrayList<>()).add(pageId);
+            }
+        }
+
+        IncludeMetrics metrics = new IncludeMetrics();
+        Set<List<String>> cycles = new LinkedHashSet<>();
+        Map<String, Set<String>> edges = new LinkedHashMap<>();
+        for (PageDescriptor page : pagesById.values()) {
+            List<PageInclude> includes = page.getIncludes();
+            if (includes == null || includes.isEmpty()) {
+                continue;
+            }
+            String from = page.getPageId();
+            List<PageDependency> dependencies = new ArrayList<>(ensureList(page.getPageDependencies()));
+            for (PageInclude include : includes) {
+                String target = resolve(from, include.getTarget(), pagesById, pageIdsByFileName);
+                if (target == null) {
+                    metrics.getUnresolvedIncludes().add(from + " -> " + include.getTarget());
+                    continue;
+                }
+                metrics.setResolvedIncludes(metrics.getResolvedIncludes() + 1);
+                dependencies.add(new PageDependency(from, target,
+                        DEPENDENCY_TYPES.getOrDefault(include.getType(), "include")));
+                if (target.equals(from)) {
+                    cycles.add(List.of(from, from));
+                    continue;
+                }
+                edges.computeIfAbsent(from, key -> new LinkedHashSet<>()).add(target);
+            }
+            page.setPageDependencies(dependencies);
+        }
+
+        // Snapshot before merging so that a fragment contributes only what it declares itself.
+        Map<String, Contribution> contributions = new HashMap<>();
+        for (Set<String> targets : edges.values()) {
+            for (String target : targets) {
+                contributions.computeIfAbsent(target, id -> Contribution.of(pagesById.get(id)));
+            }
+        }
+
+        Map<String, Set<String>> closures = new HashMap<>();
+        Map<String, Integer> reuse = new HashMap<>();
+        for (String pageId : edges.keySet()) {
+            Set<String> fragments = closure(pageId, edges, closures, new ArrayDeque<>(), cycles).fragments();
+            PageDescriptor page = pagesById.get(pageId);
+            for (String fragment : fragments) {
+                if (fragment.equals(pageId)) {
+                    continue;
+                }
+                contributions.get(fragment).mergeInto(page);
+                reuse.merge(fragment, 1, Integer::sum);
+            }
+        }
+
+        metrics.setCycles(new ArrayList<>(cycles));
+        reuse.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> metrics.getFragmentReuse().put(entry.getKey(), entry.getValue()));
+
+        LOGGER.info("Include graph: {} includes resolved, {} unresolved, {} cycles, {} fragments merged",
+                metrics.getResolvedIncludes(), metrics.getUnresolvedIncludes().size(), cycles.size(), reuse.size());
+        return metrics;
+    }
+
+    /**
+     * Computes the fragments {@code pageId} includes directly or transitively, in depth-first order. Results are
+     * memoized unless a cycle back to a page further up the current path cut them short.
+     */
+    private Closure closure(String pageId,
+                            Map<String, Set<String>> edges,
+                            Map<String, Set<String>> closures,
+                            Deque<String> path,
+                            Set<List<String>> cycles) {
+        Set<String> memoized = closures.get(pageId);
+        if (memoized != null) {
+            return new Closure(memoized, Integer.MAX_VALUE);
+        }
+        int depth = path.size();
+        path.addLast(pageId);
+        Set<String> fragments = new LinkedHashSet<>();
+        int lowestCut = Integer.MAX_VALUE;
+        for (String target : edges.getOrDefault(pageId, Set.of())) {
+            int onPath = indexOf(path, target);
+            if (onPath >= 0) {
+                cycles.add(cycle(path, onPath, target));
+                lowestCut = Math.min(lowestCut, onPath);
+                continue;
+            }
+            fragments.add(target);
+            Closure nested = closure(target, edges, closures, path, cycles);
+            fragments.addAll(nested.fragments());
+            lowestCut = Math.min(lowestCut, nested.lowestCut());
+        }
+        path.removeLast();
+        if (lowestCut >= depth) {
+            closures.put(pageId, fragments);
+            return new Closure(fragments, Integer.MAX_VALUE);
+        }
+        return new Closure(fragments, lowestCut);
+    }
+
+    private static int indexOf(Deque<String> path, String pageId) {
+        int index = 0;
+        for (String element : path) {
+            if (element.equals(pageId)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * The cycle through {@code path[from..]} back to {@code target}, rotated to start at its smallest page id so
+     * the same cycle found from different starting pages is reported once.
+     */
+    private static List<String> cycle(Deque<String> path, int from, String target) {
+        List<String> members = new ArrayList<>(path).subList(from, path.size());
+        int start = members.indexOf(Collections.min(members));
+        List<String> cycle = new ArrayList<>(members.size() + 1);
+        for (int i = 0; i < members.size(); i++) {
+            cycle.add(members.get((start + i) % members.size()));
+        }
+        cycle.add(cycle.get(0));
+        return cycle;
+    }
+
+    private String resolve(String from,
+                           String target,
+                           Map<String, PageDescriptor> pagesById,
+                           Map<String, List<String>> pageIdsByFileName) {
+        if (target == null) {
+            return null;
+        }
+        String path = target.trim().replace('\\', '/');
+        int cut = indexOfAny(path, '?', '#');
+        if (cut >= 0) {
+            path = path.substring(0, cut);
+        }
+        if (path.isEmpty() || path.contains("<%") || ExpressionScanner.contains(path, ExpressionScanner.ALL)
+                || path.contains("://") || path.startsWith("//")) {
+            return null;
+        }
+        if (path.startsWith("/")) {
+            String relative = normalize(path.substring(1));
+            if (relative == null) {
+                return null;
+            }
+            return pagesById.containsKey(relative) ? relative : bySuffix(from, relative, pageIdsByFileName);
+        }
+        String base = from.lastIndexOf('/') >= 0 ? from.substring(0, from.lastIndexOf('/') + 1) : "";
+        String relative = normalize(base + path);
+        return relative != null && pagesById.containsKey(relative) ? relative : null;
+    }
+
+    /**
+     * Finds the page whose id ends with the web-root relative {@code relative}, preferring the candidate that
+     * shares the longest leading path with the including page (the same module, in multi-module trees).
+     */
+    private String bySuffix(String from, String relative, Map<String, List<String>> pageIdsByFileName) {
+        String best = null;
+        int bestShared = -1;
+        for (String candidate : pageIdsByFileName.getOrDefault(fileName(relative), List.of())) {
+            if (!candidate.endsWith("/" + relative)) {
+                continue;
+            }
+            int shared = sharedPrefix(from, candidate);
+            if (shared > bestShared) {
+                best = candidate;
+                bestShared = shared;
+            }
+        }
+        return best;
+    }
+
+    private static int sharedPrefix(String left, String right) {
+        int limit = Math.min(left.length(), right.length());
+        int i = 0;
+        while (i < limit && left.charAt(i) == right.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String normalize(String path) {
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                if (segments.isEmpty()) {
+                    return null;
+                }
+                segments.removeLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return segments.isEmpty() ? null : String.join("/", segments);
+    }
+
+    private static String fileName(String pageId) {
+        return pageId.substring(pageId.lastIndexOf('/') + 1);
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> List<T> ensureList(List<T> value) {
+        return value == null ? List.of() : value;
+    }
+
+    private record Closure(Set<String> fragments, int lowestCut) {
+    }
+
+    /**
+     * The findings a fragment declares itself, captured once and appended to every page including it.
+     */
+    private record Contribution(List<FormDescriptor> forms,
+                                List<HiddenField> hiddenFields,
+                                List<NavigationTarget> navigationTargets,
+                                List<SessionDependency> sessionDependencies) {
+
+        static Contribution of(PageDescriptor fragment) {
+            return new Contribution(List.copyOf(ensureList(fragment.getForms())),
+                    List.copyOf(ensureList(fragment.getHiddenFields())),
+                    List.copyOf(ensureList(fragment.getNavigationTargets())),
+                    List.copyOf(ensureList(fragment.getSessionDependencies())));
+        }
+
+        void mergeInto(PageDescriptor page) {
+            if (!forms.isEmpty()) {
+                // Copied because report generation enriches forms per page.
+                List<FormDescriptor> merged = new ArrayList<>(ensureList(page.getForms()));
+                forms.forEach(form -> merged.add(form.copy()));
+                page.setForms(merged);
+            }
+            page.setHiddenFields(append(page.getHiddenFields(), hiddenFields));
+            page.setNavigationTargets(append(page.getNavigationTargets(), navigationTargets));
+            page.setSessionDependencies(append(page.getSessionDependencies(), sessionDependencies));
+        }
+
+        private static <T> List<T> append(List<T> existing, List<T> additions) {
+            if (additions.isEmpty()) {
+                return existing;
+            }
+            List<T> merged = new ArrayList<>(ensureList(existing));
+            merged.addAll(additions);
+            return merged;
+        }
+    }
+}
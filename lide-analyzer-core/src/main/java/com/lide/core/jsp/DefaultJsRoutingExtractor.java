@@ -1,34 +1,48 @@
 package com.lide.core.jsp;
 
+import com.lide.core.config.AnalyzerConfig;
 import com.lide.core.extractors.JsRoutingExtractor;
 import com.lide.core.model.JsRoutingHint;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Default implementation that performs lightweight static detection of JavaScript routing hints.
+ * Default implementation that performs lightweight static detection of JavaScript routing hints, in the page
+ * itself and in the external scripts it loads.
  */
 public class DefaultJsRoutingExtractor implements JsRoutingExtractor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultJsRoutingExtractor.class);
 
+    private static final int SNIPPET_LENGTH = 160;
     private static final Pattern LOCATION_PATTERN = Pattern.compile(
-            "(?i)(window\\.location(?:\\.href)?|document\\.location(?:\\.href)?|location(?:\\.href)?)\\s*[:=]\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]");
+            "(?i)(window\\.location(?:\\.href)?|document\\.location(?:\\.href)?|location(?:\\.href)?)\\s*[:=]\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]");
     private static final Pattern FORM_ACTION_PATTERN = Pattern.compile(
-            "(?i)document\\.forms\\[[^]]+].action\\s*=\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]");
+            "(?i)document\\.forms\\[[^]]+].action\\s*=\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]");
+
+    private final ScanLimits limits;
+    private final ScriptFindingCache<JsRoutingHint> scripts;
+
+    public DefaultJsRoutingExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultJsRoutingExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+        this.scripts = new ScriptFindingCache<>(limits, this::collectRoutes);
+    }
 
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
@@ -37,81 +51,83 @@ public class DefaultJsRoutingExtractor implements JsRoutingExtractor {
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(normalizedRoot, page,
+                    PageDescriptor::getJsRoutingHints, PageDescriptor::setJsRoutingHints, scripts)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setJsRoutingHints(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for JS routing extraction: {}", sourcePath, ex.getMessage());
                 page.setJsRoutingHints(List.of());
                 continue;
             }
-
-            Set<String> seen = new LinkedHashSet<>();
+            Set<FindingKey> seen = new LinkedHashSet<>();
             List<JsRoutingHint> hints = new ArrayList<>();
 
-            collectLocationRoutes(raw, hints, seen);
-            collectFormRoutes(raw, hints, seen);
+            PageScan scan = limits.beginScripts(page, source);
+            try {
+                collectLocationRoutes(scan, source, hints, seen);
+                collectFormRoutes(scan, source, hints, seen);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - JS routing extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "JS routing extraction");
+            }
+            for (String script : scripts.appendTo(normalizedRoot, page, source, hints)) {
+                scan.markPartial(page, "JS routing extraction of " + script);
+            }
 
             page.setJsRoutingHints(hints);
             LOGGER.info("Page {} - JS routing hints detected: {}", page.getPageId(), hints.size());
         }
     }
 
-    private void collectLocationRoutes(String raw, List<JsRoutingHint> hints, Set<String> seen) {
-        Matcher matcher = LOCATION_PATTERN.matcher(raw);
-        while (matcher.find()) {
+    private void collectRoutes(PageScan scan, SourceText script, List<JsRoutingHint> hints) {
+        Set<FindingKey> seen = new LinkedHashSet<>();
+        collectLocationRoutes(scan, script, hints, seen);
+        collectFormRoutes(scan, script, hints, seen);
+    }
+
+    private void collectLocationRoutes(PageScan scan, SourceText source, List<JsRoutingHint> hints, Set<FindingKey> seen) {
+        scan.find(LOCATION_PATTERN, matcher -> {
             String pattern = matcher.group(1);
             String target = matcher.group(2);
-            addHint(hints, seen, target, pattern, snippet(raw, matcher.start(0), matcher.end(0)));
-        }
+            addHint(source, hints, seen, target, pattern,
+                    Snippets.aroundMatch(source, matcher.start(0), matcher.end(0), SNIPPET_LENGTH), matcher.start(0));
+        });
     }
 
-    private void collectFormRoutes(String raw, List<JsRoutingHint> hints, Set<String> seen) {
-        Matcher matcher = FORM_ACTION_PATTERN.matcher(raw);
-        while (matcher.find()) {
+    private void collectFormRoutes(PageScan scan, SourceText source, List<JsRoutingHint> hints, Set<FindingKey> seen) {
+        scan.find(FORM_ACTION_PATTERN, matcher -> {
             String target = matcher.group(1);
-            addHint(hints, seen, target, "document.forms.action", snippet(raw, matcher.start(0), matcher.end(0)));
-        }
+            addHint(source, hints, seen, target, "document.forms.action",
+                    Snippets.aroundMatch(source, matcher.start(0), matcher.end(0), SNIPPET_LENGTH), matcher.start(0));
+        });
     }
 
-    private void addHint(List<JsRoutingHint> hints, Set<String> seen, String target, String sourcePattern, String snippet) {
+    private void addHint(SourceText source, List<JsRoutingHint> hints, Set<FindingKey> seen, String target,
+                         String sourcePattern, SourceSnippet snippet, int offset) {
         if (target == null || target.isBlank()) {
             return;
         }
-        String key = target + "|" + sourcePattern + "|" + snippet;
-        if (!seen.add(key)) {
+        if (!seen.add(new FindingKey(target, sourcePattern, snippet))) {
             return;
         }
 
         JsRoutingHint hint = new JsRoutingHint();
         hint.setTargetPage(target);
         hint.setSourcePattern(sourcePattern);
-        hint.setSnippet(snippet);
+        hint.setSnippetSource(snippet);
         hint.setConfidence(JsRoutingHint.CONFIDENCE_HIGH);
+        hint.setLine(source.lineOf(offset));
+        hint.setColumn(source.columnOf(offset));
         hints.add(hint);
     }
-
-    private String snippet(String raw, int start, int end) {
-        int from = Math.max(0, start - 40);
-        int to = Math.min(raw.length(), end + 40);
-        return truncate(raw.substring(from, to).replaceAll("\n", " "), 160);
-    }
-
-    private String truncate(String value, int maxLength) {
-        if (value == null || value.length() <= maxLength) {
-            return value;
-        }
-        return value.substring(0, maxLength);
-    }
 }
@@ -1,42 +1,55 @@
 package com.lide.core.jsp;
 
+import com.lide.core.fs.ArchivePaths;
 import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.fs.SourceFiles;
+import com.lide.core.model.ContentDigest;
 import com.lide.core.model.FieldDescriptor;
 import com.lide.core.model.FormDescriptor;
 import com.lide.core.model.OptionDescriptor;
 import com.lide.core.model.OutputFieldDescriptor;
 import com.lide.core.model.OutputSectionDescriptor;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Attribute;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.nodes.TextNode;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Default implementation that parses JSP/HTML documents with Jsoup and extracts form metadata.
+ * <p>
+ * A {@link TagTokenizer} pass decides first whether the page needs a DOM at all: pages without forms, tables or
+ * expressions in their text only contribute a title, which the tokenizer reads directly.
+ * </p>
  */
 public class DefaultJspAnalyzer implements JspAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultJspAnalyzer.class);
-    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{[^}]+}|%\\{[^}]+}|#\\{[^}]+}");
+    private static final Set<String> SUPPORTED_FIELD_PREFIXES = Set.of("s", "form", "html");
+    private static final Set<String> SUPPORTED_FIELD_LOCAL_NAMES = Set.of(
+            "input", "textfield", "textarea", "password", "checkbox", "radio",
+            "radiobutton", "select", "option", "button", "submit", "hidden", "file"
+    );
 
     @Override
     public List<PageDescriptor> analyze(Path rootDir, CodebaseIndex index) {
@@ -49,33 +62,81 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         pages.addAll(index.getHtmlFiles());
 
         Path normalizedRoot = rootDir.toAbsolutePath().normalize();
+        Map<ContentDigest, PageDescriptor> pagesByContent = new HashMap<>();
+        int duplicates = 0;
 
         for (Path pagePath : pages) {
+            SourceText source;
             try {
-                PageDescriptor descriptor = analyzePage(normalizedRoot, pagePath);
-                descriptors.add(descriptor);
+                source = readPage(normalizedRoot, pagePath);
             } catch (IOException ex) {
                 LOGGER.warn("Failed to analyze {}: {}", pagePath, ex.getMessage());
+                continue;
+            }
+            PageDescriptor canonical = pagesByContent.get(source.digest());
+            if (canonical != null && sameContent(normalizedRoot, canonical, source)) {
+                descriptors.add(copyPage(canonical, pagePath, source));
+                duplicates++;
+                continue;
             }
+            PageDescriptor descriptor = analyzePage(pagePath, source);
+            pagesByContent.putIfAbsent(source.digest(), descriptor);
+            descriptors.add(descriptor);
         }
 
-        LOGGER.info("Completed JSP/HTML analysis for {} pages", descriptors.size());
+        LOGGER.info("Completed JSP/HTML analysis for {} pages ({} with content identical to an earlier page)",
+                descriptors.size(), duplicates);
         return descriptors;
     }
 
-    private PageDescriptor analyzePage(Path normalizedRoot, Path pagePath) throws IOException {
+    /**
+     * Confirms a digest hit against the canonical page's content, read again if the page has released it.
+     */
+    private boolean sameContent(Path normalizedRoot, PageDescriptor canonical, SourceText source) {
+        SourceText canonicalSource = canonical.getSource();
+        if (canonicalSource == null) {
+            try {
+                canonicalSource = readPage(normalizedRoot, canonical.getSourcePath());
+            } catch (IOException ex) {
+                LOGGER.debug("Unable to re-read {} to confirm a duplicate: {}", canonical.getPageId(), ex.getMessage());
+                return false;
+            }
+        }
+        return canonicalSource.contentEquals(source);
+    }
+
+    @Override
+    public SourceText readPage(Path rootDir, Path pagePath) throws IOException {
+        Path normalizedRoot = Objects.requireNonNull(rootDir, "rootDir").toAbsolutePath().normalize();
         Path absolutePath = pagePath.toAbsolutePath().normalize();
-        String raw = Files.readString(pagePath, StandardCharsets.UTF_8);
-        Document document = Jsoup.parse(raw, "", org.jsoup.parser.Parser.htmlParser());
+        return SourceFiles.read(computePageId(normalizedRoot, absolutePath), pagePath);
+    }
 
+    @Override
+    public PageDescriptor analyzePage(Path pagePath, SourceText source) {
+        Objects.requireNonNull(source, "source");
+        String pageId = source.getId();
         PageDescriptor descriptor = new PageDescriptor();
         descriptor.setSourcePath(pagePath);
-        descriptor.setPageId(computePageId(normalizedRoot, absolutePath));
-        descriptor.setTitle(extractTitle(document));
-
-        List<FormDescriptor> forms = analyzeForms(document);
+        descriptor.setPageId(pageId);
+        descriptor.setSource(source);
+
+        String markup = PageSources.markup(descriptor, source);
+        MarkupSummary summary = summarize(markup);
+        List<FormDescriptor> forms;
+        List<OutputSectionDescriptor> outputs;
+        if (summary.needsDocument()) {
+            Document document = Jsoup.parse(markup, "", org.jsoup.parser.Parser.htmlParser().setTrackPosition(true));
+            DocumentIndex documentIndex = DocumentIndex.build(document);
+            descriptor.setTitle(extractTitle(documentIndex));
+            forms = analyzeForms(source, documentIndex);
+            outputs = analyzeOutputs(document, documentIndex);
+        } else {
+            descriptor.setTitle(summary.title());
+            forms = new ArrayList<>();
+            outputs = new ArrayList<>();
+        }
         descriptor.setForms(forms);
-        List<OutputSectionDescriptor> outputs = analyzeOutputs(document);
         descriptor.setOutputs(outputs);
         descriptor.setFrameDefinitions(new ArrayList<>());
         descriptor.setNavigationTargets(new ArrayList<>());
@@ -100,46 +161,111 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return descriptor;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Forms are copied deeply because report generation enriches them per page; output sections are shared.
+     * </p>
+     */
+    @Override
+    public PageDescriptor copyPage(PageDescriptor canonical, Path pagePath, SourceText source) {
+        Objects.requireNonNull(canonical, "canonical");
+        Objects.requireNonNull(source, "source");
+        LOGGER.info("Page {} - content identical to {}; reusing its analysis", source.getId(), canonical.getPageId());
+        PageDescriptor descriptor = new PageDescriptor();
+        descriptor.setSourcePath(pagePath);
+        descriptor.setPageId(source.getId());
+        descriptor.setSource(source);
+        descriptor.setJspRegions(canonical.getJspRegions());
+        descriptor.setTitle(canonical.getTitle());
+
+        List<FormDescriptor> forms = new ArrayList<>(canonical.getForms().size());
+        for (FormDescriptor form : canonical.getForms()) {
+            forms.add(form.copy());
+        }
+        descriptor.setForms(forms);
+        descriptor.setOutputs(new ArrayList<>(canonical.getOutputs()));
+        descriptor.setFrameDefinitions(new ArrayList<>());
+        descriptor.setNavigationTargets(new ArrayList<>());
+        descriptor.setControllerCandidates(new ArrayList<>());
+        descriptor.setNotes(new ArrayList<>());
+        descriptor.setFramesetPage(Boolean.FALSE);
+        descriptor.setDuplicateOf(canonical.getPageId());
+        descriptor.setCanonicalPage(canonical);
+        return descriptor;
+    }
+
     private String computePageId(Path normalizedRoot, Path absolutePath) {
         if (absolutePath.startsWith(normalizedRoot)) {
             return normalizedRoot.relativize(absolutePath).toString().replace('\\', '/');
         }
-        return absolutePath.toString();
+        return ArchivePaths.describe(absolutePath);
     }
 
-    private String extractTitle(Document document) {
-        Element titleElement = document.selectFirst("title");
+    /**
+     * Looks for anything the DOM-based analysis would report on: a form or table start tag, or a brace (every
+     * supported expression syntax has one) in character data outside scripts and styles. Stops at the first hit.
+     */
+    private MarkupSummary summarize(String markup) {
+        TagTokenizer tags = TagTokenizer.of(markup);
+        String title = null;
+        while (tags.next()) {
+            boolean endTag = tags.isEndTag();
+            if (!endTag && (tags.nameIs("table") || DocumentIndex.FORM_TAGS.contains(tags.name()))) {
+                return MarkupSummary.DOCUMENT;
+            }
+            boolean scriptBody = endTag && (tags.nameIs("script") || tags.nameIs("style"));
+            if (!scriptBody && hasBrace(markup, tags.textStart(), tags.start())) {
+                return MarkupSummary.DOCUMENT;
+            }
+            if (title == null && endTag && tags.nameIs("title")) {
+                title = markup.substring(tags.textStart(), tags.start());
+            }
+        }
+        if (hasBrace(markup, tags.textStart(), markup.length())) {
+            return MarkupSummary.DOCUMENT;
+        }
+        return new MarkupSummary(false, title == null ? null : sanitizeText(normalizeWhitespace(
+                org.jsoup.parser.Parser.unescapeEntities(title, false))));
+    }
+
+    private boolean hasBrace(String markup, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (markup.charAt(i) == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String normalizeWhitespace(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+
+    private String extractTitle(DocumentIndex documentIndex) {
+        Element titleElement = documentIndex.title();
         return titleElement != null ? sanitizeText(titleElement.text()) : null;
     }
 
-    private List<FormDescriptor> analyzeForms(Document document) {
+    private List<FormDescriptor> analyzeForms(SourceText source, DocumentIndex documentIndex) {
         List<FormDescriptor> forms = new ArrayList<>();
-        for (Element formElement : locateFormElements(document)) {
-            forms.add(analyzeForm(document, formElement));
+        for (Element formElement : documentIndex.forms()) {
+            forms.add(analyzeForm(source, documentIndex, formElement));
         }
         return forms;
     }
 
-    private List<OutputSectionDescriptor> analyzeOutputs(Document document) {
+    private List<OutputSectionDescriptor> analyzeOutputs(Document document, DocumentIndex documentIndex) {
         List<OutputSectionDescriptor> outputs = new ArrayList<>();
-        outputs.addAll(analyzeTableOutputs(document));
+        outputs.addAll(analyzeTableOutputs(documentIndex));
         outputs.addAll(analyzeTextOutputs(document));
         return outputs;
     }
 
-    private List<Element> locateFormElements(Document document) {
-        Set<Element> formElements = new LinkedHashSet<>();
-        formElements.addAll(document.select("form"));
-        formElements.addAll(document.select("s\\\:form"));
-        formElements.addAll(document.select("html\\\:form"));
-        formElements.addAll(document.select("form\\\:form"));
-        return new ArrayList<>(formElements);
-    }
-
-    private List<OutputSectionDescriptor> analyzeTableOutputs(Document document) {
+    private List<OutputSectionDescriptor> analyzeTableOutputs(DocumentIndex documentIndex) {
         List<OutputSectionDescriptor> sections = new ArrayList<>();
-        for (Element tableElement : document.select("table")) {
-            List<OutputFieldDescriptor> fields = extractTableFields(tableElement);
+        for (Element tableElement : documentIndex.tables()) {
+            List<OutputFieldDescriptor> fields = extractTableFields(documentIndex, tableElement);
             if (fields.isEmpty()) {
                 continue;
             }
@@ -160,22 +286,21 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
 
     private List<OutputSectionDescriptor> analyzeTextOutputs(Document document) {
         List<OutputSectionDescriptor> sections = new ArrayList<>();
-        for (Element element : document.getAllElements()) {
-            if (element == null || element == document) {
-                continue;
-            }
-            String tagName = element.tagName();
-            if ("script".equalsIgnoreCase(tagName) || "style".equalsIgnoreCase(tagName)) {
+        // Depth-first walk that prunes table and form subtrees instead of asking closest() on every element.
+        Deque<Element> pending = new ArrayDeque<>();
+        pushChildren(pending, document);
+        while (!pending.isEmpty()) {
+            Element element = pending.pop();
+            String tagName = element.normalName();
+            if ("table".equals(tagName) || "form".equals(tagName)) {
                 continue;
             }
-            if (element.closest("table") != null || element.closest("form") != null) {
+            pushChildren(pending, element);
+            if ("script".equals(tagName) || "style".equals(tagName) || !hasExpressionInOwnText(element)) {
                 continue;
             }
 
             String ownText = element.ownText();
-            if (ownText == null || ownText.isBlank()) {
-                continue;
-            }
             List<String> expressions = extractExpressions(ownText);
             if (expressions.isEmpty()) {
                 continue;
@@ -200,18 +325,42 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return sections;
     }
 
-    private FormDescriptor analyzeForm(Document document, Element formElement) {
+    private void pushChildren(Deque<Element> pending, Element parent) {
+        Elements children = parent.children();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            pending.push(children.get(i));
+        }
+    }
+
+    /**
+     * Cheap pre-check on the element's own text nodes; every supported expression syntax contains a brace.
+     */
+    private boolean hasExpressionInOwnText(Element element) {
+        for (TextNode textNode : element.textNodes()) {
+            if (textNode.getWholeText().indexOf('{') >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FormDescriptor analyzeForm(SourceText source, DocumentIndex documentIndex, Element formElement) {
         FormDescriptor descriptor = new FormDescriptor();
         descriptor.setFormId(resolveFormId(formElement));
         descriptor.setAction(sanitizeAttribute(formElement, "action"));
         descriptor.setMethod(resolveMethod(formElement));
+        int offset = Snippets.startOffset(formElement);
+        if (offset >= 0) {
+            descriptor.setLine(source.lineOf(offset));
+            descriptor.setColumn(source.columnOf(offset));
+        }
 
         List<FieldDescriptor> fields = new ArrayList<>();
         for (Element element : formElement.getAllElements()) {
             if (element == formElement || !isFieldElement(element)) {
                 continue;
             }
-            FieldDescriptor field = analyzeField(document, element);
+            FieldDescriptor field = analyzeField(source, documentIndex, element);
             if (field != null) {
                 fields.add(field);
             }
@@ -273,25 +422,24 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         String localName = tagName.substring(tagName.indexOf(':') + 1).toLowerCase(Locale.ROOT);
         String prefix = tagName.substring(0, tagName.indexOf(':')).toLowerCase(Locale.ROOT);
 
-        Set<String> supportedPrefixes = Set.of("s", "form", "html");
-        if (!supportedPrefixes.contains(prefix)) {
+        if (!SUPPORTED_FIELD_PREFIXES.contains(prefix)) {
             return false;
         }
-
-        Set<String> supportedLocalNames = Set.of(
-                "input", "textfield", "textarea", "password", "checkbox", "radio",
-                "radiobutton", "select", "option", "button", "submit", "hidden", "file"
-        );
-        return supportedLocalNames.contains(localName);
+        return SUPPORTED_FIELD_LOCAL_NAMES.contains(localName);
     }
 
-    private FieldDescriptor analyzeField(Document document, Element element) {
+    private FieldDescriptor analyzeField(SourceText source, DocumentIndex documentIndex, Element element) {
         FieldDescriptor descriptor = new FieldDescriptor();
         descriptor.setSourceTagName(element.tagName());
+        int offset = Snippets.startOffset(element);
+        if (offset >= 0) {
+            descriptor.setLine(source.lineOf(offset));
+            descriptor.setColumn(source.columnOf(offset));
+        }
         descriptor.setId(sanitizeAttribute(element, "id"));
         descriptor.setName(resolveFieldName(element));
         descriptor.setType(resolveFieldType(element));
-        descriptor.setLabel(resolveFieldLabel(document, element));
+        descriptor.setLabel(resolveFieldLabel(documentIndex, element));
         descriptor.setRequired(resolveRequired(element));
         descriptor.setMaxLength(resolveIntegerAttribute(element, "maxlength", "maxLength"));
         descriptor.setMinLength(resolveIntegerAttribute(element, "minlength", "minLength"));
@@ -300,7 +448,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         descriptor.setDefaultValue(sanitizeAttribute(element, "value"));
         descriptor.setMinValue(sanitizeAttribute(element, "min"));
         descriptor.setMaxValue(sanitizeAttribute(element, "max"));
-        descriptor.setOptions(resolveOptions(element));
+        descriptor.setOptions(resolveOptions(documentIndex, element));
         descriptor.setBindingExpressions(resolveBindingExpressions(element));
         descriptor.setConstraints(new ArrayList<>());
         descriptor.setNotes(new ArrayList<>());
@@ -308,22 +456,18 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return descriptor;
     }
 
-    private List<OutputFieldDescriptor> extractTableFields(Element tableElement) {
-        Element headerRow = findHeaderRow(tableElement);
+    private List<OutputFieldDescriptor> extractTableFields(DocumentIndex documentIndex, Element tableElement) {
+        List<DocumentIndex.Row> rows = documentIndex.rows(tableElement);
+        DocumentIndex.Row headerRow = findHeaderRow(rows);
         List<String> headerLabels = headerRow != null ? extractHeaderLabels(headerRow) : Collections.emptyList();
-        Element dataRow = findFirstDataRow(tableElement);
+        DocumentIndex.Row dataRow = findFirstDataRow(rows);
         if (dataRow == null) {
             return Collections.emptyList();
         }
 
         List<OutputFieldDescriptor> fields = new ArrayList<>();
         int columnIndex = 0;
-        for (Element cell : dataRow.children()) {
-            String tagName = cell.tagName();
-            if (!"td".equalsIgnoreCase(tagName) && !"th".equalsIgnoreCase(tagName)) {
-                continue;
-            }
-
+        for (Element cell : dataRow.cells()) {
             String binding = firstBinding(cell);
             String rawText = sanitizeText(stripExpressions(cell.text()));
             if (binding == null && (rawText == null || rawText.isBlank())) {
@@ -352,23 +496,28 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return fields;
     }
 
-    private Element findHeaderRow(Element tableElement) {
-        Element headerRow = tableElement.selectFirst("thead tr");
-        if (headerRow != null && !headerRow.select("th").isEmpty()) {
-            return headerRow;
+    private DocumentIndex.Row findHeaderRow(List<DocumentIndex.Row> rows) {
+        for (DocumentIndex.Row row : rows) {
+            if (row.inHead()) {
+                // Only the first thead row is considered, as selectFirst("thead tr") did.
+                if (row.hasHeaderCells()) {
+                    return row;
+                }
+                break;
+            }
         }
-        for (Element row : tableElement.select("tr")) {
-            if (!row.select("th").isEmpty()) {
+        for (DocumentIndex.Row row : rows) {
+            if (row.hasHeaderCells()) {
                 return row;
             }
         }
         return null;
     }
 
-    private List<String> extractHeaderLabels(Element headerRow) {
+    private List<String> extractHeaderLabels(DocumentIndex.Row headerRow) {
         List<String> labels = new ArrayList<>();
-        for (Element headerCell : headerRow.children()) {
-            if (!"th".equalsIgnoreCase(headerCell.tagName())) {
+        for (Element headerCell : headerRow.cells()) {
+            if (!"th".equals(headerCell.normalName())) {
                 continue;
             }
             labels.add(sanitizeText(stripExpressions(headerCell.text())));
@@ -376,14 +525,14 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return labels;
     }
 
-    private Element findFirstDataRow(Element tableElement) {
-        for (Element row : tableElement.select("tbody tr")) {
-            if (!row.select("td").isEmpty()) {
+    private DocumentIndex.Row findFirstDataRow(List<DocumentIndex.Row> rows) {
+        for (DocumentIndex.Row row : rows) {
+            if (row.inBody() && row.hasDataCells()) {
                 return row;
             }
         }
-        for (Element row : tableElement.select("tr")) {
-            if (!row.select("td").isEmpty()) {
+        for (DocumentIndex.Row row : rows) {
+            if (row.hasDataCells()) {
                 return row;
             }
         }
@@ -449,15 +598,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         if (raw == null || raw.isBlank()) {
             return Collections.emptyList();
         }
-        Set<String> matches = new LinkedHashSet<>();
-        Matcher matcher = EXPRESSION_PATTERN.matcher(raw);
-        while (matcher.find()) {
-            matches.add(matcher.group());
-        }
-        if (matches.isEmpty()) {
-            return Collections.emptyList();
-        }
-        return new ArrayList<>(matches);
+        return ExpressionScanner.extract(raw);
     }
 
     private String normalizeExpression(String expression) {
@@ -506,6 +647,11 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return value != null ? value.trim() : null;
     }
 
+    private record MarkupSummary(boolean needsDocument, String title) {
+
+        private static final MarkupSummary DOCUMENT = new MarkupSummary(true, null);
+    }
+
     private static final class IterationContext {
         private final String itemVariable;
         private final String itemsExpression;
@@ -600,7 +746,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return localName;
     }
 
-    private String resolveFieldLabel(Document document, Element element) {
+    private String resolveFieldLabel(DocumentIndex documentIndex, Element element) {
         String label = sanitizeAttribute(element, "label");
         if (label != null) {
             return label;
@@ -618,7 +764,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         }
         String id = sanitizeAttribute(element, "id");
         if (id != null) {
-            Element forLabel = document.selectFirst("label[for='" + id + "']");
+            Element forLabel = documentIndex.labelFor(id);
             if (forLabel != null) {
                 return sanitizeText(forLabel.text());
             }
@@ -659,13 +805,8 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         return null;
     }
 
-    private List<OptionDescriptor> resolveOptions(Element element) {
-        if (!"select".equalsIgnoreCase(element.tagName())
-                && !element.tagName().toLowerCase(Locale.ROOT).endsWith(":select")) {
-            return Collections.emptyList();
-        }
-
-        Elements optionElements = element.select("option");
+    private List<OptionDescriptor> resolveOptions(DocumentIndex documentIndex, Element element) {
+        List<Element> optionElements = documentIndex.options(element);
         if (optionElements.isEmpty()) {
             return Collections.emptyList();
         }
@@ -688,10 +829,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
             if (value == null || value.isBlank()) {
                 continue;
             }
-            Matcher matcher = EXPRESSION_PATTERN.matcher(value);
-            while (matcher.find()) {
-                expressions.add(matcher.group());
-            }
+            expressions.addAll(ExpressionScanner.extract(value));
         }
         if (expressions.isEmpty()) {
             return Collections.emptyList();
@@ -719,9 +857,7 @@ public class DefaultJspAnalyzer implements JspAnalyzer {
         if (raw == null || raw.isBlank()) {
             return raw;
         }
-        String cleaned = EXPRESSION_PATTERN.matcher(raw).replaceAll("");
-        cleaned = cleaned.replace("<%=", "").replace("<%", "").replace("%>", "");
-        cleaned = cleaned.trim();
+        String cleaned = ExpressionScanner.strip(raw).trim();
         return cleaned.isEmpty() ? null : cleaned;
     }
 
@@ -1,8 +1,11 @@
 package com.lide.core.jsp;
 
+import com.lide.core.config.AnalyzerConfig;
 import com.lide.core.extractors.NavigationTargetExtractor;
 import com.lide.core.model.NavigationTarget;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -11,8 +14,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -20,19 +21,33 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Default navigation target extractor that scans JSP/HTML content for links to other JSPs.
+ * Default navigation target extractor that scans JSP/HTML content, and the external scripts it loads, for links
+ * to other JSPs.
  */
 public class DefaultNavigationTargetExtractor implements NavigationTargetExtractor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultNavigationTargetExtractor.class);
 
     private static final Pattern LOCATION_PATTERN = Pattern.compile(
-            "(?i)(window\\.location|location|parent\\.frame\\.location|parent\\.location)\\s*[:=]\\s*['\"]([^'\"]+\\.jspf?[^'\"]*)['\"]");
-    private static final Pattern JSP_STRING_PATTERN = Pattern.compile("(['\"])([^'\"]+\\.jspf?[^'\"]*)\\1", Pattern.CASE_INSENSITIVE);
+            "(?i)(window\\.location|location|parent\\.frame\\.location|parent\\.location)\\s*[:=]\\s*['\"]((?=[^'\"]+?\\.jsp)[^'\"]++)['\"]");
+    private static final int SNIPPET_LENGTH = 160;
+    private static final Pattern JSP_STRING_PATTERN = Pattern.compile("(['\"])((?=[^'\"]+?\\.jsp)[^'\"]++)\\1", Pattern.CASE_INSENSITIVE);
+
+    private final ScanLimits limits;
+    private final ScriptFindingCache<NavigationTarget> scripts;
+
+    public DefaultNavigationTargetExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultNavigationTargetExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+        this.scripts = new ScriptFindingCache<>(limits,
+                (scan, script, targets) -> collectFromScripts(scan, script, targets, new LinkedHashSet<>()));
+    }
 
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
@@ -41,63 +56,71 @@ public class DefaultNavigationTargetExtractor implements NavigationTargetExtract
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(normalizedRoot, page,
+                    PageDescriptor::getNavigationTargets, PageDescriptor::setNavigationTargets, scripts)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setNavigationTargets(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for navigation extraction: {}", sourcePath, ex.getMessage());
                 page.setNavigationTargets(List.of());
                 continue;
             }
-
-            Document document = Jsoup.parse(raw, "", Parser.htmlParser());
-            Set<String> seen = new LinkedHashSet<>();
+            Document document = Jsoup.parse(PageSources.markup(page, source), "", Parser.htmlParser().setTrackPosition(true));
+            Set<FindingKey> seen = new LinkedHashSet<>();
             List<NavigationTarget> targets = new ArrayList<>();
 
-            collectFromAnchors(document, targets, seen);
-            collectFromScripts(raw, targets, seen);
+            collectFromAnchors(source, document, targets, seen);
+            PageScan scan = limits.beginScripts(page, source);
+            try {
+                collectFromScripts(scan, source, targets, seen);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - navigation extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "navigation extraction");
+            }
+            for (String script : scripts.appendTo(normalizedRoot, page, source, targets)) {
+                scan.markPartial(page, "navigation extraction of " + script);
+            }
 
             page.setNavigationTargets(targets);
             LOGGER.info("Page {} - navigation targets detected: {}", page.getPageId(), targets.size());
         }
     }
 
-    private void collectFromAnchors(Document document, List<NavigationTarget> targets, Set<String> seen) {
+    private void collectFromAnchors(SourceText source, Document document, List<NavigationTarget> targets, Set<FindingKey> seen) {
         for (Element anchor : document.select("a[href]")) {
             String href = anchor.attr("href");
             if (!containsJspReference(href)) {
                 continue;
             }
-            addTarget(targets, seen, href, "href", truncate(anchor.outerHtml(), 160));
+            addTarget(source, targets, seen, href, "href", Snippets.element(source, anchor, SNIPPET_LENGTH),
+                    Snippets.startOffset(anchor));
         }
     }
 
-    private void collectFromScripts(String raw, List<NavigationTarget> targets, Set<String> seen) {
-        Matcher locationMatcher = LOCATION_PATTERN.matcher(raw);
-        while (locationMatcher.find()) {
+    private void collectFromScripts(PageScan scan, SourceText source, List<NavigationTarget> targets, Set<FindingKey> seen) {
+        scan.find(LOCATION_PATTERN, locationMatcher -> {
             String target = locationMatcher.group(2);
-            addTarget(targets, seen, target, "script-location", snippet(raw, locationMatcher.start(0), locationMatcher.end(0)));
-        }
+            addTarget(source, targets, seen, target, "script-location", Snippets.aroundMatch(source, locationMatcher.start(0), locationMatcher.end(0), SNIPPET_LENGTH),
+                    locationMatcher.start(0));
+        });
 
-        Matcher jspStringMatcher = JSP_STRING_PATTERN.matcher(raw);
-        while (jspStringMatcher.find()) {
+        scan.find(JSP_STRING_PATTERN, jspStringMatcher -> {
             String candidate = jspStringMatcher.group(2);
             if (!containsJspReference(candidate)) {
-                continue;
+                return;
             }
-            addTarget(targets, seen, candidate, "js-string", snippet(raw, jspStringMatcher.start(0), jspStringMatcher.end(0)));
-        }
+            addTarget(source, targets, seen, candidate, "js-string", Snippets.aroundMatch(source, jspStringMatcher.start(0), jspStringMatcher.end(0), SNIPPET_LENGTH),
+                    jspStringMatcher.start(0));
+        });
     }
 
     private boolean containsJspReference(String value) {
@@ -108,33 +131,24 @@ public class DefaultNavigationTargetExtractor implements NavigationTargetExtract
         return lower.contains(".jsp") || lower.contains(".jspf");
     }
 
-    private void addTarget(List<NavigationTarget> targets, Set<String> seen, String target, String sourcePattern, String snippet) {
+    private void addTarget(SourceText source, List<NavigationTarget> targets, Set<FindingKey> seen, String target,
+                           String sourcePattern, SourceSnippet snippet, int offset) {
         if (target == null || target.isBlank()) {
             return;
         }
-        String key = target + "|" + sourcePattern + "|" + snippet;
-        if (!seen.add(key)) {
+        if (!seen.add(new FindingKey(target, sourcePattern, snippet))) {
             return;
         }
 
         NavigationTarget navigationTarget = new NavigationTarget();
         navigationTarget.setTargetPage(target);
         navigationTarget.setSourcePattern(sourcePattern);
-        navigationTarget.setSnippet(snippet);
+        navigationTarget.setSnippetSource(snippet);
         navigationTarget.setConfidence(NavigationTarget.CONFIDENCE_HIGH);
-        targets.add(navigationTarget);
-    }
-
-    private String snippet(String raw, int start, int end) {
-        int from = Math.max(0, start - 40);
-        int to = Math.min(raw.length(), end + 40);
-        return truncate(raw.substring(from, to).replaceAll("\n", " "), 160);
-    }
-
-    private String truncate(String value, int maxLength) {
-        if (value == null || value.length() <= maxLength) {
-            return value;
+        if (offset >= 0) {
+            navigationTarget.setLine(source.lineOf(offset));
+            navigationTarget.setColumn(source.columnOf(offset));
         }
-        return value.substring(0, maxLength);
+        targets.add(navigationTarget);
     }
 }
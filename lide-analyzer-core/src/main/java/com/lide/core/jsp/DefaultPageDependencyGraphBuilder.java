@@ -1,6 +1,7 @@
 package com.lide.core.jsp;
 
 import com.lide.core.extractors.PageDependencyGraphBuilder;
+import com.lide.core.fs.ArchivePaths;
 import com.lide.core.model.FrameDefinition;
 import com.lide.core.model.JsRoutingHint;
 import com.lide.core.model.NavigationTarget;
@@ -61,7 +62,7 @@ public class DefaultPageDependencyGraphBuilder implements PageDependencyGraphBui
                 return normalizedRoot.relativize(absolute).toString().replace('\\', '/');
             }
         }
-        return sourcePath.toString();
+        return ArchivePaths.describe(sourcePath);
     }
 
     private void registerDependency(List<PageDependency> dependencies, Set<String> seen, String from, String to, String type) {
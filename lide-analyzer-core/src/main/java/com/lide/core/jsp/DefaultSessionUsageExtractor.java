@@ -1,21 +1,23 @@
 package com.lide.core.jsp;
 
+import com.lide.core.config.AnalyzerConfig;
 import com.lide.core.extractors.SessionUsageExtractor;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import com.lide.core.model.JspRegions;
 import com.lide.core.model.SessionDependency;
+import com.lide.core.model.TextRegions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -29,6 +31,16 @@ public class DefaultSessionUsageExtractor implements SessionUsageExtractor {
     private static final Pattern SESSION_GET_PATTERN = Pattern.compile("session\\.getAttribute\\(\\s*\"([^\"]+)\"\\s*\\)");
     private static final Pattern REQUEST_SESSION_GET_PATTERN = Pattern.compile("request\\.getSession\\(\\)\\.getAttribute\\(\\s*\"([^\"]+)\"\\s*\\)");
 
+    private final ScanLimits limits;
+
+    public DefaultSessionUsageExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultSessionUsageExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+    }
+
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
         Objects.requireNonNull(pages, "pages");
@@ -36,63 +48,73 @@ public class DefaultSessionUsageExtractor implements SessionUsageExtractor {
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(page, PageDescriptor::getSessionDependencies, PageDescriptor::setSessionDependencies)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setSessionDependencies(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for session usage extraction: {}", sourcePath, ex.getMessage());
                 page.setSessionDependencies(List.of());
                 continue;
             }
-
             Set<String> seenKeys = new LinkedHashSet<>();
             List<SessionDependency> dependencies = new ArrayList<>();
 
-            collect(raw, EL_SESSION_PATTERN, "EL", dependencies, seenKeys);
-            collect(raw, SESSION_GET_PATTERN, "session.getAttribute", dependencies, seenKeys);
-            collect(raw, REQUEST_SESSION_GET_PATTERN, "request.getSession().getAttribute", dependencies, seenKeys);
+            // Session API calls can only run inside Java code; nothing inside a JSP comment runs at all.
+            JspRegions jspRegions = PageSources.jspRegions(page, source);
+            TextRegions javaCode = jspRegions.regions(JspRegions.JAVA_CODE);
+            TextRegions comments = jspRegions.regions(EnumSet.of(JspRegions.Kind.COMMENT));
+
+            PageScan scan = limits.begin(page, source);
+            try {
+                collect(scan, source, EL_SESSION_PATTERN, null, comments, "EL", dependencies, seenKeys);
+                collect(scan, source, SESSION_GET_PATTERN, javaCode, comments, "session.getAttribute", dependencies, seenKeys);
+                collect(scan, source, REQUEST_SESSION_GET_PATTERN, javaCode, comments,
+                        "request.getSession().getAttribute", dependencies, seenKeys);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - session usage extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "session usage extraction");
+            }
 
             page.setSessionDependencies(dependencies);
             LOGGER.info("Page {} - session dependencies detected: {}", page.getPageId(), dependencies.size());
         }
     }
 
-    private void collect(String raw,
+    private void collect(PageScan scan,
+                         SourceText pageSource,
                          Pattern pattern,
+                         TextRegions within,
+                         TextRegions comments,
                          String source,
                          List<SessionDependency> dependencies,
                          Set<String> seenKeys) {
-        Matcher matcher = pattern.matcher(raw);
-        while (matcher.find()) {
+        scan.find(pattern, within, matcher -> {
+            if (comments.contains(matcher.start())) {
+                return;
+            }
             String key = matcher.group(1);
             String signature = key + "|" + source;
             if (!seenKeys.add(signature)) {
-                continue;
+                return;
             }
 
             SessionDependency dependency = new SessionDependency();
             dependency.setKey(key);
             dependency.setSource(source);
-            dependency.setSnippet(snippet(raw, matcher.start(0), matcher.end(0)));
+            dependency.setSnippetSource(Snippets.aroundMatch(pageSource, matcher.start(0), matcher.end(0), Integer.MAX_VALUE));
             dependency.setConfidence(SessionDependency.CONFIDENCE_HIGH);
+            dependency.setLine(pageSource.lineOf(matcher.start(0)));
+            dependency.setColumn(pageSource.columnOf(matcher.start(0)));
             dependencies.add(dependency);
-        }
-    }
-
-    private String snippet(String raw, int start, int end) {
-        int from = Math.max(0, start - 40);
-        int to = Math.min(raw.length(), end + 40);
-        return raw.substring(from, to).replaceAll("\n", " ");
+        });
     }
 }
@@ -1,18 +1,15 @@
 package com.lide.core.jsp;
 
+import com.lide.core.config.AnalyzerConfig;
 import com.lide.core.extractors.UrlParameterExtractor;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
 import com.lide.core.model.UrlParameter;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -23,17 +20,35 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Extracts URL parameter candidates from anchors and JavaScript snippets.
+ * Extracts URL parameter candidates from anchors and JavaScript snippets, including the external scripts a page
+ * loads.
  */
 public class DefaultUrlParameterExtractor implements UrlParameterExtractor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultUrlParameterExtractor.class);
 
-    private static final Pattern PARAM_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_]+(?==)");
+    private static final int SNIPPET_LENGTH = 160;
+    // The patterns below are written so that no input makes them backtrack more than linearly: possessive
+    // quantifiers never give back characters, and the lookbehinds only let a name or token start at its boundary
+    // instead of being retried from every character inside a long run.
+    private static final Pattern PARAM_NAME_PATTERN = Pattern.compile("(?<![A-Za-z0-9_])[A-Za-z0-9_]++(?==)");
     private static final Pattern LOCATION_PATTERN = Pattern.compile(
-            "(?i)(window\\.location|location|parent\\.frame\\.location|parent\\.location)\\s*[:=]\\s*['\"]([^'\"]+)['\"]");
-    private static final Pattern STRING_WITH_QUERY = Pattern.compile("(['\"])([^'\"]*\?[^'\"]*)\\1");
-    private static final Pattern QUERY_TOKEN_PATTERN = Pattern.compile("[^\\s'\"<>]*\?[^\\s'\"<>]*");
+            "(?i)(window\\.location|location|parent\\.frame\\.location|parent\\.location)\\s*[:=]\\s*['\"]([^'\"]++)['\"]");
+    private static final Pattern STRING_WITH_QUERY = Pattern.compile("(['\"])([^'\"?]*+\\?[^'\"]*+)\\1");
+    private static final Pattern QUERY_TOKEN_PATTERN = Pattern.compile("(?<![^\\s'\"<>])[^\\s'\"<>?]*+\\?[^\\s'\"<>]*+");
+
+    private final ScanLimits limits;
+    private final ScriptFindingCache<UrlParameter> scripts;
+
+    public DefaultUrlParameterExtractor() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultUrlParameterExtractor(AnalyzerConfig config) {
+        this.limits = ScanLimits.from(Objects.requireNonNull(config, "config"));
+        this.scripts = new ScriptFindingCache<>(limits,
+                (scan, script, parameters) -> collectFromScripts(scan, script, parameters, new LinkedHashSet<>()));
+    }
 
     @Override
     public void extract(Path rootDir, List<PageDescriptor> pages) {
@@ -42,78 +57,92 @@ public class DefaultUrlParameterExtractor implements UrlParameterExtractor {
         Path normalizedRoot = rootDir == null ? null : rootDir.toAbsolutePath().normalize();
 
         for (PageDescriptor page : pages) {
+            if (DuplicatePages.reuse(normalizedRoot, page,
+                    PageDescriptor::getUrlParameterCandidates, PageDescriptor::setUrlParameterCandidates, scripts)) {
+                continue;
+            }
             Path sourcePath = page.getSourcePath();
             if (sourcePath == null) {
                 page.setUrlParameterCandidates(List.of());
                 continue;
             }
 
-            Path absolute = sourcePath;
-            if (!absolute.isAbsolute() && normalizedRoot != null) {
-                absolute = normalizedRoot.resolve(sourcePath);
-            }
-
-            String raw;
+            SourceText source;
             try {
-                raw = Files.readString(absolute, StandardCharsets.UTF_8);
+                source = PageSources.load(normalizedRoot, page);
             } catch (IOException ex) {
                 LOGGER.warn("Unable to read page {} for URL parameter extraction: {}", sourcePath, ex.getMessage());
                 page.setUrlParameterCandidates(List.of());
                 continue;
             }
-
-            Document document = Jsoup.parse(raw, "", Parser.htmlParser());
-            Set<String> seen = new LinkedHashSet<>();
+            Set<FindingKey> seen = new LinkedHashSet<>();
             List<UrlParameter> parameters = new ArrayList<>();
 
-            collectFromAnchors(document, parameters, seen);
-            collectFromForms(document, parameters, seen);
-            collectFromScripts(raw, parameters, seen);
+            collectFromTags(source, TagTokenizer.of(PageSources.markup(page, source)), parameters, seen);
+            PageScan scan = limits.beginScripts(page, source);
+            try {
+                collectFromScripts(scan, source, parameters, seen);
+            } catch (PageScan.BudgetExceededException ex) {
+                LOGGER.warn("Page {} - URL parameter extraction stopped at the time budget", page.getPageId());
+                scan.markPartial(page, "URL parameter extraction");
+            }
+            for (String script : scripts.appendTo(normalizedRoot, page, source, parameters)) {
+                scan.markPartial(page, "URL parameter extraction of " + script);
+            }
 
             page.setUrlParameterCandidates(parameters);
             LOGGER.info("Page {} - URL parameters detected: {}", page.getPageId(), parameters.size());
         }
     }
 
-    private void collectFromAnchors(Document document, List<UrlParameter> parameters, Set<String> seen) {
-        for (Element anchor : document.select("a[href]")) {
-            String href = anchor.attr("href");
-            extractParametersFromCandidate(href, "href", truncate(anchor.outerHtml(), 160), parameters, seen);
-        }
-    }
-
-    private void collectFromForms(Document document, List<UrlParameter> parameters, Set<String> seen) {
-        for (Element form : document.select("form[action]")) {
-            String action = form.attr("action");
-            extractParametersFromCandidate(action, "form-action", truncate(form.outerHtml(), 160), parameters, seen);
+    /**
+     * Reads {@code a[href]} and {@code form[action]} in one pass; form actions are reported after all anchors.
+     */
+    private void collectFromTags(SourceText source, TagTokenizer tags, List<UrlParameter> parameters, Set<FindingKey> seen) {
+        List<UrlParameter> formParameters = new ArrayList<>();
+        while (tags.next()) {
+            boolean anchor = tags.nameIs("a");
+            if (tags.isEndTag() || !anchor && !tags.nameIs("form")) {
+                continue;
+            }
+            String candidate = tags.attribute(anchor ? "href" : "action");
+            // The snippet needs the element's end tag, so only look for it when there are parameters to report.
+            if (candidate != null && candidate.contains("?")) {
+                extractParametersFromCandidate(candidate, anchor ? "href" : "form-action",
+                        Snippets.tag(source, tags, SNIPPET_LENGTH), source, tags.start(),
+                        anchor ? parameters : formParameters, seen);
+            }
         }
+        parameters.addAll(formParameters);
     }
 
-    private void collectFromScripts(String raw, List<UrlParameter> parameters, Set<String> seen) {
-        Matcher locationMatcher = LOCATION_PATTERN.matcher(raw);
-        while (locationMatcher.find()) {
+    private void collectFromScripts(PageScan scan, SourceText source, List<UrlParameter> parameters, Set<FindingKey> seen) {
+        scan.find(LOCATION_PATTERN, locationMatcher -> {
             String target = locationMatcher.group(2);
-            extractParametersFromCandidate(target, "script-location", snippet(raw, locationMatcher.start(0), locationMatcher.end(0)), parameters, seen);
-        }
+            extractParametersFromCandidate(target, "script-location", Snippets.aroundMatch(source, locationMatcher.start(0), locationMatcher.end(0), SNIPPET_LENGTH),
+                    source, locationMatcher.start(0), parameters, seen);
+        });
 
-        Matcher literalMatcher = STRING_WITH_QUERY.matcher(raw);
-        while (literalMatcher.find()) {
+        scan.find(STRING_WITH_QUERY, literalMatcher -> {
             String candidate = literalMatcher.group(2);
-            extractParametersFromCandidate(candidate, "js-string", snippet(raw, literalMatcher.start(0), literalMatcher.end(0)), parameters, seen);
-        }
+            extractParametersFromCandidate(candidate, "js-string", Snippets.aroundMatch(source, literalMatcher.start(0), literalMatcher.end(0), SNIPPET_LENGTH),
+                    source, literalMatcher.start(0), parameters, seen);
+        });
 
-        Matcher queryMatcher = QUERY_TOKEN_PATTERN.matcher(raw);
-        while (queryMatcher.find()) {
+        scan.find(QUERY_TOKEN_PATTERN, queryMatcher -> {
             String candidate = queryMatcher.group();
-            extractParametersFromCandidate(candidate, "inline-query", snippet(raw, queryMatcher.start(0), queryMatcher.end(0)), parameters, seen);
-        }
+            extractParametersFromCandidate(candidate, "inline-query", Snippets.aroundMatch(source, queryMatcher.start(0), queryMatcher.end(0), SNIPPET_LENGTH),
+                    source, queryMatcher.start(0), parameters, seen);
+        });
     }
 
     private void extractParametersFromCandidate(String candidate,
                                                 String source,
-                                                String snippet,
+                                                SourceSnippet snippet,
+                                                SourceText pageSource,
+                                                int offset,
                                                 List<UrlParameter> parameters,
-                                                Set<String> seen) {
+                                                Set<FindingKey> seen) {
         if (candidate == null || !candidate.contains("?")) {
             return;
         }
@@ -121,30 +150,20 @@ public class DefaultUrlParameterExtractor implements UrlParameterExtractor {
         Matcher matcher = PARAM_NAME_PATTERN.matcher(candidate);
         while (matcher.find()) {
             String param = matcher.group();
-            String key = param + "|" + source + "|" + snippet;
-            if (!seen.add(key)) {
+            if (!seen.add(new FindingKey(param, source, snippet))) {
                 continue;
             }
 
             UrlParameter urlParameter = new UrlParameter();
             urlParameter.setName(param);
             urlParameter.setSource(source);
-            urlParameter.setSnippet(snippet);
+            urlParameter.setSnippetSource(snippet);
             urlParameter.setConfidence(UrlParameter.CONFIDENCE_HIGH);
+            if (offset >= 0) {
+                urlParameter.setLine(pageSource.lineOf(offset));
+                urlParameter.setColumn(pageSource.columnOf(offset));
+            }
             parameters.add(urlParameter);
         }
     }
-
-    private String snippet(String raw, int start, int end) {
-        int from = Math.max(0, start - 40);
-        int to = Math.min(raw.length(), end + 40);
-        return truncate(raw.substring(from, to).replaceAll("\n", " "), 160);
-    }
-
-    private String truncate(String value, int maxLength) {
-        if (value == null || value.length() <= maxLength) {
-            return value;
-        }
-        return value.substring(0, maxLength);
-    }
 }
@@ -0,0 +1,238 @@
+package com.lide.core.jsp;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-document lookup tables built in a single traversal before field and output analysis.
+ * <p>
+ * Replaces repeated selector queries (the form tags, {@code label[for=...]} per field, {@code tr}/{@code td}/
+ * {@code th} per table and {@code option} per select) with list and map lookups. Every list follows document
+ * order. Rows and options keep the descendant semantics the selectors had, so a table also lists the rows of
+ * tables nested in it.
+ * </p>
+ */
+final class DocumentIndex {
+
+    static final List<String> FORM_TAGS = List.of("form", "s:form", "html:form", "form:form");
+
+    private final Map<String, List<Element>> elementsByTag;
+    private final Map<String, Element> labelsByFor;
+    private final Map<Element, List<Row>> rowsByTable;
+    private final Map<Element, List<Element>> optionsBySelect;
+    private final List<Element> forms;
+
+    private DocumentIndex(Builder builder) {
+        this.elementsByTag = builder.elementsByTag;
+        this.labelsByFor = builder.labelsByFor;
+        this.rowsByTable = builder.rowsByTable;
+        this.optionsBySelect = builder.optionsBySelect;
+        // Forms are grouped by tag first to keep the order the analyzer has always reported them in.
+        List<Element> forms = new ArrayList<>();
+        for (String tag : FORM_TAGS) {
+            forms.addAll(elements(tag));
+        }
+        this.forms = Collections.unmodifiableList(forms);
+    }
+
+    static DocumentIndex build(Document document) {
+        Objects.requireNonNull(document, "document");
+        Builder builder = new Builder();
+        NodeTraversor.traverse(builder, document);
+        return new DocumentIndex(builder);
+    }
+
+    /**
+     * Returns the elements with the given normalized (lower-case) tag name.
+     */
+    List<Element> elements(String tagName) {
+        return elementsByTag.getOrDefault(tagName, List.of());
+    }
+
+    Element title() {
+        List<Element> titles = elements("title");
+        return titles.isEmpty() ? null : titles.get(0);
+    }
+
+    List<Element> forms() {
+        return forms;
+    }
+
+    List<Element> tables() {
+        return elements("table");
+    }
+
+    /**
+     * Returns every {@code tr} inside the table, as {@code table.select("tr")} would.
+     */
+    List<Row> rows(Element table) {
+        return rowsByTable.getOrDefault(table, List.of());
+    }
+
+    /**
+     * Returns every {@code option} inside a {@code select} or prefixed {@code *:select} element.
+     */
+    List<Element> options(Element select) {
+        return optionsBySelect.getOrDefault(select, List.of());
+    }
+
+    /**
+     * Returns the first {@code <label>} whose {@code for} attribute matches {@code id}, compared the way a
+     * {@code label[for=id]} selector would (trimmed, case-insensitive).
+     */
+    Element labelFor(String id) {
+        return id == null ? null : labelsByFor.get(labelKey(id));
+    }
+
+    private static String labelKey(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isSelect(String tagName) {
+        return "select".equals(tagName) || tagName.endsWith(":select");
+    }
+
+    /**
+     * A table row with the facts the output analysis asks about it.
+     */
+    static final class Row {
+
+        private final Element element;
+        private final boolean inHead;
+        private final boolean inBody;
+        private final List<Element> cells = new ArrayList<>();
+        private boolean headerCells;
+        private boolean dataCells;
+
+        private Row(Element element, boolean inHead, boolean inBody) {
+            this.element = element;
+            this.inHead = inHead;
+            this.inBody = inBody;
+        }
+
+        Element element() {
+            return element;
+        }
+
+        /** Whether the row sits inside a {@code thead}. */
+        boolean inHead() {
+            return inHead;
+        }
+
+        /** Whether the row sits inside a {@code tbody}. */
+        boolean inBody() {
+            return inBody;
+        }
+
+        /** Whether any {@code th} lies inside the row. */
+        boolean hasHeaderCells() {
+            return headerCells;
+        }
+
+        /** Whether any {@code td} lies inside the row. */
+        boolean hasDataCells() {
+            return dataCells;
+        }
+
+        /** The row's own {@code td} and {@code th} children. */
+        List<Element> cells() {
+            return cells;
+        }
+    }
+
+    private static final class Builder implements NodeVisitor {
+
+        private final Map<String, List<Element>> elementsByTag = new HashMap<>();
+        private final Map<String, Element> labelsByFor = new HashMap<>();
+        private final Map<Element, List<Row>> rowsByTable = new IdentityHashMap<>();
+        private final Map<Element, List<Element>> optionsBySelect = new IdentityHashMap<>();
+
+        private final Deque<List<Row>> openTables = new ArrayDeque<>();
+        private final Deque<Row> openRows = new ArrayDeque<>();
+        private final Deque<List<Element>> openSelects = new ArrayDeque<>();
+        private int openHeads;
+        private int openBodies;
+
+        @Override
+        public void head(Node node, int depth) {
+            if (!(node instanceof Element element) || node instanceof Document) {
+                return;
+            }
+            String name = element.normalName();
+            elementsByTag.computeIfAbsent(name, key -> new ArrayList<>()).add(element);
+            if ("table".equals(name)) {
+                List<Row> rows = new ArrayList<>();
+                rowsByTable.put(element, rows);
+                openTables.push(rows);
+            } else if ("thead".equals(name)) {
+                openHeads++;
+            } else if ("tbody".equals(name)) {
+                openBodies++;
+            } else if ("tr".equals(name)) {
+                Row row = new Row(element, openHeads > 0, openBodies > 0);
+                for (List<Row> rows : openTables) {
+                    rows.add(row);
+                }
+                openRows.push(row);
+            } else if ("th".equals(name) || "td".equals(name)) {
+                boolean header = "th".equals(name);
+                for (Row row : openRows) {
+                    if (header) {
+                        row.headerCells = true;
+                    } else {
+                        row.dataCells = true;
+                    }
+                }
+                Row parentRow = openRows.peek();
+                if (parentRow != null && parentRow.element == element.parent()) {
+                    parentRow.cells.add(element);
+                }
+            } else if ("label".equals(name)) {
+                if (element.hasAttr("for")) {
+                    labelsByFor.putIfAbsent(labelKey(element.attr("for")), element);
+                }
+            } else if ("option".equals(name)) {
+                for (List<Element> options : openSelects) {
+                    options.add(element);
+                }
+            } else if (isSelect(name)) {
+                List<Element> options = new ArrayList<>();
+                optionsBySelect.put(element, options);
+                openSelects.push(options);
+            }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+            if (!(node instanceof Element element) || node instanceof Document) {
+                return;
+            }
+            String name = element.normalName();
+            if ("table".equals(name)) {
+                openTables.pop();
+            } else if ("thead".equals(name)) {
+                openHeads--;
+            } else if ("tbody".equals(name)) {
+                openBodies--;
+            } else if ("tr".equals(name)) {
+                openRows.pop();
+            } else if (isSelect(name)) {
+                openSelects.pop();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Hands pages whose content duplicates an earlier page (see {@link PageDescriptor#getCanonicalPage()}) the
+ * findings an extractor already produced for that page instead of scanning the same text again.
+ * <p>
+ * Relies on the analyzer's page order: the canonical page always precedes its duplicates, so by the time an
+ * extractor reaches a duplicate it has already filled in the canonical page's findings.
+ * </p>
+ */
+final class DuplicatePages {
+
+    private DuplicatePages() {
+    }
+
+    /**
+     * Copies the canonical page's findings onto {@code page} when it is a duplicate.
+     *
+     * @return {@code true} when the findings were reused and the page needs no scan of its own
+     */
+    static <T> boolean reuse(PageDescriptor page,
+                             Function<PageDescriptor, List<T>> getter,
+                             BiConsumer<PageDescriptor, List<T>> setter) {
+        PageDescriptor canonical = page.getCanonicalPage();
+        if (canonical == null) {
+            return false;
+        }
+        List<T> findings = getter.apply(canonical);
+        setter.accept(page, findings == null ? List.of() : new ArrayList<>(findings));
+        copyPartial(page, canonical);
+        return true;
+    }
+
+    /**
+     * Like {@link #reuse(PageDescriptor, Function, BiConsumer)} for extractors that also scan the scripts a page
+     * loads: copies only the canonical page's own findings and appends those of the scripts resolved from
+     * {@code page}'s directory, since a relative {@code <script src>} names a different file there.
+     */
+    static <T> boolean reuse(Path normalizedRoot, PageDescriptor page,
+                             Function<PageDescriptor, List<T>> getter,
+                             BiConsumer<PageDescriptor, List<T>> setter,
+                             ScriptFindingCache<T> scripts) {
+        PageDescriptor canonical = page.getCanonicalPage();
+        if (canonical == null) {
+            return false;
+        }
+        List<T> findings = getter.apply(canonical);
+        List<T> reused = findings == null ? new ArrayList<>() : new ArrayList<>(scripts.pageFindings(canonical, findings));
+        List<String> partialScripts = scripts.appendTo(normalizedRoot, page, canonical, reused);
+        setter.accept(page, reused);
+        copyPartial(page, canonical);
+        if (!partialScripts.isEmpty()) {
+            page.setPartiallyAnalyzed(Boolean.TRUE);
+            List<String> notes = page.getNotes() == null ? new ArrayList<>() : new ArrayList<>(page.getNotes());
+            for (String script : partialScripts) {
+                notes.add("Partially analyzed: scan of " + script + " stopped at the time budget");
+            }
+            page.setNotes(notes);
+        }
+        return true;
+    }
+
+    private static void copyPartial(PageDescriptor page, PageDescriptor canonical) {
+        if (Boolean.TRUE.equals(canonical.getPartiallyAnalyzed()) && !Boolean.TRUE.equals(page.getPartiallyAnalyzed())) {
+            page.setPartiallyAnalyzed(Boolean.TRUE);
+            List<String> notes = page.getNotes() == null ? new ArrayList<>() : new ArrayList<>(page.getNotes());
+            notes.add("Partially analyzed: findings copied from " + canonical.getPageId());
+            page.setNotes(notes);
+        }
+    }
+}
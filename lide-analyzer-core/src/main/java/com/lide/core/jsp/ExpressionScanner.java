@@ -0,0 +1,192 @@
+package com.lide.core.jsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written scanner for EL/OGNL expressions ({@code ${...}}, {@code %{...}} and {@code #{...}}).
+ * <p>
+ * Spans are reported as offsets into the source packed into a single {@code long} (see {@link #start(long)} and
+ * {@link #end(long)}), so scanning itself allocates nothing. Nested braces are balanced and a {@code }} inside a
+ * single- or double-quoted literal does not close the expression. Openers without a closing brace and empty
+ * bodies are not reported.
+ * </p>
+ */
+public final class ExpressionScanner {
+
+    /** Selects {@code ${...}} expressions. */
+    public static final int DOLLAR = 1;
+    /** Selects {@code %{...}} (OGNL) expressions. */
+    public static final int PERCENT = 1 << 1;
+    /** Selects {@code #{...}} expressions. */
+    public static final int HASH = 1 << 2;
+    public static final int ALL = DOLLAR | PERCENT | HASH;
+
+    /** Returned by {@link #next} when no further expression exists. */
+    public static final long NOT_FOUND = -1L;
+
+    private ExpressionScanner() {
+    }
+
+    /**
+     * Finds the next expression of any supported kind starting at or after {@code from}.
+     */
+    public static long next(CharSequence text, int from) {
+        return next(text, from, ALL);
+    }
+
+    /**
+     * Finds the next expression of one of the selected {@code kinds} starting at or after {@code from}.
+     *
+     * @return the packed span, or {@link #NOT_FOUND}
+     */
+    public static long next(CharSequence text, int from, int kinds) {
+        if (text == null) {
+            return NOT_FOUND;
+        }
+        int limit = text.length() - 1;
+        for (int i = Math.max(0, from); i < limit; i++) {
+            if (text.charAt(i + 1) != '{' || !accepts(text.charAt(i), kinds)) {
+                continue;
+            }
+            int close = closingBrace(text, i + 2);
+            if (close > i + 2) {
+                return ((long) i << 32) | (close + 1);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    public static int start(long span) {
+        return (int) (span >>> 32);
+    }
+
+    public static int end(long span) {
+        return (int) span;
+    }
+
+    public static boolean contains(CharSequence text, int kinds) {
+        return next(text, 0, kinds) != NOT_FOUND;
+    }
+
+    /**
+     * Returns the distinct expressions of any kind in source order.
+     */
+    public static List<String> extract(String text) {
+        return extract(text, ALL);
+    }
+
+    public static List<String> extract(String text, int kinds) {
+        long span = next(text, 0, kinds);
+        if (span == NOT_FOUND) {
+            return Collections.emptyList();
+        }
+        Set<String> matches = new LinkedHashSet<>();
+        while (span != NOT_FOUND) {
+            matches.add(text.substring(start(span), end(span)));
+            span = next(text, end(span), kinds);
+        }
+        return new ArrayList<>(matches);
+    }
+
+    /**
+     * Returns the first expression of one of the selected kinds, or {@code null}.
+     */
+    public static String first(String text, int kinds) {
+        long span = next(text, 0, kinds);
+        return span == NOT_FOUND ? null : text.substring(start(span), end(span));
+    }
+
+    /**
+     * Removes every expression and the JSP scriptlet markers {@code <%=}, {@code <%} and {@code %>} in one pass.
+     * Returns {@code text} itself when there is nothing to remove.
+     */
+    public static String strip(String text) {
+        if (text == null) {
+            return null;
+        }
+        long span = next(text, 0, ALL);
+        int nextStart = span == NOT_FOUND ? Integer.MAX_VALUE : start(span);
+        StringBuilder cleaned = null;
+        int copied = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int skip;
+            if (i == nextStart) {
+                skip = end(span) - i;
+                span = next(text, end(span), ALL);
+                nextStart = span == NOT_FOUND ? Integer.MAX_VALUE : start(span);
+            } else {
+                skip = scriptletMarkerLength(text, i, nextStart);
+            }
+            if (skip == 0) {
+                i++;
+                continue;
+            }
+            if (cleaned == null) {
+                cleaned = new StringBuilder(length);
+            }
+            cleaned.append(text, copied, i);
+            i += skip;
+            copied = i;
+        }
+        if (cleaned == null) {
+            return text;
+        }
+        return cleaned.append(text, copied, length).toString();
+    }
+
+    private static int scriptletMarkerLength(String text, int index, int nextExpression) {
+        char c = text.charAt(index);
+        int length = 0;
+        if (c == '<' && text.startsWith("<%", index)) {
+            length = text.startsWith("<%=", index) ? 3 : 2;
+        } else if (c == '%' && text.startsWith("%>", index)) {
+            length = 2;
+        }
+        // Expressions win over markers that would overlap them, as they did when stripped first.
+        return index + length <= nextExpression ? length : 0;
+    }
+
+    private static boolean accepts(char sigil, int kinds) {
+        switch (sigil) {
+            case '$':
+                return (kinds & DOLLAR) != 0;
+            case '%':
+                return (kinds & PERCENT) != 0;
+            case '#':
+                return (kinds & HASH) != 0;
+            default:
+                return false;
+        }
+    }
+
+    private static int closingBrace(CharSequence text, int from) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = from, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+}
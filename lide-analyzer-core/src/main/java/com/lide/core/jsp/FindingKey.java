@@ -0,0 +1,9 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.SourceSnippet;
+
+/**
+ * De-duplication key for extractor findings; compares snippets by content without materializing them.
+ */
+record FindingKey(String first, String second, SourceSnippet snippet) {
+}
@@ -2,7 +2,9 @@ package com.lide.core.jsp;
 
 import com.lide.core.fs.CodebaseIndex;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -21,4 +23,24 @@ public interface JspAnalyzer {
      * @return ordered list of page descriptors mirroring the JSON output structure
      */
     List<PageDescriptor> analyze(Path rootDir, CodebaseIndex index);
+
+    /**
+     * Reads a single page, identified by its path relative to {@code rootDir}.
+     *
+     * @param rootDir  root directory that was scanned; used for computing the page identifier
+     * @param pagePath page to read
+     * @return the page content, whose id is the page identifier
+     */
+    SourceText readPage(Path rootDir, Path pagePath) throws IOException;
+
+    /**
+     * Analyzes a single page read through {@link #readPage(Path, Path)}.
+     */
+    PageDescriptor analyzePage(Path pagePath, SourceText source);
+
+    /**
+     * Builds the descriptor of a page whose content is identical to the already analyzed {@code canonical}
+     * page without parsing it again.
+     */
+    PageDescriptor copyPage(PageDescriptor canonical, Path pagePath, SourceText source);
 }
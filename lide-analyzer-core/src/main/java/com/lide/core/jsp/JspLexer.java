@@ -0,0 +1,127 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.JspRegions;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Single-pass lexer for JSP scripting elements.
+ * <p>
+ * Jsoup reads {@code <% ... %>} as stray text or broken tags, so Java code full of {@code <} and {@code >} turns
+ * into large bogus node trees. {@link #markup} hands the HTML parser a copy of the page of the same length in
+ * which scriptlets, declarations, directives and JSP comments are blanked out, keeping every offset and line
+ * number valid for snippets. Expressions are left in place because they are the page's output bindings. As in
+ * the JSP specification, {@code %>} closes an element even inside a Java string literal.
+ * </p>
+ */
+public final class JspLexer {
+
+    /** Kinds blanked out before HTML parsing. */
+    public static final Set<JspRegions.Kind> MARKUP_MASK = EnumSet.of(JspRegions.Kind.SCRIPTLET,
+            JspRegions.Kind.DECLARATION, JspRegions.Kind.DIRECTIVE, JspRegions.Kind.COMMENT);
+
+    private JspLexer() {
+    }
+
+    public static JspRegions lex(CharSequence text) {
+        byte[] kinds = new byte[8];
+        int[] bounds = new int[32];
+        int count = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length - 1) {
+            if (text.charAt(i) != '<' || text.charAt(i + 1) != '%') {
+                i++;
+                continue;
+            }
+            JspRegions.Kind kind;
+            int bodyStart;
+            String closer = "%>";
+            if (startsWith(text, i + 2, "--")) {
+                kind = JspRegions.Kind.COMMENT;
+                bodyStart = i + 4;
+                closer = "--%>";
+            } else {
+                char marker = i + 2 < length ? text.charAt(i + 2) : 0;
+                kind = switch (marker) {
+                    case '@' -> JspRegions.Kind.DIRECTIVE;
+                    case '=' -> JspRegions.Kind.EXPRESSION;
+                    case '!' -> JspRegions.Kind.DECLARATION;
+                    default -> JspRegions.Kind.SCRIPTLET;
+                };
+                bodyStart = kind == JspRegions.Kind.SCRIPTLET ? i + 2 : i + 3;
+            }
+            int bodyEnd = indexOf(text, closer, bodyStart);
+            int end = bodyEnd < 0 ? length : bodyEnd + closer.length();
+            if (bodyEnd < 0) {
+                bodyEnd = length;
+            }
+
+            if (count == kinds.length) {
+                kinds = Arrays.copyOf(kinds, count * 2);
+                bounds = Arrays.copyOf(bounds, count * 8);
+            }
+            kinds[count] = (byte) kind.ordinal();
+            bounds[4 * count] = i;
+            bounds[4 * count + 1] = bodyStart;
+            bounds[4 * count + 2] = bodyEnd;
+            bounds[4 * count + 3] = end;
+            count++;
+            i = end;
+        }
+        return JspRegions.of(kinds, bounds, count);
+    }
+
+    /**
+     * Returns {@code text} with the {@link #MARKUP_MASK} elements blanked out, for HTML parsing.
+     */
+    public static String markup(CharSequence text, JspRegions regions) {
+        return mask(text, regions, MARKUP_MASK);
+    }
+
+    /**
+     * Returns a copy of {@code text} of the same length in which every character of the selected elements,
+     * except line breaks, is replaced by a space.
+     */
+    public static String mask(CharSequence text, JspRegions regions, Set<JspRegions.Kind> kinds) {
+        char[] masked = null;
+        for (int element = 0; element < regions.count(); element++) {
+            if (!kinds.contains(regions.kind(element))) {
+                continue;
+            }
+            if (masked == null) {
+                masked = text.toString().toCharArray();
+            }
+            for (int i = regions.start(element), end = regions.end(element); i < end; i++) {
+                if (masked[i] != '\n' && masked[i] != '\r') {
+                    masked[i] = ' ';
+                }
+            }
+        }
+        return masked == null ? text.toString() : new String(masked);
+    }
+
+    private static boolean startsWith(CharSequence text, int from, String prefix) {
+        if (from + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence text, String needle, int from) {
+        char first = needle.charAt(0);
+        for (int i = from, limit = text.length() - needle.length(); i <= limit; i++) {
+            if (text.charAt(i) == first && startsWith(text, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
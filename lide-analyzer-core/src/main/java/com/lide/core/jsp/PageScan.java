@@ -0,0 +1,203 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.TextRegions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One extractor pass over a page under {@link ScanLimits}.
+ * <p>
+ * Each {@link #find} sets its deadline from the budget still unspent and charges the time it took back to the
+ * page, so every pass over one page shares a single budget. Matchers read the page through a view that checks
+ * the deadline every few thousand characters, so even a pattern stuck backtracking is stopped by a
+ * {@link BudgetExceededException}. Pages longer than the window size
+ * are matched window by window, each window overlapping the previous one by {@link ScanLimits#WINDOW_OVERLAP}
+ * characters; a match is reported by the window it starts in and the next window resumes after it. A scan
+ * restricted to {@link TextRegions} matches each region on its own, windowed the same way.
+ * </p>
+ */
+final class PageScan {
+
+    private static final int CHECK_INTERVAL_MASK = (1 << 12) - 1;
+
+    private final ScanLimits limits;
+    private final CharSequence text;
+    private final CharSequence guarded;
+    private final TextRegions regions;
+    private final PageDescriptor page;
+    private final boolean countScannedChars;
+    private final int windowSize;
+    private long spentNanos;
+    private long deadline;
+
+    /**
+     * @param page              the page whose budget the pass draws on, or {@code null} for a budget of its own
+     * @param countScannedChars whether to add the matched characters to the page's script scan count
+     */
+    PageScan(ScanLimits limits,
+             CharSequence text,
+             TextRegions regions,
+             PageDescriptor page,
+             boolean countScannedChars,
+             int windowSize) {
+        this.limits = limits;
+        this.text = text;
+        this.guarded = limits.budgetNanos() > 0 ? new DeadlineCharSequence(text) : text;
+        this.regions = regions;
+        this.page = page;
+        this.countScannedChars = countScannedChars && page != null;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Runs {@code action} for every match of {@code pattern} in source order.
+     *
+     * @throws BudgetExceededException when the page's time budget runs out
+     */
+    void find(Pattern pattern, Consumer<Matcher> action) {
+        find(pattern, regions, action);
+    }
+
+    /**
+     * Runs {@code action} for every match of {@code pattern} inside {@code regions}, or the whole page when
+     * {@code regions} is {@code null}.
+     *
+     * @throws BudgetExceededException when the page's time budget runs out
+     */
+    void find(Pattern pattern, TextRegions regions, Consumer<Matcher> action) {
+        long budget = limits.budgetNanos();
+        if (budget <= 0) {
+            match(pattern, regions, action);
+            return;
+        }
+        long started = System.nanoTime();
+        long remaining = budget - spent();
+        if (remaining <= 0) {
+            throw new BudgetExceededException();
+        }
+        deadline = started + remaining;
+        try {
+            match(pattern, regions, action);
+        } finally {
+            charge(System.nanoTime() - started);
+        }
+    }
+
+    private void match(Pattern pattern, TextRegions regions, Consumer<Matcher> action) {
+        Matcher matcher = pattern.matcher(guarded)
+                .useTransparentBounds(true)
+                .useAnchoringBounds(false);
+        if (regions == null) {
+            find(matcher, 0, text.length(), action);
+            return;
+        }
+        for (int i = 0; i < regions.count(); i++) {
+            find(matcher, regions.start(i), regions.end(i), action);
+        }
+    }
+
+    private long spent() {
+        return page != null ? page.getScanNanos() : spentNanos;
+    }
+
+    private void charge(long nanos) {
+        if (page != null) {
+            page.setScanNanos(page.getScanNanos() + nanos);
+        } else {
+            spentNanos += nanos;
+        }
+    }
+
+    private void find(Matcher matcher, int from, int to, Consumer<Matcher> action) {
+        if (countScannedChars) {
+            page.setScriptScannedChars(page.getScriptScannedChars() + (to - from));
+        }
+        if (to - from <= windowSize) {
+            matcher.region(from, to);
+            while (matcher.find()) {
+                action.accept(matcher);
+            }
+            return;
+        }
+        int resumeAt = from;
+        for (int windowStart = from; windowStart < to; windowStart += windowSize - ScanLimits.WINDOW_OVERLAP) {
+            int windowEnd = Math.min(to, windowStart + windowSize);
+            int acceptBefore = windowEnd == to ? to + 1 : windowEnd - ScanLimits.WINDOW_OVERLAP;
+            matcher.region(Math.max(windowStart, resumeAt), windowEnd);
+            while (matcher.find() && matcher.start() < acceptBefore) {
+                resumeAt = Math.max(matcher.end(), matcher.start() + 1);
+                action.accept(matcher);
+            }
+            if (windowEnd == to) {
+                break;
+            }
+        }
+    }
+
+    void checkDeadline() {
+        if (limits.budgetNanos() > 0 && System.nanoTime() - deadline > 0) {
+            throw new BudgetExceededException();
+        }
+    }
+
+    /**
+     * Flags {@code page} as partially analyzed after {@code extractor} ran out of time on it.
+     */
+    void markPartial(PageDescriptor page, String extractor) {
+        page.setPartiallyAnalyzed(Boolean.TRUE);
+        List<String> notes = page.getNotes() == null ? new ArrayList<>() : new ArrayList<>(page.getNotes());
+        notes.add("Partially analyzed: " + extractor + " stopped after the " + limits.budgetMillis()
+                + " ms page time budget");
+        page.setNotes(notes);
+    }
+
+    /**
+     * Thrown from inside a match when the page's time budget is spent. Carries no stack trace.
+     */
+    static final class BudgetExceededException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        BudgetExceededException() {
+            super("Page time budget exceeded", null, false, false);
+        }
+    }
+
+    private final class DeadlineCharSequence implements CharSequence {
+
+        private final CharSequence delegate;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int length() {
+            return delegate.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++reads & CHECK_INTERVAL_MASK) == 0) {
+                checkDeadline();
+            }
+            return delegate.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return delegate.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.lide.core.jsp;
+
+import com.lide.core.fs.SourceFiles;
+import com.lide.core.model.JspRegions;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Resolves the raw content of a page, and its JSP scripting elements, once and keeps them on the descriptor for
+ * the following extractors.
+ */
+final class PageSources {
+
+    private PageSources() {
+    }
+
+    static SourceText load(Path normalizedRoot, PageDescriptor page) throws IOException {
+        SourceText source = page.getSource();
+        if (source != null) {
+            return source;
+        }
+        Path absolute = page.getSourcePath();
+        if (!absolute.isAbsolute() && normalizedRoot != null) {
+            absolute = normalizedRoot.resolve(absolute);
+        }
+        source = SourceFiles.read(page.getPageId(), absolute);
+        page.setSource(source);
+        return source;
+    }
+
+    static JspRegions jspRegions(PageDescriptor page, SourceText source) {
+        JspRegions regions = page.getJspRegions();
+        if (regions == null) {
+            regions = JspLexer.lex(source.getText());
+            page.setJspRegions(regions);
+        }
+        return regions;
+    }
+
+    /**
+     * The page content with its scripting elements blanked out for HTML parsing; see {@link JspLexer#markup}.
+     */
+    static String markup(PageDescriptor page, SourceText source) {
+        return JspLexer.markup(source.getText(), jspRegions(page, source));
+    }
+}
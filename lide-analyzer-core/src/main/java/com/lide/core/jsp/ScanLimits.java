@@ -0,0 +1,79 @@
+package com.lide.core.jsp;
+
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import com.lide.core.model.TextRegions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-page time budget and large-file windowing applied by the regex-based extractors.
+ * <p>
+ * The budget covers all extractors together: every pass over a page charges the time it spends matching to
+ * {@link PageDescriptor#getScanNanos()}, and a pass only gets what earlier passes left. Time is charged rather
+ * than a wall-clock deadline fixed, since extractors may visit a page at different times.
+ * </p>
+ */
+final class ScanLimits {
+
+    /**
+     * Characters shared by neighbouring windows; matches longer than this that straddle a window edge may be cut.
+     */
+    static final int WINDOW_OVERLAP = 8 * 1024;
+
+    private final long budgetNanos;
+    private final int windowSize;
+
+    /**
+     * @param largeFileThreshold page length in decoded characters above which pages are scanned in windows; the
+     *                           configuration calls it {@code largeFileThresholdBytes}
+     */
+    ScanLimits(long pageTimeBudgetMillis, long largeFileThreshold) {
+        if (largeFileThreshold <= WINDOW_OVERLAP) {
+            throw new IllegalArgumentException("Large file threshold must exceed the window overlap of "
+                    + WINDOW_OVERLAP + " characters: " + largeFileThreshold);
+        }
+        this.budgetNanos = pageTimeBudgetMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(pageTimeBudgetMillis) : 0L;
+        this.windowSize = (int) Math.min(Integer.MAX_VALUE, largeFileThreshold);
+    }
+
+    static ScanLimits from(AnalyzerConfig config) {
+        Long budget = config.getPageTimeBudgetMillis();
+        Long threshold = config.getLargeFileThresholdBytes();
+        return new ScanLimits(budget != null ? budget : AnalyzerConfig.DEFAULT_PAGE_TIME_BUDGET_MILLIS,
+                threshold != null && threshold > 0 ? threshold : AnalyzerConfig.DEFAULT_LARGE_FILE_THRESHOLD_BYTES);
+    }
+
+    long budgetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(budgetNanos);
+    }
+
+    long budgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Starts one pass over a source that is not a page, such as an external script, with a budget of its own.
+     */
+    PageScan begin(SourceText source) {
+        return new PageScan(this, source.getText(), null, null, false, windowSize);
+    }
+
+    /**
+     * Starts one extractor pass over {@code page}, drawing on what is left of the page's budget.
+     */
+    PageScan begin(PageDescriptor page, SourceText source) {
+        return new PageScan(this, source.getText(), null, page, false, windowSize);
+    }
+
+    /**
+     * Starts one script-oriented extractor pass, which matches only inside the page's {@link ScriptRegions},
+     * draws on what is left of the page's budget and adds the characters it matched against to the page's
+     * scanned count.
+     */
+    PageScan beginScripts(PageDescriptor page, SourceText source) {
+        TextRegions regions = ScriptRegions.of(page, source);
+        return new PageScan(this, source.getText(), regions, page, true, windowSize);
+    }
+}
@@ -0,0 +1,203 @@
+package com.lide.core.jsp;
+
+import com.lide.core.fs.ArchivePaths;
+import com.lide.core.fs.SourceFiles;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the external scripts a page loads through {@code <script src=...>} and scans each script once per run,
+ * handing every page that loads it the same findings.
+ * <p>
+ * Sources starting with {@code /}, optionally behind a context path expression such as
+ * {@code ${pageContext.request.contextPath}}, are looked up from the page's directory upwards, which finds the web
+ * root without knowing where it is. Other sources are resolved against the page's directory. External URLs and
+ * sources built from expressions are skipped. Safe for concurrent use by the pipeline workers.
+ * </p>
+ * <p>
+ * The script sources of each scanned page are remembered, so a page duplicating it (see
+ * {@link PageDescriptor#getCanonicalPage()}) resolves the same sources from its own directory without being read.
+ * </p>
+ *
+ * @param <T> the finding type of the owning extractor
+ */
+final class ScriptFindingCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptFindingCache.class);
+
+    private static final Pattern SCRIPT_SRC_PATTERN =
+            Pattern.compile("(?i)<script\\b[^>]*?\\bsrc\\s*+=\\s*+(['\"])([^'\"]*+)\\1");
+    private static final Pattern CONTEXT_PATH_PREFIX = Pattern.compile("^(?:\\$\\{[^}]*+}|<%=[^%]*+%>)(?=/)");
+
+    /**
+     * Collects one extractor's findings from a script with the same scan the extractor applies to pages.
+     */
+    @FunctionalInterface
+    interface ScriptScanner<T> {
+        void collect(PageScan scan, SourceText script, List<T> findings);
+    }
+
+    private final ScanLimits limits;
+    private final ScriptScanner<T> scanner;
+    private final ConcurrentMap<Path, ScriptFindings<T>> findingsByScript = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Reference, Optional<Path>> resolved = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PageScripts> scriptsByPage = new ConcurrentHashMap<>();
+
+    ScriptFindingCache(ScanLimits limits, ScriptScanner<T> scanner) {
+        this.limits = limits;
+        this.scanner = scanner;
+    }
+
+    /**
+     * Appends the findings of every script {@code page} loads to {@code findings}.
+     *
+     * @return the ids of scripts whose scan stopped at the time budget
+     */
+    List<String> appendTo(Path normalizedRoot, PageDescriptor page, SourceText source, List<T> findings) {
+        List<String> sources = new ArrayList<>();
+        Matcher matcher = SCRIPT_SRC_PATTERN.matcher(source.getText());
+        while (matcher.find()) {
+            sources.add(matcher.group(2));
+        }
+        scriptsByPage.put(page.getPageId(), new PageScripts(findings.size(), List.copyOf(sources)));
+        return append(normalizedRoot, page, sources, findings);
+    }
+
+    /**
+     * Appends to {@code findings} the findings of the scripts {@code duplicate} loads, resolving the script sources
+     * of its canonical page from the duplicate's own directory.
+     *
+     * @return the ids of scripts whose scan stopped at the time budget
+     */
+    List<String> appendTo(Path normalizedRoot, PageDescriptor duplicate, PageDescriptor canonical, List<T> findings) {
+        PageScripts pageScripts = scriptsByPage.get(canonical.getPageId());
+        if (pageScripts == null) {
+            return List.of();
+        }
+        return append(normalizedRoot, duplicate, pageScripts.sources(), findings);
+    }
+
+    /**
+     * The leading part of a page's findings that came from the page itself rather than from its scripts.
+     */
+    List<T> pageFindings(PageDescriptor page, List<T> findings) {
+        PageScripts pageScripts = scriptsByPage.get(page.getPageId());
+        if (pageScripts == null) {
+            return findings;
+        }
+        return findings.subList(0, Math.min(pageScripts.pageFindings(), findings.size()));
+    }
+
+    private List<String> append(Path normalizedRoot, PageDescriptor page, List<String> sources, List<T> findings) {
+        Path pagePath = page.getSourcePath();
+        if (!pagePath.isAbsolute() && normalizedRoot != null) {
+            pagePath = normalizedRoot.resolve(pagePath);
+        }
+        Path directory = pagePath.toAbsolutePath().normalize().getParent();
+        if (directory == null) {
+            return List.of();
+        }
+
+        Set<Path> scripts = new LinkedHashSet<>();
+        for (String src : sources) {
+            resolved.computeIfAbsent(new Reference(directory, src), reference -> resolve(normalizedRoot, reference))
+                    .ifPresent(scripts::add);
+        }
+
+        List<String> partial = new ArrayList<>();
+        for (Path script : scripts) {
+            ScriptFindings<T> scriptFindings = findingsByScript.computeIfAbsent(script,
+                    path -> scan(normalizedRoot, path));
+            findings.addAll(scriptFindings.findings());
+            if (scriptFindings.partial()) {
+                partial.add(scriptFindings.scriptId());
+            }
+        }
+        return partial;
+    }
+
+    private ScriptFindings<T> scan(Path normalizedRoot, Path script) {
+        String scriptId = normalizedRoot != null && script.startsWith(normalizedRoot)
+                ? normalizedRoot.relativize(script).toString().replace('\\', '/')
+                : ArchivePaths.describe(script);
+        SourceText source;
+        try {
+            source = SourceFiles.read(scriptId, script);
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to read script {}: {}", scriptId, ex.getMessage());
+            return new ScriptFindings<>(scriptId, List.of(), false);
+        }
+        List<T> findings = new ArrayList<>();
+        PageScan scan = limits.begin(source);
+        try {
+            scanner.collect(scan, source, findings);
+        } catch (PageScan.BudgetExceededException ex) {
+            LOGGER.warn("Script {} - extraction stopped at the time budget", scriptId);
+            return new ScriptFindings<>(scriptId, List.copyOf(findings), true);
+        }
+        return new ScriptFindings<>(scriptId, List.copyOf(findings), false);
+    }
+
+    private static Optional<Path> resolve(Path normalizedRoot, Reference reference) {
+        String src = CONTEXT_PATH_PREFIX.matcher(reference.src().trim().replace('\\', '/')).replaceFirst("");
+        int cut = indexOfAny(src, '?', '#');
+        if (cut >= 0) {
+            src = src.substring(0, cut);
+        }
+        if (src.isEmpty() || src.contains("://") || src.startsWith("//") || src.contains("<%")
+                || ExpressionScanner.contains(src, ExpressionScanner.ALL)
+                || !src.toLowerCase(Locale.ROOT).endsWith(".js")) {
+            return Optional.empty();
+        }
+        if (!src.startsWith("/")) {
+            return existing(reference.directory().resolve(src).normalize());
+        }
+        String relative = src.substring(1);
+        for (Path directory = reference.directory(); directory != null; directory = directory.getParent()) {
+            Optional<Path> candidate = existing(directory.resolve(relative).normalize());
+            if (candidate.isPresent() || directory.equals(normalizedRoot)) {
+                return candidate;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Path> existing(Path candidate) {
+        return Files.isRegularFile(candidate) ? Optional.of(candidate) : Optional.empty();
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Reference(Path directory, String src) {
+    }
+
+    private record PageScripts(int pageFindings, List<String> sources) {
+    }
+
+    private record ScriptFindings<T>(String scriptId, List<T> findings, boolean partial) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import com.lide.core.model.TextRegions;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the parts of a page that hold JavaScript: {@code <script>} bodies, {@code on*} event handler values and
+ * {@code javascript:} URLs in {@code href}, {@code src} and {@code action}. The script-oriented extractors match
+ * only inside these regions instead of across markup and scriptlet Java.
+ * <p>
+ * The regions are found once per page and kept on the descriptor next to its source. A {@code <script>} without a
+ * closing tag runs to the end of the page, as it does in a browser.
+ * </p>
+ */
+final class ScriptRegions {
+
+    private static final Pattern SCRIPT_OPEN_PATTERN = Pattern.compile("(?i)<script\\b[^>]*+>");
+    private static final Pattern SCRIPT_CLOSE_PATTERN = Pattern.compile("(?i)</script\\b");
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile(
+            "(?i)(?<![\\w-])(?:on[a-z]++|href|src|action)\\s*+=\\s*+(?:\"([^\"]*+)\"|'([^']*+)')");
+    private static final Pattern JAVASCRIPT_URL_PATTERN = Pattern.compile("(?i)\\s*+javascript:");
+
+    private ScriptRegions() {
+    }
+
+    static TextRegions of(PageDescriptor page, SourceText source) {
+        TextRegions regions = page.getScriptRegions();
+        if (regions == null) {
+            regions = find(source.getText());
+            page.setScriptRegions(regions);
+        }
+        return regions;
+    }
+
+    static TextRegions find(CharSequence text) {
+        Bounds bounds = new Bounds();
+        int length = text.length();
+
+        Matcher open = SCRIPT_OPEN_PATTERN.matcher(text);
+        Matcher close = SCRIPT_CLOSE_PATTERN.matcher(text);
+        int from = 0;
+        while (from < length && open.find(from)) {
+            int bodyStart = open.end();
+            int bodyEnd = close.find(bodyStart) ? close.start() : length;
+            bounds.add(bodyStart, bodyEnd);
+            from = bodyEnd;
+        }
+
+        Matcher attribute = ATTRIBUTE_PATTERN.matcher(text);
+        Matcher javascriptUrl = JAVASCRIPT_URL_PATTERN.matcher(text);
+        while (attribute.find()) {
+            int group = attribute.start(1) >= 0 ? 1 : 2;
+            int valueStart = attribute.start(group);
+            int valueEnd = attribute.end(group);
+            boolean handler = Character.toLowerCase(text.charAt(attribute.start())) == 'o';
+            if (handler || javascriptUrl.region(valueStart, valueEnd).lookingAt()) {
+                bounds.add(valueStart, valueEnd);
+            }
+        }
+        return TextRegions.of(bounds.values, bounds.count);
+    }
+
+    private static final class Bounds {
+
+        private int[] values = new int[16];
+        private int count;
+
+        void add(int start, int end) {
+            if (2 * count + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[2 * count] = start;
+            values[2 * count + 1] = end;
+            count++;
+        }
+    }
+}
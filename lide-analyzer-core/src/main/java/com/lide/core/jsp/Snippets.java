@@ -0,0 +1,52 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.SourceSnippet;
+import com.lide.core.model.SourceText;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Range;
+
+/**
+ * Builds offset-based snippets shared by the extractors.
+ */
+final class Snippets {
+
+    /** Characters of surrounding source kept on either side of a pattern match. */
+    static final int MATCH_CONTEXT = 40;
+
+    private Snippets() {
+    }
+
+    static SourceSnippet aroundMatch(SourceText source, int start, int end, int maxLength) {
+        return SourceSnippet.around(source, start, end, MATCH_CONTEXT, maxLength);
+    }
+
+    /**
+     * Covers the element's markup in the original source, from its start tag through its end tag. Requires a
+     * document parsed with position tracking; elements the parser synthesized fall back to their serialized form.
+     */
+    static SourceSnippet element(SourceText source, Element element, int maxLength) {
+        Range range = element.sourceRange();
+        if (!range.isTracked() || range.isImplicit()) {
+            return SourceSnippet.literal(element.outerHtml(), maxLength);
+        }
+        Range endRange = element.endSourceRange();
+        int end = endRange.isTracked() && !endRange.isImplicit() ? endRange.endPos() : range.endPos();
+        return SourceSnippet.of(source, range.startPos(), end, maxLength);
+    }
+
+    /**
+     * Covers the tokenizer's current element in the same way {@link #element} covers a parsed one, for extractors
+     * that read tags without building a DOM.
+     */
+    static SourceSnippet tag(SourceText source, TagTokenizer tags, int maxLength) {
+        return SourceSnippet.of(source, tags.start(), tags.elementEnd(), maxLength);
+    }
+
+    /**
+     * Returns the offset of the element's start tag, or {@code -1} when the parser did not track it.
+     */
+    static int startOffset(Element element) {
+        Range range = element.sourceRange();
+        return range.isTracked() && !range.isImplicit() ? range.startPos() : -1;
+    }
+}
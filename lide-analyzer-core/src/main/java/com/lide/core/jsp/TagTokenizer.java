@@ -0,0 +1,446 @@
+package com.lide.core.jsp;
+
+import org.jsoup.parser.Parser;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pull-style tokenizer reporting the start and end tags of a page without building a DOM.
+ * <p>
+ * Meant for extractors that only look at a handful of tags and their attributes. Each call to {@link #next()}
+ * advances to the following tag; its name, position and attributes are then readable as offsets into the text,
+ * and attribute values are only copied (and entity-decoded) when asked for. Comments, doctypes, processing
+ * instructions and CDATA sections are skipped, and the content of raw-text elements ({@code script},
+ * {@code style}, {@code textarea}, {@code title}, {@code iframe}, ...) is passed over up to their end tag, as
+ * an HTML parser would. Feed it {@link PageSources#markup} so scriptlets do not read as tags.
+ * </p>
+ * <p>
+ * A tokenizer created with {@link #nesting} also keeps a stack of the selected tags that are open around the
+ * current one; end tags close the nearest open tag of the same name and anything opened inside it.
+ * </p>
+ */
+final class TagTokenizer {
+
+    private static final Set<String> VOID_TAGS = Set.of("area", "base", "basefont", "bgsound", "br", "col", "embed",
+            "frame", "hr", "img", "input", "keygen", "link", "meta", "param", "source", "track", "wbr");
+    private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style", "textarea", "title", "xmp", "iframe",
+            "noembed", "noframes");
+
+    private final CharSequence text;
+    private final int length;
+    private final Set<String> tracked;
+
+    private int textStart;
+    private int start;
+    private int end;
+    private int nameStart;
+    private int nameEnd;
+    private String name;
+    private boolean endTag;
+    private boolean selfClosing;
+    /** Name start, name end, value start and value end per attribute; value bounds are -1 without a value. */
+    private int[] attributes = new int[32];
+    private int attributeCount;
+    private boolean skipRawText;
+
+    private String[] openNames = new String[8];
+    private int[] openStarts = new int[8];
+    private int depth;
+    private boolean pushPending;
+
+    private TagTokenizer(CharSequence text, Set<String> tracked) {
+        this.text = text;
+        this.length = text.length();
+        this.tracked = tracked;
+    }
+
+    static TagTokenizer of(CharSequence text) {
+        return new TagTokenizer(text, Set.of());
+    }
+
+    /**
+     * Returns a tokenizer that keeps the listed tags (lower case) on its nesting stack.
+     */
+    static TagTokenizer nesting(CharSequence text, Set<String> trackedTags) {
+        return new TagTokenizer(text, Set.copyOf(trackedTags));
+    }
+
+    /**
+     * Advances to the next start or end tag.
+     *
+     * @return {@code false} once the text is exhausted; {@link #textStart()} then marks the trailing character
+     * data, which runs to the end of the text
+     */
+    boolean next() {
+        if (pushPending) {
+            push(name(), start);
+            pushPending = false;
+        }
+        textStart = end;
+        int position = end;
+        if (skipRawText) {
+            skipRawText = false;
+            position = findEndTag(name(), end);
+            if (position < 0) {
+                start = length;
+                end = length;
+                return false;
+            }
+        }
+        while (position < length) {
+            int open = indexOf('<', position);
+            if (open < 0 || open + 1 >= length) {
+                break;
+            }
+            char c = text.charAt(open + 1);
+            if (Character.isLetter(c)) {
+                readTag(open, open + 1, false);
+                return true;
+            }
+            if (c == '/' && open + 2 < length && Character.isLetter(text.charAt(open + 2))) {
+                readTag(open, open + 2, true);
+                return true;
+            }
+            position = skipMarkup(open);
+        }
+        start = length;
+        end = length;
+        return false;
+    }
+
+    boolean isEndTag() {
+        return endTag;
+    }
+
+    /**
+     * Whether the start tag ends with {@code />} or is a void element such as {@code input} or {@code frame}.
+     */
+    boolean isSelfClosing() {
+        return selfClosing || VOID_TAGS.contains(name());
+    }
+
+    /**
+     * Returns the lower-cased tag name, including any prefix ({@code html:form}).
+     */
+    String name() {
+        if (name == null) {
+            name = text.subSequence(nameStart, nameEnd).toString().toLowerCase(Locale.ROOT);
+        }
+        return name;
+    }
+
+    /**
+     * Compares the tag name against a lower-case name without copying it.
+     */
+    boolean nameIs(String lowerCaseName) {
+        int from = nameStart;
+        if (nameEnd - from != lowerCaseName.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerCaseName.length(); i++) {
+            if (Character.toLowerCase(text.charAt(from + i)) != lowerCaseName.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Offset of the tag's {@code <}. */
+    int start() {
+        return start;
+    }
+
+    /** Offset just past the tag's {@code >}. */
+    int end() {
+        return end;
+    }
+
+    /** Offset where the character data preceding the current tag begins; it ends at {@link #start()}. */
+    int textStart() {
+        return textStart;
+    }
+
+    int attributeCount() {
+        return attributeCount;
+    }
+
+    String attributeName(int index) {
+        return text.subSequence(attributes[index * 4], attributes[index * 4 + 1]).toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** Offset of the attribute value without its quotes, or {@code -1} when the attribute has no value. */
+    int valueStart(int index) {
+        return attributes[index * 4 + 2];
+    }
+
+    int valueEnd(int index) {
+        return attributes[index * 4 + 3];
+    }
+
+    /**
+     * Returns the entity-decoded value of the first attribute called {@code attributeName} (case-insensitive),
+     * an empty string for an attribute without a value, or {@code null} when the tag does not carry it.
+     */
+    String attribute(String attributeName) {
+        int index = indexOfAttribute(attributeName);
+        if (index < 0) {
+            return null;
+        }
+        int valueStart = valueStart(index);
+        if (valueStart < 0) {
+            return "";
+        }
+        String value = text.subSequence(valueStart, valueEnd(index)).toString();
+        return value.indexOf('&') >= 0 ? Parser.unescapeEntities(value, true) : value;
+    }
+
+    boolean hasAttribute(String attributeName) {
+        return indexOfAttribute(attributeName) >= 0;
+    }
+
+    /**
+     * Returns the offset just past the end tag matching the current start tag, or {@link #end()} when the
+     * element is void, self-closed or never closed. The search stops at the next start tag of the same name,
+     * so a page of unclosed tags is still read once overall.
+     */
+    int elementEnd() {
+        if (endTag || isSelfClosing()) {
+            return end;
+        }
+        String tag = name();
+        int i = end;
+        while (true) {
+            int open = indexOf('<', i);
+            if (open < 0) {
+                return end;
+            }
+            if (open + 1 < length && text.charAt(open + 1) == '/' && matchesName(open + 2, tag)) {
+                int close = indexOf('>', open + 2 + tag.length());
+                return close < 0 ? length : close + 1;
+            }
+            if (matchesName(open + 1, tag)) {
+                return end;
+            }
+            i = open + 1;
+        }
+    }
+
+    /** Number of tracked tags open around the current tag. */
+    int depth() {
+        return depth;
+    }
+
+    /** Name of the tracked tag open at {@code level} (0 is the outermost). */
+    String openName(int level) {
+        return openNames[level];
+    }
+
+    /** Offset of the start tag of the tracked tag open at {@code level}. */
+    int openStart(int level) {
+        return openStarts[level];
+    }
+
+    private void readTag(int open, int nameFrom, boolean closing) {
+        start = open;
+        endTag = closing;
+        selfClosing = false;
+        name = null;
+        attributeCount = 0;
+        nameStart = nameFrom;
+        int i = nameFrom;
+        while (i < length && !isTagNameEnd(text.charAt(i))) {
+            i++;
+        }
+        nameEnd = i;
+        if (closing) {
+            int close = indexOf('>', i);
+            end = close < 0 ? length : close + 1;
+            pop(name());
+            return;
+        }
+        i = readAttributes(i);
+        end = i;
+        if (!selfClosing && RAW_TEXT_TAGS.contains(name())) {
+            skipRawText = true;
+        }
+        if (!tracked.isEmpty() && tracked.contains(name()) && !isSelfClosing()) {
+            pushPending = true;
+        }
+    }
+
+    private int readAttributes(int from) {
+        int i = from;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '>') {
+                return i + 1;
+            }
+            if (c == '/') {
+                if (i + 1 < length && text.charAt(i + 1) == '>') {
+                    selfClosing = true;
+                    return i + 2;
+                }
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int attrNameStart = i;
+            while (i < length && !isAttributeNameEnd(text.charAt(i))) {
+                i++;
+            }
+            int attrNameEnd = i;
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int valueStart = -1;
+            int valueEnd = -1;
+            if (i < length && text.charAt(i) == '=') {
+                i++;
+                while (i < length && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                if (i < length && (text.charAt(i) == '"' || text.charAt(i) == '\'')) {
+                    char quote = text.charAt(i);
+                    valueStart = i + 1;
+                    int close = indexOf(quote, valueStart);
+                    valueEnd = close < 0 ? length : close;
+                    i = close < 0 ? length : close + 1;
+                } else {
+                    valueStart = i;
+                    while (i < length && !Character.isWhitespace(text.charAt(i)) && text.charAt(i) != '>') {
+                        i++;
+                    }
+                    valueEnd = i;
+                }
+            }
+            addAttribute(attrNameStart, attrNameEnd, valueStart, valueEnd);
+        }
+        return length;
+    }
+
+    private void addAttribute(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        int offset = attributeCount * 4;
+        if (offset + 4 > attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        attributes[offset] = nameStart;
+        attributes[offset + 1] = nameEnd;
+        attributes[offset + 2] = valueStart;
+        attributes[offset + 3] = valueEnd;
+        attributeCount++;
+    }
+
+    private int indexOfAttribute(String attributeName) {
+        for (int index = 0; index < attributeCount; index++) {
+            int from = attributes[index * 4];
+            int to = attributes[index * 4 + 1];
+            if (to - from == attributeName.length() && regionMatches(from, attributeName)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void push(String tag, int offset) {
+        if (depth == openNames.length) {
+            openNames = Arrays.copyOf(openNames, depth * 2);
+            openStarts = Arrays.copyOf(openStarts, depth * 2);
+        }
+        openNames[depth] = tag;
+        openStarts[depth] = offset;
+        depth++;
+    }
+
+    private void pop(String tag) {
+        for (int level = depth - 1; level >= 0; level--) {
+            if (openNames[level].equals(tag)) {
+                Arrays.fill(openNames, level, depth, null);
+                depth = level;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips a comment, doctype, processing instruction, CDATA section or stray {@code <} starting at {@code open}.
+     */
+    private int skipMarkup(int open) {
+        if (regionMatches(open, "<!--")) {
+            int close = indexOf("-->", open + 4);
+            return close < 0 ? length : close + 3;
+        }
+        if (regionMatches(open, "<![cdata[")) {
+            int close = indexOf("]]>", open + 9);
+            return close < 0 ? length : close + 3;
+        }
+        char c = text.charAt(open + 1);
+        if (c == '!' || c == '?' || c == '/') {
+            int close = indexOf('>', open + 2);
+            return close < 0 ? length : close + 1;
+        }
+        return open + 1;
+    }
+
+    private int findEndTag(String tag, int from) {
+        int i = from;
+        while (true) {
+            int open = indexOf('<', i);
+            if (open < 0) {
+                return -1;
+            }
+            if (open + 1 < length && text.charAt(open + 1) == '/' && matchesName(open + 2, tag)) {
+                return open;
+            }
+            i = open + 1;
+        }
+    }
+
+    private boolean matchesName(int from, String tag) {
+        int after = from + tag.length();
+        return after <= length && regionMatches(from, tag) && (after == length || isTagNameEnd(text.charAt(after)));
+    }
+
+    private boolean regionMatches(int from, String other) {
+        if (from + other.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < other.length(); i++) {
+            if (Character.toLowerCase(text.charAt(from + i)) != Character.toLowerCase(other.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < length; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(String needle, int from) {
+        int limit = length - needle.length();
+        for (int i = from; i <= limit; i++) {
+            if (regionMatches(i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTagNameEnd(char c) {
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+
+    private static boolean isAttributeNameEnd(char c) {
+        return c == '=' || c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+}
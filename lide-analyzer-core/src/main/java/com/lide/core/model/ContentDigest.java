@@ -0,0 +1,67 @@
+package com.lide.core.model;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 of a page's characters together with their count; a small key for grouping pages by content without
+ * keeping the content itself. Equal digests make identical content all but certain, and callers that need
+ * certainty compare the content on a hit ({@link SourceText#contentEquals(SourceText)}).
+ */
+public final class ContentDigest {
+
+    private static final int CHUNK_CHARS = 4096;
+
+    private final byte[] sha256;
+    private final int length;
+    private final int hash;
+
+    private ContentDigest(byte[] sha256, int length) {
+        this.sha256 = sha256;
+        this.length = length;
+        this.hash = 31 * Arrays.hashCode(sha256) + length;
+    }
+
+    static ContentDigest of(CharSequence text) {
+        MessageDigest digest = sha256();
+        byte[] chunk = new byte[CHUNK_CHARS * 2];
+        int length = text.length();
+        for (int start = 0; start < length; start += CHUNK_CHARS) {
+            int end = Math.min(length, start + CHUNK_CHARS);
+            int used = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                chunk[used++] = (byte) (c >>> 8);
+                chunk[used++] = (byte) c;
+            }
+            digest.update(chunk, 0, used);
+        }
+        return new ContentDigest(digest.digest(), length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof ContentDigest that && length == that.length && Arrays.equals(sha256, that.sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -11,8 +11,10 @@ public class CrossFrameInteraction {
     private String fromFrame;
     private String toJsp;
     private String type;
-    private String snippet;
+    private CharSequence snippet;
     private String confidence;
+    private Integer line;
+    private Integer column;
 
     public String getFromFrame() {
         return fromFrame;
@@ -39,13 +41,20 @@ public class CrossFrameInteraction {
     }
 
     public String getSnippet() {
-        return snippet;
+        return snippet == null ? null : snippet.toString();
     }
 
     public void setSnippet(String snippet) {
         this.snippet = snippet;
     }
 
+    /**
+     * Keeps the snippet as offsets into the page source; the text is materialized by {@link #getSnippet()}.
+     */
+    public void setSnippetSource(SourceSnippet snippet) {
+        this.snippet = snippet;
+    }
+
     public String getConfidence() {
         return confidence;
     }
@@ -53,4 +62,20 @@ public class CrossFrameInteraction {
     public void setConfidence(String confidence) {
         this.confidence = confidence;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
@@ -1,5 +1,6 @@
 package com.lide.core.model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,11 +28,44 @@ public class FieldDescriptor {
     private String sourceBeanClass; // TODO: indicate the resolved bean that backs this field
     private String sourceBeanProperty; // TODO: indicate the property name within the bean
     private List<String> notes; // TODO: capture diagnostic notes for the field
+    private Integer line; // 1-based source line of the field tag
+    private Integer column; // 1-based source column of the field tag
 
     public FieldDescriptor() {
         // Default constructor.
     }
 
+    /**
+     * Returns a copy with its own constraint, note and binding lists; options are shared as they are never
+     * modified after analysis.
+     */
+    public FieldDescriptor copy() {
+        FieldDescriptor copy = new FieldDescriptor();
+        copy.name = name;
+        copy.id = id;
+        copy.label = label;
+        copy.type = type;
+        copy.required = required;
+        copy.maxLength = maxLength;
+        copy.minLength = minLength;
+        copy.pattern = pattern;
+        copy.placeholder = placeholder;
+        copy.defaultValue = defaultValue;
+        copy.options = options == null ? null : new ArrayList<>(options);
+        copy.bindingExpressions = bindingExpressions == null ? null : new ArrayList<>(bindingExpressions);
+        copy.minValue = minValue;
+        copy.maxValue = maxValue;
+        copy.sourceTagName = sourceTagName;
+        copy.javaType = javaType;
+        copy.constraints = constraints == null ? null : new ArrayList<>(constraints);
+        copy.sourceBeanClass = sourceBeanClass;
+        copy.sourceBeanProperty = sourceBeanProperty;
+        copy.notes = notes == null ? null : new ArrayList<>(notes);
+        copy.line = line;
+        copy.column = column;
+        return copy;
+    }
+
     public String getName() {
         return name;
     }
@@ -191,4 +225,20 @@ public class FieldDescriptor {
     public void setNotes(List<String> notes) {
         this.notes = notes;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
@@ -1,5 +1,6 @@
 package com.lide.core.model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,13 +12,38 @@ public class FormDescriptor {
     private String action; // TODO: extract form action
     private String method; // TODO: extract HTTP method with sensible default
     private String backingBeanClassName; // TODO: resolve backing bean or command object
+    private String handler; // handler method or servlet the action routes to, when known
     private List<FieldDescriptor> fields; // TODO: populate with discovered form fields
     private List<String> notes; // TODO: include notes or uncertainties discovered during analysis
+    private Integer line; // 1-based source line of the form start tag
+    private Integer column; // 1-based source column of the form start tag
 
     public FormDescriptor() {
         // Default constructor.
     }
 
+    /**
+     * Returns a copy whose field and note lists, and the fields themselves, can be enriched independently.
+     */
+    public FormDescriptor copy() {
+        FormDescriptor copy = new FormDescriptor();
+        copy.formId = formId;
+        copy.action = action;
+        copy.method = method;
+        copy.backingBeanClassName = backingBeanClassName;
+        copy.handler = handler;
+        if (fields != null) {
+            copy.fields = new ArrayList<>(fields.size());
+            for (FieldDescriptor field : fields) {
+                copy.fields.add(field.copy());
+            }
+        }
+        copy.notes = notes == null ? null : new ArrayList<>(notes);
+        copy.line = line;
+        copy.column = column;
+        return copy;
+    }
+
     public String getFormId() {
         return formId;
     }
@@ -50,6 +76,14 @@ public class FormDescriptor {
         this.backingBeanClassName = backingBeanClassName;
     }
 
+    public String getHandler() {
+        return handler;
+    }
+
+    public void setHandler(String handler) {
+        this.handler = handler;
+    }
+
     public List<FieldDescriptor> getFields() {
         return fields;
     }
@@ -65,4 +99,20 @@ public class FormDescriptor {
     public void setNotes(List<String> notes) {
         this.notes = notes;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
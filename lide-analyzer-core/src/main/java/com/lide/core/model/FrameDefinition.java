@@ -13,6 +13,8 @@ public class FrameDefinition {
     private Integer depth;
     private String tag;
     private String confidence;
+    private Integer line;
+    private Integer column;
 
     public String getFrameName() {
         return frameName;
@@ -61,4 +63,20 @@ public class FrameDefinition {
     public void setConfidence(String confidence) {
         this.confidence = confidence;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
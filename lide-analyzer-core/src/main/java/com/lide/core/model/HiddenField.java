@@ -10,8 +10,10 @@ public class HiddenField {
     private String name;
     private String defaultValue;
     private String expression;
-    private String snippet;
+    private CharSequence snippet;
     private String confidence;
+    private Integer line;
+    private Integer column;
 
     public HiddenField() {
         // Default constructor
@@ -42,13 +44,20 @@ public class HiddenField {
     }
 
     public String getSnippet() {
-        return snippet;
+        return snippet == null ? null : snippet.toString();
     }
 
     public void setSnippet(String snippet) {
         this.snippet = snippet;
     }
 
+    /**
+     * Keeps the snippet as offsets into the page source; the text is materialized by {@link #getSnippet()}.
+     */
+    public void setSnippetSource(SourceSnippet snippet) {
+        this.snippet = snippet;
+    }
+
     public String getConfidence() {
         return confidence;
     }
@@ -56,4 +65,20 @@ public class HiddenField {
     public void setConfidence(String confidence) {
         this.confidence = confidence;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
@@ -0,0 +1,53 @@
+package com.lide.core.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of include resolution written to {@code metrics.json}.
+ */
+public class IncludeMetrics {
+
+    private int resolvedIncludes;
+    private List<String> unresolvedIncludes = new ArrayList<>(); // "page -> target" for targets outside the scan
+    private List<List<String>> cycles = new ArrayList<>(); // page ids along each include cycle, first id repeated last
+    private Map<String, Integer> fragmentReuse = new LinkedHashMap<>(); // fragment page id -> pages merging it
+
+    public IncludeMetrics() {
+        // Default constructor
+    }
+
+    public int getResolvedIncludes() {
+        return resolvedIncludes;
+    }
+
+    public void setResolvedIncludes(int resolvedIncludes) {
+        this.resolvedIncludes = resolvedIncludes;
+    }
+
+    public List<String> getUnresolvedIncludes() {
+        return unresolvedIncludes;
+    }
+
+    public void setUnresolvedIncludes(List<String> unresolvedIncludes) {
+        this.unresolvedIncludes = unresolvedIncludes;
+    }
+
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(List<List<String>> cycles) {
+        this.cycles = cycles;
+    }
+
+    public Map<String, Integer> getFragmentReuse() {
+        return fragmentReuse;
+    }
+
+    public void setFragmentReuse(Map<String, Integer> fragmentReuse) {
+        this.fragmentReuse = fragmentReuse;
+    }
+}
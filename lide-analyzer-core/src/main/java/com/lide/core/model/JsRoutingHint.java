@@ -9,8 +9,10 @@ public class JsRoutingHint {
 
     private String targetPage;
     private String sourcePattern;
-    private String snippet;
+    private CharSequence snippet;
     private String confidence;
+    private Integer line;
+    private Integer column;
 
     public JsRoutingHint() {
         // default constructor
@@ -40,13 +42,20 @@ public class JsRoutingHint {
     }
 
     public String getSnippet() {
-        return snippet;
+        return snippet == null ? null : snippet.toString();
     }
 
     public void setSnippet(String snippet) {
         this.snippet = snippet;
     }
 
+    /**
+     * Keeps the snippet as offsets into the page source; the text is materialized by {@link #getSnippet()}.
+     */
+    public void setSnippetSource(SourceSnippet snippet) {
+        this.snippet = snippet;
+    }
+
     public String getConfidence() {
         return confidence;
     }
@@ -54,4 +63,20 @@ public class JsRoutingHint {
     public void setConfidence(String confidence) {
         this.confidence = confidence;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
@@ -0,0 +1,112 @@
+package com.lide.core.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The JSP scripting elements of a page ({@code <% %>}, {@code <%= %>}, {@code <%! %>}, {@code <%@ %>} and
+ * {@code <%-- --%>}) in source order, as offsets into its {@link SourceText}.
+ * <p>
+ * Each element has an outer range covering its delimiters and a body range between them. An element left open
+ * at the end of the page runs to the end.
+ * </p>
+ */
+public final class JspRegions {
+
+    /**
+     * Kind of JSP scripting element.
+     */
+    public enum Kind {
+        SCRIPTLET,
+        EXPRESSION,
+        DECLARATION,
+        DIRECTIVE,
+        COMMENT
+    }
+
+    /** Scriptlets, expressions and declarations: the elements holding Java code. */
+    public static final Set<Kind> JAVA_CODE =
+            Collections.unmodifiableSet(EnumSet.of(Kind.SCRIPTLET, Kind.EXPRESSION, Kind.DECLARATION));
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final byte[] kinds;
+    private final int[] bounds; // start, bodyStart, bodyEnd, end per element
+
+    private JspRegions(byte[] kinds, int[] bounds) {
+        this.kinds = kinds;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Wraps {@code count} elements; {@code bounds} holds start, body start, body end and end for each one and
+     * {@code kinds} their {@link Kind#ordinal()}.
+     */
+    public static JspRegions of(byte[] kinds, int[] bounds, int count) {
+        return new JspRegions(Arrays.copyOf(kinds, count), Arrays.copyOf(bounds, count * 4));
+    }
+
+    public int count() {
+        return kinds.length;
+    }
+
+    public Kind kind(int element) {
+        return KINDS[kinds[element]];
+    }
+
+    public int start(int element) {
+        return bounds[4 * element];
+    }
+
+    public int bodyStart(int element) {
+        return bounds[4 * element + 1];
+    }
+
+    public int bodyEnd(int element) {
+        return bounds[4 * element + 2];
+    }
+
+    public int end(int element) {
+        return bounds[4 * element + 3];
+    }
+
+    public int count(Kind kind) {
+        int count = 0;
+        for (byte value : kinds) {
+            if (value == kind.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether the page holds Java code: any scriptlet, expression or declaration.
+     */
+    public boolean hasJavaCode() {
+        for (int i = 0; i < kinds.length; i++) {
+            if (JAVA_CODE.contains(kind(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The outer ranges of the elements of the given kinds.
+     */
+    public TextRegions regions(Set<Kind> selected) {
+        int[] selectedBounds = new int[kinds.length * 2];
+        int count = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (selected.contains(kind(i))) {
+                selectedBounds[2 * count] = start(i);
+                selectedBounds[2 * count + 1] = end(i);
+                count++;
+            }
+        }
+        return TextRegions.of(selectedBounds, count);
+    }
+}
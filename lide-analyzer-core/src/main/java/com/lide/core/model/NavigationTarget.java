@@ -11,8 +11,11 @@ public class NavigationTarget {
 
     private String targetPage;
     private String sourcePattern;
-    private String snippet;
+    private CharSequence snippet;
     private String confidence;
+    private Integer line;
+    private Integer column;
+    private String handler;
 
     public NavigationTarget() {
         // Default constructor
@@ -42,13 +45,20 @@ public class NavigationTarget {
     }
 
     public String getSnippet() {
-        return snippet;
+        return snippet == null ? null : snippet.toString();
     }
 
     public void setSnippet(String snippet) {
         this.snippet = snippet;
     }
 
+    /**
+     * Keeps the snippet as offsets into the page source; the text is materialized by {@link #getSnippet()}.
+     */
+    public void setSnippetSource(SourceSnippet snippet) {
+        this.snippet = snippet;
+    }
+
     public String getConfidence() {
         return confidence;
     }
@@ -57,6 +67,33 @@ public class NavigationTarget {
         this.confidence = confidence;
     }
 
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
+
+    /**
+     * Returns the handler method or servlet the target routes to, set during JSON enrichment.
+     */
+    public String getHandler() {
+        return handler;
+    }
+
+    public void setHandler(String handler) {
+        this.handler = handler;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -68,12 +105,12 @@ public class NavigationTarget {
         NavigationTarget that = (NavigationTarget) o;
         return Objects.equals(targetPage, that.targetPage)
                 && Objects.equals(sourcePattern, that.sourcePattern)
-                && Objects.equals(snippet, that.snippet)
+                && Objects.equals(getSnippet(), that.getSnippet())
                 && Objects.equals(confidence, that.confidence);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(targetPage, sourcePattern, snippet, confidence);
+        return Objects.hash(targetPage, sourcePattern, getSnippet(), confidence);
     }
 }
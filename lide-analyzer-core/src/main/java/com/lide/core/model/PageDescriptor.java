@@ -1,5 +1,7 @@
 package com.lide.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.nio.file.Path;
 import java.util.List;
 
@@ -36,12 +38,22 @@ public class PageDescriptor {
     private List<HiddenField> hiddenFields; // TODO: capture hidden field state
     private List<SessionDependency> sessionDependencies; // TODO: capture session attribute usage
     private List<PageDependency> pageDependencies; // TODO: capture page dependency relationships
+    private List<PageInclude> includes; // include directives, <jsp:include> and <c:import> references
     private List<String> controllerCandidates; // TODO: correlate JSP with backing Java classes
     private List<String> backingBeanCandidates; // TODO: proposed backing beans inferred from heuristics
     private List<String> notes; // TODO: include diagnostic notes for reviewers
     private Double confidenceScore; // TODO: compute a confidence indicator once metadata is merged
     private String confidenceLabel; // TODO: expose HIGH/MEDIUM/LOW interpretation for dashboards
     private Boolean framesetPage; // TODO: flag layout/frameset pages
+    private Boolean partiallyAnalyzed; // set when an extractor stopped on the page time budget
+    private String duplicateOf; // pageId of the page with identical content whose analysis this one copies
+    private PageDescriptor canonicalPage; // that page itself, so extractors can reuse its findings
+    private SourceText source; // raw content read once and shared by extractors and finding snippets
+    private JspRegions jspRegions; // scriptlets, expressions, declarations, directives and JSP comments
+    private TextRegions scriptRegions; // <script> bodies and JavaScript attribute values, found once per page
+    private long scriptScannedChars; // characters the script-oriented extractors matched against, summed
+    private long scanNanos; // time the budgeted extractor scans have spent on the page, summed across extractors
+    private int releasedSourceLength; // length of the content once releaseSource() has dropped it
 
     public PageDescriptor() {
         // Default constructor for frameworks and serialization.
@@ -151,6 +163,14 @@ public class PageDescriptor {
         this.pageDependencies = pageDependencies;
     }
 
+    public List<PageInclude> getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(List<PageInclude> includes) {
+        this.includes = includes;
+    }
+
     public List<String> getControllerCandidates() {
         return controllerCandidates;
     }
@@ -198,4 +218,95 @@ public class PageDescriptor {
     public void setFramesetPage(Boolean framesetPage) {
         this.framesetPage = framesetPage;
     }
+
+    public Boolean getPartiallyAnalyzed() {
+        return partiallyAnalyzed;
+    }
+
+    public void setPartiallyAnalyzed(Boolean partiallyAnalyzed) {
+        this.partiallyAnalyzed = partiallyAnalyzed;
+    }
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(String duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+
+    @JsonIgnore
+    public PageDescriptor getCanonicalPage() {
+        return canonicalPage;
+    }
+
+    public void setCanonicalPage(PageDescriptor canonicalPage) {
+        this.canonicalPage = canonicalPage;
+    }
+
+    @JsonIgnore
+    public SourceText getSource() {
+        return source;
+    }
+
+    public void setSource(SourceText source) {
+        this.source = source;
+    }
+
+    /**
+     * Detaches the finding snippets from the page content and drops the content; anything that needs it later
+     * reads it again from {@link #getSourcePath()}.
+     */
+    public void releaseSource() {
+        SourceText released = source;
+        if (released != null) {
+            releasedSourceLength = released.length();
+            source = null;
+            released.release();
+        }
+    }
+
+    /**
+     * Returns the length of the page content in characters, still known after the content is released.
+     */
+    @JsonIgnore
+    public int getSourceLength() {
+        SourceText current = source;
+        return current != null ? current.length() : releasedSourceLength;
+    }
+
+    @JsonIgnore
+    public JspRegions getJspRegions() {
+        return jspRegions;
+    }
+
+    public void setJspRegions(JspRegions jspRegions) {
+        this.jspRegions = jspRegions;
+    }
+
+    @JsonIgnore
+    public TextRegions getScriptRegions() {
+        return scriptRegions;
+    }
+
+    public void setScriptRegions(TextRegions scriptRegions) {
+        this.scriptRegions = scriptRegions;
+    }
+
+    public long getScriptScannedChars() {
+        return scriptScannedChars;
+    }
+
+    public void setScriptScannedChars(long scriptScannedChars) {
+        this.scriptScannedChars = scriptScannedChars;
+    }
+
+    @JsonIgnore
+    public long getScanNanos() {
+        return scanNanos;
+    }
+
+    public void setScanNanos(long scanNanos) {
+        this.scanNanos = scanNanos;
+    }
 }
@@ -0,0 +1,60 @@
+package com.lide.core.model;
+
+/**
+ * Represents an include directive, {@code <jsp:include>} or {@code <c:import>} pulling another page into this one.
+ */
+public class PageInclude {
+
+    /** {@code <%@ include file=...%>} or {@code <jsp:directive.include>}, inlined at translation time. */
+    public static final String TYPE_STATIC = "STATIC";
+    /** {@code <jsp:include page=...>}, rendered at request time. */
+    public static final String TYPE_DYNAMIC = "DYNAMIC";
+    /** {@code <c:import url=...>}. */
+    public static final String TYPE_IMPORT = "IMPORT";
+
+    private String target;
+    private String type;
+    private Integer line;
+    private Integer column;
+
+    public PageInclude() {
+        // Default constructor
+    }
+
+    public PageInclude(String target, String type) {
+        this.target = target;
+        this.type = type;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
+}
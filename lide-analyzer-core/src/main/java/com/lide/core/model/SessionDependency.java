@@ -9,8 +9,10 @@ public class SessionDependency {
 
     private String key;
     private String source;
-    private String snippet;
+    private CharSequence snippet;
     private String confidence;
+    private Integer line;
+    private Integer column;
 
     public SessionDependency() {
         // Default constructor
@@ -33,13 +35,20 @@ public class SessionDependency {
     }
 
     public String getSnippet() {
-        return snippet;
+        return snippet == null ? null : snippet.toString();
     }
 
     public void setSnippet(String snippet) {
         this.snippet = snippet;
     }
 
+    /**
+     * Keeps the snippet as offsets into the page source; the text is materialized by {@link #getSnippet()}.
+     */
+    public void setSnippetSource(SourceSnippet snippet) {
+        this.snippet = snippet;
+    }
+
     public String getConfidence() {
         return confidence;
     }
@@ -47,4 +56,20 @@ public class SessionDependency {
     public void setConfidence(String confidence) {
         this.confidence = confidence;
     }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public Integer getColumn() {
+        return column;
+    }
+
+    public void setColumn(Integer column) {
+        this.column = column;
+    }
 }
@@ -0,0 +1,162 @@
+package com.lide.core.model;
+
+import java.util.Objects;
+
+/**
+ * A window into a {@link SourceText} kept as offsets rather than a copied string.
+ * <p>
+ * Line breaks read as spaces, matching how snippets have always been rendered. The text is only
+ * materialized by {@link #toString()}, typically while serializing a finding; equality and hashing
+ * compare the rendered characters so snippets can be used directly in de-duplication keys.
+ * </p>
+ * <p>
+ * When the page lets go of its content ({@link SourceText#release()}), the snippet copies its own bounded
+ * text and drops the reference to the source.
+ * </p>
+ */
+public final class SourceSnippet implements CharSequence {
+
+    private final String sourceId;
+    private final int start;
+    private final int end;
+    private volatile SourceText source;
+    private volatile String detached;
+    private int hash;
+
+    private SourceSnippet(SourceText source, int start, int end) {
+        this.sourceId = source.getId();
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        source.register(this);
+    }
+
+    /**
+     * Covers {@code [start, end)} of the source, cut to at most {@code maxLength} characters.
+     */
+    public static SourceSnippet of(SourceText source, int start, int end, int maxLength) {
+        Objects.requireNonNull(source, "source");
+        int from = Math.max(0, Math.min(start, source.length()));
+        int to = Math.max(from, Math.min(end, source.length()));
+        if (to - from > maxLength) {
+            to = from + maxLength;
+        }
+        return new SourceSnippet(source, from, to);
+    }
+
+    /**
+     * Covers a match plus {@code context} characters on either side, cut to at most {@code maxLength} characters.
+     */
+    public static SourceSnippet around(SourceText source, int matchStart, int matchEnd, int context, int maxLength) {
+        return of(source, matchStart - context, matchEnd + context, maxLength);
+    }
+
+    /**
+     * Wraps text that has no backing page source.
+     */
+    public static SourceSnippet literal(String text, int maxLength) {
+        return of(new SourceText(null, text), 0, text.length(), maxLength);
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        String text = detached;
+        if (text != null) {
+            return text.charAt(index);
+        }
+        SourceText attached = source;
+        if (attached == null) {
+            return detached.charAt(index);
+        }
+        char c = attached.getText().charAt(start + index);
+        return c == '\n' ? ' ' : c;
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > length() || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ")");
+        }
+        SourceText attached = source;
+        if (attached == null) {
+            return detached.substring(from, to);
+        }
+        return new SourceSnippet(attached, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        String text = detached;
+        if (text != null) {
+            return text;
+        }
+        SourceText attached = source;
+        if (attached == null) {
+            return detached;
+        }
+        return attached.getText().subSequence(start, end).toString().replace('\n', ' ');
+    }
+
+    /**
+     * Copies the rendered text and lets go of the source; the copy is written before the reference is cleared,
+     * so a reader that finds no source always finds the text.
+     */
+    void detach() {
+        if (detached == null) {
+            detached = toString();
+        }
+        source = null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SourceSnippet that) || length() != that.length()) {
+            return false;
+        }
+        SourceText attached = source;
+        if (attached != null && attached == that.source && start == that.start) {
+            return true;
+        }
+        for (int i = 0, length = length(); i < length; i++) {
+            if (charAt(i) != that.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (int i = 0, length = length(); i < length; i++) {
+                h = 31 * h + charAt(i);
+            }
+            hash = h;
+        }
+        return h;
+    }
+}
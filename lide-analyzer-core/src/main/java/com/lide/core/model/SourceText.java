@@ -0,0 +1,161 @@
+package com.lide.core.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Raw content of one analyzed page, shared by every finding that points into it.
+ * <p>
+ * The content may be held as any {@link CharSequence}, such as a view over the bytes the file was loaded
+ * into. {@link #getText()} exposes it as-is for regex scanning; {@link #getContent()} materializes a
+ * {@link String} on first call for consumers that need one.
+ * </p>
+ * <p>
+ * Line/column lookups go through a table of line-start offsets built once from the content on first use,
+ * so locating a finding is a binary search rather than a rescan of the text.
+ * </p>
+ * <p>
+ * Every {@link SourceSnippet} taken from the content is tracked until {@link #release()}, which copies each
+ * snippet's bounded text into it so findings stop pinning the whole page.
+ * </p>
+ */
+public final class SourceText {
+
+    private final String id;
+    private final CharSequence text;
+    private volatile String content;
+    private volatile int[] lineStarts;
+    private volatile ContentDigest digest;
+    private final Queue<SourceSnippet> snippets = new ConcurrentLinkedQueue<>();
+
+    public SourceText(String id, CharSequence text) {
+        this.id = id;
+        this.text = Objects.requireNonNull(text, "text");
+        if (text instanceof String string) {
+            this.content = string;
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getContent() {
+        String materialized = content;
+        if (materialized == null) {
+            materialized = text.toString();
+            content = materialized;
+        }
+        return materialized;
+    }
+
+    /**
+     * Returns the content without materializing it, or the {@link String} if one was already built.
+     */
+    public CharSequence getText() {
+        String materialized = content;
+        return materialized != null ? materialized : text;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * Returns the digest of the content, computed on first call.
+     */
+    public ContentDigest digest() {
+        ContentDigest computed = digest;
+        if (computed == null) {
+            computed = ContentDigest.of(getText());
+            digest = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Compares the content character by character, without materializing either side.
+     */
+    public boolean contentEquals(SourceText other) {
+        if (other == this) {
+            return true;
+        }
+        CharSequence mine = getText();
+        CharSequence theirs = other.getText();
+        int length = mine.length();
+        if (length != theirs.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (mine.charAt(i) != theirs.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Detaches every snippet taken so far from this content. The source itself stays usable; callers drop their
+     * reference to it afterwards so the content can be collected.
+     */
+    public void release() {
+        for (SourceSnippet snippet = snippets.poll(); snippet != null; snippet = snippets.poll()) {
+            snippet.detach();
+        }
+    }
+
+    void register(SourceSnippet snippet) {
+        snippets.add(snippet);
+    }
+
+    /**
+     * Returns the 1-based line containing {@code offset}.
+     */
+    public int lineOf(int offset) {
+        int[] starts = lineStarts();
+        int index = Arrays.binarySearch(starts, clamp(offset));
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Returns the 1-based column of {@code offset} within its line.
+     */
+    public int columnOf(int offset) {
+        int clamped = clamp(offset);
+        return clamped - lineStarts()[lineOf(clamped) - 1] + 1;
+    }
+
+    public int lineCount() {
+        return lineStarts().length;
+    }
+
+    private int clamp(int offset) {
+        return Math.max(0, Math.min(offset, text.length()));
+    }
+
+    private int[] lineStarts() {
+        int[] starts = lineStarts;
+        if (starts == null) {
+            starts = computeLineStarts(getText());
+            lineStarts = starts;
+        }
+        return starts;
+    }
+
+    private static int[] computeLineStarts(CharSequence content) {
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = 0, length = content.length(); i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == length || content.charAt(i + 1) != '\n'))) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+}
@@ -0,0 +1,94 @@
+package com.lide.core.model;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, non-overlapping character ranges of a {@link SourceText}, stored as packed start/end offsets.
+ */
+public final class TextRegions {
+
+    private static final TextRegions EMPTY = new TextRegions(new int[0]);
+
+    private final int[] bounds;
+
+    private TextRegions(int[] bounds) {
+        this.bounds = bounds;
+    }
+
+    public static TextRegions empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds regions from {@code count} start/end pairs in {@code bounds}, in any order; overlapping and adjacent
+     * ranges are merged and empty ones dropped.
+     */
+    public static TextRegions of(int[] bounds, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        long[] ranges = new long[count];
+        for (int i = 0; i < count; i++) {
+            ranges[i] = ((long) bounds[2 * i] << 32) | bounds[2 * i + 1];
+        }
+        Arrays.sort(ranges);
+        int[] merged = new int[count * 2];
+        int size = 0;
+        for (long range : ranges) {
+            int start = (int) (range >>> 32);
+            int end = (int) range;
+            if (end <= start) {
+                continue;
+            }
+            if (size > 0 && start <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], end);
+            } else {
+                merged[size++] = start;
+                merged[size++] = end;
+            }
+        }
+        return size == 0 ? EMPTY : new TextRegions(Arrays.copyOf(merged, size));
+    }
+
+    public int count() {
+        return bounds.length / 2;
+    }
+
+    public int start(int region) {
+        return bounds[2 * region];
+    }
+
+    public int end(int region) {
+        return bounds[2 * region + 1];
+    }
+
+    /**
+     * Number of characters covered by all regions together.
+     */
+    public int totalLength() {
+        int total = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            total += bounds[i + 1] - bounds[i];
+        }
+        return total;
+    }
+
+    /**
+     * Whether {@code offset} falls inside one of the regions.
+     */
+    public boolean contains(int offset) {
+        int low = 0;
+        int high = count() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (offset < start(mid)) {
+                high = mid - 1;
+            } else if (offset >= end(mid)) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+}
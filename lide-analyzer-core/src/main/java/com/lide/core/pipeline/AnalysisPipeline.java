@@ -0,0 +1,404 @@
+package com.lide.core.pipeline;
+
+import com.lide.core.CodebaseScanner;
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.extractors.IncludeGraphBuilder;
+import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.fs.ScanListener;
+import com.lide.core.java.JavaMetadataIndex;
+import com.lide.core.java.JavaUsageAnalyzer;
+import com.lide.core.jsp.JspAnalyzer;
+import com.lide.core.model.ContentDigest;
+import com.lide.core.model.IncludeMetrics;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import com.lide.core.report.JsonSchemaGenerator;
+import com.lide.core.report.PageJsonSink;
+import com.lide.core.webapp.StrutsConfigParser;
+import com.lide.core.webapp.WebXmlParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs scanning, page analysis, Java analysis and JSON generation as overlapping stages joined by queues
+ * instead of one full pass per stage.
+ * <p>
+ * The scanning thread reads each page as the walk reaches it, recognises content it has already seen and
+ * hands the page to a bounded work queue, so a backlog of unanalyzed pages holds the walk back rather than
+ * accumulating in memory. Worker threads run the JSP analysis and every {@link PageStage} on one page at a
+ * time. Java sources are parsed on their own thread while the walk is still discovering them. The calling
+ * thread writes each page's JSON, in discovery order, as soon as the page is ready: pages that finish before the
+ * Java metadata are written without enrichment at once and written again, enriched, once the metadata arrives.
+ * The page's content is released after its first write; finding snippets keep their own bounded text.
+ * Pages that include other pages are held back until the scan is complete, when the {@link IncludeGraphBuilder}
+ * has every fragment to merge into them. Struts configuration files and {@code web.xml} descriptors are parsed once
+ * the walk has found them all and travel with the Java metadata.
+ * </p>
+ */
+public final class AnalysisPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisPipeline.class);
+    private static final int QUEUE_SLOTS_PER_WORKER = 4;
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    /**
+     * One extraction step applied to a page after JSP analysis; matches the signature of the extractors and
+     * the page dependency builder.
+     */
+    @FunctionalInterface
+    public interface PageStage {
+        void apply(Path rootDir, List<PageDescriptor> pages);
+    }
+
+    private final AnalyzerConfig config;
+    private final CodebaseScanner scanner;
+    private final JspAnalyzer jspAnalyzer;
+    private final List<PageStage> pageStages;
+    private final IncludeGraphBuilder includeGraphBuilder;
+    private final JavaUsageAnalyzer javaUsageAnalyzer;
+    private final JsonSchemaGenerator jsonSchemaGenerator;
+    private final StrutsConfigParser strutsConfigParser = new StrutsConfigParser();
+    private final WebXmlParser webXmlParser = new WebXmlParser();
+
+    public AnalysisPipeline(AnalyzerConfig config,
+                            CodebaseScanner scanner,
+                            JspAnalyzer jspAnalyzer,
+                            List<PageStage> pageStages,
+                            IncludeGraphBuilder includeGraphBuilder,
+                            JavaUsageAnalyzer javaUsageAnalyzer,
+                            JsonSchemaGenerator jsonSchemaGenerator) {
+        this.config = Objects.requireNonNull(config, "config");
+        this.scanner = Objects.requireNonNull(scanner, "scanner");
+        this.jspAnalyzer = Objects.requireNonNull(jspAnalyzer, "jspAnalyzer");
+        this.pageStages = List.copyOf(Objects.requireNonNull(pageStages, "pageStages"));
+        this.includeGraphBuilder = Objects.requireNonNull(includeGraphBuilder, "includeGraphBuilder");
+        this.javaUsageAnalyzer = Objects.requireNonNull(javaUsageAnalyzer, "javaUsageAnalyzer");
+        this.jsonSchemaGenerator = Objects.requireNonNull(jsonSchemaGenerator, "jsonSchemaGenerator");
+    }
+
+    /**
+     * Runs every stage to completion and writes the page JSON artifacts, summary and include metrics.
+     *
+     * @return the scanned index, which the caller must close, the pages in discovery order, the Java metadata and
+     * the include metrics
+     */
+    public Result run() throws IOException, InterruptedException {
+        Path rootDir = config.getRootDir();
+        int workers = resolveWorkerCount();
+        BlockingQueue<PageTask> work = new ArrayBlockingQueue<>(workers * QUEUE_SLOTS_PER_WORKER);
+        // Finished pages are kept for the migration report anyway, so only unanalyzed work needs a bound.
+        BlockingQueue<PageTask> finished = new LinkedBlockingQueue<>();
+        BlockingQueue<Path> javaFiles = new LinkedBlockingQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 2, pipelineThreads());
+        CompletableFuture<CodebaseIndex> scan = null;
+        boolean completed = false;
+        try {
+            CompletableFuture<JavaMetadataIndex> javaSources = CompletableFuture.supplyAsync(
+                    () -> javaUsageAnalyzer.analyze(new QueueIterable(javaFiles)), executor);
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> runWorker(rootDir, work));
+            }
+            Dispatcher dispatcher = new Dispatcher(rootDir, work, finished, javaFiles);
+            scan = CompletableFuture.supplyAsync(() -> dispatcher.scan(workers), executor);
+            CompletableFuture<JavaMetadataIndex> javaMetadata = javaSources.thenCombine(
+                    scan.thenApplyAsync(index -> strutsConfigParser.parse(index.getStrutsConfigFiles()), executor),
+                    JavaMetadataIndex::withStrutsConfig).thenCombine(
+                    scan.thenApplyAsync(index -> webXmlParser.parse(index.getWebXmlFiles()), executor),
+                    JavaMetadataIndex::withWebXml);
+
+            List<PageDescriptor> pages = new ArrayList<>();
+            IncludeMetrics includeMetrics = writePages(rootDir, finished, javaMetadata, pages);
+            Result result = new Result(scan.join(), pages, javaMetadata.join(), includeMetrics);
+            completed = true;
+            LOGGER.info("Pipeline complete: {} pages analyzed on {} workers", pages.size(), workers);
+            return result;
+        } catch (CompletionException ex) {
+            throw unwrap(ex);
+        } finally {
+            executor.shutdownNow();
+            if (!completed && scan != null) {
+                scan.thenAccept(CodebaseIndex::close);
+            }
+        }
+    }
+
+    private int resolveWorkerCount() {
+        Integer configured = config.getWorkerThreads();
+        return configured != null && configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    private IncludeMetrics writePages(Path rootDir,
+                                      BlockingQueue<PageTask> finished,
+                                      CompletableFuture<JavaMetadataIndex> javaMetadata,
+                                      List<PageDescriptor> pages)
+            throws IOException, InterruptedException {
+        try (PageJsonSink sink = jsonSchemaGenerator.open(rootDir, config.getOutputDir())) {
+            List<PageDescriptor> including = new ArrayList<>();
+            // Written without Java enrichment so far, in discovery order.
+            List<PageDescriptor> pending = new ArrayList<>();
+            for (PageTask task = finished.take(); task != PageTask.END; task = finished.take()) {
+                PageDescriptor page = task.result.join();
+                pages.add(page);
+                if (page.getIncludes() != null && !page.getIncludes().isEmpty()) {
+                    including.add(page);
+                    continue;
+                }
+                if (javaMetadata.isDone()) {
+                    writeEnriched(sink, pending, javaMetadata.join());
+                    sink.write(page, javaMetadata.join());
+                } else {
+                    sink.writeLocal(page);
+                    pending.add(page);
+                }
+                page.releaseSource();
+            }
+            IncludeMetrics metrics = includeGraphBuilder.build(rootDir, pages);
+            writeEnriched(sink, pending, javaMetadata.join());
+            for (PageDescriptor page : including) {
+                sink.write(page, javaMetadata.join());
+                page.releaseSource();
+            }
+            sink.writeIncludeMetrics(metrics);
+            return metrics;
+        }
+    }
+
+    private static void writeEnriched(PageJsonSink sink, List<PageDescriptor> pending, JavaMetadataIndex javaMetadata)
+            throws IOException {
+        for (PageDescriptor page : pending) {
+            sink.write(page, javaMetadata);
+        }
+        pending.clear();
+    }
+
+    private void runWorker(Path rootDir, BlockingQueue<PageTask> work) {
+        try {
+            for (PageTask task = work.take(); task != PageTask.END; task = work.take()) {
+                try {
+                    task.result.complete(process(rootDir, task));
+                } catch (RuntimeException | Error ex) {
+                    // Completed either way so the writer never waits on a page that will not arrive.
+                    task.result.completeExceptionally(ex);
+                } finally {
+                    // Canonical tasks stay registered for the whole scan; only the descriptor may hold the content.
+                    task.source = null;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PageDescriptor process(Path rootDir, PageTask task) {
+        PageDescriptor page;
+        if (task.canonical == null) {
+            page = jspAnalyzer.analyzePage(task.path, task.source);
+        } else {
+            // The canonical page was queued first, so it is already held by another worker.
+            page = jspAnalyzer.copyPage(task.canonical.result.join(), task.path, task.source);
+        }
+        List<PageDescriptor> single = List.of(page);
+        for (PageStage stage : pageStages) {
+            stage.apply(rootDir, single);
+        }
+        return page;
+    }
+
+    private static RuntimeException unwrap(CompletionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return ex;
+    }
+
+    private static ThreadFactory pipelineThreads() {
+        int pool = POOL_SEQUENCE.incrementAndGet();
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "lide-pipeline-" + pool + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Outcome of a pipeline run.
+     */
+    public record Result(CodebaseIndex index,
+                         List<PageDescriptor> pages,
+                         JavaMetadataIndex javaMetadata,
+                         IncludeMetrics includeMetrics) {
+    }
+
+    /**
+     * Feeds discovered files into the pipeline on the scanning thread.
+     */
+    private final class Dispatcher implements ScanListener {
+
+        private final Path rootDir;
+        private final BlockingQueue<PageTask> work;
+        private final BlockingQueue<PageTask> finished;
+        private final BlockingQueue<Path> javaFiles;
+        private final Map<ContentDigest, PageTask> pagesByContent = new HashMap<>();
+
+        private Dispatcher(Path rootDir,
+                           BlockingQueue<PageTask> work,
+                           BlockingQueue<PageTask> finished,
+                           BlockingQueue<Path> javaFiles) {
+            this.rootDir = rootDir;
+            this.work = work;
+            this.finished = finished;
+            this.javaFiles = javaFiles;
+        }
+
+        CodebaseIndex scan(int workers) {
+            try {
+                return scanner.scan(config.getOutputDir(), this);
+            } finally {
+                javaFiles.add(QueueIterable.END);
+                finished.add(PageTask.END);
+                try {
+                    for (int i = 0; i < workers; i++) {
+                        work.put(PageTask.END);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void pageDiscovered(Path page) {
+            SourceText source;
+            try {
+                source = jspAnalyzer.readPage(rootDir, page);
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to analyze {}: {}", page, ex.getMessage());
+                return;
+            }
+            PageTask canonical = pagesByContent.get(source.digest());
+            if (canonical != null && !sameContent(canonical, source)) {
+                canonical = null;
+            }
+            PageTask task = new PageTask(page, source, canonical);
+            if (canonical == null) {
+                pagesByContent.putIfAbsent(source.digest(), task);
+            }
+            finished.add(task);
+            try {
+                work.put(task);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing " + page, ex);
+            }
+        }
+
+        /**
+         * Confirms a digest hit against the canonical page's content, read again once its task has let go of it.
+         */
+        private boolean sameContent(PageTask canonical, SourceText source) {
+            SourceText canonicalSource = canonical.source;
+            if (canonicalSource == null) {
+                try {
+                    canonicalSource = jspAnalyzer.readPage(rootDir, canonical.path);
+                } catch (IOException ex) {
+                    LOGGER.debug("Unable to re-read {} to confirm a duplicate: {}", canonical.path, ex.getMessage());
+                    return false;
+                }
+            }
+            return canonicalSource.contentEquals(source);
+        }
+
+        @Override
+        public void javaFileDiscovered(Path javaFile) {
+            javaFiles.add(javaFile);
+        }
+    }
+
+    /**
+     * A page travelling through the pipeline; {@link #result} completes once every page stage has run.
+     */
+    private static final class PageTask {
+
+        static final PageTask END = new PageTask(null, null, null);
+
+        final Path path;
+        final PageTask canonical;
+        volatile SourceText source;
+        final CompletableFuture<PageDescriptor> result = new CompletableFuture<>();
+
+        PageTask(Path path, SourceText source, PageTask canonical) {
+            this.path = path;
+            this.source = source;
+            this.canonical = canonical;
+        }
+    }
+
+    /**
+     * Iterates a queue until its end marker, blocking while the scan has not produced the next element yet.
+     */
+    private static final class QueueIterable implements Iterable<Path> {
+
+        static final Path END = Path.of("");
+
+        private final BlockingQueue<Path> queue;
+
+        QueueIterable(BlockingQueue<Path> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public Iterator<Path> iterator() {
+            return new Iterator<>() {
+                private Path next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = queue.take();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Interrupted while waiting for Java sources", ex);
+                        }
+                    }
+                    return next != END;
+                }
+
+                @Override
+                public Path next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Path current = next;
+                    next = null;
+                    return current;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.lide.core.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Output stage that writes generated artifacts on a bounded pool of writer threads.
+ * <p>
+ * Serialized bytes are compared against the file already on disk and identical content is left untouched,
+ * so unchanged runs do not bump timestamps for rsync or artifact caches. Changed files are staged in a
+ * sibling temp file and moved into place. The submission queue is bounded; when it is full the submitting
+ * thread performs the write itself, which throttles producers instead of buffering unbounded output.
+ * </p>
+ * <p>
+ * Writes to one path land in submission order: a queued write that a later one for the same path supersedes is
+ * dropped, so the last content submitted is what stays on disk however the writer threads interleave.
+ * </p>
+ */
+public final class ArtifactWriter implements Closeable {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private final ConcurrentMap<Path, PathWrites> writesByPath = new ConcurrentHashMap<>();
+    private boolean closed;
+
+    public ArtifactWriter() {
+        this(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ArtifactWriter(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), writerThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Queues {@code content} for {@code target}; failures are reported by {@link #close()}.
+     */
+    public void write(Path target, byte[] content) {
+        Objects.requireNonNull(target, "target");
+        Objects.requireNonNull(content, "content");
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("Artifact writer already closed");
+        }
+        PathWrites writes = writesByPath.computeIfAbsent(target, path -> new PathWrites());
+        long sequence;
+        synchronized (writes) {
+            sequence = ++writes.submitted;
+        }
+        executor.execute(() -> {
+            if (failure.get() != null) {
+                return;
+            }
+            synchronized (writes) {
+                if (sequence < writes.submitted) {
+                    return;
+                }
+                try {
+                    if (writeIfChanged(target, content)) {
+                        written.incrementAndGet();
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                } catch (IOException ex) {
+                    failure.compareAndSet(null, new IOException("Unable to write " + target + ": " + ex.getMessage(), ex));
+                }
+            }
+        });
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    public int getSkippedCount() {
+        return skipped.get();
+    }
+
+    /**
+     * Waits for all queued writes and rethrows the first failure, if any. Repeated calls are no-ops.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting; writes are bounded by the queue capacity
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing artifacts", ex);
+        }
+        IOException error = failure.get();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Writes {@code content} to {@code target} unless the file already holds exactly these bytes.
+     *
+     * @return {@code true} when the file was (re)written
+     */
+    static boolean writeIfChanged(Path target, byte[] content) throws IOException {
+        if (Files.isRegularFile(target) && Files.size(target) == content.length
+                && Arrays.equals(Files.readAllBytes(target), content)) {
+            return false;
+        }
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path staged = Files.createTempFile(parent, "." + target.getFileName(), ".tmp");
+        try {
+            Files.write(staged, content);
+            moveIntoPlace(staged, target);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+        return true;
+    }
+
+    /**
+     * Moves an already staged file over {@code target}, or discards it when the contents are identical.
+     *
+     * @return {@code true} when the target was replaced
+     */
+    static boolean replaceIfChanged(Path staged, Path target) throws IOException {
+        try {
+            if (Files.isRegularFile(target) && Files.mismatch(staged, target) == -1L) {
+                return false;
+            }
+            moveIntoPlace(staged, target);
+            return true;
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    private static void moveIntoPlace(Path staged, Path target) throws IOException {
+        try {
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Counts the writes submitted for one path; guards the writes to it.
+     */
+    private static final class PathWrites {
+        private long submitted;
+    }
+
+    private static ThreadFactory writerThreads() {
+        int pool = POOL_SEQUENCE.incrementAndGet();
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "lide-writer-" + pool + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
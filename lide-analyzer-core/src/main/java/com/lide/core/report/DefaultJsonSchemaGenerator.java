@@ -2,14 +2,17 @@ package com.lide.core.report;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.fs.ArchivePaths;
 import com.lide.core.java.JavaFieldMetadata;
 import com.lide.core.java.JavaMetadataIndex;
 import com.lide.core.model.FieldDescriptor;
 import com.lide.core.model.FormDescriptor;
 import com.lide.core.model.FrameDefinition;
 import com.lide.core.model.HiddenField;
+import com.lide.core.model.IncludeMetrics;
 import com.lide.core.model.JsRoutingHint;
 import com.lide.core.model.NavigationTarget;
 import com.lide.core.model.OptionDescriptor;
@@ -17,9 +20,12 @@ import com.lide.core.model.OutputFieldDescriptor;
 import com.lide.core.model.OutputSectionDescriptor;
 import com.lide.core.model.PageDependency;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.PageInclude;
 import com.lide.core.model.CrossFrameInteraction;
 import com.lide.core.model.SessionDependency;
 import com.lide.core.model.UrlParameter;
+import com.lide.core.webapp.RequestRouter;
+import com.lide.core.webapp.StrutsConfigIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +36,7 @@ import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -74,31 +81,161 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         Objects.requireNonNull(pages, "pages");
         Objects.requireNonNull(javaMetadata, "javaMetadata");
 
+        try (PageJsonSink sink = open(rootDir, outputDir)) {
+            for (PageDescriptor page : pages) {
+                sink.write(page, javaMetadata);
+            }
+        }
+    }
+
+    @Override
+    public PageJsonSink open(Path rootDir, Path outputDir) throws IOException {
+        Objects.requireNonNull(rootDir, "rootDir");
+        Objects.requireNonNull(outputDir, "outputDir");
+
         Files.createDirectories(outputDir);
+        return new ArtifactSink(rootDir, outputDir);
+    }
 
-        List<Map<String, Object>> summaryEntries = new ArrayList<>();
+    /**
+     * Writes each page as it arrives and the summary, listing pages in arrival order, on close.
+     */
+    private final class ArtifactSink implements PageJsonSink {
+
+        private final Path rootDir;
+        private final Path outputDir;
+        private final List<Map<String, Object>> summaryEntries = new ArrayList<>();
+        private final ObjectWriter packWriter = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        private final ArtifactWriter writer = new ArtifactWriter();
+        private final PagePackWriter pack;
+        // The page each output key (pack key or page file) was first written for.
+        private final Map<Object, PageDescriptor> pagesByOutput = new HashMap<>();
+        private IncludeMetrics includeMetrics;
+        private boolean closed;
+
+        private ArtifactSink(Path rootDir, Path outputDir) throws IOException {
+            this.rootDir = rootDir;
+            this.outputDir = outputDir;
+            try {
+                this.pack = config.getOutputFormat() == AnalyzerConfig.OutputFormat.PACK
+                        ? new PagePackWriter(outputDir) : null;
+            } catch (IOException ex) {
+                writer.close();
+                throw ex;
+            }
+        }
 
-        for (PageDescriptor page : pages) {
+        @Override
+        public void write(PageDescriptor page, JavaMetadataIndex javaMetadata) throws IOException {
+            Objects.requireNonNull(page, "page");
+            Objects.requireNonNull(javaMetadata, "javaMetadata");
+            if (closed) {
+                throw new IllegalStateException("Page JSON sink already closed");
+            }
+            if (!claimOutput(page)) {
+                return;
+            }
             PageAggregation aggregation = enrichPageDescriptor(page, javaMetadata);
             Map<String, Object> pageJson = buildPageJson(rootDir, page, aggregation);
 
+            if (pack != null) {
+                PagePackWriter.PackEntry entry = pack.append(resolvePackKey(page),
+                        packWriter.writeValueAsBytes(pageJson));
+                Map<String, Object> summaryEntry = buildSummaryEntry(page, aggregation, PagePackWriter.PACK_FILE);
+                summaryEntry.put("packOffset", entry.offset());
+                summaryEntry.put("packLength", entry.length());
+                summaryEntries.add(summaryEntry);
+                return;
+            }
+
             Path target = resolveOutputPath(outputDir, page.getPageId());
-            Files.createDirectories(target.getParent());
-            mapper.writeValue(target.toFile(), pageJson);
+            writer.write(target, mapper.writeValueAsBytes(pageJson));
 
             summaryEntries.add(buildSummaryEntry(page, aggregation,
                     outputDir.relativize(target).toString().replace('\\', '/')));
         }
 
-        Map<String, Object> summary = new LinkedHashMap<>();
-        summary.put("generatedAt", Instant.now().toString());
-        summary.put("pageCount", summaryEntries.size());
-        summary.put("pages", summaryEntries);
+        /**
+         * Writes the page file without Java enrichment, flagged as pending, unless a file from an earlier run is
+         * already there for the enriched write to compare against; the pack is append-only, so a packed run writes
+         * each page once, enriched.
+         */
+        @Override
+        public void writeLocal(PageDescriptor page) throws IOException {
+            Objects.requireNonNull(page, "page");
+            if (closed) {
+                throw new IllegalStateException("Page JSON sink already closed");
+            }
+            if (pack != null || !claimOutput(page)) {
+                return;
+            }
+            Path target = resolveOutputPath(outputDir, page.getPageId());
+            if (Files.exists(target)) {
+                return;
+            }
+            writer.write(target, mapper.writeValueAsBytes(buildPageJson(rootDir, page, null)));
+        }
+
+        /**
+         * Reserves the page's pack key or file for it. A later page mapping to the same output (blank or colliding
+         * page ids) is skipped with a warning, so both formats keep the first page rather than failing the run.
+         */
+        private boolean claimOutput(PageDescriptor page) {
+            Object key = pack != null ? resolvePackKey(page) : resolveOutputPath(outputDir, page.getPageId());
+            PageDescriptor owner = pagesByOutput.putIfAbsent(key, page);
+            if (owner == null || owner == page) {
+                return true;
+            }
+            LOGGER.warn("Skipping page {} ({}): its output {} is already taken by {}", page.getPageId(),
+                    page.getSourcePath(), key, owner.getSourcePath());
+            return false;
+        }
 
-        Path summaryPath = outputDir.resolve("summary.json");
-        mapper.writeValue(summaryPath.toFile(), summary);
+        @Override
+        public void writeIncludeMetrics(IncludeMetrics metrics) {
+            if (closed) {
+                throw new IllegalStateException("Page JSON sink already closed");
+            }
+            this.includeMetrics = Objects.requireNonNull(metrics, "metrics");
+        }
 
-        LOGGER.info("Generated {} page JSON descriptors and summary at {}", summaryEntries.size(), summaryPath);
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Path summaryPath = outputDir.resolve("summary.json");
+            try (writer) {
+                if (pack != null) {
+                    pack.close();
+                } else {
+                    // A pack left by an earlier run would otherwise be served in place of these files.
+                    Files.deleteIfExists(outputDir.resolve(PagePackWriter.PACK_FILE));
+                    Files.deleteIfExists(outputDir.resolve(PagePackWriter.INDEX_FILE));
+                }
+
+                Map<String, Object> summary = new LinkedHashMap<>();
+                if (!Boolean.TRUE.equals(config.getDeterministicOutput())) {
+                    summary.put("generatedAt", Instant.now().toString());
+                }
+                summary.put("pageCount", summaryEntries.size());
+                summary.put("outputFormat", config.getOutputFormat().toValue());
+                if (pack != null) {
+                    summary.put("pack", PagePackWriter.PACK_FILE);
+                    summary.put("packIndex", PagePackWriter.INDEX_FILE);
+                }
+                summary.put("pages", summaryEntries);
+                writer.write(summaryPath, mapper.writeValueAsBytes(summary));
+                if (includeMetrics != null) {
+                    Map<String, Object> metrics = new LinkedHashMap<>();
+                    metrics.put("includes", includeMetrics);
+                    writer.write(outputDir.resolve("metrics.json"), mapper.writeValueAsBytes(metrics));
+                }
+            }
+            LOGGER.info("Generated {} page JSON descriptors and summary at {} ({} files written, {} unchanged)",
+                    summaryEntries.size(), summaryPath, writer.getWrittenCount(), writer.getSkippedCount());
+        }
     }
 
     private PageAggregation enrichPageDescriptor(PageDescriptor page, JavaMetadataIndex javaMetadata) {
@@ -110,6 +247,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         page.setNotes(new ArrayList<>(ensureList(page.getNotes())));
 
         HeuristicResult heuristics = applyHeuristics(page, forms, javaMetadata);
+        routeNavigationTargets(page, javaMetadata);
         page.setControllerCandidates(new ArrayList<>(heuristics.controllerCandidates()));
         page.setBackingBeanCandidates(new ArrayList<>(heuristics.backingBeanCandidates()));
         page.getNotes().addAll(heuristics.notes());
@@ -159,11 +297,57 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
             addControllerCandidate(controllerCandidates, existing, classifyController(existing));
         }
 
+        // Exact struts-config and handler mappings come first; naming conventions only fill in what they leave open.
+        StrutsConfigIndex strutsConfig = javaMetadata.getStrutsConfig();
+        RequestRouter router = javaMetadata.getRequestRouter();
+        boolean mappedController = false;
+        boolean mappedBean = false;
+        for (StrutsConfigIndex.ActionMapping mapping : strutsConfig.findActionsForwardingTo(page.getPageId())) {
+            if (mapping.getType() != null) {
+                addControllerCandidate(controllerCandidates, mapping.getType(), ConfidenceLevel.HIGH);
+                notes.add("Action " + mapping.getPath() + " (" + mapping.getType() + ") forwards to this page");
+                mappedController = true;
+            }
+            String bean = strutsConfig.findFormBeanClass(mapping);
+            if (bean != null) {
+                beanCandidates.add(bean);
+                mappedBean = true;
+            }
+        }
+
         for (FormDescriptor form : forms) {
             String action = form.getAction();
             if (action == null || action.isBlank()) {
                 continue;
             }
+            StrutsConfigIndex.ActionMapping mapping = strutsConfig.findAction(action);
+            if (mapping != null) {
+                if (mapping.getType() != null) {
+                    form.setHandler(mapping.getType());
+                    addControllerCandidate(controllerCandidates, mapping.getType(), ConfidenceLevel.HIGH);
+                    notes.add("Mapped form action " + action + " to " + mapping.getType() + " via struts-config path "
+                            + mapping.getPath());
+                    mappedController = true;
+                }
+                String bean = strutsConfig.findFormBeanClass(mapping);
+                if (bean != null) {
+                    beanCandidates.add(bean);
+                    mappedBean = true;
+                }
+                continue;
+            }
+            RequestRouter.Route route = router.route(action, form.getMethod());
+            if (route != null) {
+                form.setHandler(route.describe());
+                // A framework dispatcher says nothing about the application class; let the heuristics look.
+                if (!route.isFrontController()) {
+                    addControllerCandidate(controllerCandidates, route.getClassName(), ConfidenceLevel.HIGH);
+                    notes.add("Routed form action " + action + " to " + route.describe() + " via mapping "
+                            + route.getPattern());
+                    mappedController = true;
+                    continue;
+                }
+            }
             String base = normalizeActionName(action);
             if (base == null) {
                 continue;
@@ -175,7 +359,8 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         }
 
         List<String> baseNames = deriveBaseNames(page);
-        List<String> controllerPatterns = config.getNamingConventions().getJspToControllerPatterns();
+        List<String> controllerPatterns = mappedController
+                ? List.of() : config.getNamingConventions().getJspToControllerPatterns();
         for (String base : baseNames) {
             for (String pattern : controllerPatterns) {
                 String simple = applyPattern(pattern, base);
@@ -204,7 +389,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
             }
         }
 
-        List<String> beanSuffixes = config.getNamingConventions().getFormBeanSuffixes();
+        List<String> beanSuffixes = mappedBean ? List.of() : config.getNamingConventions().getFormBeanSuffixes();
         for (String base : baseNames) {
             for (String suffix : beanSuffixes) {
                 String simple = base + suffix;
@@ -239,6 +424,25 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         return new HeuristicResult(orderedControllers, new ArrayList<>(beanCandidates), new ArrayList<>(notes), best);
     }
 
+    private void routeNavigationTargets(PageDescriptor page, JavaMetadataIndex javaMetadata) {
+        StrutsConfigIndex strutsConfig = javaMetadata.getStrutsConfig();
+        RequestRouter router = javaMetadata.getRequestRouter();
+        if (strutsConfig.isEmpty() && router.isEmpty()) {
+            return;
+        }
+        for (NavigationTarget target : ensureList(page.getNavigationTargets())) {
+            StrutsConfigIndex.ActionMapping mapping = strutsConfig.findAction(target.getTargetPage());
+            if (mapping != null && mapping.getType() != null) {
+                target.setHandler(mapping.getType());
+                continue;
+            }
+            RequestRouter.Route route = router.route(target.getTargetPage(), "GET");
+            if (route != null) {
+                target.setHandler(route.describe());
+            }
+        }
+    }
+
     private List<String> deriveBaseNames(PageDescriptor page) {
         List<String> baseNames = new ArrayList<>();
         String pageId = page.getPageId();
@@ -353,8 +557,9 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
 
     private Set<String> matchBeansBySimple(String simpleName, JavaMetadataIndex javaMetadata) {
         Set<String> matches = new LinkedHashSet<>();
-        for (String className : javaMetadata.getFieldsByClass().keySet()) {
-            if (simpleName(className).equalsIgnoreCase(simpleName)) {
+        for (String className : javaMetadata.getClassNames()) {
+            if (simpleName(className).equalsIgnoreCase(simpleName)
+                    && !javaMetadata.getFieldsForClass(className).isEmpty()) {
                 matches.add(className);
             }
         }
@@ -412,6 +617,11 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
 
     private String resolveFormBackingBean(FormDescriptor form, PageDescriptor page, JavaMetadataIndex javaMetadata) {
         String action = form.getAction();
+        StrutsConfigIndex strutsConfig = javaMetadata.getStrutsConfig();
+        String mappedBean = strutsConfig.findFormBeanClass(strutsConfig.findAction(action));
+        if (mappedBean != null) {
+            return mappedBean;
+        }
         String base = action != null ? normalizeActionName(action) : null;
 
         List<String> controllerCandidates = page.getControllerCandidates();
@@ -451,7 +661,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
             String candidate = packageName.isEmpty()
                     ? base + candidateSuffix
                     : packageName + "." + base + candidateSuffix;
-            if (javaMetadata.getFieldsByClass().containsKey(candidate)) {
+            if (!javaMetadata.getFieldsForClass(candidate).isEmpty()) {
                 return candidate;
             }
         }
@@ -463,35 +673,61 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
             return null;
         }
         String normalized = base.toLowerCase(Locale.ROOT);
-        for (String className : javaMetadata.getFieldsByClass().keySet()) {
+        for (String className : javaMetadata.getClassNames()) {
             String simple = simpleName(className).toLowerCase(Locale.ROOT);
-            if (simple.equals(normalized) || simple.equals(normalized + "form")) {
-                return className;
-            }
+            boolean matches = simple.equals(normalized) || simple.equals(normalized + "form");
             for (String suffix : config.getNamingConventions().getFormBeanSuffixes()) {
                 if (simple.equals(normalized + suffix.toLowerCase(Locale.ROOT))) {
-                    return className;
+                    matches = true;
                 }
             }
+            if (matches && !javaMetadata.getFieldsForClass(className).isEmpty()) {
+                return className;
+            }
         }
         return null;
     }
 
+    /**
+     * Returns the classes that may back a form when nothing names one: Struts forms and classes following the
+     * form bean naming convention. Restricting the field-based fallbacks to them keeps those lookups from
+     * parsing the whole backend.
+     */
+    private List<String> beanLikeClasses(JavaMetadataIndex javaMetadata) {
+        List<String> beans = new ArrayList<>();
+        List<String> suffixes = config.getNamingConventions().getFormBeanSuffixes();
+        for (String className : javaMetadata.getClassNames()) {
+            if (javaMetadata.getStrutsFormClasses().contains(className)) {
+                beans.add(className);
+                continue;
+            }
+            String simple = simpleName(className);
+            for (String suffix : suffixes) {
+                if (simple.endsWith(suffix)) {
+                    beans.add(className);
+                    break;
+                }
+            }
+        }
+        return beans;
+    }
+
     private String inferBeanByFieldOverlap(FormDescriptor form, JavaMetadataIndex javaMetadata) {
         Map<String, Integer> matches = new LinkedHashMap<>();
-        for (Map.Entry<String, List<JavaFieldMetadata>> entry : javaMetadata.getFieldsByClass().entrySet()) {
+        for (String className : beanLikeClasses(javaMetadata)) {
+            List<JavaFieldMetadata> fields = javaMetadata.getFieldsForClass(className);
             int overlap = 0;
             for (FieldDescriptor field : ensureList(form.getFields())) {
                 String fieldName = field.getName();
                 if (fieldName == null) {
                     continue;
                 }
-                if (entry.getValue().stream().anyMatch(metadata -> metadata.getFieldName().equalsIgnoreCase(fieldName))) {
+                if (fields.stream().anyMatch(metadata -> metadata.getFieldName().equalsIgnoreCase(fieldName))) {
                     overlap++;
                 }
             }
             if (overlap > 0) {
-                matches.put(entry.getKey(), overlap);
+                matches.put(className, overlap);
             }
         }
         return matches.entrySet().stream()
@@ -599,8 +835,8 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         }
         String lower = fieldName.toLowerCase(Locale.ROOT);
         List<JavaFieldMetadata> results = new ArrayList<>();
-        for (List<JavaFieldMetadata> metadataList : javaMetadata.getFieldsByClass().values()) {
-            for (JavaFieldMetadata metadata : metadataList) {
+        for (String className : beanLikeClasses(javaMetadata)) {
+            for (JavaFieldMetadata metadata : javaMetadata.getFieldsForClass(className)) {
                 String candidate = metadata.getFieldName();
                 if (candidate.equalsIgnoreCase(fieldName) || candidate.equalsIgnoreCase(lower)) {
                     results.add(metadata);
@@ -610,6 +846,9 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         return results;
     }
 
+    /**
+     * @param aggregation the enrichment results, or {@code null} for a page written before its Java metadata
+     */
     private Map<String, Object> buildPageJson(Path rootDir, PageDescriptor page, PageAggregation aggregation) {
         Map<String, Object> json = new LinkedHashMap<>();
         json.put("pageId", page.getPageId());
@@ -619,7 +858,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
             Path source = page.getSourcePath().toAbsolutePath().normalize();
             String relative = source.startsWith(normalizedRoot)
                     ? normalizedRoot.relativize(source).toString().replace('\\', '/')
-                    : source.toString();
+                    : ArchivePaths.describe(source);
             json.put("sourcePath", relative);
         }
 
@@ -649,14 +888,34 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         json.put("pageDependencies", ensureList(page.getPageDependencies()).stream()
                 .map(this::toPageDependencyJson)
                 .collect(Collectors.toList()));
+        json.put("includes", ensureList(page.getIncludes()).stream()
+                .map(this::toIncludeJson)
+                .collect(Collectors.toList()));
 
         Map<String, Object> metadata = new LinkedHashMap<>();
         metadata.put("controllerCandidates", ensureList(page.getControllerCandidates()));
         metadata.put("backingBeanCandidates", ensureList(page.getBackingBeanCandidates()));
         metadata.put("notes", ensureList(page.getNotes()));
-        metadata.put("confidenceScore", aggregation.confidenceScore());
-        metadata.put("confidence", page.getConfidenceLabel());
+        if (aggregation != null) {
+            metadata.put("confidenceScore", aggregation.confidenceScore());
+            metadata.put("confidence", page.getConfidenceLabel());
+        } else {
+            metadata.put("javaEnrichment", "pending");
+        }
         metadata.put("framesetPage", Boolean.TRUE.equals(page.getFramesetPage()));
+        if (Boolean.TRUE.equals(page.getPartiallyAnalyzed())) {
+            metadata.put("partiallyAnalyzed", Boolean.TRUE);
+        }
+        if (page.getDuplicateOf() != null) {
+            metadata.put("duplicateOf", page.getDuplicateOf());
+        }
+        if (page.getScriptRegions() != null && page.getSourceLength() > 0) {
+            Map<String, Object> scriptScan = new LinkedHashMap<>();
+            scriptScan.put("sourceChars", page.getSourceLength());
+            scriptScan.put("scriptRegionChars", page.getScriptRegions().totalLength());
+            scriptScan.put("scannedChars", page.getScriptScannedChars());
+            metadata.put("scriptScan", scriptScan);
+        }
         json.put("metadata", metadata);
 
         return json;
@@ -670,6 +929,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("depth", frame.getDepth());
         map.put("tag", frame.getTag());
         map.put("confidence", frame.getConfidence());
+        putPosition(map, frame.getLine(), frame.getColumn());
         return map;
     }
 
@@ -680,6 +940,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("type", interaction.getType());
         map.put("snippet", interaction.getSnippet());
         map.put("confidence", interaction.getConfidence());
+        putPosition(map, interaction.getLine(), interaction.getColumn());
         return map;
     }
 
@@ -689,6 +950,8 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("action", form.getAction());
         map.put("method", form.getMethod());
         map.put("backingBeanClass", form.getBackingBeanClassName());
+        map.put("handler", form.getHandler());
+        putPosition(map, form.getLine(), form.getColumn());
         map.put("fields", ensureList(form.getFields()).stream().map(this::toFieldJson).collect(Collectors.toList()));
         if (form.getNotes() != null && !form.getNotes().isEmpty()) {
             map.put("notes", form.getNotes());
@@ -718,6 +981,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("constraints", ensureList(field.getConstraints()));
         map.put("sourceBeanClass", field.getSourceBeanClass());
         map.put("sourceBeanProperty", field.getSourceBeanProperty());
+        putPosition(map, field.getLine(), field.getColumn());
         if (field.getNotes() != null && !field.getNotes().isEmpty()) {
             map.put("notes", field.getNotes());
         }
@@ -735,9 +999,11 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
     private Map<String, Object> toNavigationJson(NavigationTarget target) {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("target", target.getTargetPage());
+        map.put("handler", target.getHandler());
         map.put("sourcePattern", target.getSourcePattern());
         map.put("snippet", target.getSnippet());
         map.put("confidence", target.getConfidence());
+        putPosition(map, target.getLine(), target.getColumn());
         return map;
     }
 
@@ -747,6 +1013,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("source", parameter.getSource());
         map.put("snippet", parameter.getSnippet());
         map.put("confidence", parameter.getConfidence());
+        putPosition(map, parameter.getLine(), parameter.getColumn());
         return map;
     }
 
@@ -757,6 +1024,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("expression", hiddenField.getExpression());
         map.put("snippet", hiddenField.getSnippet());
         map.put("confidence", hiddenField.getConfidence());
+        putPosition(map, hiddenField.getLine(), hiddenField.getColumn());
         return map;
     }
 
@@ -766,6 +1034,7 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("source", dependency.getSource());
         map.put("snippet", dependency.getSnippet());
         map.put("confidence", dependency.getConfidence());
+        putPosition(map, dependency.getLine(), dependency.getColumn());
         return map;
     }
 
@@ -775,9 +1044,17 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         map.put("sourcePattern", hint.getSourcePattern());
         map.put("snippet", hint.getSnippet());
         map.put("confidence", hint.getConfidence());
+        putPosition(map, hint.getLine(), hint.getColumn());
         return map;
     }
 
+    private void putPosition(Map<String, Object> map, Integer line, Integer column) {
+        if (line != null) {
+            map.put("line", line);
+            map.put("column", column);
+        }
+    }
+
     private Map<String, Object> toPageDependencyJson(PageDependency dependency) {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("from", dependency.getFrom());
@@ -786,6 +1063,14 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         return map;
     }
 
+    private Map<String, Object> toIncludeJson(PageInclude include) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("target", include.getTarget());
+        map.put("type", include.getType());
+        putPosition(map, include.getLine(), include.getColumn());
+        return map;
+    }
+
     private Map<String, Object> toOutputJson(OutputSectionDescriptor section) {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("id", section.getSectionId());
@@ -830,6 +1115,11 @@ public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
         return summary;
     }
 
+    private String resolvePackKey(PageDescriptor page) {
+        String pageId = page.getPageId();
+        return pageId == null || pageId.isBlank() ? "page" : pageId;
+    }
+
     private Path resolveOutputPath(Path outputDir, String pageId) {
         if (pageId == null || pageId.isBlank()) {
             return outputDir.resolve("page.json");
@@ -2,13 +2,20 @@ package com.lide.core.report;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.fs.ArchivePaths;
+import com.lide.core.fs.SourceFiles;
 import com.lide.core.java.JavaMetadataIndex;
+import com.lide.core.jsp.ExpressionScanner;
+import com.lide.core.jsp.JspLexer;
 import com.lide.core.model.FieldDescriptor;
 import com.lide.core.model.FormDescriptor;
 import com.lide.core.model.FrameDefinition;
 import com.lide.core.model.HiddenField;
 import com.lide.core.model.JsRoutingHint;
+import com.lide.core.model.JspRegions;
 import com.lide.core.model.NavigationTarget;
 import com.lide.core.model.OutputFieldDescriptor;
 import com.lide.core.model.OutputSectionDescriptor;
@@ -26,6 +33,9 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -33,6 +43,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Generates migration dashboards and supporting assets summarizing analysis confidence and complexity.
@@ -41,9 +53,475 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMigrationReportGenerator.class);
 
+    private static final String REPORT_DATA_DIR = "migration-report-data";
+    private static final int ROW_CHUNK_SIZE = 2000;
+    private static final Set<JspRegions.Kind> COMMENTS_AND_DIRECTIVES =
+            EnumSet.of(JspRegions.Kind.COMMENT, JspRegions.Kind.DIRECTIVE);
+    private static final List<String> DIFFICULTY_LEVELS = List.of("LOW", "MEDIUM", "HIGH", "CRITICAL");
+    private static final List<String> ROW_COLUMNS = List.of("pageId", "formCount", "fieldCount", "outputCount",
+            "frameCount", "framesetPage", "navigationTargets", "jsRoutingHints", "crossFrameInteractions",
+            "hiddenFields", "sessionDependencies", "pageDependencies", "urlParameters", "complexityScore",
+            "difficulty", "confidence", "noteCount");
+
+    /**
+     * Report shell; row data is appended from {@code rows-NNNN.js} chunks and page details are loaded on
+     * selection, both through script tags so the report keeps working when opened from the filesystem.
+     */
+    private static final String HTML_TEMPLATE = """
+            <!DOCTYPE html>
+            <html lang="en">
+            <head>
+              <meta charset="UTF-8" />
+              <title>LIDE Migration Report</title>
+              <style>
+                body { font-family: Arial, sans-serif; margin: 20px; }
+                .toolbar { display: flex; gap: 16px; align-items: center; margin-bottom: 8px; }
+                #viewport { height: 520px; overflow-y: auto; border: 1px solid #ccc; }
+                table { border-collapse: collapse; width: 100%; table-layout: fixed; }
+                th, td { border: 1px solid #ccc; padding: 0 8px; height: 31px; white-space: nowrap; overflow: hidden; text-overflow: ellipsis; }
+                th { background: #f5f5f5; position: sticky; top: 0; cursor: pointer; z-index: 1; }
+                th.page-column { width: 28%; }
+                tr.clickable-row { cursor: pointer; }
+                tr.selected { background: #eef6ff; }
+                tr.spacer td { border: none; padding: 0; }
+                .badge { padding: 2px 6px; border-radius: 4px; color: #fff; font-size: 12px; }
+                .LOW { background: #2b9348; }
+                .MEDIUM { background: #f0ad4e; }
+                .HIGH { background: #d9534f; }
+                .CRITICAL { background: #5c0a0a; }
+                .detail-panel { margin-top: 20px; border-top: 1px solid #ddd; padding-top: 16px; }
+                .detail-summary { margin-bottom: 12px; }
+                details summary { cursor: pointer; font-weight: bold; }
+                .detail-item { border: 1px solid #e0e0e0; padding: 8px; margin: 6px 0; border-radius: 4px; background: #fafafa; }
+                .detail-meta { display: flex; justify-content: space-between; gap: 12px; font-size: 12px; color: #555; }
+                .detail-snippet { background: #f5f5f5; padding: 6px; border-radius: 4px; white-space: pre-wrap; word-break: break-word; margin-top: 6px; }
+                .confidence-pill { padding: 2px 6px; border-radius: 4px; color: #fff; font-size: 12px; }
+                .confidence-high { background: #2b9348; }
+                .confidence-medium { background: #f0ad4e; color: #000; }
+                .confidence-low { background: #6c757d; }
+                .confidence-unknown { background: #adb5bd; }
+                .section-container { margin-top: 12px; }
+                .detail-title { font-weight: bold; margin-bottom: 4px; }
+                .empty { color: #777; padding: 6px; }
+              </style>
+            </head>
+            <body>
+              <h1>LIDE Migration Report</h1>
+              <div class="toolbar">
+                <label>Filter by difficulty:
+                  <select id="difficultyFilter"><option value="ALL">All</option></select>
+                </label>
+                <label>Confidence:
+                  <select id="confidenceFilter"><option value="ALL">All</option></select>
+                </label>
+                <label>Search: <input id="searchFilter" placeholder="page id" /></label>
+                <span id="status">Loading…</span>
+              </div>
+              <div id="viewport">
+                <table id="reportTable">
+                  <thead><tr id="headerRow"></tr></thead>
+                  <tbody></tbody>
+                </table>
+              </div>
+              <details id="consolidationSection" class="section-container">
+                <summary></summary>
+                <ul></ul>
+              </details>
+              <div id="detailPanel" class="detail-panel">
+                <h2>Page Details</h2>
+                <div id="detailSummary" class="detail-summary">Select a page to view details.</div>
+                <div id="detailNotes"></div>
+                <div class="section-grid">
+                  <div id="formsSection" class="section-container"></div>
+                  <div id="navTargetsSection" class="section-container"></div>
+                  <div id="urlParamsSection" class="section-container"></div>
+                  <div id="hiddenFieldsSection" class="section-container"></div>
+                  <div id="framesSection" class="section-container"></div>
+                  <div id="sessionDepsSection" class="section-container"></div>
+                  <div id="jsRoutingSection" class="section-container"></div>
+                  <div id="pageDepsSection" class="section-container"></div>
+                </div>
+              </div>
+              <script>
+                const manifest = __REPORT_MANIFEST__;
+                const ROW_HEIGHT = 32;
+                const OVERSCAN = 12;
+                const DETAIL_CACHE_LIMIT = 200;
+
+                const columns = {};
+                manifest.columns.forEach(name => { columns[name] = new Array(manifest.totalPages); });
+                let loadedRows = 0;
+                let view = new Int32Array(0);
+                let sortKey = 'complexityScore';
+                let sortDescending = true;
+                let selectedIndex = -1;
+                const detailCache = new Map();
+                const detailWaiters = new Map();
+
+                const viewport = document.getElementById('viewport');
+                const tbody = document.querySelector('#reportTable tbody');
+                const difficultyFilter = document.getElementById('difficultyFilter');
+                const confidenceFilter = document.getElementById('confidenceFilter');
+                const searchFilter = document.getElementById('searchFilter');
+                const statusEl = document.getElementById('status');
+
+                const tableColumns = [
+                  { key: 'pageId', label: 'Page', className: 'page-column' },
+                  { key: 'formCount', label: 'Forms' },
+                  { key: 'fieldCount', label: 'Fields' },
+                  { key: 'outputCount', label: 'Outputs' },
+                  { key: 'frameCount', label: 'Frames', format: i => `${columns.frameCount[i]}${columns.framesetPage[i] ? ' (layout)' : ''}` },
+                  { key: 'navigationTargets', label: 'Navigation' },
+                  { key: 'jsRoutingHints', label: 'JS Routing' },
+                  { key: 'crossFrameInteractions', label: 'Cross-Frame' },
+                  { key: 'hiddenFields', label: 'Hidden Fields' },
+                  { key: 'sessionDependencies', label: 'Session Dependencies' },
+                  { key: 'pageDependencies', label: 'Dependencies' },
+                  { key: 'urlParameters', label: 'URL Params' },
+                  { key: 'complexityScore', label: 'Complexity', format: i => columns.complexityScore[i].toFixed(1) },
+                  { key: 'difficulty', label: 'Difficulty', badge: true },
+                  { key: 'noteCount', label: 'Notes' }
+                ];
+
+                window.LIDE_REPORT = {
+                  addChunk(chunkIndex, chunk) {
+                    const offset = chunkIndex * manifest.chunkSize;
+                    manifest.columns.forEach(name => {
+                      const source = chunk[name];
+                      const target = columns[name];
+                      for (let i = 0; i < source.length; i++) {
+                        target[offset + i] = source[i];
+                      }
+                    });
+                    loadedRows = Math.max(loadedRows, offset + chunk.pageId.length);
+                  },
+                  addDetail(rowIndex, detail) {
+                    detailCache.set(rowIndex, detail);
+                    if (detailCache.size > DETAIL_CACHE_LIMIT) {
+                      detailCache.delete(detailCache.keys().next().value);
+                    }
+                    const waiter = detailWaiters.get(rowIndex);
+                    if (waiter) {
+                      detailWaiters.delete(rowIndex);
+                      waiter(detail);
+                    }
+                  }
+                };
+
+                function loadScript(src) {
+                  return new Promise((resolve, reject) => {
+                    const script = document.createElement('script');
+                    script.src = src;
+                    script.onload = () => { script.remove(); resolve(); };
+                    script.onerror = () => { script.remove(); reject(new Error(`Unable to load ${src}`)); };
+                    document.head.appendChild(script);
+                  });
+                }
+
+                function difficultyLabel(i) {
+                  return manifest.difficulties[columns.difficulty[i]] || 'UNKNOWN';
+                }
+
+                function applyView() {
+                  const difficulty = difficultyFilter.value === 'ALL' ? -1 : manifest.difficulties.indexOf(difficultyFilter.value);
+                  const confidence = confidenceFilter.value === 'ALL' ? -1 : manifest.confidences.indexOf(confidenceFilter.value);
+                  const needle = searchFilter.value.trim().toLowerCase();
+                  const matches = [];
+                  for (let i = 0; i < loadedRows; i++) {
+                    if (difficulty >= 0 && columns.difficulty[i] !== difficulty) continue;
+                    if (confidence >= 0 && columns.confidence[i] !== confidence) continue;
+                    if (needle && !columns.pageId[i].toLowerCase().includes(needle)) continue;
+                    matches.push(i);
+                  }
+                  const values = columns[sortKey];
+                  const direction = sortDescending ? -1 : 1;
+                  matches.sort((a, b) => {
+                    const left = values[a];
+                    const right = values[b];
+                    if (left < right) return -direction;
+                    if (left > right) return direction;
+                    return a - b;
+                  });
+                  view = Int32Array.from(matches);
+                  statusEl.textContent = `${view.length} of ${manifest.totalPages} pages` +
+                    (loadedRows < manifest.totalPages ? ` (loading ${loadedRows}/${manifest.totalPages})` : '');
+                  renderRows();
+                }
+
+                function spacerRow(height) {
+                  const row = document.createElement('tr');
+                  row.className = 'spacer';
+                  const cell = document.createElement('td');
+                  cell.colSpan = tableColumns.length;
+                  cell.style.height = `${height}px`;
+                  row.appendChild(cell);
+                  return row;
+                }
+
+                function renderRows() {
+                  const visible = Math.ceil(viewport.clientHeight / ROW_HEIGHT);
+                  const start = Math.max(0, Math.floor(viewport.scrollTop / ROW_HEIGHT) - OVERSCAN);
+                  const end = Math.min(view.length, start + visible + OVERSCAN * 2);
+                  const fragment = document.createDocumentFragment();
+                  fragment.appendChild(spacerRow(start * ROW_HEIGHT));
+                  for (let position = start; position < end; position++) {
+                    const index = view[position];
+                    const row = document.createElement('tr');
+                    row.className = index === selectedIndex ? 'clickable-row selected' : 'clickable-row';
+                    tableColumns.forEach(column => {
+                      const cell = document.createElement('td');
+                      if (column.badge) {
+                        const badge = document.createElement('span');
+                        const label = difficultyLabel(index);
+                        badge.className = `badge ${label}`;
+                        badge.textContent = label;
+                        cell.appendChild(badge);
+                      } else {
+                        cell.textContent = column.format ? column.format(index) : columns[column.key][index];
+                      }
+                      row.appendChild(cell);
+                    });
+                    row.addEventListener('click', () => selectEntry(index));
+                    fragment.appendChild(row);
+                  }
+                  fragment.appendChild(spacerRow((view.length - end) * ROW_HEIGHT));
+                  tbody.replaceChildren(fragment);
+                }
+
+                function renderConsolidation() {
+                  const container = document.getElementById('consolidationSection');
+                  const groups = manifest.consolidationGroups || [];
+                  if (groups.length === 0) {
+                    container.style.display = 'none';
+                    return;
+                  }
+                  container.querySelector('summary').textContent = `Consolidation opportunities (${groups.length} groups of identical pages)`;
+                  const list = container.querySelector('ul');
+                  groups.forEach(group => {
+                    const item = document.createElement('li');
+                    item.textContent = `${group.canonicalPageId} (${group.pageCount} copies): ${group.duplicatePageIds.join(', ')}`;
+                    list.appendChild(item);
+                  });
+                }
+
+                function renderHeader() {
+                  const header = document.getElementById('headerRow');
+                  header.replaceChildren(...tableColumns.map(column => {
+                    const th = document.createElement('th');
+                    if (column.className) th.className = column.className;
+                    const arrow = column.key === sortKey ? (sortDescending ? ' ▼' : ' ▲') : '';
+                    th.textContent = column.label + arrow;
+                    th.addEventListener('click', () => {
+                      sortDescending = column.key === sortKey ? !sortDescending : column.key !== 'pageId';
+                      sortKey = column.key;
+                      renderHeader();
+                      applyView();
+                    });
+                    return th;
+                  }));
+                }
+
+                function normalizeConfidence(conf) {
+                  return (conf || 'UNKNOWN').toUpperCase();
+                }
+
+                function confidenceClass(conf) {
+                  const normalized = normalizeConfidence(conf);
+                  if (normalized === 'HIGH') return 'confidence-high';
+                  if (normalized === 'MEDIUM') return 'confidence-medium';
+                  if (normalized === 'LOW') return 'confidence-low';
+                  return 'confidence-unknown';
+                }
+
+                function shouldOpenSection(items) {
+                  return !!(items && items.length && items.some(item => normalizeConfidence(item.confidence) !== 'LOW'));
+                }
+
+                function position(item) {
+                  if (!item || !item.line) return '';
+                  return item.column ? `${item.line}:${item.column}` : `${item.line}`;
+                }
+
+                function createDetailItem(title, source, snippet, confidence, location) {
+                  const wrapper = document.createElement('div');
+                  wrapper.className = 'detail-item';
+
+                  const header = document.createElement('div');
+                  header.className = 'detail-title';
+                  header.textContent = title || 'Unknown';
+
+                  const meta = document.createElement('div');
+                  meta.className = 'detail-meta';
+                  const sourceSpan = document.createElement('span');
+                  sourceSpan.textContent = `Source: ${source || 'N/A'}${location ? ` @ ${location}` : ''}`;
+                  const confSpan = document.createElement('span');
+                  confSpan.className = `confidence-pill ${confidenceClass(confidence)}`;
+                  confSpan.textContent = normalizeConfidence(confidence);
+                  meta.appendChild(sourceSpan);
+                  meta.appendChild(confSpan);
+
+                  const snippetEl = document.createElement('pre');
+                  snippetEl.className = 'detail-snippet';
+                  snippetEl.textContent = snippet || 'N/A';
+
+                  wrapper.appendChild(header);
+                  wrapper.appendChild(meta);
+                  wrapper.appendChild(snippetEl);
+                  return wrapper;
+                }
+
+                function renderSection(containerId, title, items, builder) {
+                  const container = document.getElementById(containerId);
+                  container.innerHTML = '';
+                  if (!items) {
+                    return;
+                  }
+
+                  const details = document.createElement('details');
+                  if (shouldOpenSection(items)) {
+                    details.open = true;
+                  }
+
+                  const summary = document.createElement('summary');
+                  summary.textContent = `${title} (${items.length})`;
+                  details.appendChild(summary);
+
+                  if (items.length === 0) {
+                    const empty = document.createElement('div');
+                    empty.className = 'detail-item empty';
+                    empty.textContent = 'No entries detected.';
+                    details.appendChild(empty);
+                  } else {
+                    items.forEach(item => details.appendChild(builder(item)));
+                  }
+                  container.appendChild(details);
+                }
+
+                function renderDetails(index, entry) {
+                  const summaryEl = document.getElementById('detailSummary');
+                  summaryEl.replaceChildren();
+                  if (index < 0) {
+                    summaryEl.textContent = 'Select a page to view details.';
+                    return;
+                  }
+
+                  const label = difficultyLabel(index);
+                  const name = document.createElement('strong');
+                  name.textContent = columns.pageId[index];
+                  const badge = document.createElement('span');
+                  badge.className = `badge ${label}`;
+                  badge.textContent = label;
+                  summaryEl.append(name, ' — Difficulty: ', badge,
+                    `, Complexity: ${columns.complexityScore[index].toFixed(1)}`,
+                    entry ? '' : ' (loading details…)');
+
+                  const notesEl = document.getElementById('detailNotes');
+                  notesEl.replaceChildren(...((entry && entry.notes) || []).map(note => {
+                    const item = document.createElement('div');
+                    item.textContent = note;
+                    return item;
+                  }));
+
+                  const detail = entry || {};
+                  renderSection('formsSection', 'Forms', detail.formsDetail, (form) => {
+                    const fields = form.fields || [];
+                    const item = createDetailItem(form.formId || 'Form', `${(form.method || 'GET').toUpperCase()} ${form.action || 'N/A'}`,
+                      `${fields.length} field(s)${form.backingBeanClassName ? `, bean ${form.backingBeanClassName}` : ''}`, null, position(form));
+                    item.querySelector('.confidence-pill').remove();
+                    fields.forEach(field => {
+                      const fieldItem = createDetailItem(field.name || field.id || 'Field', field.sourceTagName || field.type || 'field',
+                        field.label || (field.bindingExpressions || []).join(' ') || field.type, null, position(field));
+                      fieldItem.querySelector('.confidence-pill').remove();
+                      item.appendChild(fieldItem);
+                    });
+                    return item;
+                  });
+
+                  renderSection('navTargetsSection', 'Navigation Targets', detail.navigationTargetsDetail,
+                    (nav) => createDetailItem(nav.targetPage || 'Target', nav.sourcePattern || 'href/script', nav.snippet, nav.confidence, position(nav)));
+
+                  renderSection('urlParamsSection', 'URL Parameter Usage', detail.urlParametersDetail,
+                    (param) => createDetailItem(param.name || 'Parameter', param.source || 'link/script', param.snippet, param.confidence, position(param)));
+
+                  renderSection('hiddenFieldsSection', 'Hidden Fields', detail.hiddenFieldsDetail,
+                    (field) => createDetailItem(field.name || 'Hidden Field', field.expression || field.defaultValue || 'hidden', field.snippet, field.confidence, position(field)));
+
+                  renderSection('framesSection', 'Frame Layout', detail.frameDefinitionsDetail,
+                    (frame) => createDetailItem(frame.frameName || 'Frame', frame.source || frame.tag || 'frame', frame.tag || frame.source, frame.confidence, position(frame)));
+
+                  renderSection('sessionDepsSection', 'Session Dependencies', detail.sessionDependenciesDetail,
+                    (dep) => createDetailItem(dep.key || 'Session Key', dep.source || 'session', dep.snippet, dep.confidence, position(dep)));
+
+                  renderSection('jsRoutingSection', 'JS Routing Hints', detail.jsRoutingHintsDetail,
+                    (hint) => createDetailItem(hint.targetPage || 'Target', hint.sourcePattern || 'script', hint.snippet, hint.confidence, position(hint)));
+
+                  renderSection('pageDepsSection', 'Page Dependencies', detail.pageDependenciesDetail,
+                    (dep) => createDetailItem(`${dep.from || 'source'} -> ${dep.to || 'target'}`, dep.type || 'dependency', dep.type || `${dep.from || ''} => ${dep.to || ''}`, dep.confidence));
+                }
+
+                function selectEntry(index) {
+                  selectedIndex = index;
+                  renderRows();
+                  const cached = detailCache.get(index);
+                  renderDetails(index, cached);
+                  if (cached) {
+                    return;
+                  }
+                  detailWaiters.set(index, (detail) => {
+                    if (selectedIndex === index) {
+                      renderDetails(index, detail);
+                    }
+                  });
+                  loadScript(`${manifest.dataDir}/details/${index}.js`).catch((err) => {
+                    detailWaiters.delete(index);
+                    statusEl.textContent = err.message;
+                  });
+                }
+
+                async function loadChunks() {
+                  for (let chunk = 0; chunk < manifest.chunkCount; chunk++) {
+                    await loadScript(`${manifest.dataDir}/rows-${String(chunk).padStart(4, '0')}.js`);
+                    applyView();
+                    if (chunk === 0 && view.length > 0) {
+                      selectEntry(view[0]);
+                    }
+                  }
+                  applyView();
+                }
+
+                manifest.difficulties.forEach(value => difficultyFilter.add(new Option(value, value)));
+                manifest.confidences.forEach(value => confidenceFilter.add(new Option(value, value)));
+                difficultyFilter.addEventListener('change', applyView);
+                confidenceFilter.addEventListener('change', applyView);
+                let searchTimer = null;
+                searchFilter.addEventListener('input', () => {
+                  clearTimeout(searchTimer);
+                  searchTimer = setTimeout(applyView, 150);
+                });
+                let scrollPending = false;
+                viewport.addEventListener('scroll', () => {
+                  if (!scrollPending) {
+                    scrollPending = true;
+                    requestAnimationFrame(() => { scrollPending = false; renderRows(); });
+                  }
+                });
+                renderHeader();
+                renderConsolidation();
+                loadChunks().catch((err) => { statusEl.textContent = err.message; });
+              </script>
+            </body>
+            </html>
+            """;
+
     private final ObjectMapper mapper;
+    private final boolean deterministicOutput;
 
     public DefaultMigrationReportGenerator() {
+        this(AnalyzerConfig.defaultConfig());
+    }
+
+    public DefaultMigrationReportGenerator(AnalyzerConfig config) {
+        this.deterministicOutput = Boolean.TRUE.equals(Objects.requireNonNull(config, "config").getDeterministicOutput());
         this.mapper = new ObjectMapper();
         this.mapper.enable(SerializationFeature.INDENT_OUTPUT);
         this.mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -65,12 +543,20 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
         for (PageDescriptor descriptor : pages) {
             entries.add(evaluatePage(rootDir, descriptor));
         }
+        List<ConsolidationGroup> consolidationGroups = buildConsolidationGroups(pages);
+
+        ArtifactWriter writer = new ArtifactWriter();
+        Set<Path> dataFiles;
+        try (writer) {
+            writeJsonReport(writer, outputDir.resolve("migration-report.json"), entries, consolidationGroups);
+            writeCsvReport(writer, outputDir.resolve("migration-report.csv"), entries);
+            dataFiles = writeHtmlReport(writer, outputDir, entries, consolidationGroups);
+        }
+        // Only once every current data file has been flushed.
+        removeStaleReportData(outputDir.resolve(REPORT_DATA_DIR), dataFiles);
 
-        writeJsonReport(outputDir.resolve("migration-report.json"), entries);
-        writeCsvReport(outputDir.resolve("migration-report.csv"), entries);
-        writeHtmlReport(outputDir.resolve("migration-report.html"), entries);
-
-        LOGGER.info("Migration reports generated for {} pages", entries.size());
+        LOGGER.info("Migration reports generated for {} pages ({} files written, {} unchanged)",
+                entries.size(), writer.getWrittenCount(), writer.getSkippedCount());
     }
 
     private PageReportEntry evaluatePage(Path rootDir, PageDescriptor page) {
@@ -92,11 +578,16 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
         boolean framesetPage = Boolean.TRUE.equals(page.getFramesetPage());
 
         String pageContent = readPageContent(rootDir, page);
-        int dynamicExpressions = countDynamicExpressions(page, pageContent);
-        boolean hasScriptlets = pageContent != null && pageContent.contains("<%");
+        JspRegions jspRegions = pageContent == null ? null
+                : page.getJspRegions() != null ? page.getJspRegions() : JspLexer.lex(pageContent);
+        // Comments and directives (such as <%@ page session="false" %>) say nothing about what the page does.
+        String activeContent = pageContent == null ? null
+                : JspLexer.mask(pageContent, jspRegions, COMMENTS_AND_DIRECTIVES);
+        int dynamicExpressions = countDynamicExpressions(page, activeContent, jspRegions);
+        boolean hasScriptlets = jspRegions != null && jspRegions.hasJavaCode();
         boolean hasSessionUsage = sessionDependencyCount > 0
-                || containsIgnoreCase(pageContent, "session")
-                || containsIgnoreCase(pageContent, "sessionScope");
+                || containsIgnoreCase(activeContent, "session")
+                || containsIgnoreCase(activeContent, "sessionScope");
         boolean hasFrames = frameCount > 0 || framesetPage
                 || containsIgnoreCase(pageContent, "<frame")
                 || containsIgnoreCase(pageContent, "<frameset")
@@ -138,6 +629,9 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
         if (sessionDependencyCount > 0) {
             notes.add("Session dependencies detected: " + sessionDependencyCount);
         }
+        if (page.getDuplicateOf() != null) {
+            notes.add("Identical to " + page.getDuplicateOf() + "; candidate for consolidation");
+        }
 
         List<NavigationTarget> navigationTargets = ensureList(page.getNavigationTargets());
         List<UrlParameter> urlParameters = ensureList(page.getUrlParameterCandidates());
@@ -173,6 +667,7 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
                 ensureList(page.getControllerCandidates()),
                 ensureList(page.getBackingBeanCandidates()),
                 notes,
+                ensureList(page.getForms()),
                 navigationTargets,
                 urlParameters,
                 hiddenFields,
@@ -182,6 +677,24 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
                 pageDependencies);
     }
 
+    /**
+     * Groups pages the analyzer found to have identical content, largest groups first.
+     */
+    private List<ConsolidationGroup> buildConsolidationGroups(List<PageDescriptor> pages) {
+        Map<String, List<String>> duplicatesByCanonical = new LinkedHashMap<>();
+        for (PageDescriptor page : pages) {
+            if (page.getDuplicateOf() != null) {
+                duplicatesByCanonical.computeIfAbsent(page.getDuplicateOf(), key -> new ArrayList<>())
+                        .add(page.getPageId());
+            }
+        }
+        List<ConsolidationGroup> groups = new ArrayList<>(duplicatesByCanonical.size());
+        duplicatesByCanonical.forEach((canonical, duplicates) ->
+                groups.add(new ConsolidationGroup(canonical, duplicates.size() + 1, duplicates)));
+        groups.sort(Comparator.comparingInt(ConsolidationGroup::pageCount).reversed());
+        return groups;
+    }
+
     private String resolvePageId(Path rootDir, PageDescriptor page) {
         if (page.getPageId() != null && !page.getPageId().isBlank()) {
             return page.getPageId();
@@ -192,12 +705,15 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
             } catch (Exception ignored) {
                 // fall through
             }
-            return page.getSourcePath().toString().replace('\\', '/');
+            return ArchivePaths.describe(page.getSourcePath()).replace('\\', '/');
         }
         return "unknown";
     }
 
     private String readPageContent(Path rootDir, PageDescriptor page) {
+        if (page.getSource() != null) {
+            return page.getSource().getContent();
+        }
         if (page.getSourcePath() == null) {
             return null;
         }
@@ -206,7 +722,7 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
             source = rootDir.resolve(source);
         }
         try {
-            return Files.readString(source);
+            return SourceFiles.read(page.getPageId(), source).getContent();
         } catch (IOException ex) {
             LOGGER.debug("Unable to read page content for {}: {}", source, ex.getMessage());
             return null;
@@ -219,7 +735,7 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
         return controllers.isEmpty() && beans.isEmpty();
     }
 
-    private int countDynamicExpressions(PageDescriptor page, String pageContent) {
+    private int countDynamicExpressions(PageDescriptor page, String pageContent, JspRegions jspRegions) {
         Set<String> expressions = new LinkedHashSet<>();
 
         for (FormDescriptor form : ensureList(page.getForms())) {
@@ -236,11 +752,15 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
             }
         }
 
-        if (pageContent != null) {
-            int index = pageContent.indexOf("${");
-            while (index >= 0) {
-                expressions.add("${...");
-                index = pageContent.indexOf("${", index + 2);
+        if (ExpressionScanner.contains(pageContent, ExpressionScanner.DOLLAR)) {
+            expressions.add("${...");
+        }
+
+        if (jspRegions != null) {
+            for (int i = 0; i < jspRegions.count(); i++) {
+                if (jspRegions.kind(i) == JspRegions.Kind.EXPRESSION) {
+                    expressions.add("<%=" + pageContent.substring(jspRegions.bodyStart(i), jspRegions.bodyEnd(i)).trim() + "%>");
+                }
             }
         }
 
@@ -292,15 +812,21 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
         return "CRITICAL";
     }
 
-    private void writeJsonReport(Path path, List<PageReportEntry> entries) throws IOException {
+    private void writeJsonReport(ArtifactWriter writer,
+                                 Path path,
+                                 List<PageReportEntry> entries,
+                                 List<ConsolidationGroup> consolidationGroups) throws IOException {
         Map<String, Object> root = new LinkedHashMap<>();
-        root.put("generatedAt", Instant.now().toString());
+        if (!deterministicOutput) {
+            root.put("generatedAt", Instant.now().toString());
+        }
         root.put("totalPages", entries.size());
+        root.put("consolidationGroups", consolidationGroups);
         root.put("pages", entries);
-        mapper.writeValue(path.toFile(), root);
+        writer.write(path, mapper.writeValueAsBytes(root));
     }
 
-    private void writeCsvReport(Path path, List<PageReportEntry> entries) throws IOException {
+    private void writeCsvReport(ArtifactWriter writer, Path path, List<PageReportEntry> entries) {
         List<String> lines = new ArrayList<>();
         lines.add("pageId,title,forms,fields,outputs,navigationTargets,jsRoutingHints,urlParameters,crossFrameInteractions,hiddenFields,sessionDependencies,pageDependencies,dynamicExpressions,scriptlets,sessionUsage,frames,frameCount,frameset,missingMappings,complexity,difficulty,confidence");
         for (PageReportEntry entry : entries) {
@@ -328,266 +854,131 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
                     escapeCsv(entry.difficulty()),
                     escapeCsv(entry.confidenceLabel())));
         }
-        Files.write(path, lines, StandardCharsets.UTF_8);
+        String csv = String.join(System.lineSeparator(), lines) + System.lineSeparator();
+        writer.write(path, csv.getBytes(StandardCharsets.UTF_8));
     }
 
-    private void writeHtmlReport(Path path, List<PageReportEntry> entries) throws IOException {
-        String data = mapper.writeValueAsString(entries);
-
-
-        String html = """
-                <!DOCTYPE html>
-                <html lang="en">
-                <head>
-                  <meta charset="UTF-8" />
-                  <title>LIDE Migration Report</title>
-                  <style>
-                    body { font-family: Arial, sans-serif; margin: 20px; }
-                    table { border-collapse: collapse; width: 100%; }
-                    th, td { border: 1px solid #ccc; padding: 8px; }
-                    th { background: #f5f5f5; }
-                    tr.clickable-row { cursor: pointer; }
-                    tr.selected { background: #eef6ff; }
-                    .badge { padding: 2px 6px; border-radius: 4px; color: #fff; font-size: 12px; }
-                    .LOW { background: #2b9348; }
-                    .MEDIUM { background: #f0ad4e; }
-                    .HIGH { background: #d9534f; }
-                    .CRITICAL { background: #5c0a0a; }
-                    .detail-panel { margin-top: 20px; border-top: 1px solid #ddd; padding-top: 16px; }
-                    .detail-summary { margin-bottom: 12px; }
-                    details summary { cursor: pointer; font-weight: bold; }
-                    .detail-item { border: 1px solid #e0e0e0; padding: 8px; margin: 6px 0; border-radius: 4px; background: #fafafa; }
-                    .detail-meta { display: flex; justify-content: space-between; gap: 12px; font-size: 12px; color: #555; }
-                    .detail-snippet { background: #f5f5f5; padding: 6px; border-radius: 4px; white-space: pre-wrap; word-break: break-word; margin-top: 6px; }
-                    .confidence-pill { padding: 2px 6px; border-radius: 4px; color: #fff; font-size: 12px; }
-                    .confidence-high { background: #2b9348; }
-                    .confidence-medium { background: #f0ad4e; color: #000; }
-                    .confidence-low { background: #6c757d; }
-                    .confidence-unknown { background: #adb5bd; }
-                    .section-container { margin-top: 12px; }
-                    .detail-title { font-weight: bold; margin-bottom: 4px; }
-                    .empty { color: #777; padding: 6px; }
-                  </style>
-                </head>
-                <body>
-                  <h1>LIDE Migration Report</h1>
-                  <label for="difficultyFilter">Filter by difficulty:</label>
-                  <select id="difficultyFilter">
-                    <option value="ALL">All</option>
-                    <option value="LOW">Low</option>
-                    <option value="MEDIUM">Medium</option>
-                    <option value="HIGH">High</option>
-                    <option value="CRITICAL">Critical</option>
-                  </select>
-                  <table id="reportTable">
-                    <thead>
-                      <tr>
-                        <th>Page</th>
-                        <th>Forms</th>
-                        <th>Fields</th>
-                        <th>Outputs</th>
-                        <th>Frames</th>
-                        <th>Navigation</th>
-                        <th>JS Routing</th>
-                        <th>Cross-Frame</th>
-                        <th>Hidden Fields</th>
-                        <th>Session Dependencies</th>
-                        <th>Dependencies</th>
-                        <th>URL Params</th>
-                        <th>Complexity</th>
-                        <th>Difficulty</th>
-                        <th>Notes</th>
-                      </tr>
-                    </thead>
-                    <tbody></tbody>
-                  </table>
-                  <div id="detailPanel" class="detail-panel">
-                    <h2>Page Details</h2>
-                    <div id="detailSummary" class="detail-summary">Select a page to view details.</div>
-                    <div class="section-grid">
-                      <div id="navTargetsSection" class="section-container"></div>
-                      <div id="urlParamsSection" class="section-container"></div>
-                      <div id="hiddenFieldsSection" class="section-container"></div>
-                      <div id="framesSection" class="section-container"></div>
-                      <div id="sessionDepsSection" class="section-container"></div>
-                      <div id="jsRoutingSection" class="section-container"></div>
-                      <div id="pageDepsSection" class="section-container"></div>
-                    </div>
-                  </div>
-                  <script>
-                    const data = %s;
-                    const tbody = document.querySelector('#reportTable tbody');
-                    const filter = document.getElementById('difficultyFilter');
-                    let selectedRow = null;
-
-                    const difficultyLabels = {
-                      LOW: 'LOW',
-                      MEDIUM: 'MEDIUM',
-                      HIGH: 'HIGH',
-                      CRITICAL: 'CRITICAL'
-                    };
-
-                    function normalizeConfidence(conf) {
-                      return (conf || 'UNKNOWN').toUpperCase();
-                    }
-
-                    function confidenceClass(conf) {
-                      const normalized = normalizeConfidence(conf);
-                      if (normalized === 'HIGH') return 'confidence-high';
-                      if (normalized === 'MEDIUM') return 'confidence-medium';
-                      if (normalized === 'LOW') return 'confidence-low';
-                      return 'confidence-unknown';
-                    }
-
-                    function shouldOpenSection(items) {
-                      return !!(items && items.length && items.some(item => normalizeConfidence(item.confidence) !== 'LOW'));
-                    }
-
-                    function createDetailItem(title, source, snippet, confidence) {
-                      const wrapper = document.createElement('div');
-                      wrapper.className = 'detail-item';
-
-                      const header = document.createElement('div');
-                      header.className = 'detail-title';
-                      header.textContent = title || 'Unknown';
-
-                      const meta = document.createElement('div');
-                      meta.className = 'detail-meta';
-                      const sourceSpan = document.createElement('span');
-                      sourceSpan.textContent = `Source: ${source || 'N/A'}`;
-                      const confSpan = document.createElement('span');
-                      const normalized = normalizeConfidence(confidence);
-                      confSpan.className = `confidence-pill ${confidenceClass(confidence)}`;
-                      confSpan.textContent = normalized;
-                      meta.appendChild(sourceSpan);
-                      meta.appendChild(confSpan);
-
-                      const snippetEl = document.createElement('pre');
-                      snippetEl.className = 'detail-snippet';
-                      snippetEl.textContent = snippet || 'N/A';
-
-                      wrapper.appendChild(header);
-                      wrapper.appendChild(meta);
-                      wrapper.appendChild(snippetEl);
-
-                      return wrapper;
-                    }
-
-                    function renderSection(containerId, title, items, builder) {
-                      const container = document.getElementById(containerId);
-                      container.innerHTML = '';
-
-                      const details = document.createElement('details');
-                      if (shouldOpenSection(items)) {
-                        details.open = true;
-                      }
-
-                      const summary = document.createElement('summary');
-                      summary.textContent = `${title} (${(items && items.length) || 0})`;
-                      details.appendChild(summary);
-
-                      if (!items || items.length === 0) {
-                        const empty = document.createElement('div');
-                        empty.className = 'detail-item empty';
-                        empty.textContent = 'No entries detected.';
-                        details.appendChild(empty);
-                      } else {
-                        items.forEach(item => details.appendChild(builder(item)));
-                      }
-
-                      container.appendChild(details);
-                    }
-
-                    function renderDetails(entry) {
-                      const summaryEl = document.getElementById('detailSummary');
-                      if (!entry) {
-                        summaryEl.textContent = 'Select a page to view details.';
-                        return;
-                      }
-
-                      summaryEl.innerHTML = `<strong>${entry.pageId}</strong> — Difficulty: <span class=\"badge ${entry.difficulty}\">${difficultyLabels[entry.difficulty] || entry.difficulty}</span>, Complexity: ${entry.complexityScore.toFixed(1)}`;
-
-                      renderSection('navTargetsSection', 'Navigation Targets', entry.navigationTargetsDetail,
-                        (nav) => createDetailItem(nav.targetPage || 'Target', nav.sourcePattern || 'href/script', nav.snippet, nav.confidence));
-
-                      renderSection('urlParamsSection', 'URL Parameter Usage', entry.urlParametersDetail,
-                        (param) => createDetailItem(param.name || 'Parameter', param.source || 'link/script', param.snippet, param.confidence));
-
-                      renderSection('hiddenFieldsSection', 'Hidden Fields', entry.hiddenFieldsDetail,
-                        (field) => createDetailItem(field.name || 'Hidden Field', field.expression || field.defaultValue || 'hidden', field.snippet, field.confidence));
-
-                      renderSection('framesSection', 'Frame Layout', entry.frameDefinitionsDetail,
-                        (frame) => createDetailItem(frame.frameName || 'Frame', frame.source || frame.tag || 'frame', frame.tag || frame.source, frame.confidence));
-
-                      renderSection('sessionDepsSection', 'Session Dependencies', entry.sessionDependenciesDetail,
-                        (dep) => createDetailItem(dep.key || 'Session Key', dep.source || 'session', dep.snippet, dep.confidence));
-
-                      renderSection('jsRoutingSection', 'JS Routing Hints', entry.jsRoutingHintsDetail,
-                        (hint) => createDetailItem(hint.targetPage || 'Target', hint.sourcePattern || 'script', hint.snippet, hint.confidence));
+    private Set<Path> writeHtmlReport(ArtifactWriter writer,
+                                      Path outputDir,
+                                      List<PageReportEntry> entries,
+                                      List<ConsolidationGroup> consolidationGroups) throws IOException {
+        Path dataDir = outputDir.resolve(REPORT_DATA_DIR);
+        Path detailDir = dataDir.resolve("details");
+        Set<Path> dataFiles = new HashSet<>();
+        ObjectWriter compactWriter = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+        List<String> confidenceLabels = entries.stream()
+                .map(entry -> normalizeLabel(entry.confidenceLabel()))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        int chunkCount = (entries.size() + ROW_CHUNK_SIZE - 1) / ROW_CHUNK_SIZE;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = chunk * ROW_CHUNK_SIZE;
+            int to = Math.min(entries.size(), from + ROW_CHUNK_SIZE);
+            Map<String, Object> columns = buildRowColumns(entries.subList(from, to), confidenceLabels);
+            String script = "LIDE_REPORT.addChunk(" + chunk + "," + compactWriter.writeValueAsString(columns) + ");\n";
+            Path chunkFile = dataDir.resolve(chunkFileName(chunk));
+            writer.write(chunkFile, script.getBytes(StandardCharsets.UTF_8));
+            dataFiles.add(chunkFile);
+        }
 
-                      renderSection('pageDepsSection', 'Page Dependencies', entry.pageDependenciesDetail,
-                        (dep) => createDetailItem(`${dep.from || 'source'} -> ${dep.to || 'target'}`, dep.type || 'dependency', dep.type || `${dep.from || ''} => ${dep.to || ''}`, dep.confidence));
-                    }
+        for (int row = 0; row < entries.size(); row++) {
+            String script = "LIDE_REPORT.addDetail(" + row + ","
+                    + compactWriter.writeValueAsString(buildDetail(entries.get(row))) + ");\n";
+            Path detailFile = detailDir.resolve(row + ".js");
+            writer.write(detailFile, script.getBytes(StandardCharsets.UTF_8));
+            dataFiles.add(detailFile);
+        }
 
-                    function render() {
-                      const target = filter.value;
-                      tbody.innerHTML = '';
-                      let firstRendered = null;
-                      data.filter(entry => target === 'ALL' || entry.difficulty === target)
-                          .sort((a, b) => b.complexityScore - a.complexityScore)
-                          .forEach(entry => {
-                            const row = document.createElement('tr');
-                            row.className = 'clickable-row';
-                            row.innerHTML = `
-                              <td>${entry.pageId}</td>
-                              <td>${entry.formCount}</td>
-                              <td>${entry.fieldCount}</td>
-                              <td>${entry.outputCount}</td>
-                              <td>${entry.frameCount} ${entry.framesetPage ? '(layout)' : ''}</td>
-                              <td>${entry.navigationTargets}</td>
-                              <td>${entry.jsRoutingHints}</td>
-                              <td>${entry.crossFrameInteractions}</td>
-                              <td>${entry.hiddenFields}</td>
-                              <td>${entry.sessionDependencies}</td>
-                              <td>${entry.pageDependencies}</td>
-                              <td>${entry.urlParameters}</td>
-                              <td>${entry.complexityScore.toFixed(1)}</td>
-                              <td><span class=\"badge ${entry.difficulty}\">${entry.difficulty}</span></td>
-                              <td>${(entry.notes || []).join('<br/>')}</td>`;
-                            row.addEventListener('click', () => selectEntry(entry, row));
-                            tbody.appendChild(row);
-                            if (!firstRendered) {
-                              firstRendered = { entry, row };
-                            }
-                          });
-                      if (firstRendered) {
-                        selectEntry(firstRendered.entry, firstRendered.row);
-                      } else {
-                        renderDetails(null);
-                      }
-                    }
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        if (!deterministicOutput) {
+            manifest.put("generatedAt", Instant.now().toString());
+        }
+        manifest.put("totalPages", entries.size());
+        manifest.put("chunkSize", ROW_CHUNK_SIZE);
+        manifest.put("chunkCount", chunkCount);
+        manifest.put("dataDir", REPORT_DATA_DIR);
+        manifest.put("columns", ROW_COLUMNS);
+        manifest.put("difficulties", DIFFICULTY_LEVELS);
+        manifest.put("confidences", confidenceLabels);
+        manifest.put("consolidationGroups", consolidationGroups);
+
+        String manifestJson = compactWriter.writeValueAsString(manifest).replace("</", "<\\/");
+        writer.write(outputDir.resolve("migration-report.html"),
+                HTML_TEMPLATE.replace("__REPORT_MANIFEST__", manifestJson).getBytes(StandardCharsets.UTF_8));
+        LOGGER.debug("Migration report data queued for {} ({} row chunks)", dataDir, chunkCount);
+        return dataFiles;
+    }
 
-                    function selectEntry(entry, row) {
-                      if (selectedRow) {
-                        selectedRow.classList.remove('selected');
-                      }
-                      selectedRow = row;
-                      if (selectedRow) {
-                        selectedRow.classList.add('selected');
-                      }
-                      renderDetails(entry);
-                    }
+    private Map<String, Object> buildRowColumns(List<PageReportEntry> chunk, List<String> confidenceLabels) {
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (String column : ROW_COLUMNS) {
+            columns.put(column, new ArrayList<>(chunk.size()));
+        }
+        for (PageReportEntry entry : chunk) {
+            columns.get("pageId").add(entry.pageId());
+            columns.get("formCount").add(entry.formCount());
+            columns.get("fieldCount").add(entry.fieldCount());
+            columns.get("outputCount").add(entry.outputCount());
+            columns.get("frameCount").add(entry.frameCount());
+            columns.get("framesetPage").add(entry.framesetPage() ? 1 : 0);
+            columns.get("navigationTargets").add(entry.navigationTargets());
+            columns.get("jsRoutingHints").add(entry.jsRoutingHints());
+            columns.get("crossFrameInteractions").add(entry.crossFrameInteractions());
+            columns.get("hiddenFields").add(entry.hiddenFields());
+            columns.get("sessionDependencies").add(entry.sessionDependencies());
+            columns.get("pageDependencies").add(entry.pageDependencies());
+            columns.get("urlParameters").add(entry.urlParameters());
+            columns.get("complexityScore").add(entry.complexityScore());
+            columns.get("difficulty").add(DIFFICULTY_LEVELS.indexOf(entry.difficulty()));
+            columns.get("confidence").add(confidenceLabels.indexOf(normalizeLabel(entry.confidenceLabel())));
+            columns.get("noteCount").add(ensureList(entry.notes()).size());
+        }
+        return new LinkedHashMap<>(columns);
+    }
 
-                    filter.addEventListener('change', render);
-                    render();
-                  </script>
-                </body>
-                </html>
-                """.formatted(data);
+    private Map<String, Object> buildDetail(PageReportEntry entry) {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("pageId", entry.pageId());
+        detail.put("title", entry.title());
+        detail.put("notes", entry.notes());
+        detail.put("controllerCandidates", entry.controllerCandidates());
+        detail.put("backingBeanCandidates", entry.backingBeanCandidates());
+        detail.put("formsDetail", entry.formsDetail());
+        detail.put("navigationTargetsDetail", entry.navigationTargetsDetail());
+        detail.put("urlParametersDetail", entry.urlParametersDetail());
+        detail.put("hiddenFieldsDetail", entry.hiddenFieldsDetail());
+        detail.put("frameDefinitionsDetail", entry.frameDefinitionsDetail());
+        detail.put("sessionDependenciesDetail", entry.sessionDependenciesDetail());
+        detail.put("jsRoutingHintsDetail", entry.jsRoutingHintsDetail());
+        detail.put("pageDependenciesDetail", entry.pageDependenciesDetail());
+        return detail;
+    }
 
+    private void removeStaleReportData(Path dataDir, Set<Path> current) throws IOException {
+        if (!Files.isDirectory(dataDir)) {
+            return;
+        }
+        List<Path> stale;
+        try (Stream<Path> walk = Files.walk(dataDir, 2)) {
+            stale = walk.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".js"))
+                    .filter(file -> !current.contains(file))
+                    .collect(Collectors.toList());
+        }
+        for (Path file : stale) {
+            Files.deleteIfExists(file);
+        }
+    }
 
+    private String chunkFileName(int chunk) {
+        return String.format(Locale.ROOT, "rows-%04d.js", chunk);
+    }
 
-        Files.writeString(path, html, StandardCharsets.UTF_8);
+    private String normalizeLabel(String label) {
+        return label == null || label.isBlank() ? "UNKNOWN" : label.toUpperCase(Locale.ROOT);
     }
 
     private String escapeCsv(String value) {
@@ -643,6 +1034,7 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
                                    List<String> controllerCandidates,
                                    List<String> backingBeanCandidates,
                                    List<String> notes,
+                                   List<FormDescriptor> formsDetail,
                                    List<NavigationTarget> navigationTargetsDetail,
                                    List<UrlParameter> urlParametersDetail,
                                    List<HiddenField> hiddenFieldsDetail,
@@ -651,4 +1043,7 @@ public class DefaultMigrationReportGenerator implements MigrationReportGenerator
                                    List<JsRoutingHint> jsRoutingHintsDetail,
                                    List<PageDependency> pageDependenciesDetail) {
     }
+
+    private record ConsolidationGroup(String canonicalPageId, int pageCount, List<String> duplicatePageIds) {
+    }
 }
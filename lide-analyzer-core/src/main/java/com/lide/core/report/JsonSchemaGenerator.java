@@ -17,4 +17,12 @@ public interface JsonSchemaGenerator {
                   java.nio.file.Path outputDir,
                   java.util.List<com.lide.core.model.PageDescriptor> pages,
                   com.lide.core.java.JavaMetadataIndex javaMetadata) throws java.io.IOException;
+
+    /**
+     * Opens a sink that writes page JSON artifacts as pages arrive rather than from a complete list.
+     *
+     * @param rootDir   root of the scanned codebase for relative path calculations
+     * @param outputDir directory where JSON artifacts should be written
+     */
+    PageJsonSink open(java.nio.file.Path rootDir, java.nio.file.Path outputDir) throws java.io.IOException;
 }
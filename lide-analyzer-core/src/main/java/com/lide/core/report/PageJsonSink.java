@@ -0,0 +1,32 @@
+package com.lide.core.report;
+
+import com.lide.core.java.JavaMetadataIndex;
+import com.lide.core.model.IncludeMetrics;
+import com.lide.core.model.PageDescriptor;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives analyzed pages one at a time and writes their JSON artifacts; the summary is written on close.
+ */
+public interface PageJsonSink extends Closeable {
+
+    /**
+     * Enriches {@code page} with the Java metadata and writes its JSON descriptor.
+     */
+    void write(PageDescriptor page, JavaMetadataIndex javaMetadata) throws IOException;
+
+    /**
+     * Writes the parts of {@code page}'s JSON descriptor that need no Java metadata, for a page that is ready
+     * before the metadata is. A later {@link #write} of the same page replaces it. Sinks that can write each
+     * page only once ignore this.
+     */
+    default void writeLocal(PageDescriptor page) throws IOException {
+    }
+
+    /**
+     * Records the include resolution metrics, written to {@code metrics.json} alongside the summary on close.
+     */
+    void writeIncludeMetrics(IncludeMetrics metrics);
+}
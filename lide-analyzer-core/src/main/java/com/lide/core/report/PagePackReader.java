@@ -0,0 +1,135 @@
+package com.lide.core.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Random-access reader for packs produced by {@link PagePackWriter}; lookups binary-search the sorted index.
+ */
+public final class PagePackReader implements Closeable {
+
+    private final FileChannel pack;
+    private final ByteBuffer index;
+    private final int count;
+    private final int keysStart;
+
+    private PagePackReader(FileChannel pack, ByteBuffer index) {
+        this.pack = pack;
+        this.index = index;
+        this.count = index.getInt(PagePackWriter.INDEX_MAGIC.length);
+        this.keysStart = PagePackWriter.INDEX_MAGIC.length + Integer.BYTES + count * PagePackWriter.INDEX_ENTRY_WIDTH;
+    }
+
+    public static boolean exists(Path outputDir) {
+        return Files.isRegularFile(outputDir.resolve(PagePackWriter.INDEX_FILE))
+                && Files.isRegularFile(outputDir.resolve(PagePackWriter.PACK_FILE));
+    }
+
+    public static PagePackReader open(Path outputDir) throws IOException {
+        Objects.requireNonNull(outputDir, "outputDir");
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(outputDir.resolve(PagePackWriter.INDEX_FILE)));
+        byte[] magic = new byte[PagePackWriter.INDEX_MAGIC.length];
+        if (index.remaining() < magic.length + Integer.BYTES) {
+            throw new IOException("Truncated pack index in " + outputDir);
+        }
+        index.get(magic);
+        if (!Arrays.equals(magic, PagePackWriter.INDEX_MAGIC)) {
+            throw new IOException("Unrecognized pack index in " + outputDir);
+        }
+        FileChannel pack = FileChannel.open(outputDir.resolve(PagePackWriter.PACK_FILE), StandardOpenOption.READ);
+        return new PagePackReader(pack, index);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public List<String> pageIds() {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(keyAt(i));
+        }
+        return ids;
+    }
+
+    public Optional<PagePackWriter.PackEntry> find(String pageId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keyAt(mid).compareTo(pageId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                int entry = entryPosition(mid);
+                return Optional.of(new PagePackWriter.PackEntry(pageId, index.getLong(entry), index.getInt(entry + 8)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<byte[]> read(String pageId) throws IOException {
+        Optional<PagePackWriter.PackEntry> entry = find(pageId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(entry.get().length());
+        long position = entry.get().offset();
+        while (buffer.hasRemaining()) {
+            int read = pack.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Pack ended before document for " + pageId);
+            }
+            position += read;
+        }
+        return Optional.of(buffer.array());
+    }
+
+    /**
+     * Copies one document to {@code target} without materializing it on the heap.
+     *
+     * @return {@code false} when the page is not in the pack
+     */
+    public boolean transferTo(String pageId, WritableByteChannel target) throws IOException {
+        Optional<PagePackWriter.PackEntry> entry = find(pageId);
+        if (entry.isEmpty()) {
+            return false;
+        }
+        long position = entry.get().offset();
+        long end = position + entry.get().length();
+        while (position < end) {
+            position += pack.transferTo(position, end - position, target);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pack.close();
+    }
+
+    private int entryPosition(int i) {
+        return PagePackWriter.INDEX_MAGIC.length + Integer.BYTES + i * PagePackWriter.INDEX_ENTRY_WIDTH;
+    }
+
+    private String keyAt(int i) {
+        int entry = entryPosition(i);
+        int keyOffset = index.getInt(entry + 12);
+        int keyLength = index.getInt(entry + 16);
+        return new String(index.array(), keysStart + keyOffset, keyLength, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package com.lide.core.report;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Appends page documents to a newline-delimited pack file and writes the matching offset index on close.
+ * The pack is staged next to the target and only moved into place when its bytes differ from the previous run.
+ * <p>
+ * Index layout (big-endian): the {@link #INDEX_MAGIC} header, an {@code int} entry count, then one
+ * {@link #INDEX_ENTRY_WIDTH}-byte entry per page sorted by page id ({@code long} document offset,
+ * {@code int} document length, {@code int} key offset, {@code int} key length), followed by the UTF-8
+ * page ids the key offsets point into.
+ * </p>
+ */
+public final class PagePackWriter implements Closeable {
+
+    public static final String PACK_FILE = "pages.pack";
+    public static final String INDEX_FILE = "pages.idx";
+    static final byte[] INDEX_MAGIC = "LIDEPIX1".getBytes(StandardCharsets.US_ASCII);
+    static final int INDEX_ENTRY_WIDTH = 20;
+
+    private final Path packPath;
+    private final Path indexPath;
+    private final Path stagedPack;
+    private final OutputStream packStream;
+    private final List<PackEntry> entries = new ArrayList<>();
+    private final Set<String> pageIds = new HashSet<>();
+    private long position;
+    private boolean closed;
+
+    public PagePackWriter(Path outputDir) throws IOException {
+        Objects.requireNonNull(outputDir, "outputDir");
+        Files.createDirectories(outputDir);
+        this.packPath = outputDir.resolve(PACK_FILE);
+        this.indexPath = outputDir.resolve(INDEX_FILE);
+        this.stagedPack = Files.createTempFile(outputDir, "." + PACK_FILE, ".tmp");
+        this.packStream = new BufferedOutputStream(Files.newOutputStream(stagedPack), 1 << 16);
+    }
+
+    /**
+     * Appends one single-line JSON document.
+     *
+     * @return the location of the document inside the pack
+     */
+    public PackEntry append(String pageId, byte[] document) throws IOException {
+        Objects.requireNonNull(pageId, "pageId");
+        Objects.requireNonNull(document, "document");
+        if (closed) {
+            throw new IllegalStateException("Pack writer already closed");
+        }
+        if (!pageIds.add(pageId)) {
+            throw new IllegalArgumentException("Duplicate page id in pack: " + pageId);
+        }
+        PackEntry entry = new PackEntry(pageId, position, document.length);
+        packStream.write(document);
+        packStream.write('\n');
+        position += document.length + 1L;
+        entries.add(entry);
+        return entry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        packStream.close();
+        ArtifactWriter.replaceIfChanged(stagedPack, packPath);
+
+        List<PackEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(PackEntry::pageId));
+        List<byte[]> keys = new ArrayList<>(sorted.size());
+        int keyBytes = 0;
+        for (PackEntry entry : sorted) {
+            byte[] key = entry.pageId().getBytes(StandardCharsets.UTF_8);
+            keys.add(key);
+            keyBytes += key.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_MAGIC.length + Integer.BYTES
+                + sorted.size() * INDEX_ENTRY_WIDTH + keyBytes);
+        buffer.put(INDEX_MAGIC);
+        buffer.putInt(sorted.size());
+        int keyOffset = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            PackEntry entry = sorted.get(i);
+            buffer.putLong(entry.offset());
+            buffer.putInt(entry.length());
+            buffer.putInt(keyOffset);
+            buffer.putInt(keys.get(i).length);
+            keyOffset += keys.get(i).length;
+        }
+        for (byte[] key : keys) {
+            buffer.put(key);
+        }
+        ArtifactWriter.writeIfChanged(indexPath, buffer.array());
+    }
+
+    /**
+     * Location of a page document inside the pack file.
+     */
+    public record PackEntry(String pageId, long offset, int length) {
+    }
+}
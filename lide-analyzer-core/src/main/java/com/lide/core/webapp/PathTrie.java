@@ -0,0 +1,114 @@
+package com.lide.core.webapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment trie over URL patterns, so a path is matched in one descent instead of against every pattern.
+ * <p>
+ * A segment containing {@code {var}} or {@code *} matches any single segment, and {@code **} (or Spring's
+ * {@code {*var}}) as the last segment matches the rest of the path, including nothing. Where several patterns
+ * match, literal segments win over single-segment wildcards and those over a trailing {@code **}, decided segment
+ * by segment from the left.
+ * </p>
+ */
+final class PathTrie<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    void insert(String pattern, T value) {
+        Node<T> node = root;
+        for (String segment : segments(pattern)) {
+            if (isRest(segment)) {
+                if (node.rest == null) {
+                    node.rest = new Node<>();
+                }
+                node = node.rest;
+                break;
+            }
+            if (isVariable(segment)) {
+                if (node.variable == null) {
+                    node.variable = new Node<>();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the values stored for the most specific pattern matching the path, or an empty list.
+     */
+    List<T> find(String path) {
+        List<String> segments = segments(path);
+        List<T> found = find(root, segments, 0);
+        return found == null ? List.of() : found;
+    }
+
+    private List<T> find(Node<T> node, List<String> segments, int index) {
+        if (index == segments.size()) {
+            if (!node.values.isEmpty()) {
+                return node.values;
+            }
+            return node.rest == null || node.rest.values.isEmpty() ? null : node.rest.values;
+        }
+        String segment = segments.get(index);
+        Node<T> literal = node.literals.get(segment);
+        if (literal != null) {
+            List<T> found = find(literal, segments, index + 1);
+            if (found != null) {
+                return found;
+            }
+        }
+        if (node.variable != null) {
+            List<T> found = find(node.variable, segments, index + 1);
+            if (found != null) {
+                return found;
+            }
+        }
+        return node.rest == null || node.rest.values.isEmpty() ? null : node.rest.values;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    private static boolean isRest(String segment) {
+        return "**".equals(segment) || segment.startsWith("{*");
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0;
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final List<T> values = new ArrayList<>(1);
+        private Node<T> variable;
+        private Node<T> rest;
+    }
+}
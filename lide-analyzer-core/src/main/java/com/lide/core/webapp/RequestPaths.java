@@ -0,0 +1,117 @@
+package com.lide.core.webapp;
+
+/**
+ * Normalizes the request references pages contain (form actions, link targets) to the {@code /path} form used by
+ * deployment descriptors and handler mappings.
+ */
+final class RequestPaths {
+
+    /**
+     * Stands in for an expression inside a path; handler mapping variables and wildcards match it, literals never do.
+     */
+    static final String PLACEHOLDER = "{}";
+
+    private RequestPaths() {
+    }
+
+    /**
+     * Drops the query string, fragment, path parameters, a leading context path expression and any scheme and
+     * host, returning a path with a leading and no trailing slash, or {@code null} when nothing is left. Later
+     * {@code ${...}} and {@code <%= ... %>} expressions become {@link #PLACEHOLDER}, so
+     * {@code ${ctx}/customers/${customer.id}/edit} cleans to {@code /customers/{}/edit}.
+     */
+    static String clean(String reference) {
+        if (reference == null) {
+            return null;
+        }
+        String cleaned = replaceExpressions(reference.trim().replace('\\', '/'));
+        int cut = indexOfAny(cleaned, '?', '#', ';');
+        if (cut >= 0) {
+            cleaned = cleaned.substring(0, cut);
+        }
+        int scheme = cleaned.indexOf("://");
+        if (scheme >= 0) {
+            int pathStart = cleaned.indexOf('/', scheme + 3);
+            cleaned = pathStart < 0 ? "" : cleaned.substring(pathStart);
+        }
+        int end = cleaned.length();
+        while (end > 0 && cleaned.charAt(end - 1) == '/') {
+            end--;
+        }
+        cleaned = cleaned.substring(0, end);
+        if (cleaned.isBlank()) {
+            return null;
+        }
+        return cleaned.startsWith("/") ? cleaned : "/" + cleaned;
+    }
+
+    /**
+     * Returns the extension of the last path segment without the dot, or {@code null} when it has none.
+     */
+    static String extension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && dot < path.length() - 1 ? path.substring(dot + 1) : null;
+    }
+
+    static String stripExtension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') ? path.substring(0, dot) : path;
+    }
+
+    /**
+     * Drops an expression at the very start, such as {@code ${pageContext.request.contextPath}} or
+     * {@code <%= request.getContextPath() %>}, and replaces every later one with {@link #PLACEHOLDER}.
+     */
+    private static String replaceExpressions(String reference) {
+        StringBuilder replaced = null;
+        int copied = 0;
+        int index = 0;
+        while (index < reference.length()) {
+            int end = expressionEnd(reference, index);
+            if (end < 0) {
+                index++;
+                continue;
+            }
+            if (replaced == null) {
+                replaced = new StringBuilder(reference.length());
+            }
+            replaced.append(reference, copied, index);
+            if (index > 0) {
+                replaced.append(PLACEHOLDER);
+            }
+            copied = end;
+            index = end;
+        }
+        if (replaced == null) {
+            return reference;
+        }
+        return replaced.append(reference, copied, reference.length()).toString();
+    }
+
+    /**
+     * Returns the index just past an expression starting at {@code index}, or {@code -1} when none starts there.
+     * An unterminated expression runs to the end.
+     */
+    private static int expressionEnd(String value, int index) {
+        if (value.startsWith("${", index)) {
+            int close = value.indexOf('}', index + 2);
+            return close < 0 ? value.length() : close + 1;
+        }
+        if (value.startsWith("<%=", index)) {
+            int close = value.indexOf("%>", index + 3);
+            return close < 0 ? value.length() : close + 2;
+        }
+        return -1;
+    }
+
+    private static int indexOfAny(String value, char... candidates) {
+        int first = -1;
+        for (char candidate : candidates) {
+            int index = value.indexOf(candidate);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        return first;
+    }
+}
@@ -0,0 +1,305 @@
+package com.lide.core.webapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Routes the request paths pages refer to onto the Spring MVC handler method or servlet that serves them.
+ * <p>
+ * Handler mapping paths and {@code web.xml} URL patterns are each held in a {@link PathTrie}, so a lookup walks
+ * the segments of the path once rather than testing every pattern. Handler methods are tried first, on the whole
+ * path and then without the servlet path of a {@code /prefix/*} servlet mapping, which a {@code DispatcherServlet}'s
+ * mappings do not repeat; a context path expression is already gone (see {@link RequestPaths#clean}). A handler
+ * mapped to a single template segment ({@code /{id}}, {@code /*}) only counts on the whole path, since below a
+ * servlet path it would claim every request. Among handlers sharing a path, one restricted to another HTTP method
+ * is never chosen. Servlet mappings follow the servlet specification order: exact and longest path
+ * prefix match, then extension, then the default servlet. JSP references are left to the container's implicit
+ * {@code *.jsp} mapping.
+ * </p>
+ */
+public final class RequestRouter {
+
+    private static final RequestRouter EMPTY = new Builder().build();
+
+    private static final List<String> JSP_EXTENSIONS = List.of("jsp", "jspx");
+
+    private static final List<String> FRONT_CONTROLLER_PACKAGES = List.of(
+            "org.apache.struts.", "org.apache.struts2.", "org.springframework.", "javax.faces.", "jakarta.faces.");
+
+    private final PathTrie<Route> handlers;
+    private final PathTrie<Route> servletPaths;
+    private final List<String> servletPathPrefixes;
+    private final Map<String, Route> servletsByExtension;
+    private final Route defaultServlet;
+
+    private RequestRouter(Builder builder) {
+        this.handlers = builder.handlers;
+        this.servletPaths = builder.servletPaths;
+        this.servletPathPrefixes = List.copyOf(builder.servletPathPrefixes);
+        this.servletsByExtension = builder.servletsByExtension;
+        this.defaultServlet = builder.defaultServlet;
+    }
+
+    public static RequestRouter empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return handlers.isEmpty() && servletPaths.isEmpty() && servletsByExtension.isEmpty() && defaultServlet == null;
+    }
+
+    /**
+     * Resolves a form action or link target ({@code ${ctx}/customers/42/edit}, {@code /app/save.do?x=1}).
+     *
+     * @param httpMethod the request method, used to choose among handlers sharing a path; may be {@code null}
+     * @return the route, or {@code null} when neither a handler nor a servlet mapping matches
+     */
+    public Route route(String reference, String httpMethod) {
+        String path = RequestPaths.clean(reference);
+        if (path == null || isEmpty()) {
+            return null;
+        }
+        String extension = RequestPaths.extension(path);
+        if (extension != null && JSP_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            // The container serves pages itself unless a servlet mapping claims the extension.
+            return servletsByExtension.get(extension.toLowerCase(Locale.ROOT));
+        }
+        String method = httpMethod == null || httpMethod.isBlank() ? "GET" : httpMethod.trim().toUpperCase(Locale.ROOT);
+        // Like Spring's suffix pattern matching, /customers/search.htm is /customers/search before it is {id}.
+        Route handler = extension != null ? findHandler(RequestPaths.stripExtension(path), method) : null;
+        if (handler == null) {
+            handler = findHandler(path, method);
+        }
+        return handler != null ? handler : findServlet(path);
+    }
+
+    private Route findHandler(String path, String method) {
+        if (handlers.isEmpty()) {
+            return null;
+        }
+        Route route = selectHandler(handlers.find(path), method, false);
+        if (route != null) {
+            return route;
+        }
+        for (String prefix : servletPathPrefixes) {
+            if (path.startsWith(prefix) && path.length() > prefix.length() && path.charAt(prefix.length()) == '/') {
+                route = selectHandler(handlers.find(path.substring(prefix.length())), method, true);
+                if (route != null) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Route selectHandler(List<Route> routes, String method, boolean prefixDropped) {
+        Route unrestricted = null;
+        for (Route route : routes) {
+            if (prefixDropped && isSingleTemplateSegment(route.getPattern())) {
+                continue;
+            }
+            if (route.getHttpMethods().contains(method)) {
+                return route;
+            }
+            if (unrestricted == null && route.getHttpMethods().isEmpty()) {
+                unrestricted = route;
+            }
+        }
+        return unrestricted;
+    }
+
+    private static boolean isSingleTemplateSegment(String pattern) {
+        return pattern.indexOf('/', 1) < 0 && (pattern.indexOf('{') >= 0 || pattern.indexOf('*') >= 0);
+    }
+
+    private Route findServlet(String path) {
+        if (!servletPaths.isEmpty()) {
+            for (int from = 0; from >= 0; from = path.indexOf('/', from + 1)) {
+                List<Route> routes = servletPaths.find(path.substring(from));
+                if (!routes.isEmpty()) {
+                    return routes.get(0);
+                }
+            }
+        }
+        String extension = RequestPaths.extension(path);
+        if (extension != null) {
+            Route route = servletsByExtension.get(extension.toLowerCase(Locale.ROOT));
+            if (route != null) {
+                return route;
+            }
+        }
+        return defaultServlet;
+    }
+
+    /**
+     * Collects handler methods and servlet mappings.
+     */
+    public static final class Builder {
+
+        private final PathTrie<Route> handlers = new PathTrie<>();
+        private final PathTrie<Route> servletPaths = new PathTrie<>();
+        private final List<String> servletPathPrefixes = new ArrayList<>();
+        private final Map<String, Route> servletsByExtension = new HashMap<>();
+        private Route defaultServlet;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a handler method under each of its full mapping paths (class-level prefix included).
+         */
+        public Builder addHandler(String controllerClass, String methodName, List<String> httpMethods, List<String> paths) {
+            Objects.requireNonNull(controllerClass, "controllerClass");
+            Objects.requireNonNull(methodName, "methodName");
+            for (String path : paths) {
+                if (path == null || path.isBlank()) {
+                    continue;
+                }
+                String pattern = path.trim().startsWith("/") ? path.trim() : "/" + path.trim();
+                handlers.insert(pattern, new Route(pattern, controllerClass, methodName, httpMethods, null));
+            }
+            return this;
+        }
+
+        /**
+         * Adds every servlet mapping of the deployment descriptors.
+         */
+        public Builder addServletMappings(WebXmlIndex webXml) {
+            Objects.requireNonNull(webXml, "webXml");
+            for (Map.Entry<String, String> mapping : webXml.getServletMappings().entrySet()) {
+                String pattern = mapping.getKey();
+                String servletName = mapping.getValue();
+                Route route = new Route(pattern, webXml.getServletClasses().get(servletName), null, List.of(), servletName);
+                if ("/".equals(pattern)) {
+                    if (defaultServlet == null) {
+                        defaultServlet = route;
+                    }
+                } else if (pattern.startsWith("*.")) {
+                    servletsByExtension.putIfAbsent(pattern.substring(2).toLowerCase(Locale.ROOT), route);
+                } else if (pattern.endsWith("/*")) {
+                    servletPaths.insert(pattern.substring(0, pattern.length() - 1) + "**", route);
+                    addServletPathPrefix(pattern.substring(0, pattern.length() - 2));
+                } else if (pattern.startsWith("/")) {
+                    servletPaths.insert(pattern, route);
+                }
+            }
+            return this;
+        }
+
+        private void addServletPathPrefix(String prefix) {
+            if (prefix.isEmpty() || servletPathPrefixes.contains(prefix)) {
+                return;
+            }
+            // Longest first, so /app/admin/* is dropped before /app/*.
+            int index = 0;
+            while (index < servletPathPrefixes.size() && servletPathPrefixes.get(index).length() >= prefix.length()) {
+                index++;
+            }
+            servletPathPrefixes.add(index, prefix);
+        }
+
+        public RequestRouter build() {
+            return new RequestRouter(this);
+        }
+    }
+
+    /**
+     * The handler method or servlet a path was routed to.
+     */
+    public static final class Route {
+
+        private final String pattern;
+        private final String className;
+        private final String methodName;
+        private final List<String> httpMethods;
+        private final String servletName;
+
+        private Route(String pattern, String className, String methodName, List<String> httpMethods,
+                      String servletName) {
+            this.pattern = pattern;
+            this.className = className;
+            this.methodName = methodName;
+            List<String> methods = new ArrayList<>(httpMethods.size());
+            for (String httpMethod : httpMethods) {
+                methods.add(httpMethod.toUpperCase(Locale.ROOT));
+            }
+            this.httpMethods = List.copyOf(methods);
+            this.servletName = servletName;
+        }
+
+        /**
+         * Returns the mapping path or URL pattern that matched.
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Returns the controller or servlet class, or {@code null} for a servlet mapping without a declaration.
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns the handler method name, or {@code null} for servlet routes.
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+
+        public List<String> getHttpMethods() {
+            return httpMethods;
+        }
+
+        public String getServletName() {
+            return servletName;
+        }
+
+        public boolean isHandlerMethod() {
+            return methodName != null;
+        }
+
+        /**
+         * Whether the route ends at a framework dispatcher ({@code ActionServlet}, {@code DispatcherServlet},
+         * {@code FacesServlet}) rather than at application code.
+         */
+        public boolean isFrontController() {
+            if (methodName != null) {
+                return false;
+            }
+            if (className == null) {
+                return true;
+            }
+            for (String prefix : FRONT_CONTROLLER_PACKAGES) {
+                if (className.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns {@code Controller#method} for handler methods and the servlet class (or name) otherwise.
+         */
+        public String describe() {
+            if (methodName != null) {
+                return className + "#" + methodName;
+            }
+            return className != null ? className : servletName;
+        }
+
+        @Override
+        public String toString() {
+            return describe() + " (" + pattern + ")";
+        }
+    }
+}
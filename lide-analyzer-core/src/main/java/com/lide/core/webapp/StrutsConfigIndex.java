@@ -0,0 +1,210 @@
+package com.lide.core.webapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable lookup tables read from Struts 1 {@code struts-config*.xml} files: action path to action class and
+ * form bean, form bean name to class, and forward name to path.
+ * <p>
+ * Form actions are matched exactly rather than by naming convention. {@link #findAction(String)} strips what a
+ * page adds around the configured path (context path, EL prefix, {@code .do} extension, query string) and then
+ * costs one hash lookup per path segment.
+ * </p>
+ */
+public final class StrutsConfigIndex {
+
+    private static final StrutsConfigIndex EMPTY = new StrutsConfigIndex(Map.of(), Map.of(), Map.of());
+
+    private final Map<String, ActionMapping> actionsByPath;
+    private final Map<String, String> formBeanClasses;
+    private final Map<String, String> globalForwards;
+    private final Map<String, List<ActionMapping>> actionsByForwardPath;
+
+    StrutsConfigIndex(Map<String, ActionMapping> actionsByPath,
+                      Map<String, String> formBeanClasses,
+                      Map<String, String> globalForwards) {
+        this.actionsByPath = Collections.unmodifiableMap(new LinkedHashMap<>(actionsByPath));
+        this.formBeanClasses = Collections.unmodifiableMap(new LinkedHashMap<>(formBeanClasses));
+        this.globalForwards = Collections.unmodifiableMap(new LinkedHashMap<>(globalForwards));
+        Map<String, List<ActionMapping>> byForward = new LinkedHashMap<>();
+        for (ActionMapping action : this.actionsByPath.values()) {
+            for (String path : action.getForwards().values()) {
+                String key = forwardKey(path);
+                if (key != null) {
+                    List<ActionMapping> actions = byForward.computeIfAbsent(key, ignored -> new ArrayList<>());
+                    if (!actions.contains(action)) {
+                        actions.add(action);
+                    }
+                }
+            }
+        }
+        byForward.replaceAll((key, actions) -> List.copyOf(actions));
+        this.actionsByForwardPath = Collections.unmodifiableMap(byForward);
+    }
+
+    public static StrutsConfigIndex empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return actionsByPath.isEmpty() && formBeanClasses.isEmpty() && globalForwards.isEmpty();
+    }
+
+    /**
+     * Returns the action mappings keyed by their configured path ({@code /saveCustomer}).
+     */
+    public Map<String, ActionMapping> getActions() {
+        return actionsByPath;
+    }
+
+    /**
+     * Returns the form bean classes keyed by form bean name.
+     */
+    public Map<String, String> getFormBeanClasses() {
+        return formBeanClasses;
+    }
+
+    public Map<String, String> getGlobalForwards() {
+        return globalForwards;
+    }
+
+    /**
+     * Resolves a form action or link target ({@code /app/saveCustomer.do?id=1},
+     * {@code ${ctx}/saveCustomer.do}, {@code saveCustomer}) to its action mapping.
+     *
+     * @return the mapping, or {@code null} when no configured path matches
+     */
+    public ActionMapping findAction(String action) {
+        String path = actionPath(action);
+        if (path == null || actionsByPath.isEmpty()) {
+            return null;
+        }
+        // Leading segments may be a context path or module prefix the configuration does not repeat.
+        for (int from = 0; from >= 0; from = path.indexOf('/', from + 1)) {
+            ActionMapping mapping = actionsByPath.get(path.substring(from));
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the form bean class an action populates, or {@code null} when it has none or the bean is not
+     * declared.
+     */
+    public String findFormBeanClass(ActionMapping action) {
+        if (action == null || action.getFormBeanName() == null) {
+            return null;
+        }
+        return formBeanClasses.get(action.getFormBeanName());
+    }
+
+    /**
+     * Returns the actions with a forward to the page, matching the forward path against trailing segments of the
+     * page id so a web root directory in front of it does not matter.
+     */
+    public List<ActionMapping> findActionsForwardingTo(String pageId) {
+        String key = forwardKey(pageId);
+        if (key == null || actionsByForwardPath.isEmpty()) {
+            return List.of();
+        }
+        for (int from = 0; from >= 0; from = key.indexOf('/', from + 1)) {
+            List<ActionMapping> actions = actionsByForwardPath.get(from == 0 ? key : key.substring(from + 1));
+            if (actions != null) {
+                return actions;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Reduces a page-side action reference to the {@code /path} form used in the configuration.
+     */
+    static String actionPath(String action) {
+        String path = RequestPaths.clean(action);
+        if (path == null) {
+            return null;
+        }
+        path = RequestPaths.stripExtension(path);
+        return path.length() > 1 ? path : null;
+    }
+
+    private static String forwardKey(String path) {
+        if (path == null) {
+            return null;
+        }
+        String cleaned = path.trim().replace('\\', '/');
+        int query = cleaned.indexOf('?');
+        if (query >= 0) {
+            cleaned = cleaned.substring(0, query);
+        }
+        while (cleaned.startsWith("/")) {
+            cleaned = cleaned.substring(1);
+        }
+        return cleaned.isEmpty() ? null : cleaned.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One {@code <action>} element.
+     */
+    public static final class ActionMapping {
+
+        /** Forward name recorded for the action's own {@code forward} or {@code include} attribute. */
+        public static final String INLINE_FORWARD = "(forward)";
+
+        private final String path;
+        private final String type;
+        private final String formBeanName;
+        private final String scope;
+        private final String input;
+        private final Map<String, String> forwards;
+
+        ActionMapping(String path, String type, String formBeanName, String scope, String input,
+                      Map<String, String> forwards) {
+            this.path = Objects.requireNonNull(path, "path");
+            this.type = type;
+            this.formBeanName = formBeanName;
+            this.scope = scope;
+            this.input = input;
+            this.forwards = Collections.unmodifiableMap(new LinkedHashMap<>(forwards));
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the action class, or {@code null} for forward-only and include-only mappings.
+         */
+        public String getType() {
+            return type;
+        }
+
+        public String getFormBeanName() {
+            return formBeanName;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        /**
+         * Returns the action's local forwards by name, plus its {@code forward}/{@code include} attribute under
+         * {@link #INLINE_FORWARD}.
+         */
+        public Map<String, String> getForwards() {
+            return forwards;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.lide.core.webapp;
+
+import com.lide.core.fs.ArchivePaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads Struts 1 {@code struts-config*.xml} files into a {@link StrutsConfigIndex} with a StAX cursor.
+ * <p>
+ * Only the mappings are kept; elements are never materialized as a tree, so memory stays proportional to the
+ * number of actions and beans rather than to the size of the file. DTDs and external entities are not loaded,
+ * which also keeps the parser off the network for the usual {@code DOCTYPE} pointing at jakarta.apache.org.
+ * When several files declare the same action path, form bean or global forward, the first one read wins.
+ * </p>
+ */
+public final class StrutsConfigParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StrutsConfigParser.class);
+
+    private final XMLInputFactory factory;
+
+    public StrutsConfigParser() {
+        factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+    }
+
+    /**
+     * Parses every file in order; unreadable or malformed files are logged and skipped.
+     */
+    public StrutsConfigIndex parse(Iterable<Path> configFiles) {
+        Objects.requireNonNull(configFiles, "configFiles");
+        Map<String, StrutsConfigIndex.ActionMapping> actions = new LinkedHashMap<>();
+        Map<String, String> formBeans = new LinkedHashMap<>();
+        Map<String, String> globalForwards = new LinkedHashMap<>();
+        int files = 0;
+        for (Path file : configFiles) {
+            try (InputStream in = Files.newInputStream(file)) {
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                try {
+                    read(reader, actions, formBeans, globalForwards);
+                } finally {
+                    reader.close();
+                }
+                files++;
+            } catch (IOException | XMLStreamException ex) {
+                LOGGER.warn("Failed to read Struts configuration {}: {}", ArchivePaths.describe(file), ex.getMessage());
+            }
+        }
+        if (files > 0) {
+            LOGGER.info("Struts configuration: {} actions, {} form beans, {} global forwards from {} files",
+                    actions.size(), formBeans.size(), globalForwards.size(), files);
+        }
+        return files == 0 ? StrutsConfigIndex.empty() : new StrutsConfigIndex(actions, formBeans, globalForwards);
+    }
+
+    private void read(XMLStreamReader reader,
+                      Map<String, StrutsConfigIndex.ActionMapping> actions,
+                      Map<String, String> formBeans,
+                      Map<String, String> globalForwards) throws XMLStreamException {
+        boolean inGlobalForwards = false;
+        ActionBuilder action = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("form-bean".equals(name)) {
+                    putFirst(formBeans, attribute(reader, "name"), attribute(reader, "type"));
+                } else if ("global-forwards".equals(name)) {
+                    inGlobalForwards = true;
+                } else if ("action".equals(name)) {
+                    action = new ActionBuilder(reader);
+                } else if ("forward".equals(name)) {
+                    String forwardName = attribute(reader, "name");
+                    String path = attribute(reader, "path");
+                    if (action != null) {
+                        putFirst(action.forwards, forwardName, path);
+                    } else if (inGlobalForwards) {
+                        putFirst(globalForwards, forwardName, path);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("global-forwards".equals(name)) {
+                    inGlobalForwards = false;
+                } else if ("action".equals(name) && action != null) {
+                    if (action.path != null && !actions.containsKey(action.path)) {
+                        actions.put(action.path, action.build());
+                    }
+                    action = null;
+                }
+            }
+        }
+    }
+
+    private static void putFirst(Map<String, String> target, String key, String value) {
+        if (key != null && value != null) {
+            target.putIfAbsent(key, value);
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static final class ActionBuilder {
+
+        private final String path;
+        private final String type;
+        private final String formBeanName;
+        private final String scope;
+        private final String input;
+        private final Map<String, String> forwards = new LinkedHashMap<>();
+
+        private ActionBuilder(XMLStreamReader reader) {
+            String configuredPath = attribute(reader, "path");
+            this.path = configuredPath == null || configuredPath.startsWith("/") ? configuredPath : "/" + configuredPath;
+            this.type = attribute(reader, "type");
+            this.formBeanName = attribute(reader, "name");
+            this.scope = attribute(reader, "scope");
+            this.input = attribute(reader, "input");
+            String inline = attribute(reader, "forward");
+            putFirst(forwards, StrutsConfigIndex.ActionMapping.INLINE_FORWARD, inline != null ? inline : attribute(reader, "include"));
+        }
+
+        private StrutsConfigIndex.ActionMapping build() {
+            return new StrutsConfigIndex.ActionMapping(path, type, formBeanName, scope, input, forwards);
+        }
+    }
+}
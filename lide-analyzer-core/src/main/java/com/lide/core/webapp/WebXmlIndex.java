@@ -0,0 +1,44 @@
+package com.lide.core.webapp;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable servlet declarations and {@code servlet-mapping} URL patterns read from {@code web.xml} files.
+ */
+public final class WebXmlIndex {
+
+    private static final WebXmlIndex EMPTY = new WebXmlIndex(Map.of(), Map.of());
+
+    private final Map<String, String> servletClasses;
+    private final Map<String, String> servletsByPattern;
+
+    WebXmlIndex(Map<String, String> servletClasses, Map<String, String> servletsByPattern) {
+        this.servletClasses = Collections.unmodifiableMap(new LinkedHashMap<>(servletClasses));
+        this.servletsByPattern = Collections.unmodifiableMap(new LinkedHashMap<>(servletsByPattern));
+    }
+
+    public static WebXmlIndex empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return servletClasses.isEmpty() && servletsByPattern.isEmpty();
+    }
+
+    /**
+     * Returns the servlet classes (or {@code jsp-file} paths) keyed by servlet name.
+     */
+    public Map<String, String> getServletClasses() {
+        return servletClasses;
+    }
+
+    /**
+     * Returns the servlet names keyed by URL pattern ({@code /app/*}, {@code *.do}, {@code /}) in declaration
+     * order.
+     */
+    public Map<String, String> getServletMappings() {
+        return servletsByPattern;
+    }
+}
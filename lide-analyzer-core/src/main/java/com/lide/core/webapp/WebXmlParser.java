@@ -0,0 +1,115 @@
+package com.lide.core.webapp;
+
+import com.lide.core.fs.ArchivePaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads the {@code servlet} and {@code servlet-mapping} elements of {@code web.xml} deployment descriptors into a
+ * {@link WebXmlIndex} with a StAX cursor, like {@link StrutsConfigParser}. Filters, listeners and the rest of the
+ * descriptor are skipped. When several files map the same URL pattern or servlet name, the first one read wins.
+ */
+public final class WebXmlParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebXmlParser.class);
+
+    private final XMLInputFactory factory;
+
+    public WebXmlParser() {
+        factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
+
+    /**
+     * Parses every file in order; unreadable or malformed files are logged and skipped.
+     */
+    public WebXmlIndex parse(Iterable<Path> webXmlFiles) {
+        Objects.requireNonNull(webXmlFiles, "webXmlFiles");
+        Map<String, String> servletClasses = new LinkedHashMap<>();
+        Map<String, String> servletsByPattern = new LinkedHashMap<>();
+        int files = 0;
+        for (Path file : webXmlFiles) {
+            try (InputStream in = Files.newInputStream(file)) {
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                try {
+                    read(reader, servletClasses, servletsByPattern);
+                } finally {
+                    reader.close();
+                }
+                files++;
+            } catch (IOException | XMLStreamException ex) {
+                LOGGER.warn("Failed to read deployment descriptor {}: {}", ArchivePaths.describe(file), ex.getMessage());
+            }
+        }
+        if (files > 0) {
+            LOGGER.info("Deployment descriptors: {} servlets, {} servlet mappings from {} files",
+                    servletClasses.size(), servletsByPattern.size(), files);
+        }
+        return files == 0 ? WebXmlIndex.empty() : new WebXmlIndex(servletClasses, servletsByPattern);
+    }
+
+    private void read(XMLStreamReader reader,
+                      Map<String, String> servletClasses,
+                      Map<String, String> servletsByPattern) throws XMLStreamException {
+        String parent = null;
+        String servletName = null;
+        String servletClass = null;
+        List<String> patterns = new ArrayList<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("servlet".equals(name) || "servlet-mapping".equals(name)) {
+                    parent = name;
+                    servletName = null;
+                    servletClass = null;
+                    patterns.clear();
+                } else if (parent != null) {
+                    if ("servlet-name".equals(name)) {
+                        servletName = text(reader);
+                    } else if ("servlet-class".equals(name) || "jsp-file".equals(name)) {
+                        servletClass = text(reader);
+                    } else if ("url-pattern".equals(name)) {
+                        String pattern = text(reader);
+                        if (pattern != null) {
+                            patterns.add(pattern);
+                        }
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals(parent)) {
+                if (servletName != null) {
+                    if ("servlet".equals(parent)) {
+                        if (servletClass != null) {
+                            servletClasses.putIfAbsent(servletName, servletClass);
+                        }
+                    } else {
+                        for (String pattern : patterns) {
+                            servletsByPattern.putIfAbsent(pattern, servletName);
+                        }
+                    }
+                }
+                parent = null;
+            }
+        }
+    }
+
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        String trimmed = reader.getElementText().trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
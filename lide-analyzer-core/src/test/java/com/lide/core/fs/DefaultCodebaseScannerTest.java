@@ -0,0 +1,111 @@
+package com.lide.core.fs;
+
+import com.lide.core.jsp.DefaultJspAnalyzer;
+import com.lide.core.model.PageDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultCodebaseScannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scansNestedArchivesWithoutExtracting() throws Exception {
+        Map<String, byte[]> war = new LinkedHashMap<>();
+        war.put("index.jsp", "<html><head><title>Home</title></head><body></body></html>".getBytes(StandardCharsets.UTF_8));
+        war.put("WEB-INF/views/account.jsp", "<form action='/account/save.do'><input name='owner'/></form>".getBytes(StandardCharsets.UTF_8));
+        war.put("WEB-INF/classes/com/acme/Account.class", new byte[]{(byte) 0xCA, (byte) 0xFE});
+        war.put("js/menu.js", "location.href = 'index.jsp';".getBytes(StandardCharsets.UTF_8));
+        war.put("WEB-INF/struts-config.xml", "<struts-config/>".getBytes(StandardCharsets.UTF_8));
+        war.put("WEB-INF/web.xml", "<web-app/>".getBytes(StandardCharsets.UTF_8));
+        war.put("target/stale.jsp", "<p>stale</p>".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, byte[]> ear = new LinkedHashMap<>();
+        ear.put("META-INF/application.xml", "<application/>".getBytes(StandardCharsets.UTF_8));
+        ear.put("help.html", "<p>Help</p>".getBytes(StandardCharsets.UTF_8));
+        ear.put("web.war", zip(war));
+        Path earFile = tempDir.resolve("app.ear");
+        Files.write(earFile, zip(ear));
+
+        Path output = tempDir.resolve("out");
+        DefaultCodebaseScanner scanner = new DefaultCodebaseScanner(earFile, List.of(), List.of("**/target/**"));
+        try (CodebaseIndex index = scanner.scan(output)) {
+            assertEquals(List.of("help.html"), describe(index.getHtmlFiles()));
+            assertEquals(List.of("web.war/WEB-INF/views/account.jsp", "web.war/index.jsp"), describe(index.getJspFiles()));
+            assertEquals(List.of("web.war/js/menu.js"), describe(index.getScriptFiles()));
+            assertEquals(List.of("web.war/WEB-INF/struts-config.xml"), describe(index.getStrutsConfigFiles()));
+            assertEquals(List.of("web.war/WEB-INF/web.xml"), describe(index.getWebXmlFiles()));
+
+            List<PageDescriptor> pages = new DefaultJspAnalyzer().analyze(earFile, index);
+            Map<String, PageDescriptor> byId = pages.stream()
+                    .collect(Collectors.toMap(PageDescriptor::getPageId, page -> page));
+            assertEquals("Home", byId.get("web.war/index.jsp").getTitle());
+            assertEquals("/account/save.do", byId.get("web.war/WEB-INF/views/account.jsp").getForms().get(0).getAction());
+        }
+
+        try (var listing = Files.list(tempDir)) {
+            assertEquals(List.of("app.ear", "out"), listing.map(path -> path.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void doesNotOpenLibraryArchivesInsideAnApplication() throws Exception {
+        Map<String, byte[]> library = new LinkedHashMap<>();
+        library.put("com/acme/util/Strings.java", "package com.acme.util; class Strings {}".getBytes(StandardCharsets.UTF_8));
+        library.put("META-INF/resources/tag.jsp", "<p>tag</p>".getBytes(StandardCharsets.UTF_8));
+        Map<String, byte[]> war = new LinkedHashMap<>();
+        war.put("index.jsp", "<p>home</p>".getBytes(StandardCharsets.UTF_8));
+        war.put("WEB-INF/lib/util-sources.jar", zip(library));
+        war.put("WEB-INF/lib/bundle.zip", zip(library));
+        Path warFile = tempDir.resolve("app.war");
+        Files.write(warFile, zip(war));
+
+        DefaultCodebaseScanner scanner = new DefaultCodebaseScanner(warFile, List.of(), List.of());
+        try (CodebaseIndex index = scanner.scan(tempDir.resolve("out"))) {
+            assertEquals(List.of("index.jsp"), describe(index.getJspFiles()));
+            assertEquals(List.of(), describe(index.getJavaFiles()));
+        }
+    }
+
+    @Test
+    void rejectsRootsThatAreNeitherDirectoriesNorArchives() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("notes.txt"), "not an archive");
+        DefaultCodebaseScanner scanner = new DefaultCodebaseScanner(file, List.of(), List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> scanner.scan(tempDir.resolve("out")));
+        assertFalse(ArchivePaths.isArchive(file));
+    }
+
+    private static List<String> describe(List<Path> paths) {
+        return paths.stream().map(ArchivePaths::describe).sorted().toList();
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
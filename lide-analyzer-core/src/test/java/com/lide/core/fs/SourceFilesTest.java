@@ -0,0 +1,79 @@
+package com.lide.core.fs;
+
+import com.lide.core.model.SourceText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class SourceFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsLatin1PagesThatAreNotValidUtf8() throws Exception {
+        Path page = tempDir.resolve("legacy.jsp");
+        Files.write(page, "<p>Adresse: Straße ${customer.street}</p>".getBytes(StandardCharsets.ISO_8859_1));
+
+        SourceText source = SourceFiles.read("legacy.jsp", page);
+
+        assertEquals("<p>Adresse: Straße ${customer.street}</p>", source.getContent());
+    }
+
+    @Test
+    void honoursPageEncodingDirectiveOverContentType() throws Exception {
+        String jsp = "<%@ page contentType=\"text/html; charset=UTF-8\" pageEncoding=\"ISO-8859-1\" %>\n<p>été</p>";
+        Path page = tempDir.resolve("declared.jsp");
+        Files.write(page, jsp.getBytes(StandardCharsets.ISO_8859_1));
+
+        SourceText source = SourceFiles.read("declared.jsp", page);
+
+        assertEquals(jsp, source.getContent());
+        assertInstanceOf(ByteCharSequence.class, SourceFiles.read("declared.jsp", page).getText());
+    }
+
+    @Test
+    void decodesUtf8WithByteOrderMarkAndContentTypeCharset() throws Exception {
+        Path bom = tempDir.resolve("bom.jsp");
+        byte[] body = "<p>€ 10</p>".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[body.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, withBom, 3, body.length);
+        Files.write(bom, withBom);
+        assertEquals("<p>€ 10</p>", SourceFiles.read("bom.jsp", bom).getContent());
+
+        String jsp = "<%@ page contentType='text/html;charset=windows-1252' %><p>€</p>";
+        Path declared = tempDir.resolve("cp1252.jsp");
+        Files.write(declared, jsp.getBytes("windows-1252"));
+        assertEquals(jsp, SourceFiles.read("cp1252.jsp", declared).getContent());
+    }
+
+    @Test
+    void mapsLargeAsciiPagesAsZeroCopyView() throws Exception {
+        StringBuilder html = new StringBuilder();
+        while (html.length() < SourceFiles.MAP_THRESHOLD * 2) {
+            html.append("<a href='next.jsp?id=${row.id}'>next</a>\n");
+        }
+        Path page = tempDir.resolve("large.jsp");
+        Files.writeString(page, html, StandardCharsets.US_ASCII);
+
+        SourceText source = SourceFiles.read("large.jsp", page);
+        CharSequence text = source.getText();
+
+        assertInstanceOf(ByteCharSequence.class, text);
+        assertEquals(html.length(), source.length());
+        assertEquals("next.jsp", text.subSequence(9, 17).toString());
+        assertEquals(2, source.lineOf(html.indexOf("\n") + 1));
+        assertEquals(html.toString(), source.getContent());
+        assertFalse(source.getText() instanceof ByteCharSequence);
+    }
+}
@@ -0,0 +1,68 @@
+package com.lide.core.java;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassHierarchyTest {
+
+    @Test
+    void resolvesSuperclassesThroughNestingImportsAndPackages() {
+        ClassHierarchy.Scope web = new ClassHierarchy.Scope("com.acme.web");
+        web.addImport("org.apache.struts.validator.ValidatorForm", false);
+        web.addImport("com.acme.base", true);
+        ClassHierarchy.Scope base = new ClassHierarchy.Scope("com.acme.base");
+
+        ClassHierarchy hierarchy = ClassHierarchy.builder()
+                .addClass("com.acme.web.CustomerForm", "BaseCustomerForm", web)
+                .addClass("com.acme.web.Outer", null, web)
+                .addClass("com.acme.web.Outer.Address", "Part", web)
+                .addClass("com.acme.web.Outer.Part", "ValidatorForm", web)
+                .addClass("com.acme.base.BaseCustomerForm", "AbstractForm", base)
+                .addClass("com.acme.base.AbstractForm", "org.apache.struts.action.ActionForm", base)
+                .build();
+
+        assertEquals("com.acme.base.BaseCustomerForm", hierarchy.superclassOf("com.acme.web.CustomerForm"));
+        assertEquals("com.acme.web.Outer.Part", hierarchy.superclassOf("com.acme.web.Outer.Address"));
+        assertEquals("org.apache.struts.validator.ValidatorForm", hierarchy.superclassOf("com.acme.web.Outer.Part"));
+        assertNull(hierarchy.superclassOf("com.acme.web.Outer"));
+        assertEquals(List.of("com.acme.base.BaseCustomerForm", "com.acme.base.AbstractForm"),
+                hierarchy.sourceSuperclasses("com.acme.web.CustomerForm"));
+    }
+
+    @Test
+    void marksEverySubclassOfAMatchingAncestor() {
+        ClassHierarchy.Scope scope = new ClassHierarchy.Scope("app");
+        ClassHierarchy hierarchy = ClassHierarchy.builder()
+                .addClass("app.Leaf", "Middle", scope)
+                .addClass("app.Middle", "Base", scope)
+                .addClass("app.Base", "ActionForm", scope)
+                .addClass("app.Other", "Leaf", scope)
+                .addClass("app.Plain", null, scope)
+                .addClass("app.Loop", "Loop", scope)
+                .build();
+
+        BitSet forms = hierarchy.subclassesOf(name -> name.endsWith("ActionForm"));
+
+        assertTrue(hierarchy.contains(forms, "app.Leaf"));
+        assertTrue(hierarchy.contains(forms, "app.Middle"));
+        assertTrue(hierarchy.contains(forms, "app.Base"));
+        assertTrue(hierarchy.contains(forms, "app.Other"));
+        assertFalse(hierarchy.contains(forms, "ActionForm"));
+        assertFalse(hierarchy.contains(forms, "app.Plain"));
+        assertFalse(hierarchy.contains(forms, "app.Loop"));
+        assertFalse(hierarchy.contains(forms, "app.Missing"));
+
+        BitSet middles = hierarchy.subclassesOf("app.Middle"::equals);
+        assertTrue(hierarchy.contains(middles, "app.Leaf"));
+        assertTrue(hierarchy.contains(middles, "app.Other"));
+        assertFalse(hierarchy.contains(middles, "app.Middle"));
+        assertFalse(hierarchy.contains(middles, "app.Base"));
+    }
+}
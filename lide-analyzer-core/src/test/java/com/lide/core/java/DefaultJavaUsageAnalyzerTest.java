@@ -128,4 +128,179 @@ class DefaultJavaUsageAnalyzerTest {
         assertEquals(1L, queryField.getAttributes().get("minLength"));
         assertEquals(5L, queryField.getAttributes().get("maxLength"));
     }
+
+    @Test
+    void classifiesIndirectSubclassesAndMergesInheritedFields() throws Exception {
+        Path base = write("com/example/forms/BaseCustomerForm.java", """
+                package com.example.forms;
+
+                import org.apache.struts.validator.ValidatorForm;
+                import jakarta.validation.constraints.NotNull;
+
+                public abstract class BaseCustomerForm extends ValidatorForm {
+                    @NotNull
+                    private String customerId;
+                    private String email;
+                }
+                """);
+        Path form = write("com/example/forms/CustomerForm.java", """
+                package com.example.forms;
+
+                public class CustomerForm extends BaseCustomerForm {
+                    private String email;
+                    private String phone;
+                }
+                """);
+        Path baseAction = write("com/example/common/BaseAction.java", """
+                package com.example.common;
+
+                public class BaseAction extends org.apache.struts.action.Action {
+                }
+                """);
+        Path action = write("com/example/web/SaveCustomerHandler.java", """
+                package com.example.web;
+
+                import com.example.common.*;
+
+                public class SaveCustomerHandler extends BaseAction {
+                }
+                """);
+
+        JavaMetadataIndex metadataIndex = analyzer.analyze(List.of(action, form, base, baseAction));
+
+        assertEquals(List.of("com.example.forms.CustomerForm", "com.example.forms.BaseCustomerForm"),
+                List.copyOf(metadataIndex.getStrutsFormClasses()));
+        assertEquals(List.of("com.example.web.SaveCustomerHandler", "com.example.common.BaseAction"),
+                List.copyOf(metadataIndex.getStrutsActionClasses()));
+
+        List<JavaFieldMetadata> fields = metadataIndex.getFieldsForClass("com.example.forms.CustomerForm");
+        assertEquals(List.of("email", "phone", "customerId"),
+                fields.stream().map(JavaFieldMetadata::getFieldName).toList());
+        assertEquals("com.example.forms.CustomerForm", fields.get(0).getClassName());
+        assertEquals("com.example.forms.BaseCustomerForm", fields.get(2).getClassName());
+        assertTrue(fields.get(2).getConstraints().contains("required"));
+    }
+
+    @Test
+    void prefixesHandlerPathsWithTheClassLevelMapping() throws Exception {
+        String javaSource = """
+                package com.example.web;
+
+                import org.springframework.web.bind.annotation.GetMapping;
+                import org.springframework.web.bind.annotation.PostMapping;
+                import org.springframework.web.bind.annotation.RequestMapping;
+                import org.springframework.web.bind.annotation.RestController;
+
+                @RestController
+                @RequestMapping("/orders/")
+                public class OrderController {
+
+                    @GetMapping("{id}")
+                    public String show() {
+                        return "ok";
+                    }
+
+                    @PostMapping
+                    public String create() {
+                        return "ok";
+                    }
+                }
+                """;
+
+        Path javaPath = tempDir.resolve("com/example/web/OrderController.java");
+        Files.createDirectories(javaPath.getParent());
+        Files.writeString(javaPath, javaSource, StandardCharsets.UTF_8);
+
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJavaFile(javaPath);
+
+        JavaMetadataIndex metadataIndex = analyzer.analyze(index);
+
+        List<JavaMetadataIndex.HandlerMethodMetadata> handlerMethods =
+                metadataIndex.getHandlerMethodsByController().get("com.example.web.OrderController");
+        assertEquals(List.of("/orders/{id}"), handlerMethods.get(0).getPaths());
+        assertEquals(List.of("/orders"), handlerMethods.get(1).getPaths());
+        assertEquals("com.example.web.OrderController#create",
+                metadataIndex.getRequestRouter().route("/orders", "POST").describe());
+    }
+
+    @Test
+    void parsesOnlyControllersUpFrontAndOtherFilesOnFirstUse() throws Exception {
+        Path controller = write("com/example/web/SearchController.java", """
+                package com.example.web;
+
+                import org.springframework.stereotype.Controller;
+                import org.springframework.web.bind.annotation.GetMapping;
+
+                @Controller
+                public class SearchController {
+                    @GetMapping("/search")
+                    public String search() {
+                        return "search";
+                    }
+                }
+                """);
+        Path form = write("com/example/web/SearchForm.java", """
+                package com.example.web;
+
+                public class SearchForm {
+                    private String query;
+
+                    public static class Paging {
+                        private int page;
+                    }
+                }
+                """);
+        Path service = write("com/example/service/SearchService.java", """
+                package com.example.service;
+
+                class SearchService {
+                    private String index;
+                }
+                """);
+
+        JavaMetadataIndex metadataIndex = analyzer.analyze(List.of(controller, form, service));
+
+        assertEquals(List.of("com.example.web.SearchController", "com.example.web.SearchForm",
+                        "com.example.web.SearchForm.Paging", "com.example.service.SearchService"),
+                List.copyOf(metadataIndex.getClassNames()));
+        assertEquals(1, metadataIndex.getParsedFileCount());
+        assertEquals("com.example.web.SearchController#search",
+                metadataIndex.getRequestRouter().route("/search", "GET").describe());
+
+        assertEquals("page", metadataIndex.getFieldsForClass("com.example.web.SearchForm.Paging").get(0).getFieldName());
+        assertEquals("query", metadataIndex.getFieldsForClass("com.example.web.SearchForm").get(0).getFieldName());
+        assertEquals(2, metadataIndex.getParsedFileCount());
+
+        assertEquals(3, metadataIndex.getFieldsByClass().size());
+        assertEquals(3, metadataIndex.getParsedFileCount());
+    }
+
+    @Test
+    void readsFieldsOfSourcesThatAreNotUtf8() throws Exception {
+        Path form = tempDir.resolve("com/example/web/AddressForm.java");
+        Files.createDirectories(form.getParent());
+        Files.writeString(form, """
+                package com.example.web;
+
+                /** Adresse de livraison, saisie à l'étape 2. */
+                public class AddressForm {
+                    private String street;
+                    private String city = "Besançon";
+                }
+                """, StandardCharsets.ISO_8859_1);
+
+        JavaMetadataIndex metadataIndex = analyzer.analyze(List.of(form));
+
+        assertEquals(List.of("street", "city"), metadataIndex.getFieldsForClass("com.example.web.AddressForm").stream()
+                .map(JavaFieldMetadata::getFieldName)
+                .toList());
+        assertEquals(1, metadataIndex.getParsedFileCount());
+    }
+
+    private Path write(String relativePath, String source) throws Exception {
+        Path javaPath = tempDir.resolve(relativePath);
+        Files.createDirectories(javaPath.getParent());
+        return Files.writeString(javaPath, source, StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,110 @@
+package com.lide.core.java;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaSymbolScannerTest {
+
+    @Test
+    void namesClassesTheWayTheFullParseDoes() {
+        JavaSymbolScanner.FileSymbols symbols = scan("""
+                package com.acme.web;
+
+                import java.util.List;
+                import com.acme.base.*;
+                import static java.util.Objects.requireNonNull;
+
+                /* class Commented extends Nothing { } */
+                @Controller
+                public class Outer<T extends Comparable<T>> extends BaseController<T> implements Runnable {
+                    private static final String TEXT = "class InString { }";
+                    private static final String BLOCK = \"""
+                            class InTextBlock extends Nothing {
+                            }
+                            \""";
+                    private final Class<?> type = Outer.class;
+                    private final char brace = '{';
+
+                    public static class Inner extends Base.Nested {
+                        interface Callback {
+                            class Result {
+                            }
+                        }
+                    }
+
+                    enum Mode {
+                        ON;
+
+                        static class InEnum {
+                        }
+                    }
+
+                    record Point(int x, int y) {
+                        static class InRecord {
+                        }
+                    }
+
+                    @interface Marker {
+                        class InAnnotation {
+                        }
+                    }
+
+                    public void run() {
+                        class Local extends Inner {
+                        }
+                        Runnable task = new Runnable() {
+                            class InAnonymous {
+                            }
+
+                            public void run() {
+                            }
+                        };
+                        String record = "x";
+                    }
+                }
+
+                class Secondary {
+                }
+                """);
+
+        assertEquals("com.acme.web", symbols.packageName());
+        assertEquals(List.of("java.util.List", "com.acme.base.*"), symbols.imports());
+        assertEquals(List.of("com.acme.web.Outer", "com.acme.web.Outer.Inner", "com.acme.web.Outer.Inner.Callback.Result",
+                        "com.acme.web.InEnum", "com.acme.web.InRecord", "com.acme.web.InAnnotation",
+                        "com.acme.web.Local", "com.acme.web.InAnonymous", "com.acme.web.Secondary"),
+                symbols.types().stream().map(JavaSymbolScanner.TypeSymbol::qualifiedName).toList());
+
+        JavaSymbolScanner.TypeSymbol outer = symbols.types().get(0);
+        assertEquals("BaseController", outer.superclass());
+        assertTrue(outer.marked());
+        assertEquals("Base.Nested", symbols.types().get(1).superclass());
+        assertFalse(symbols.types().get(1).marked());
+        assertEquals("Inner", symbols.types().get(6).superclass());
+        assertNull(symbols.types().get(8).superclass());
+    }
+
+    @Test
+    void scansFilesWithoutAPackage() {
+        JavaSymbolScanner.FileSymbols symbols = scan("""
+                @org.springframework.web.bind.annotation.RestController
+                class Api {
+                }
+                """);
+
+        assertEquals("", symbols.packageName());
+        assertEquals("Api", symbols.types().get(0).qualifiedName());
+        assertTrue(symbols.types().get(0).marked());
+    }
+
+    private static JavaSymbolScanner.FileSymbols scan(String source) {
+        return JavaSymbolScanner.scan(source.getBytes(StandardCharsets.UTF_8), Set.of("Controller", "RestController"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.PageInclude;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DefaultIncludeExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void extractsStaticDynamicAndImportedIncludes() throws Exception {
+        Path source = tempDir.resolve("orders/list.jsp");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                <%@ include file="/WEB-INF/jspf/header.jspf" %>
+                <jsp:directive.include file="common/banner.jspf"/>
+                <jsp:include page="sidebar.jsp" flush="true"/>
+                <c:import url="/fragments/footer.jsp"/>
+                <%@ include file="/WEB-INF/jspf/header.jspf" %>
+                """, StandardCharsets.UTF_8);
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("orders/list.jsp");
+        page.setSourcePath(source);
+
+        new DefaultIncludeExtractor().extract(tempDir, List.of(page));
+
+        List<PageInclude> includes = page.getIncludes();
+        assertEquals(List.of("/WEB-INF/jspf/header.jspf", "common/banner.jspf", "sidebar.jsp", "/fragments/footer.jsp"),
+                includes.stream().map(PageInclude::getTarget).toList());
+        assertEquals(List.of(PageInclude.TYPE_STATIC, PageInclude.TYPE_STATIC, PageInclude.TYPE_DYNAMIC,
+                PageInclude.TYPE_IMPORT), includes.stream().map(PageInclude::getType).toList());
+        assertEquals(1, includes.get(0).getLine());
+    }
+}
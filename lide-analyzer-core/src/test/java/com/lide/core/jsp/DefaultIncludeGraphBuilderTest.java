@@ -0,0 +1,104 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.FormDescriptor;
+import com.lide.core.model.HiddenField;
+import com.lide.core.model.IncludeMetrics;
+import com.lide.core.model.PageDependency;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.PageInclude;
+import com.lide.core.model.SessionDependency;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultIncludeGraphBuilderTest {
+
+    @Test
+    void mergesTransitiveFragmentFindingsIntoIncludingPages() {
+        PageDescriptor header = page("src/main/webapp/WEB-INF/jspf/header.jspf",
+                new PageInclude("menu.jspf", PageInclude.TYPE_STATIC));
+        header.setSessionDependencies(List.of(sessionKey("currentUser")));
+        PageDescriptor menu = page("src/main/webapp/WEB-INF/jspf/menu.jspf");
+        menu.setHiddenFields(List.of(hiddenField("menuState")));
+        PageDescriptor search = page("src/main/webapp/orders/search.jsp",
+                new PageInclude("/WEB-INF/jspf/header.jspf", PageInclude.TYPE_STATIC),
+                new PageInclude("../fragments/filter.jsp?mode=full", PageInclude.TYPE_DYNAMIC));
+        PageDescriptor filter = page("src/main/webapp/fragments/filter.jsp");
+        FormDescriptor filterForm = new FormDescriptor();
+        filterForm.setFormId("filter");
+        filter.setForms(List.of(filterForm));
+        PageDescriptor detail = page("src/main/webapp/orders/detail.jsp",
+                new PageInclude("/WEB-INF/jspf/header.jspf", PageInclude.TYPE_STATIC),
+                new PageInclude("${dynamicPage}", PageInclude.TYPE_DYNAMIC));
+
+        IncludeMetrics metrics = new DefaultIncludeGraphBuilder()
+                .build(Path.of("."), List.of(header, menu, search, filter, detail));
+
+        assertEquals(List.of("currentUser"), keys(search.getSessionDependencies()));
+        assertEquals(List.of("menuState"), search.getHiddenFields().stream().map(HiddenField::getName).toList());
+        assertEquals(1, search.getForms().size());
+        assertNotSame(filterForm, search.getForms().get(0));
+        assertEquals(List.of("currentUser"), keys(detail.getSessionDependencies()));
+        assertEquals(List.of("menuState"), header.getHiddenFields().stream().map(HiddenField::getName).toList());
+        assertTrue(filter.getHiddenFields().isEmpty());
+
+        assertEquals(List.of("src/main/webapp/WEB-INF/jspf/header.jspf", "src/main/webapp/fragments/filter.jsp"),
+                search.getPageDependencies().stream().map(PageDependency::getTo).toList());
+        assertEquals("dynamicInclude", search.getPageDependencies().get(1).getType());
+        assertEquals(4, metrics.getResolvedIncludes());
+        assertEquals(List.of("src/main/webapp/orders/detail.jsp -> ${dynamicPage}"), metrics.getUnresolvedIncludes());
+        assertEquals(3, metrics.getFragmentReuse().get("src/main/webapp/WEB-INF/jspf/menu.jspf"));
+        assertEquals(2, metrics.getFragmentReuse().get("src/main/webapp/WEB-INF/jspf/header.jspf"));
+        assertEquals(1, metrics.getFragmentReuse().get("src/main/webapp/fragments/filter.jsp"));
+    }
+
+    @Test
+    void reportsIncludeCyclesOnceAndStillMergesEachFragment() {
+        PageDescriptor a = page("a.jspf", new PageInclude("b.jspf", PageInclude.TYPE_STATIC));
+        a.setHiddenFields(List.of(hiddenField("fromA")));
+        PageDescriptor b = page("b.jspf", new PageInclude("c.jspf", PageInclude.TYPE_STATIC));
+        b.setHiddenFields(List.of(hiddenField("fromB")));
+        PageDescriptor c = page("c.jspf", new PageInclude("a.jspf", PageInclude.TYPE_STATIC));
+        c.setHiddenFields(List.of(hiddenField("fromC")));
+
+        IncludeMetrics metrics = new DefaultIncludeGraphBuilder().build(Path.of("."), List.of(a, b, c));
+
+        assertEquals(List.of(List.of("a.jspf", "b.jspf", "c.jspf", "a.jspf")), metrics.getCycles());
+        assertEquals(List.of("fromA", "fromB", "fromC"), a.getHiddenFields().stream().map(HiddenField::getName).toList());
+        assertEquals(List.of("fromB", "fromC", "fromA"), b.getHiddenFields().stream().map(HiddenField::getName).toList());
+        assertEquals(List.of("fromC", "fromA", "fromB"), c.getHiddenFields().stream().map(HiddenField::getName).toList());
+    }
+
+    private static PageDescriptor page(String pageId, PageInclude... includes) {
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId(pageId);
+        page.setSourcePath(Path.of(pageId));
+        page.setIncludes(List.of(includes));
+        page.setHiddenFields(new ArrayList<>());
+        page.setSessionDependencies(new ArrayList<>());
+        page.setPageDependencies(new ArrayList<>());
+        return page;
+    }
+
+    private static HiddenField hiddenField(String name) {
+        HiddenField field = new HiddenField();
+        field.setName(name);
+        return field;
+    }
+
+    private static SessionDependency sessionKey(String key) {
+        SessionDependency dependency = new SessionDependency();
+        dependency.setKey(key);
+        return dependency;
+    }
+
+    private static List<String> keys(List<SessionDependency> dependencies) {
+        return dependencies.stream().map(SessionDependency::getKey).toList();
+    }
+}
@@ -1,15 +1,19 @@
 package com.lide.core.jsp;
 
+import com.lide.core.model.JsRoutingHint;
 import com.lide.core.model.PageDescriptor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultJsRoutingExtractorTest {
 
@@ -33,4 +37,57 @@ class DefaultJsRoutingExtractorTest {
         assertEquals(2, page.getJsRoutingHints().size());
         assertEquals("home.jsp", page.getJsRoutingHints().get(0).getTargetPage());
     }
+
+    @Test
+    void sharesRoutingHintsFromExternalScriptsAcrossPages() throws Exception {
+        Path webRoot = tempDir.resolve("src/main/webapp");
+        Files.createDirectories(webRoot.resolve("js"));
+        Files.writeString(webRoot.resolve("js/routing.js"),
+                "function goHome() { window.location.href = 'home.jsp'; }\n", StandardCharsets.UTF_8);
+        PageDescriptor orders = page(webRoot.resolve("orders/list.jsp"),
+                "<script src=\"${pageContext.request.contextPath}/js/routing.js?v=3\"></script>");
+        PageDescriptor customers = page(webRoot.resolve("customers/list.jsp"),
+                "<script type=\"text/javascript\" src=\"../js/routing.js\"></script>"
+                        + "<script src=\"https://cdn.example.com/lib.js\"></script>");
+
+        new DefaultJsRoutingExtractor().extract(tempDir, List.of(orders, customers));
+
+        assertEquals(1, orders.getJsRoutingHints().size());
+        assertEquals("home.jsp", orders.getJsRoutingHints().get(0).getTargetPage());
+        assertTrue(orders.getJsRoutingHints().get(0).getSnippet().contains("goHome"));
+        assertSame(orders.getJsRoutingHints().get(0), customers.getJsRoutingHints().get(0));
+    }
+
+    @Test
+    void resolvesTheScriptsOfADuplicatePageFromItsOwnDirectory() throws Exception {
+        Path webRoot = tempDir.resolve("src/main/webapp");
+        Files.createDirectories(webRoot.resolve("admin"));
+        Files.createDirectories(webRoot.resolve("user"));
+        Files.writeString(webRoot.resolve("admin/menu.js"),
+                "window.location.href = 'adminHome.jsp';\n", StandardCharsets.UTF_8);
+        Files.writeString(webRoot.resolve("user/menu.js"),
+                "window.location.href = 'userHome.jsp';\n", StandardCharsets.UTF_8);
+        String content = "<script src=\"menu.js\"></script>"
+                + "<script>window.location.href = 'logout.jsp';</script>";
+        PageDescriptor admin = page(webRoot.resolve("admin/menu.jsp"), content);
+        PageDescriptor user = page(webRoot.resolve("user/menu.jsp"), content);
+        user.setCanonicalPage(admin);
+
+        new DefaultJsRoutingExtractor().extract(tempDir, List.of(admin, user));
+
+        assertEquals(List.of("logout.jsp", "adminHome.jsp"),
+                admin.getJsRoutingHints().stream().map(JsRoutingHint::getTargetPage).toList());
+        assertEquals(List.of("logout.jsp", "userHome.jsp"),
+                user.getJsRoutingHints().stream().map(JsRoutingHint::getTargetPage).toList());
+        assertSame(admin.getJsRoutingHints().get(0), user.getJsRoutingHints().get(0));
+    }
+
+    private PageDescriptor page(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "<html><body>" + content + "</body></html>", StandardCharsets.UTF_8);
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId(tempDir.relativize(path).toString().replace('\\', '/'));
+        page.setSourcePath(path);
+        return page;
+    }
 }
@@ -1,6 +1,7 @@
 package com.lide.core.jsp;
 
 import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.model.FieldDescriptor;
 import com.lide.core.model.OutputFieldDescriptor;
 import com.lide.core.model.OutputSectionDescriptor;
 import com.lide.core.model.PageDescriptor;
@@ -13,7 +14,9 @@ import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 class DefaultJspAnalyzerTest {
@@ -110,4 +113,118 @@ class DefaultJspAnalyzerTest {
         assertEquals("Customer:", field.getLabel());
         assertNull(field.getNotes());
     }
+
+    @Test
+    void resolvesLabelsReferencedByForAttributes() throws Exception {
+        String jsp = """
+                <html>
+                  <head><title>Applicant</title></head>
+                  <body>
+                    <label for='firstName'>First name</label>
+                    <label for='FIRSTNAME'>Duplicate</label>
+                    <form id='applicant' action='/applicant/save.do'>
+                      <input type='text' id='firstName' name='applicant.firstName'/>
+                      <label for=' Email '>E-mail</label>
+                      <input type='text' id='email' name='applicant.email'/>
+                      <input type='text' id='phone' name='applicant.phone'/>
+                    </form>
+                  </body>
+                </html>
+                """;
+
+        Path jspPath = tempDir.resolve("applicant.jsp");
+        Files.writeString(jspPath, jsp, StandardCharsets.UTF_8);
+
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJspFile(jspPath);
+
+        PageDescriptor descriptor = analyzer.analyze(tempDir, index).get(0);
+        assertEquals("Applicant", descriptor.getTitle());
+        assertEquals(1, descriptor.getForms().size());
+
+        List<FieldDescriptor> fields = descriptor.getForms().get(0).getFields();
+        assertEquals(3, fields.size());
+        assertEquals("First name", fields.get(0).getLabel());
+        assertEquals("E-mail", fields.get(1).getLabel());
+        assertNull(fields.get(2).getLabel());
+
+        assertEquals(6, descriptor.getForms().get(0).getLine());
+        assertEquals(5, descriptor.getForms().get(0).getColumn());
+        assertEquals(7, fields.get(0).getLine());
+        assertEquals(7, fields.get(0).getColumn());
+        assertEquals(10, fields.get(2).getLine());
+    }
+
+    @Test
+    void skipsTextInsideTablesAndFormsButKeepsNestedBlocksInOrder() throws Exception {
+        String jsp = """
+                <html>
+                  <body>
+                    <div id='outer'>Outer ${page.heading}
+                      <div><span id='inner'>Inner ${page.subheading}</span></div>
+                    </div>
+                    <form action='/save.do'><p>Form ${form.hint}</p></form>
+                    <table><tr><td><div>Cell ${row.value}</div></td></tr></table>
+                    <script>var x = '${script.value}';</script>
+                    <p id='footer'>Footer ${page.footer}</p>
+                  </body>
+                </html>
+                """;
+
+        Path jspPath = tempDir.resolve("layout.jsp");
+        Files.writeString(jspPath, jsp, StandardCharsets.UTF_8);
+
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJspFile(jspPath);
+
+        List<OutputSectionDescriptor> outputs = analyzer.analyze(tempDir, index).get(0).getOutputs();
+        List<String> textSections = outputs.stream()
+                .filter(section -> "TEXT_BLOCK".equals(section.getType()))
+                .map(OutputSectionDescriptor::getSectionId)
+                .toList();
+        assertEquals(List.of("outer", "inner", "footer"), textSections);
+    }
+
+    @Test
+    void analyzesIdenticalPagesOnceAndCopiesTheResult() throws Exception {
+        String jsp = """
+                <html><body>
+                  <form id='search' action='/search.do'>
+                    <input type='text' name='query'/>
+                  </form>
+                  <a href='results.jsp'>Results</a>
+                </body></html>
+                """;
+        Path first = tempDir.resolve("admin/error.jsp");
+        Path second = tempDir.resolve("user/error.jsp");
+        Path other = tempDir.resolve("user/other.jsp");
+        Files.createDirectories(first.getParent());
+        Files.createDirectories(second.getParent());
+        Files.writeString(first, jsp, StandardCharsets.UTF_8);
+        Files.writeString(second, jsp, StandardCharsets.UTF_8);
+        Files.writeString(other, jsp.replace("search", "lookup"), StandardCharsets.UTF_8);
+
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJspFile(first);
+        index.addJspFile(second);
+        index.addJspFile(other);
+
+        List<PageDescriptor> descriptors = analyzer.analyze(tempDir, index);
+        new DefaultNavigationTargetExtractor().extract(tempDir, descriptors);
+        assertEquals(3, descriptors.size());
+
+        PageDescriptor canonical = descriptors.get(0);
+        PageDescriptor duplicate = descriptors.get(1);
+        assertNull(canonical.getDuplicateOf());
+        assertEquals("user/error.jsp", duplicate.getPageId());
+        assertEquals(second, duplicate.getSourcePath());
+        assertEquals("admin/error.jsp", duplicate.getDuplicateOf());
+        assertNull(descriptors.get(2).getDuplicateOf());
+
+        assertEquals("search", duplicate.getForms().get(0).getFormId());
+        assertNotSame(canonical.getForms().get(0), duplicate.getForms().get(0));
+        assertNotSame(canonical.getForms().get(0).getFields().get(0), duplicate.getForms().get(0).getFields().get(0));
+        assertFalse(duplicate.getNavigationTargets().isEmpty());
+        assertEquals(canonical.getNavigationTargets(), duplicate.getNavigationTargets());
+    }
 }
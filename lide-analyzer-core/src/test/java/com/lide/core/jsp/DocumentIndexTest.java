@@ -0,0 +1,60 @@
+package com.lide.core.jsp;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentIndexTest {
+
+    @Test
+    void indexesTablesRowsAndCellsInDocumentOrder() {
+        Document document = Jsoup.parse("<table id='outer'><thead><tr><th>Name</th><th>Amount</th></tr></thead>"
+                + "<tbody><tr><td>${row.name}</td><td><table id='inner'><tr><td>${row.amount}</td></tr></table></td></tr>"
+                + "</tbody></table>");
+
+        DocumentIndex index = DocumentIndex.build(document);
+
+        List<Element> tables = index.tables();
+        assertEquals(List.of("outer", "inner"), tables.stream().map(Element::id).toList());
+
+        List<DocumentIndex.Row> outerRows = index.rows(tables.get(0));
+        assertEquals(tables.get(0).select("tr").size(), outerRows.size());
+        assertTrue(outerRows.get(0).inHead());
+        assertTrue(outerRows.get(0).hasHeaderCells());
+        assertFalse(outerRows.get(0).hasDataCells());
+        assertEquals(2, outerRows.get(0).cells().size());
+
+        DocumentIndex.Row bodyRow = outerRows.get(1);
+        assertTrue(bodyRow.inBody());
+        assertTrue(bodyRow.hasDataCells());
+        assertEquals(2, bodyRow.cells().size());
+
+        List<DocumentIndex.Row> innerRows = index.rows(tables.get(1));
+        assertEquals(1, innerRows.size());
+        assertSame(outerRows.get(2), innerRows.get(0));
+    }
+
+    @Test
+    void indexesFormsOptionsAndLabels() {
+        Document document = Jsoup.parse("<html:form action='a.do'><label for=' Status '>Status</label>"
+                + "<select id='status'><option value='A'>Active</option><option value='I'>Inactive</option></select>"
+                + "</html:form><form action='b.do'><s:select name='kind'><option>One</option></s:select></form>");
+
+        DocumentIndex index = DocumentIndex.build(document);
+
+        assertEquals(List.of("form", "html:form"), index.forms().stream().map(Element::normalName).toList());
+        Element select = index.elements("select").get(0);
+        assertEquals(List.of("A", "I"), index.options(select).stream().map(option -> option.attr("value")).toList());
+        assertEquals(1, index.options(index.elements("s:select").get(0)).size());
+        assertEquals("Status", index.labelFor("status").text());
+        assertTrue(index.options(index.forms().get(0)).isEmpty());
+    }
+}
@@ -0,0 +1,55 @@
+package com.lide.core.jsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionScannerTest {
+
+    @Test
+    void reportsOffsetsForEachExpressionKind() {
+        String text = "a ${x.y} b %{z} c #{w}";
+        long span = ExpressionScanner.next(text, 0);
+        assertEquals(2, ExpressionScanner.start(span));
+        assertEquals(8, ExpressionScanner.end(span));
+
+        span = ExpressionScanner.next(text, ExpressionScanner.end(span));
+        assertEquals("%{z}", text.substring(ExpressionScanner.start(span), ExpressionScanner.end(span)));
+
+        assertEquals(List.of("${x.y}", "%{z}", "#{w}"), ExpressionScanner.extract(text));
+        assertEquals(List.of("${x.y}"), ExpressionScanner.extract(text, ExpressionScanner.DOLLAR));
+        assertEquals("#{w}", ExpressionScanner.first(text, ExpressionScanner.HASH));
+    }
+
+    @Test
+    void balancesNestedBracesAndIgnoresQuotedClosers() {
+        assertEquals(List.of("${map['a}b'].value}"), ExpressionScanner.extract("v=${map['a}b'].value}!"));
+        assertEquals(List.of("%{#{'k':1}.size()}"), ExpressionScanner.extract("%{#{'k':1}.size()}"));
+        assertEquals(List.of("${\"q\\\"}\"}"), ExpressionScanner.extract("${\"q\\\"}\"}"));
+    }
+
+    @Test
+    void skipsUnterminatedAndEmptyExpressions() {
+        assertEquals(ExpressionScanner.NOT_FOUND, ExpressionScanner.next("${open", 0));
+        assertEquals(List.of("${b}"), ExpressionScanner.extract("${} ${b}"));
+        assertFalse(ExpressionScanner.contains("price: $5 {each}", ExpressionScanner.ALL));
+        assertTrue(ExpressionScanner.contains("${a}", ExpressionScanner.DOLLAR));
+        assertFalse(ExpressionScanner.contains("%{a}", ExpressionScanner.DOLLAR));
+        assertNull(ExpressionScanner.first(null, ExpressionScanner.ALL));
+    }
+
+    @Test
+    void stripsExpressionsAndScriptletMarkers() {
+        assertEquals("Total:  items", ExpressionScanner.strip("Total: ${cart.count} items"));
+        assertEquals("name", ExpressionScanner.strip("<%=name%>"));
+        assertEquals("a  c", ExpressionScanner.strip("a %{b} c"));
+        String plain = "nothing to strip";
+        assertSame(plain, ExpressionScanner.strip(plain));
+    }
+}
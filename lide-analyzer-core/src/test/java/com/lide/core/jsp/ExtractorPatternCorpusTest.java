@@ -0,0 +1,63 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Regression corpus of inputs that made the script-scanning patterns backtrack super-linearly.
+ */
+class ExtractorPatternCorpusTest {
+
+    private static final int SIZE = 1 << 20;
+    private static final Duration LIMIT = Duration.ofSeconds(10);
+
+    @Test
+    void extractorsStayLinearOnPathologicalPages() {
+        Map<String, String> corpus = new LinkedHashMap<>();
+        corpus.put("token-without-query", "a".repeat(SIZE));
+        corpus.put("query-with-long-name", "x?" + "b".repeat(SIZE));
+        corpus.put("unclosed-jsp-string", "'" + "a.jsp/".repeat(SIZE / 6));
+        corpus.put("unclosed-query-string", "\"" + "p?q".repeat(SIZE / 3));
+        corpus.put("location-without-quotes", "location = ".repeat(SIZE / 11));
+        corpus.put("parent-location-unclosed", "parent.main.location='" + "next.jsp/".repeat(SIZE / 9));
+        corpus.put("session-call-unclosed", "session.getAttribute(\"" + "k".repeat(SIZE));
+
+        List<Consumer<List<PageDescriptor>>> extractors = List.of(
+                pages -> new DefaultNavigationTargetExtractor().extract(null, pages),
+                pages -> new DefaultUrlParameterExtractor().extract(null, pages),
+                pages -> new DefaultJsRoutingExtractor().extract(null, pages),
+                pages -> new DefaultCrossFrameInteractionExtractor().extract(null, pages),
+                pages -> new DefaultSessionUsageExtractor().extract(null, pages));
+
+        for (Map.Entry<String, String> entry : corpus.entrySet()) {
+            List<PageDescriptor> pages = new ArrayList<>();
+            pages.add(page(entry.getKey(), entry.getValue()));
+            for (Consumer<List<PageDescriptor>> extractor : extractors) {
+                assertTimeoutPreemptively(LIMIT, () -> extractor.accept(pages), entry.getKey());
+            }
+            assertNull(pages.get(0).getPartiallyAnalyzed(), entry.getKey());
+        }
+    }
+
+    private PageDescriptor page(String name, String content) {
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId(name + ".jsp");
+        page.setSourcePath(Path.of(name + ".jsp"));
+        // An unclosed <script> and scriptlet make the whole page both a script region and Java code, so every
+        // pattern still runs over the full input.
+        page.setSource(new SourceText(page.getPageId(), "<script><%" + content));
+        return page;
+    }
+}
@@ -0,0 +1,52 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.JspRegions;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JspLexerTest {
+
+    @Test
+    void classifiesEveryScriptingElementInOnePass() {
+        String text = "<%@ page session=\"false\" %><%-- old <% code %> --%>"
+                + "<%! int count; %><% if (a < b) { %><b>${x}</b><% } %><%= user.getName() %><% unclosed";
+
+        JspRegions regions = JspLexer.lex(text);
+
+        List<String> kinds = new ArrayList<>();
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < regions.count(); i++) {
+            kinds.add(regions.kind(i).name());
+            bodies.add(text.substring(regions.bodyStart(i), regions.bodyEnd(i)).trim());
+        }
+        assertEquals(List.of("DIRECTIVE", "COMMENT", "DECLARATION", "SCRIPTLET", "SCRIPTLET", "EXPRESSION", "SCRIPTLET"),
+                kinds);
+        assertEquals(List.of("page session=\"false\"", "old <% code %>", "int count;", "if (a < b) {", "}",
+                "user.getName()", "unclosed"), bodies);
+        assertEquals(text.length(), regions.end(regions.count() - 1));
+        assertTrue(regions.hasJavaCode());
+    }
+
+    @Test
+    void masksScriptletsForHtmlParsingWithoutMovingOffsets() {
+        String text = "<%@ taglib prefix=\"c\" uri=\"x\" %>\n<table><% for (int i = 0; i < rows.size(); i++) { %>\n"
+                + "<tr><td>${row.name}</td><td><%= row.getId() %></td></tr>\n<% } %></table>";
+
+        String markup = JspLexer.markup(text, JspLexer.lex(text));
+
+        assertEquals(text.length(), markup.length());
+        assertEquals(text.lines().count(), markup.lines().count());
+        assertFalse(markup.contains("rows.size()"));
+        assertTrue(markup.contains("<%= row.getId() %>"));
+        Document document = Jsoup.parse(markup);
+        assertEquals(2, document.select("td").size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageScanTest {
+
+    private static final Pattern TOKEN = Pattern.compile("(?<![\\w.])page\\d++\\.jsp");
+
+    @Test
+    void windowedScanReportsEachMatchOnceInSourceOrder() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append("go('page").append(i).append(".jsp'); ");
+        }
+        SourceText source = new SourceText("large.jsp", text.toString());
+
+        List<String> whole = matches(new ScanLimits(0, Integer.MAX_VALUE).begin(source));
+        List<String> windowed = matches(new ScanLimits(0, ScanLimits.WINDOW_OVERLAP * 3L).begin(source));
+
+        assertEquals(20_000, whole.size());
+        assertEquals(whole, windowed);
+    }
+
+    @Test
+    void stopsCatastrophicBacktrackingAtTheTimeBudget() {
+        SourceText source = new SourceText("slow.jsp", "a".repeat(40));
+        PageScan scan = new ScanLimits(50, Integer.MAX_VALUE).begin(source);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(PageScan.BudgetExceededException.class,
+                        () -> scan.find(Pattern.compile("(.*a){10}b"), matcher -> {
+                        })));
+    }
+
+    @Test
+    void passesOverOnePageShareItsBudget() {
+        SourceText source = new SourceText("slow.jsp", "a".repeat(40));
+        PageDescriptor page = new PageDescriptor();
+        ScanLimits limits = new ScanLimits(50, Integer.MAX_VALUE);
+
+        PageScan first = limits.begin(page, source);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThrows(PageScan.BudgetExceededException.class,
+                        () -> first.find(Pattern.compile("(.*a){10}b"), matcher -> {
+                        })));
+        assertTrue(page.getScanNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        // A later extractor gets only what is left, which is nothing.
+        PageScan second = new ScanLimits(50, Integer.MAX_VALUE).beginScripts(page, source);
+        assertThrows(PageScan.BudgetExceededException.class, () -> second.find(TOKEN, matcher -> {
+        }));
+
+        PageDescriptor other = new PageDescriptor();
+        assertEquals(List.of(), matches(limits.begin(other, source)));
+        assertTrue(other.getScanNanos() > 0);
+    }
+
+    @Test
+    void marksPagePartiallyAnalyzedAndKeepsExistingNotes() {
+        PageDescriptor page = new PageDescriptor();
+        page.setNotes(List.of("existing"));
+
+        new ScanLimits(250, Integer.MAX_VALUE).begin(new SourceText("p.jsp", "")).markPartial(page, "navigation extraction");
+
+        assertEquals(Boolean.TRUE, page.getPartiallyAnalyzed());
+        assertEquals(2, page.getNotes().size());
+        assertTrue(page.getNotes().get(1).contains("navigation extraction stopped after the 250 ms"));
+    }
+
+    private List<String> matches(PageScan scan) {
+        List<String> found = new ArrayList<>();
+        scan.find(TOKEN, matcher -> found.add(matcher.group()));
+        return found;
+    }
+}
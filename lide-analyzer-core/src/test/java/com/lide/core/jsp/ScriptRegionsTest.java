@@ -0,0 +1,57 @@
+package com.lide.core.jsp;
+
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.model.SourceText;
+import com.lide.core.model.TextRegions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptRegionsTest {
+
+    @Test
+    void findsScriptBodiesHandlersAndJavascriptUrls() {
+        String text = "<table><tr><td>'report.jsp'</td></tr></table>"
+                + "<script type='text/javascript'>go('a.jsp');</script>"
+                + "<button onclick=\"location='b.jsp'\">B</button>"
+                + "<a href='javascript:open(\"c.jsp\")'>C</a><a href='d.jsp'>D</a>"
+                + "<% String next = \"e.jsp\"; %>";
+
+        TextRegions regions = ScriptRegions.find(text);
+
+        assertEquals(List.of("go('a.jsp');", "location='b.jsp'", "javascript:open(\"c.jsp\")"), regionTexts(text, regions));
+    }
+
+    @Test
+    void scriptExtractorsScanOnlyScriptRegions() {
+        String markup = "<tr><td>'row.jsp'</td></tr>".repeat(200);
+        String text = "<html><body><table>" + markup + "</table>"
+                + "<script>window.location='home.jsp';</script></body></html>";
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("list.jsp");
+        page.setSourcePath(Path.of("list.jsp"));
+        page.setSource(new SourceText("list.jsp", text));
+
+        new DefaultNavigationTargetExtractor().extract(null, List.of(page));
+
+        assertEquals(List.of("home.jsp"), page.getNavigationTargets().stream()
+                .map(target -> target.getTargetPage()).distinct().toList());
+        String body = "window.location='home.jsp';";
+        // Two script patterns, each run over the one script body.
+        assertEquals(2L * body.length(), page.getScriptScannedChars());
+        assertTrue(page.getScriptScannedChars() < text.length());
+    }
+
+    private static List<String> regionTexts(String text, TextRegions regions) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < regions.count(); i++) {
+            texts.add(text.substring(regions.start(i), regions.end(i)));
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,79 @@
+package com.lide.core.jsp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagTokenizerTest {
+
+    @Test
+    void reportsTagsAndAttributesWithoutParsingContent() {
+        String text = "<!DOCTYPE html><!-- <a href='x'> --><HTML:Form action=\"save.do?mode=a&amp;b=1\" disabled>"
+                + "<script>if (a<b) { document.write('<input>'); }</script>"
+                + "<input type=hidden name = token value='${t}'/><a href=list.do>List</a></html:form> 1 < 2";
+
+        TagTokenizer tags = TagTokenizer.of(text);
+        List<String> seen = new ArrayList<>();
+        while (tags.next()) {
+            seen.add((tags.isEndTag() ? "/" : "") + tags.name());
+        }
+        assertEquals(List.of("html:form", "script", "/script", "input", "a", "/a", "/html:form"), seen);
+
+        tags = TagTokenizer.of(text);
+        assertTrue(tags.next());
+        assertEquals("save.do?mode=a&b=1", tags.attribute("ACTION"));
+        assertEquals("", tags.attribute("disabled"));
+        assertNull(tags.attribute("method"));
+        assertEquals(text.indexOf("<HTML:Form"), tags.start());
+
+        tags.next();
+        tags.next();
+        assertTrue(tags.next());
+        assertTrue(tags.nameIs("input"));
+        assertTrue(tags.isSelfClosing());
+        assertEquals("token", tags.attribute("name"));
+        assertEquals("${t}", tags.attribute("value"));
+        assertEquals(3, tags.attributeCount());
+
+        assertTrue(tags.next());
+        assertEquals(text.indexOf("</a>") + 4, tags.elementEnd());
+        assertEquals(text.indexOf("List"), tags.end());
+    }
+
+    @Test
+    void tracksNestingOfSelectedTags() {
+        String text = "<frameset name='outer'><frame name='a'><frameset><frame name='b'></frameset>"
+                + "<frame name='c'></frameset><iframe src='x'><frame name='ignored'></iframe>";
+
+        TagTokenizer tags = TagTokenizer.nesting(text, Set.of("frameset"));
+        List<String> depths = new ArrayList<>();
+        while (tags.next()) {
+            if (!tags.isEndTag() && tags.attribute("name") != null) {
+                depths.add(tags.attribute("name") + "@" + tags.depth());
+            }
+        }
+        assertEquals(List.of("outer@0", "a@1", "b@2", "c@1"), depths);
+        assertEquals(0, tags.depth());
+    }
+
+    @Test
+    void leavesUnclosedElementsAtTheirStartTag() {
+        String text = "<a href='one'>One <a href='two'>Two</a>";
+
+        TagTokenizer tags = TagTokenizer.of(text);
+        assertTrue(tags.next());
+        assertEquals(tags.end(), tags.elementEnd());
+        assertTrue(tags.next());
+        assertEquals(text.length(), tags.elementEnd());
+        assertTrue(tags.next());
+        assertFalse(tags.next());
+        assertEquals(text.length(), tags.textStart());
+    }
+}
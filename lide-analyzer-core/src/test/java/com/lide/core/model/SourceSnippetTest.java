@@ -0,0 +1,66 @@
+package com.lide.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SourceSnippetTest {
+
+    @Test
+    void materializesContextWindowWithLineBreaksAsSpaces() {
+        SourceText source = new SourceText("page.jsp", "0123456789\nwindow.location='next.jsp';\nabcdefghij");
+        int start = source.getContent().indexOf("window");
+        int end = source.getContent().indexOf(';') + 1;
+
+        SourceSnippet snippet = SourceSnippet.around(source, start, end, 5, 160);
+        assertEquals("6789 window.location='next.jsp'; abcd", snippet.toString());
+        assertEquals("page.jsp", snippet.getSourceId());
+        assertEquals(6, snippet.getStart());
+
+        assertEquals("6789 wi", SourceSnippet.around(source, start, end, 5, 7).toString());
+        assertEquals(source.length(), SourceSnippet.around(source, 0, source.length(), 40, 1000).length());
+    }
+
+    @Test
+    void comparesByRenderedContent() {
+        SourceText first = new SourceText("a.jsp", "x\nlocation='a.jsp'\ny");
+        SourceText second = new SourceText("b.jsp", "x location='a.jsp' y");
+        SourceSnippet fromFirst = SourceSnippet.of(first, 0, first.length(), 160);
+        SourceSnippet fromSecond = SourceSnippet.of(second, 0, second.length(), 160);
+
+        assertEquals(fromFirst, fromSecond);
+        assertEquals(fromFirst.hashCode(), fromSecond.hashCode());
+        assertEquals(fromFirst.toString().hashCode(), fromFirst.hashCode());
+        assertNotEquals(fromFirst, SourceSnippet.of(first, 0, 5, 160));
+        assertEquals("location", fromFirst.subSequence(2, 10).toString());
+    }
+
+    @Test
+    void keepsItsTextOnceTheSourceIsReleased() {
+        SourceText source = new SourceText("page.jsp", "<a href='next.jsp'>\nNext</a>");
+        SourceSnippet snippet = SourceSnippet.of(source, 3, 18, 160);
+        SourceSnippet same = SourceSnippet.of(source, 3, 18, 160);
+
+        source.release();
+
+        assertEquals("href='next.jsp'", snippet.toString());
+        assertEquals("page.jsp", snippet.getSourceId());
+        assertEquals(3, snippet.getStart());
+        assertEquals('h', snippet.charAt(0));
+        assertEquals("next", snippet.subSequence(6, 10).toString());
+        assertEquals(same, snippet);
+        assertNotEquals(SourceSnippet.of(new SourceText("other.jsp", "<a href='prev.jsp'>"), 3, 18, 160), snippet);
+    }
+
+    @Test
+    void findingsMaterializeSnippetOnRead() {
+        SourceText source = new SourceText("page.jsp", "<a href='next.jsp'>\nNext</a>");
+        NavigationTarget target = new NavigationTarget();
+        target.setSnippetSource(SourceSnippet.of(source, 0, source.length(), 160));
+        assertEquals("<a href='next.jsp'> Next</a>", target.getSnippet());
+
+        target.setSnippet("literal");
+        assertEquals("literal", target.getSnippet());
+    }
+}
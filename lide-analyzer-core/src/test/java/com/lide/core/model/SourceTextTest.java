@@ -0,0 +1,53 @@
+package com.lide.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SourceTextTest {
+
+    @Test
+    void mapsOffsetsToOneBasedLinesAndColumns() {
+        SourceText source = new SourceText("page.jsp", "ab\ncd\r\nef\rgh");
+
+        assertEquals(4, source.lineCount());
+        assertEquals(1, source.lineOf(0));
+        assertEquals(1, source.columnOf(0));
+        assertEquals(1, source.lineOf(2));
+        assertEquals(3, source.columnOf(2));
+        assertEquals(2, source.lineOf(3));
+        assertEquals(2, source.columnOf(4));
+        assertEquals(3, source.lineOf(7));
+        assertEquals(1, source.columnOf(7));
+        assertEquals(4, source.lineOf(10));
+        assertEquals(2, source.columnOf(11));
+    }
+
+    @Test
+    void treatsEndOfContentAsPartOfLastLine() {
+        SourceText source = new SourceText("page.jsp", "one\n");
+
+        assertEquals(2, source.lineCount());
+        assertEquals(2, source.lineOf(source.length()));
+        assertEquals(1, source.columnOf(source.length()));
+        assertEquals(1, new SourceText("empty.jsp", "").lineCount());
+    }
+
+    @Test
+    void digestsContentIndependentlyOfItsRepresentation() {
+        String text = "<p>é</p>\n".repeat(2_000);
+        SourceText first = new SourceText("a.jsp", text);
+        SourceText second = new SourceText("b.jsp", new StringBuilder(text));
+        SourceText other = new SourceText("c.jsp", text.replace('é', 'e'));
+
+        assertEquals(first.digest(), second.digest());
+        assertEquals(first.digest().hashCode(), second.digest().hashCode());
+        assertEquals(text.length(), first.digest().length());
+        assertNotEquals(first.digest(), other.digest());
+        assertTrue(first.contentEquals(second));
+        assertFalse(first.contentEquals(other));
+    }
+}
@@ -0,0 +1,206 @@
+package com.lide.core.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.fs.DefaultCodebaseScanner;
+import com.lide.core.java.DefaultJavaUsageAnalyzer;
+import com.lide.core.java.JavaMetadataIndex;
+import com.lide.core.java.JavaUsageAnalyzer;
+import com.lide.core.jsp.DefaultIncludeGraphBuilder;
+import com.lide.core.jsp.DefaultJspAnalyzer;
+import com.lide.core.jsp.DefaultNavigationTargetExtractor;
+import com.lide.core.jsp.DefaultPageDependencyGraphBuilder;
+import com.lide.core.model.PageDescriptor;
+import com.lide.core.report.DefaultJsonSchemaGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void analyzesPagesAndWritesJsonWhileScanning() throws Exception {
+        Path root = tempDir.resolve("app");
+        for (int i = 0; i < 12; i++) {
+            writePage(root.resolve("pages/page" + i + ".jsp"), "page" + i, "page" + (i + 1) + ".jsp");
+        }
+        writePage(root.resolve("a/error.jsp"), "error", "home.jsp");
+        writePage(root.resolve("b/error.jsp"), "error", "home.jsp");
+        Path form = root.resolve("src/com/acme/CustomerForm.java");
+        Files.createDirectories(form.getParent());
+        Files.writeString(form, """
+                package com.acme;
+                public class CustomerForm extends org.apache.struts.action.ActionForm {
+                    private String name;
+                }
+                """, StandardCharsets.UTF_8);
+
+        AnalyzerConfig config = config(root, 3);
+        AnalysisPipeline.Result result = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> pipeline(config,
+                List.of(new DefaultNavigationTargetExtractor()::extract, new DefaultPageDependencyGraphBuilder()::build))
+                .run());
+
+        try (CodebaseIndex index = result.index()) {
+            assertEquals(14, index.getJspFiles().size());
+            List<PageDescriptor> pages = result.pages();
+            assertEquals(14, pages.size());
+            for (PageDescriptor page : pages) {
+                assertFalse(page.getNavigationTargets().isEmpty(), page.getPageId());
+                assertNotNull(page.getPageDependencies(), page.getPageId());
+                assertNull(page.getSource(), page.getPageId());
+                assertNotNull(page.getNavigationTargets().get(0).getSnippet(), page.getPageId());
+            }
+            Set<String> duplicates = pages.stream()
+                    .filter(page -> page.getDuplicateOf() != null)
+                    .map(PageDescriptor::getPageId)
+                    .collect(Collectors.toSet());
+            assertEquals(1, duplicates.size());
+            assertTrue(result.javaMetadata().getStrutsFormClasses().contains("com.acme.CustomerForm"));
+
+            Map<?, ?> summary = new ObjectMapper().readValue(config.getOutputDir().resolve("summary.json").toFile(), Map.class);
+            assertEquals(14, summary.get("pageCount"));
+            List<?> entries = (List<?>) summary.get("pages");
+            List<String> summaryOrder = entries.stream().map(entry -> (String) ((Map<?, ?>) entry).get("pageId")).toList();
+            assertEquals(pages.stream().map(PageDescriptor::getPageId).toList(), summaryOrder);
+            assertTrue(Files.exists(config.getOutputDir().resolve("metrics.json")));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesPagesBeforeTheJavaMetadataAndEnrichesThemAfterwards() throws Exception {
+        Path root = tempDir.resolve("app");
+        writePage(root.resolve("first.jsp"), "first", "second.jsp");
+        writePage(root.resolve("second.jsp"), "second", "first.jsp");
+        AnalyzerConfig config = config(root, 2);
+        Path firstJson = config.getOutputDir().resolve("first.jsp.json");
+        ObjectMapper mapper = new ObjectMapper();
+        // Java analysis only finishes once it has seen the first page's JSON on disk.
+        JavaUsageAnalyzer slowJava = new JavaUsageAnalyzer() {
+            @Override
+            public JavaMetadataIndex analyze(CodebaseIndex index) {
+                return analyze(index.getJavaFiles());
+            }
+
+            @Override
+            public JavaMetadataIndex analyze(Iterable<Path> javaFiles) {
+                javaFiles.forEach(file -> {
+                });
+                try {
+                    while (!Files.exists(firstJson)) {
+                        Thread.sleep(10);
+                    }
+                    Map<String, Object> early = mapper.readValue(firstJson.toFile(), Map.class);
+                    assertEquals("pending", ((Map<String, Object>) early.get("metadata")).get("javaEnrichment"));
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return new JavaMetadataIndex(Map.of(), Map.of(), Set.of(), Set.of(), Set.of());
+            }
+        };
+        AnalysisPipeline pipeline = new AnalysisPipeline(config,
+                new DefaultCodebaseScanner(root, config.getIncludePatterns(), config.getExcludePatterns()),
+                new DefaultJspAnalyzer(), List.of(), new DefaultIncludeGraphBuilder(), slowJava,
+                new DefaultJsonSchemaGenerator(config));
+
+        AnalysisPipeline.Result result = assertTimeoutPreemptively(Duration.ofSeconds(30), pipeline::run);
+        result.index().close();
+
+        Map<String, Object> enriched = mapper.readValue(firstJson.toFile(), Map.class);
+        Map<String, Object> metadata = (Map<String, Object>) enriched.get("metadata");
+        assertNull(metadata.get("javaEnrichment"));
+        assertNotNull(metadata.get("confidence"));
+        Map<?, ?> summary = mapper.readValue(config.getOutputDir().resolve("summary.json").toFile(), Map.class);
+        assertEquals(2, summary.get("pageCount"));
+    }
+
+    @Test
+    void leavesEnrichedPageFilesAndRewritesNothingOnAnUnchangedRerun() throws Exception {
+        Path root = tempDir.resolve("app");
+        for (int i = 0; i < 60; i++) {
+            writePage(root.resolve("pages/page" + i + ".jsp"), "page" + i, "page" + (i + 1) + ".jsp");
+        }
+        AnalyzerConfig config = config(root, 4);
+        Path pagesDir = config.getOutputDir().resolve("pages");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> pipeline(config, List.of()).run()).index().close();
+
+        List<Path> pageFiles;
+        try (Stream<Path> files = Files.list(pagesDir)) {
+            pageFiles = files.toList();
+        }
+        assertEquals(60, pageFiles.size());
+        FileTime stamp = FileTime.fromMillis(1_000_000L);
+        for (Path pageFile : pageFiles) {
+            assertFalse(Files.readString(pageFile).contains("javaEnrichment"), pageFile.toString());
+            Files.setLastModifiedTime(pageFile, stamp);
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> pipeline(config, List.of()).run()).index().close();
+
+        for (Path pageFile : pageFiles) {
+            assertEquals(stamp, Files.getLastModifiedTime(pageFile), pageFile.toString());
+        }
+    }
+
+    @Test
+    void propagatesStageFailuresWithoutHanging() throws Exception {
+        Path root = tempDir.resolve("app");
+        for (int i = 0; i < 40; i++) {
+            writePage(root.resolve("page" + i + ".jsp"), "page" + i, "next.jsp");
+        }
+        AnalysisPipeline pipeline = pipeline(config(root, 2), List.of((rootDir, pages) -> {
+            if (pages.get(0).getPageId().equals("page7.jsp")) {
+                throw new IllegalStateException("stage failed");
+            }
+        }));
+
+        IllegalStateException failure = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(IllegalStateException.class, pipeline::run));
+        assertEquals("stage failed", failure.getMessage());
+    }
+
+    private AnalysisPipeline pipeline(AnalyzerConfig config, List<AnalysisPipeline.PageStage> stages) {
+        return new AnalysisPipeline(config,
+                new DefaultCodebaseScanner(config.getRootDir(), config.getIncludePatterns(), config.getExcludePatterns()),
+                new DefaultJspAnalyzer(), stages, new DefaultIncludeGraphBuilder(), new DefaultJavaUsageAnalyzer(),
+                new DefaultJsonSchemaGenerator(config));
+    }
+
+    private AnalyzerConfig config(Path root, int workers) {
+        AnalyzerConfig config = AnalyzerConfig.defaultConfig();
+        config.setRootDir(root);
+        config.setOutputDir(tempDir.resolve("out"));
+        config.setWorkerThreads(workers);
+        config.setDeterministicOutput(Boolean.TRUE);
+        return config;
+    }
+
+    private static void writePage(Path path, String title, String link) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "<html><head><title>" + title + "</title></head><body><a href='" + link
+                + "'>next</a></body></html>", StandardCharsets.UTF_8);
+    }
+}
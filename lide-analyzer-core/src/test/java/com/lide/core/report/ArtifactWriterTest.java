@@ -0,0 +1,70 @@
+package com.lide.core.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArtifactWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void skipsFilesWhoseBytesAreUnchanged() throws Exception {
+        Path same = tempDir.resolve("nested/same.json");
+        Path changed = tempDir.resolve("changed.json");
+        try (ArtifactWriter writer = new ArtifactWriter()) {
+            writer.write(same, bytes("{\"a\":1}"));
+            writer.write(changed, bytes("{\"b\":1}"));
+        }
+        FileTime stamp = FileTime.fromMillis(1_000_000L);
+        Files.setLastModifiedTime(same, stamp);
+
+        ArtifactWriter writer = new ArtifactWriter(2, 1);
+        writer.write(same, bytes("{\"a\":1}"));
+        writer.write(changed, bytes("{\"b\":2}"));
+        writer.close();
+
+        assertEquals(1, writer.getWrittenCount());
+        assertEquals(1, writer.getSkippedCount());
+        assertEquals(stamp, Files.getLastModifiedTime(same), "Identical content should not be rewritten");
+        assertEquals("{\"b\":2}", Files.readString(changed));
+    }
+
+    @Test
+    void keepsTheLastWriteSubmittedForAPath() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Path target = tempDir.resolve("page" + round + ".json");
+            ArtifactWriter writer = new ArtifactWriter(4, 1);
+            for (int i = 0; i < 50; i++) {
+                writer.write(target, bytes("{\"version\":" + i + "}"));
+            }
+            writer.close();
+
+            assertEquals("{\"version\":49}", Files.readString(target));
+        }
+    }
+
+    @Test
+    void reportsWriteFailuresOnClose() throws Exception {
+        Path blocker = tempDir.resolve("blocker");
+        Files.writeString(blocker, "not a directory");
+
+        ArtifactWriter writer = new ArtifactWriter();
+        writer.write(blocker.resolve("child.json"), bytes("{}"));
+        assertThrows(IOException.class, writer::close);
+        assertThrows(IllegalStateException.class, () -> writer.write(tempDir.resolve("late.json"), bytes("{}")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -6,7 +6,10 @@ import com.lide.core.java.JavaFieldMetadata;
 import com.lide.core.java.JavaMetadataIndex;
 import com.lide.core.model.FieldDescriptor;
 import com.lide.core.model.FormDescriptor;
+import com.lide.core.model.NavigationTarget;
 import com.lide.core.model.PageDescriptor;
+import com.lide.core.webapp.StrutsConfigParser;
+import com.lide.core.webapp.WebXmlParser;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -19,6 +22,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultJsonSchemaGeneratorTest {
@@ -90,17 +94,122 @@ class DefaultJsonSchemaGeneratorTest {
         assertEquals("customerId", fieldJson.get("sourceBeanProperty"));
 
         @SuppressWarnings("unchecked")
-        Map<String, Object> metadata = (Map<String, Object>) document.get("metadata");
+        Map<String, Object> pageMetadata = (Map<String, Object>) document.get("metadata");
         @SuppressWarnings("unchecked")
-        List<String> controllerCandidates = (List<String>) metadata.get("controllerCandidates");
+        List<String> controllerCandidates = (List<String>) pageMetadata.get("controllerCandidates");
         assertTrue(controllerCandidates.contains("com.example.CustomerAction"));
-        assertEquals("HIGH", metadata.get("confidence"));
+        assertEquals("HIGH", pageMetadata.get("confidence"));
         @SuppressWarnings("unchecked")
-        List<String> beanCandidates = (List<String>) metadata.get("backingBeanCandidates");
+        List<String> beanCandidates = (List<String>) pageMetadata.get("backingBeanCandidates");
         assertTrue(beanCandidates.contains("com.example.CustomerForm"));
 
         Path summaryPath = outputDir.resolve("summary.json");
         Map<?, ?> summary = mapper.readValue(Files.readString(summaryPath), Map.class);
         assertEquals(1, summary.get("pageCount"));
     }
+
+    @Test
+    void prefersStrutsConfigMappingsOverNamingConventions() throws Exception {
+        Path strutsConfig = Files.writeString(tempDir.resolve("struts-config.xml"), """
+                <struts-config>
+                  <form-beans><form-bean name="lookupForm" type="com.acme.SearchCriteria"/></form-beans>
+                  <action-mappings>
+                    <action path="/customer/lookup" type="com.acme.LegacyLookupHandler" name="lookupForm"/>
+                  </action-mappings>
+                </struts-config>
+                """);
+
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("customer/searchCustomer.jsp");
+        page.setSourcePath(tempDir.resolve("customer/searchCustomer.jsp"));
+        page.setNotes(new ArrayList<>());
+        FormDescriptor form = new FormDescriptor();
+        form.setAction("${ctx}/customer/lookup.do");
+        form.setNotes(new ArrayList<>());
+        FieldDescriptor field = new FieldDescriptor();
+        field.setName("customerId");
+        form.setFields(new ArrayList<>(List.of(field)));
+        page.setForms(new ArrayList<>(List.of(form)));
+        page.setOutputs(new ArrayList<>());
+
+        Map<String, List<JavaFieldMetadata>> fieldsByClass = new LinkedHashMap<>();
+        fieldsByClass.put("com.example.CustomerForm",
+                List.of(new JavaFieldMetadata.Builder("com.example.CustomerForm", "customerId").build()));
+        fieldsByClass.put("com.acme.SearchCriteria",
+                List.of(new JavaFieldMetadata.Builder("com.acme.SearchCriteria", "customerId").build()));
+        JavaMetadataIndex index = new JavaMetadataIndex(fieldsByClass, Map.of(), Set.of(),
+                Set.of("com.example.CustomerAction", "com.acme.LegacyLookupHandler"), Set.of())
+                .withStrutsConfig(new StrutsConfigParser().parse(List.of(strutsConfig)));
+
+        Path outputDir = tempDir.resolve("out");
+        new DefaultJsonSchemaGenerator().generate(tempDir, outputDir, List.of(page), index);
+
+        Map<?, ?> document = mapper.readValue(Files.readString(outputDir.resolve("customer/searchCustomer.jsp.json")),
+                Map.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> formJson = ((List<Map<String, Object>>) document.get("forms")).get(0);
+        assertEquals("com.acme.SearchCriteria", formJson.get("backingBeanClass"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> pageMetadata = (Map<String, Object>) document.get("metadata");
+        assertEquals(List.of("com.acme.LegacyLookupHandler"), pageMetadata.get("controllerCandidates"));
+        assertEquals(List.of("com.acme.SearchCriteria"), pageMetadata.get("backingBeanCandidates"));
+    }
+
+    @Test
+    void routesFormActionsAndLinksToHandlerMethods() throws Exception {
+        Path webXml = Files.writeString(tempDir.resolve("web.xml"), """
+                <web-app xmlns="https://jakarta.ee/xml/ns/jakartaee" version="5.0">
+                  <servlet>
+                    <servlet-name>dispatcher</servlet-name>
+                    <servlet-class>org.springframework.web.servlet.DispatcherServlet</servlet-class>
+                  </servlet>
+                  <servlet-mapping>
+                    <servlet-name>dispatcher</servlet-name>
+                    <url-pattern>/app/*</url-pattern>
+                  </servlet-mapping>
+                </web-app>
+                """);
+
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("order/editOrder.jsp");
+        page.setSourcePath(tempDir.resolve("order/editOrder.jsp"));
+        page.setNotes(new ArrayList<>());
+        FormDescriptor form = new FormDescriptor();
+        form.setAction("${pageContext.request.contextPath}/app/orders/42/submit");
+        form.setMethod("post");
+        form.setNotes(new ArrayList<>());
+        form.setFields(new ArrayList<>());
+        page.setForms(new ArrayList<>(List.of(form)));
+        page.setOutputs(new ArrayList<>());
+        page.setNavigationTargets(new ArrayList<>(List.of(
+                new NavigationTarget("/app/orders/42/history", "href", "<a href=...>", "HIGH"),
+                new NavigationTarget("order/list.jsp", "href", "<a href=...>", "HIGH"))));
+
+        JavaMetadataIndex.HandlerMethodMetadata show = new JavaMetadataIndex.HandlerMethodMetadata("show",
+                List.of("GET"), List.of("/orders/{id}/submit"), List.of());
+        JavaMetadataIndex.HandlerMethodMetadata submit = new JavaMetadataIndex.HandlerMethodMetadata("submit",
+                List.of("POST"), List.of("/orders/{id}/submit"), List.of());
+        JavaMetadataIndex.HandlerMethodMetadata history = new JavaMetadataIndex.HandlerMethodMetadata("history",
+                List.of("GET"), List.of("/orders/{id}/history"), List.of());
+        JavaMetadataIndex index = new JavaMetadataIndex(Map.of(),
+                Map.of("com.acme.web.OrderController", List.of(show, submit, history)), Set.of(), Set.of(),
+                Set.of("com.acme.web.OrderController", "com.example.EditOrderController"))
+                .withWebXml(new WebXmlParser().parse(List.of(webXml)));
+
+        Path outputDir = tempDir.resolve("out");
+        new DefaultJsonSchemaGenerator().generate(tempDir, outputDir, List.of(page), index);
+
+        Map<?, ?> document = mapper.readValue(Files.readString(outputDir.resolve("order/editOrder.jsp.json")),
+                Map.class);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> formJson = ((List<Map<String, Object>>) document.get("forms")).get(0);
+        assertEquals("com.acme.web.OrderController#submit", formJson.get("handler"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> navigation = (List<Map<String, Object>>) document.get("navigationTargets");
+        assertEquals("com.acme.web.OrderController#history", navigation.get(0).get("handler"));
+        assertFalse(navigation.get(1).containsKey("handler"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> pageMetadata = (Map<String, Object>) document.get("metadata");
+        assertEquals(List.of("com.acme.web.OrderController"), pageMetadata.get("controllerCandidates"));
+    }
 }
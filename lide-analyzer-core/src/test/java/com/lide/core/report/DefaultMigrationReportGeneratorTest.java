@@ -97,6 +97,14 @@ class DefaultMigrationReportGeneratorTest {
         assertTrue(Files.exists(reportCsv));
         assertTrue(Files.exists(reportHtml));
 
+        Path reportData = outputDir.resolve("migration-report-data");
+        assertTrue(Files.exists(reportData.resolve("rows-0000.js")));
+        assertTrue(Files.exists(reportData.resolve("details/0.js")));
+        assertTrue(Files.exists(reportData.resolve("details/1.js")));
+        String html = Files.readString(reportHtml);
+        assertTrue(html.contains("\"chunkCount\":1"), "Manifest should be inlined into the report shell");
+        assertFalse(html.contains("navigationTargetsDetail\":["), "Page details should not be inlined");
+
         Map<?, ?> root = mapper.readValue(reportJson.toFile(), Map.class);
         List<Map<?, ?>> reportPages = (List<Map<?, ?>>) root.get("pages");
         assertEquals(2, reportPages.size());
@@ -122,6 +130,55 @@ class DefaultMigrationReportGeneratorTest {
         assertTrue(auditScore > searchScore, "Audit page should be scored higher due to risk factors");
     }
 
+    @Test
+    void listsPagesWithIdenticalContentAsConsolidationGroups() throws Exception {
+        Path original = copyFixture("customer/searchCustomer.jsp");
+        Path copy = tempRoot.resolve("legacy/searchCustomer.jsp");
+        Files.createDirectories(copy.getParent());
+        Files.copy(original, copy);
+        Path audit = copyFixture("admin/audit.jsp");
+
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJspFile(original);
+        index.addJspFile(copy);
+        index.addJspFile(audit);
+        List<PageDescriptor> pages = new DefaultJspAnalyzer().analyze(tempRoot, index);
+        JavaMetadataIndex javaMetadata = new DefaultJavaUsageAnalyzer().analyze(index);
+
+        new DefaultMigrationReportGenerator().generate(tempRoot, outputDir, pages, javaMetadata);
+
+        Map<?, ?> root = mapper.readValue(outputDir.resolve("migration-report.json").toFile(), Map.class);
+        List<Map<?, ?>> groups = (List<Map<?, ?>>) root.get("consolidationGroups");
+        assertEquals(1, groups.size());
+        assertEquals("customer/searchCustomer.jsp", groups.get(0).get("canonicalPageId"));
+        assertEquals(2, groups.get(0).get("pageCount"));
+        assertEquals(List.of("legacy/searchCustomer.jsp"), groups.get(0).get("duplicatePageIds"));
+        assertTrue(Files.readString(outputDir.resolve("migration-report.html")).contains("\"consolidationGroups\":[{"));
+    }
+
+    @Test
+    void showsSourcePositionsOfFormsFieldsAndFindingsInPageDetails() throws Exception {
+        Path customerJsp = copyFixture("customer/searchCustomer.jsp");
+        CodebaseIndex index = new CodebaseIndex();
+        index.addJspFile(customerJsp);
+        List<PageDescriptor> pages = new DefaultJspAnalyzer().analyze(tempRoot, index);
+        new DefaultNavigationTargetExtractor().extract(tempRoot, pages);
+
+        new DefaultMigrationReportGenerator().generate(tempRoot, outputDir, pages, new DefaultJavaUsageAnalyzer().analyze(index));
+
+        Path reportData = outputDir.resolve("migration-report-data");
+        String detail = Files.readString(reportData.resolve("details/0.js"));
+        Map<?, ?> json = mapper.readValue(detail.substring(detail.indexOf('{'), detail.lastIndexOf('}') + 1), Map.class);
+        Map<?, ?> form = (Map<?, ?>) ((List<?>) json.get("formsDetail")).get(0);
+        assertNotNull(form.get("line"));
+        assertNotNull(form.get("column"));
+        Map<?, ?> field = (Map<?, ?>) ((List<?>) form.get("fields")).get(0);
+        assertNotNull(field.get("line"));
+        String html = Files.readString(outputDir.resolve("migration-report.html"));
+        assertTrue(html.contains("id=\"formsSection\""));
+        assertTrue(html.contains("nav.confidence, position(nav))"));
+    }
+
     private Path copyFixture(String relativePath) throws Exception {
         Path target = tempRoot.resolve(relativePath);
         Files.createDirectories(target.getParent());
@@ -0,0 +1,141 @@
+package com.lide.core.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lide.core.config.AnalyzerConfig;
+import com.lide.core.java.JavaMetadataIndex;
+import com.lide.core.model.PageDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagePackReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsDocumentsBackBySeekingThroughTheIndex() throws Exception {
+        try (PagePackWriter writer = new PagePackWriter(tempDir)) {
+            writer.append("zeta/last.jsp", "{\"id\":3}".getBytes(StandardCharsets.UTF_8));
+            writer.append("alpha/first.jsp", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            writer.append("mid/é.jsp", "{\"id\":2}".getBytes(StandardCharsets.UTF_8));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append("alpha/first.jsp", "{}".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertTrue(PagePackReader.exists(tempDir));
+        try (PagePackReader reader = PagePackReader.open(tempDir)) {
+            assertEquals(3, reader.size());
+            assertEquals(List.of("alpha/first.jsp", "mid/é.jsp", "zeta/last.jsp"), reader.pageIds());
+            assertEquals("{\"id\":2}", new String(reader.read("mid/é.jsp").orElseThrow(), StandardCharsets.UTF_8));
+            assertFalse(reader.read("missing.jsp").isPresent());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertTrue(reader.transferTo("zeta/last.jsp", Channels.newChannel(out)));
+            assertEquals("{\"id\":3}", out.toString(StandardCharsets.UTF_8));
+        }
+
+        List<String> lines = Files.readAllLines(tempDir.resolve(PagePackWriter.PACK_FILE));
+        assertEquals(3, lines.size(), "Pack should stay newline-delimited");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatorWritesPackAndSummaryOffsets() throws Exception {
+        AnalyzerConfig config = AnalyzerConfig.defaultConfig();
+        config.setOutputFormat(AnalyzerConfig.OutputFormat.PACK);
+
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("customer/search.jsp");
+        page.setSourcePath(tempDir.resolve("customer/search.jsp"));
+        page.setTitle("Customer Search");
+        page.setNotes(new ArrayList<>());
+
+        Path outputDir = tempDir.resolve("out");
+        JavaMetadataIndex javaMetadata = new JavaMetadataIndex(Map.of(), Map.of(), Set.of(), Set.of(), Set.of());
+        new DefaultJsonSchemaGenerator(config).generate(tempDir, outputDir, List.of(page), javaMetadata);
+
+        assertFalse(Files.exists(outputDir.resolve("customer/search.jsp.json")));
+        Map<String, Object> summary = mapper.readValue(outputDir.resolve("summary.json").toFile(), Map.class);
+        assertEquals("pack", summary.get("outputFormat"));
+        Map<String, Object> entry = ((List<Map<String, Object>>) summary.get("pages")).get(0);
+        assertEquals(PagePackWriter.PACK_FILE, entry.get("output"));
+
+        try (PagePackReader reader = PagePackReader.open(outputDir)) {
+            byte[] document = reader.read("customer/search.jsp").orElseThrow();
+            assertEquals(((Number) entry.get("packLength")).intValue(), document.length);
+            Map<String, Object> json = mapper.readValue(document, Map.class);
+            assertEquals("Customer Search", json.get("title"));
+        }
+    }
+
+    @Test
+    void filesRunRemovesThePackOfAnEarlierRun() throws Exception {
+        AnalyzerConfig config = AnalyzerConfig.defaultConfig();
+        config.setOutputFormat(AnalyzerConfig.OutputFormat.PACK);
+        PageDescriptor page = new PageDescriptor();
+        page.setPageId("customer/search.jsp");
+        page.setNotes(new ArrayList<>());
+        Path outputDir = tempDir.resolve("out");
+        JavaMetadataIndex javaMetadata = new JavaMetadataIndex(Map.of(), Map.of(), Set.of(), Set.of(), Set.of());
+
+        new DefaultJsonSchemaGenerator(config).generate(tempDir, outputDir, List.of(page), javaMetadata);
+        assertTrue(PagePackReader.exists(outputDir));
+
+        config.setOutputFormat(AnalyzerConfig.OutputFormat.FILES);
+        new DefaultJsonSchemaGenerator(config).generate(tempDir, outputDir, List.of(page), javaMetadata);
+
+        assertTrue(Files.exists(outputDir.resolve("customer/search.jsp.json")));
+        assertFalse(Files.exists(outputDir.resolve(PagePackWriter.PACK_FILE)));
+        assertFalse(Files.exists(outputDir.resolve(PagePackWriter.INDEX_FILE)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsTheFirstPageWhenOutputsCollideInEitherFormat() throws Exception {
+        JavaMetadataIndex javaMetadata = new JavaMetadataIndex(Map.of(), Map.of(), Set.of(), Set.of(), Set.of());
+        for (AnalyzerConfig.OutputFormat format : AnalyzerConfig.OutputFormat.values()) {
+            AnalyzerConfig config = AnalyzerConfig.defaultConfig();
+            config.setOutputFormat(format);
+            List<PageDescriptor> pages = new ArrayList<>();
+            for (String title : List.of("first", "second")) {
+                PageDescriptor page = new PageDescriptor();
+                page.setPageId(" ");
+                page.setTitle(title);
+                page.setNotes(new ArrayList<>());
+                pages.add(page);
+            }
+            Path outputDir = tempDir.resolve(format.toValue());
+
+            new DefaultJsonSchemaGenerator(config).generate(tempDir, outputDir, pages, javaMetadata);
+
+            Map<String, Object> summary = mapper.readValue(outputDir.resolve("summary.json").toFile(), Map.class);
+            assertEquals(1, summary.get("pageCount"), format.toValue());
+            byte[] document;
+            if (format == AnalyzerConfig.OutputFormat.PACK) {
+                try (PagePackReader reader = PagePackReader.open(outputDir)) {
+                    document = reader.read("page").orElseThrow();
+                }
+            } else {
+                document = Files.readAllBytes(outputDir.resolve("page.json"));
+            }
+            assertEquals("first", mapper.readValue(document, Map.class).get("title"), format.toValue());
+        }
+    }
+}
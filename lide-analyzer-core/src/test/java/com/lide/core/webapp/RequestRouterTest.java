@@ -0,0 +1,119 @@
+package com.lide.core.webapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestRouterTest {
+
+    @Test
+    void routesToTheMostSpecificHandlerForTheRequestMethod() {
+        RequestRouter router = RequestRouter.builder()
+                .addHandler("com.acme.CustomerController", "edit", List.of("GET"), List.of("/customers/{id}"))
+                .addHandler("com.acme.CustomerController", "update", List.of("POST"), List.of("/customers/{id}"))
+                .addHandler("com.acme.CustomerController", "search", List.of("GET"), List.of("/customers/search"))
+                .addHandler("com.acme.FileController", "download", List.of("GET"), List.of("/files/**"))
+                .addHandler("com.acme.HomeController", "home", List.of("GET"), List.of("/"))
+                .addServletMappings(new WebXmlIndex(
+                        Map.of("shop", "org.springframework.web.servlet.DispatcherServlet"), Map.of("/shop/*", "shop")))
+                .build();
+
+        assertEquals("com.acme.CustomerController#search", router.route("/customers/search", "GET").describe());
+        assertEquals("com.acme.CustomerController#edit", router.route("/customers/42", null).describe());
+        RequestRouter.Route update = router.route("${ctx}/shop/customers/42?tab=1", "post");
+        assertEquals("com.acme.CustomerController#update", update.describe());
+        assertEquals("/customers/{id}", update.getPattern());
+        assertFalse(update.isFrontController());
+        assertEquals("com.acme.CustomerController#search", router.route("customers/search.htm", "GET").describe());
+        assertEquals("com.acme.FileController#download", router.route("/files/a/b/c.pdf", "GET").describe());
+        assertEquals("com.acme.FileController#download", router.route("/files", "GET").describe());
+        assertNull(router.route("/orders", "GET"));
+        assertNull(router.route("customers/list.jsp", "GET"));
+    }
+
+    @Test
+    void fallsBackToServletMappingsInSpecificationOrder() {
+        WebXmlIndex webXml = new WebXmlIndex(
+                Map.of("action", "org.apache.struts.action.ActionServlet",
+                        "report", "com.acme.ReportServlet",
+                        "adminReport", "com.acme.AdminReportServlet",
+                        "default", "com.acme.StaticServlet"),
+                Map.of("*.do", "action", "/reports/*", "report", "/reports/admin/*", "adminReport",
+                        "/", "default"));
+        RequestRouter router = RequestRouter.builder()
+                .addHandler("com.acme.ReportController", "index", List.of("GET"), List.of("/reports/index"))
+                .addServletMappings(webXml)
+                .build();
+
+        assertEquals("com.acme.ReportController#index", router.route("/reports/index", "GET").describe());
+        assertEquals("com.acme.ReportServlet", router.route("/reports/monthly", "GET").describe());
+        assertEquals("com.acme.AdminReportServlet", router.route("/reports/admin/users", "GET").describe());
+        RequestRouter.Route action = router.route("/saveCustomer.do", "POST");
+        assertEquals("*.do", action.getPattern());
+        assertTrue(action.isFrontController());
+        assertEquals("com.acme.StaticServlet", router.route("/images/logo.png", "GET").describe());
+        assertNull(router.route("/WEB-INF/jsp/view.jsp", "GET"));
+        assertTrue(RequestRouter.empty().isEmpty());
+    }
+
+    @Test
+    void dropsOnlyServletPathsAndNeverLetsThemReachASingleTemplateSegment() {
+        WebXmlIndex webXml = new WebXmlIndex(
+                Map.of("dispatcher", "org.springframework.web.servlet.DispatcherServlet",
+                        "action", "org.apache.struts.action.ActionServlet"),
+                Map.of("/app/*", "dispatcher", "*.do", "action"));
+        RequestRouter router = RequestRouter.builder()
+                .addHandler("com.acme.ItemController", "show", List.of("GET"), List.of("/{id}"))
+                .addHandler("com.acme.OrderController", "edit", List.of("GET"), List.of("/edit/{id}"))
+                .addServletMappings(webXml)
+                .build();
+
+        assertEquals("com.acme.ItemController#show", router.route("/42", "GET").describe());
+        assertEquals("com.acme.OrderController#edit", router.route("/app/edit/42", "GET").describe());
+        RequestRouter.Route save = router.route("/app/save.do", "POST");
+        assertEquals("/app/*", save.getPattern());
+        assertTrue(save.isFrontController());
+        assertEquals("/app/*", router.route("/app/42", "GET").getPattern());
+        assertEquals("*.do", router.route("/orders/save.do", "POST").getPattern());
+        assertNull(router.route("/orders/42/edit", "GET"));
+        assertNull(router.route("/orders/edit/42", "GET"));
+    }
+
+    @Test
+    void matchesExpressionsInsideThePathAgainstMappingVariables() {
+        RequestRouter router = RequestRouter.builder()
+                .addHandler("com.acme.CustomerController", "edit", List.of("GET"), List.of("/customers/{id}/edit"))
+                .addHandler("com.acme.EditController", "edit", List.of("GET"), List.of("/edit"))
+                .addHandler("com.acme.CustomerController", "list", List.of("GET"), List.of("/customers"))
+                .build();
+
+        assertEquals("com.acme.CustomerController#edit",
+                router.route("${ctx}/customers/${customer.id}/edit", "GET").describe());
+        assertEquals("com.acme.CustomerController#edit",
+                router.route("/customers/<%= c.getId() %>/edit?tab=${tab}", "GET").describe());
+        assertEquals("com.acme.CustomerController#list",
+                router.route("<%= request.getContextPath() %>/customers", "GET").describe());
+        assertNull(router.route("/customers/${customer.id}/view", "GET"));
+        assertNull(router.route("${base}/${section}", "GET"));
+    }
+
+    @Test
+    void prefersUnrestrictedHandlersWhenNoneDeclaresTheRequestMethod() {
+        RequestRouter router = RequestRouter.builder()
+                .addHandler("com.acme.CustomerController", "delete", List.of("DELETE"), List.of("/customers/{id}"))
+                .addHandler("com.acme.CustomerController", "show", List.of(), List.of("/customers/{id}"))
+                .addHandler("com.acme.ReportController", "export", List.of("POST"), List.of("/reports/export"))
+                .build();
+
+        assertEquals("com.acme.CustomerController#delete", router.route("/customers/42", "delete").describe());
+        assertEquals("com.acme.CustomerController#show", router.route("/customers/42", "GET").describe());
+        assertNull(router.route("/reports/export", "GET"));
+        assertEquals("com.acme.ReportController#export", router.route("/reports/export", "POST").describe());
+    }
+}
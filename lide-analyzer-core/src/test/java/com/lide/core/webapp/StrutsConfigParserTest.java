@@ -0,0 +1,77 @@
+package com.lide.core.webapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StrutsConfigParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void indexesActionsFormBeansAndForwards() throws Exception {
+        Path main = Files.writeString(tempDir.resolve("struts-config.xml"), """
+                <?xml version="1.0" encoding="ISO-8859-1" ?>
+                <!DOCTYPE struts-config PUBLIC "-//Apache Software Foundation//DTD Struts Configuration 1.3//EN"
+                        "http://struts.apache.org/dtds/struts-config_1_3.dtd">
+                <struts-config>
+                  <form-beans>
+                    <form-bean name="customerForm" type="com.acme.web.CustomerForm"/>
+                  </form-beans>
+                  <global-forwards>
+                    <forward name="home" path="/index.jsp"/>
+                  </global-forwards>
+                  <action-mappings>
+                    <action path="/customer/save" type="com.acme.web.SaveCustomerAction" name="customerForm"
+                            scope="request" input="/WEB-INF/jsp/customer/edit.jsp">
+                      <forward name="success" path="/WEB-INF/jsp/customer/view.jsp"/>
+                    </action>
+                    <action path="/welcome" forward="/index.jsp"/>
+                  </action-mappings>
+                </struts-config>
+                """);
+        Path module = Files.writeString(tempDir.resolve("struts-config-admin.xml"), """
+                <struts-config>
+                  <form-beans><form-bean name="customerForm" type="com.acme.admin.OtherForm"/></form-beans>
+                  <action-mappings><action path="audit" type="com.acme.admin.AuditAction"/></action-mappings>
+                </struts-config>
+                """);
+        Path broken = Files.writeString(tempDir.resolve("struts-config-broken.xml"), "<struts-config><action");
+
+        StrutsConfigIndex index = new StrutsConfigParser().parse(List.of(main, module, broken));
+
+        assertEquals(List.of("/customer/save", "/welcome", "/audit"), List.copyOf(index.getActions().keySet()));
+        assertEquals("com.acme.web.CustomerForm", index.getFormBeanClasses().get("customerForm"));
+        assertEquals("/index.jsp", index.getGlobalForwards().get("home"));
+
+        StrutsConfigIndex.ActionMapping save = index.getActions().get("/customer/save");
+        assertSame(save, index.findAction("${pageContext.request.contextPath}/customer/save.do?mode=edit"));
+        assertSame(save, index.findAction("/shop/customer/save.do"));
+        assertSame(save, index.findAction("customer/save"));
+        assertEquals("com.acme.web.CustomerForm", index.findFormBeanClass(save));
+        assertEquals("/WEB-INF/jsp/customer/view.jsp", save.getForwards().get("success"));
+        assertNull(index.findAction("/customer/delete.do"));
+
+        StrutsConfigIndex.ActionMapping welcome = index.getActions().get("/welcome");
+        assertNull(welcome.getType());
+        assertEquals("/index.jsp", welcome.getForwards().get(StrutsConfigIndex.ActionMapping.INLINE_FORWARD));
+
+        assertEquals(List.of(save), index.findActionsForwardingTo("src/main/webapp/WEB-INF/jsp/customer/view.jsp"));
+        assertEquals(List.of(welcome), index.findActionsForwardingTo("index.jsp"));
+        assertTrue(index.findActionsForwardingTo("other.jsp").isEmpty());
+    }
+
+    @Test
+    void returnsTheEmptyIndexWithoutConfigurationFiles() {
+        assertSame(StrutsConfigIndex.empty(), new StrutsConfigParser().parse(List.of()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.lide.core.webapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WebXmlParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void indexesServletsAndTheirUrlPatterns() throws Exception {
+        Path webXml = Files.writeString(tempDir.resolve("web.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE web-app PUBLIC "-//Sun Microsystems, Inc.//DTD Web Application 2.3//EN"
+                        "http://java.sun.com/dtd/web-app_2_3.dtd">
+                <web-app>
+                  <filter>
+                    <filter-name>encoding</filter-name>
+                    <filter-class>com.acme.EncodingFilter</filter-class>
+                  </filter>
+                  <servlet>
+                    <servlet-name>action</servlet-name>
+                    <servlet-class> org.apache.struts.action.ActionServlet </servlet-class>
+                    <init-param><param-name>config</param-name><param-value>/WEB-INF/struts-config.xml</param-value></init-param>
+                  </servlet>
+                  <servlet>
+                    <servlet-name>report</servlet-name>
+                    <jsp-file>/WEB-INF/jsp/report.jsp</jsp-file>
+                  </servlet>
+                  <servlet-mapping>
+                    <servlet-name>action</servlet-name>
+                    <url-pattern>*.do</url-pattern>
+                  </servlet-mapping>
+                  <servlet-mapping>
+                    <servlet-name>report</servlet-name>
+                    <url-pattern>/reports/*</url-pattern>
+                    <url-pattern>/report</url-pattern>
+                  </servlet-mapping>
+                </web-app>
+                """);
+        Path broken = Files.writeString(tempDir.resolve("broken-web.xml"), "<web-app><servlet>");
+
+        WebXmlIndex index = new WebXmlParser().parse(List.of(webXml, broken));
+
+        assertEquals(Map.of("action", "org.apache.struts.action.ActionServlet", "report", "/WEB-INF/jsp/report.jsp"),
+                index.getServletClasses());
+        assertEquals(List.of("*.do", "/reports/*", "/report"), List.copyOf(index.getServletMappings().keySet()));
+        assertEquals("report", index.getServletMappings().get("/report"));
+    }
+
+    @Test
+    void returnsTheEmptyIndexWithoutDescriptors() {
+        assertSame(WebXmlIndex.empty(), new WebXmlParser().parse(List.of()));
+    }
+}
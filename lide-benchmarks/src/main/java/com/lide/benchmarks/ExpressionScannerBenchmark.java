@@ -0,0 +1,86 @@
+package com.lide.benchmarks;
+
+import com.lide.core.jsp.ExpressionScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link ExpressionScanner} with the regular expressions it replaced on typical attribute and text values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionScannerBenchmark {
+
+    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{[^}]+}|%\\{[^}]+}|#\\{[^}]+}");
+
+    private List<String> values;
+
+    @Setup
+    public void setUp() {
+        values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            switch (i % 4) {
+                case 0 -> values.add("customer.address" + i);
+                case 1 -> values.add("${customer.orders[" + i + "].total}");
+                case 2 -> values.add("Showing %{page.size} of ${page.total} results for row " + i);
+                default -> values.add("Plain label text without any bindings, number " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanWithRegex(Blackhole blackhole) {
+        for (String value : values) {
+            Matcher matcher = EXPRESSION_PATTERN.matcher(value);
+            while (matcher.find()) {
+                blackhole.consume(matcher.start());
+                blackhole.consume(matcher.end());
+            }
+        }
+    }
+
+    @Benchmark
+    public void scanWithScanner(Blackhole blackhole) {
+        for (String value : values) {
+            long span = ExpressionScanner.next(value, 0);
+            while (span != ExpressionScanner.NOT_FOUND) {
+                blackhole.consume(span);
+                span = ExpressionScanner.next(value, ExpressionScanner.end(span));
+            }
+        }
+    }
+
+    @Benchmark
+    public void stripWithRegex(Blackhole blackhole) {
+        for (String value : values) {
+            String cleaned = EXPRESSION_PATTERN.matcher(value).replaceAll("");
+            blackhole.consume(cleaned.replace("<%=", "").replace("<%", "").replace("%>", ""));
+        }
+    }
+
+    @Benchmark
+    public void stripWithScanner(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(ExpressionScanner.strip(value));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.lide.benchmarks;
+
+import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.jsp.DefaultJspAnalyzer;
+import com.lide.core.jsp.JspAnalyzer;
+import com.lide.core.model.PageDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures {@link DefaultJspAnalyzer} on a generated page holding one large labelled form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class JspAnalyzerBenchmark {
+
+    @Param({"2000"})
+    public int fieldCount;
+
+    private final JspAnalyzer analyzer = new DefaultJspAnalyzer();
+    private Path rootDir;
+    private CodebaseIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        rootDir = Files.createTempDirectory("lide-bench");
+        Path page = rootDir.resolve("large-form.jsp");
+        Files.writeString(page, generateForm(fieldCount), StandardCharsets.UTF_8);
+        index = new CodebaseIndex();
+        index.addJspFile(page);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(rootDir)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PageDescriptor> analyzeLargeForm() {
+        return analyzer.analyze(rootDir, index);
+    }
+
+    static String generateForm(int fields) {
+        StringBuilder html = new StringBuilder(fields * 160);
+        html.append("<html><head><title>Generated form</title></head><body>\n");
+        html.append("<form id='bulk' action='/bulk/save.do' method='post'>\n");
+        for (int i = 0; i < fields; i++) {
+            html.append("<div class='row'><label for='field").append(i).append("'>Field ").append(i)
+                    .append("</label><input type='text' id='field").append(i).append("' name='entry.field").append(i)
+                    .append("' value='${entry.field").append(i).append("}'/></div>\n");
+        }
+        html.append("</form></body></html>\n");
+        return html.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.lide.benchmarks;
+
+import com.lide.core.fs.CodebaseIndex;
+import com.lide.core.jsp.DefaultJspAnalyzer;
+import com.lide.core.jsp.JspAnalyzer;
+import com.lide.core.model.PageDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures text-output detection on a generated page of deeply nested layout markup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class JspTextOutputBenchmark {
+
+    /**
+     * Approximate size of the generated page in bytes.
+     */
+    @Param({"1048576"})
+    public int pageBytes;
+
+    @Param({"40"})
+    public int nestingDepth;
+
+    private final JspAnalyzer analyzer = new DefaultJspAnalyzer();
+    private Path rootDir;
+    private CodebaseIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        rootDir = Files.createTempDirectory("lide-bench");
+        Path page = rootDir.resolve("layout.jsp");
+        Files.writeString(page, generateLayout(pageBytes, nestingDepth), StandardCharsets.UTF_8);
+        index = new CodebaseIndex();
+        index.addJspFile(page);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(rootDir)) {
+            for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<PageDescriptor> analyzeLayoutPage() {
+        return analyzer.analyze(rootDir, index);
+    }
+
+    static String generateLayout(int bytes, int depth) {
+        StringBuilder html = new StringBuilder(bytes + 4096);
+        html.append("<html><head><title>Generated layout</title></head><body>\n");
+        int block = 0;
+        while (html.length() < bytes) {
+            for (int level = 0; level < depth; level++) {
+                html.append("<div class='level").append(level).append("'>");
+            }
+            html.append("<span id='value").append(block).append("'>Value ").append(block)
+                    .append(": ${model.item").append(block).append(".value}</span>");
+            html.append("<p>Static copy without bindings for block ").append(block).append(".</p>");
+            html.append("<table class='layout'><tr><td><div>${model.row").append(block).append("}</div></td></tr></table>");
+            for (int level = 0; level < depth; level++) {
+                html.append("</div>");
+            }
+            html.append('\n');
+            block++;
+        }
+        html.append("</body></html>\n");
+        return html.toString();
+    }
+}
@@ -0,0 +1,290 @@
+package com.lide.dashboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server exposing analyzer results to the dashboard UI.
+ * <p>
+ * {@code /api/pages} answers filtered, sorted and paginated queries from the in-memory {@link ResultsIndex};
+ * {@code /api/pages/<pageId>} streams the per-page JSON artifact straight from disk with a
+ * {@link FileChannel#transferTo} copy (a byte range of {@code pages.pack} for packed output) and validates
+ * conditional requests via an ETag.
+ * </p>
+ */
+public final class DashboardServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardServer.class);
+
+    private static final String PAGES_PATH = "/api/pages";
+    private static final String FACETS_PATH = "/api/facets";
+    private static final String INDEX_RESOURCE = "/dashboard/index.html";
+
+    private final ResultsIndex index;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public DashboardServer(ResultsIndex index) {
+        this.index = Objects.requireNonNull(index, "index");
+    }
+
+    public static void main(String[] args) {
+        try {
+            ServerOptions options = parseArgs(args);
+            ResultsIndex index = ResultsIndex.load(options.outputDir());
+            DashboardServer server = new DashboardServer(index);
+            server.start(options.host(), options.port());
+            LOGGER.info("Dashboard available at http://{}:{}/", options.host(), server.getPort());
+        } catch (Exception ex) {
+            LOGGER.error("Dashboard failed to start: {}", ex.getMessage(), ex);
+            System.exit(1);
+        }
+    }
+
+    public synchronized void start(String host, int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Dashboard server already started");
+        }
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        server.setExecutor(executor);
+        server.createContext(PAGES_PATH, this::handlePages);
+        server.createContext(FACETS_PATH, exchange -> handle(exchange, () -> writeJson(exchange, index.facets())));
+        server.createContext("/", this::handleStatic);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Dashboard server not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    private void handlePages(HttpExchange exchange) {
+        handle(exchange, () -> {
+            String path = exchange.getRequestURI().getRawPath();
+            if (path.length() <= PAGES_PATH.length() + 1) {
+                PageQuery query = PageQuery.fromParameters(parseQuery(exchange.getRequestURI().getRawQuery()));
+                writeJson(exchange, index.query(query));
+                return;
+            }
+            String pageId = URLDecoder.decode(path.substring(PAGES_PATH.length() + 1), StandardCharsets.UTF_8);
+            writePageFile(exchange, pageId);
+        });
+    }
+
+    private void handleStatic(HttpExchange exchange) {
+        handle(exchange, () -> {
+            String path = exchange.getRequestURI().getPath();
+            if (!"/".equals(path) && !"/index.html".equals(path)) {
+                sendEmpty(exchange, 404);
+                return;
+            }
+            try (InputStream in = DashboardServer.class.getResourceAsStream(INDEX_RESOURCE)) {
+                if (in == null) {
+                    sendEmpty(exchange, 404);
+                    return;
+                }
+                byte[] body = in.readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+                if (sendOk(exchange, body.length)) {
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+            }
+        });
+    }
+
+    private void writePageFile(HttpExchange exchange, String pageId) throws IOException {
+        PageRow row = index.find(pageId);
+        Path file = row == null ? null : index.resolvePageFile(pageId);
+        if (file == null || !Files.isRegularFile(file)) {
+            sendEmpty(exchange, 404);
+            return;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long start = row.packed() ? row.packOffset() : 0L;
+        long length = row.packed() ? row.packLength() : attributes.size();
+        if (start + length > attributes.size()) {
+            LOGGER.warn("Pack entry for {} lies outside {}", pageId, file);
+            sendEmpty(exchange, 404);
+            return;
+        }
+        String etag = "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "-"
+                + Long.toHexString(start) + "\"";
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "no-cache");
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            sendEmpty(exchange, 304);
+            return;
+        }
+
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (!sendOk(exchange, length)) {
+                return;
+            }
+            try (OutputStream out = exchange.getResponseBody();
+                 WritableByteChannel target = Channels.newChannel(out)) {
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+            }
+        }
+    }
+
+    private void writeJson(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (sendOk(exchange, bytes.length)) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Sends a 200 announcing {@code length} body bytes. A HEAD response only gets the headers, with the length set
+     * as {@code Content-Length} directly: the JDK server gives it a stream that accepts no body.
+     *
+     * @return whether the caller should write the body
+     */
+    private static boolean sendOk(HttpExchange exchange, long length) throws IOException {
+        if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Long.toString(length));
+            exchange.sendResponseHeaders(200, -1);
+            return false;
+        }
+        exchange.sendResponseHeaders(200, length == 0 ? -1 : length);
+        return true;
+    }
+
+    private void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private void handle(HttpExchange exchange, ExchangeAction action) {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())
+                    && !"HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+                sendEmpty(exchange, 405);
+                return;
+            }
+            action.run();
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to serve {}: {}", exchange.getRequestURI(), ex.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isBlank()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            parameters.putIfAbsent(name, value);
+        }
+        return parameters;
+    }
+
+    static ServerOptions parseArgs(String[] args) {
+        Path outputDir = Paths.get("lide-output");
+        String host = "127.0.0.1";
+        int port = 8085;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name;
+            String value;
+            if (arg.contains("=")) {
+                String[] pieces = arg.substring(2).split("=", 2);
+                name = pieces[0];
+                value = pieces[1];
+            } else if (i + 1 < args.length) {
+                name = arg.substring(2);
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Option " + arg + " requires a value");
+            }
+            if (value.isBlank()) {
+                throw new IllegalArgumentException("Option " + arg + " is missing a value");
+            }
+
+            if ("outputDir".equals(name)) {
+                outputDir = Paths.get(value);
+            } else if ("host".equals(name)) {
+                host = value;
+            } else if ("port".equals(name)) {
+                try {
+                    port = Integer.parseInt(value);
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Invalid port: " + value, ex);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return new ServerOptions(outputDir.normalize(), host, port);
+    }
+
+    record ServerOptions(Path outputDir, String host, int port) {
+    }
+
+    @FunctionalInterface
+    private interface ExchangeAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,111 @@
+package com.lide.dashboard;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter, sort and pagination parameters accepted by {@link ResultsIndex#query(PageQuery)}.
+ */
+public record PageQuery(String difficulty,
+                        String confidence,
+                        String directory,
+                        String sessionKey,
+                        String controller,
+                        String text,
+                        Sort sort,
+                        int offset,
+                        int limit) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public PageQuery {
+        difficulty = normalizeUpper(difficulty);
+        confidence = normalizeUpper(confidence);
+        directory = normalizeDirectory(directory);
+        sessionKey = blankToNull(sessionKey);
+        controller = blankToNull(controller);
+        text = text == null || text.isBlank() ? null : text.trim().toLowerCase(Locale.ROOT);
+        sort = sort == null ? Sort.COMPLEXITY : sort;
+        offset = Math.max(0, offset);
+        limit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a query from decoded URL query parameters; unknown parameters are ignored.
+     */
+    public static PageQuery fromParameters(Map<String, String> parameters) {
+        return new PageQuery(parameters.get("difficulty"),
+                parameters.get("confidence"),
+                parameters.get("directory"),
+                parameters.get("sessionKey"),
+                parameters.get("controller"),
+                parameters.get("q"),
+                Sort.parse(parameters.get("sort")),
+                parseInt(parameters.get("offset"), 0),
+                parseInt(parameters.get("limit"), DEFAULT_LIMIT));
+    }
+
+    public static PageQuery all() {
+        return new PageQuery(null, null, null, null, null, null, Sort.COMPLEXITY, 0, DEFAULT_LIMIT);
+    }
+
+    private static int parseInt(String value, int fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            return fallback;
+        }
+    }
+
+    private static String normalizeUpper(String value) {
+        String trimmed = blankToNull(value);
+        if (trimmed == null || "ALL".equalsIgnoreCase(trimmed)) {
+            return null;
+        }
+        return trimmed.toUpperCase(Locale.ROOT);
+    }
+
+    private static String normalizeDirectory(String value) {
+        String trimmed = blankToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        String normalized = trimmed.replace('\\', '/').replaceAll("^/+", "").replaceAll("/+$", "");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static String blankToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Supported row orderings; each is precomputed once when the index is built.
+     */
+    public enum Sort {
+        COMPLEXITY,
+        CONFIDENCE,
+        PAGE_ID;
+
+        static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return COMPLEXITY;
+            }
+            switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "pageid":
+                case "page":
+                    return PAGE_ID;
+                case "confidence":
+                    return CONFIDENCE;
+                default:
+                    return COMPLEXITY;
+            }
+        }
+    }
+}
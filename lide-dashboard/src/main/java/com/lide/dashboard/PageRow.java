@@ -0,0 +1,41 @@
+package com.lide.dashboard;
+
+import java.util.List;
+
+/**
+ * Compact per-page row combining the {@code summary.json} counters with the migration report scoring.
+ * {@code packOffset}/{@code packLength} locate the page document when the analyzer wrote a pack instead of files.
+ */
+public record PageRow(String pageId,
+                      String title,
+                      String output,
+                      Long packOffset,
+                      Integer packLength,
+                      String directory,
+                      String difficulty,
+                      double complexityScore,
+                      String confidence,
+                      double confidenceScore,
+                      int forms,
+                      int fields,
+                      int outputs,
+                      int frames,
+                      int navigationTargets,
+                      int hiddenFields,
+                      int sessionDependencies,
+                      int pageDependencies,
+                      List<String> controllerCandidates,
+                      List<String> sessionKeys) {
+
+    public PageRow {
+        if ((packOffset == null) != (packLength == null)) {
+            throw new IllegalArgumentException("packOffset and packLength must be set together");
+        }
+        controllerCandidates = controllerCandidates == null ? List.of() : List.copyOf(controllerCandidates);
+        sessionKeys = sessionKeys == null ? List.of() : List.copyOf(sessionKeys);
+    }
+
+    public boolean packed() {
+        return packOffset != null;
+    }
+}
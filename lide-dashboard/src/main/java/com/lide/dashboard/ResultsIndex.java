@@ -0,0 +1,403 @@
+package com.lide.dashboard;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Immutable in-memory index over an analyzer output directory.
+ * <p>
+ * Rows are assembled from {@code summary.json} and {@code migration-report.json}, both of which are read
+ * entry by entry with the Jackson streaming API so that very large reports never have to be materialized
+ * as a single tree. Each filterable dimension is kept as a {@link BitSet} over row ids and every supported
+ * sort order is precomputed, so a query is a handful of bitset intersections followed by a walk over one
+ * ordering until the requested page is filled.
+ * </p>
+ */
+public final class ResultsIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultsIndex.class);
+
+    private final Path outputDir;
+    private final String generatedAt;
+    private final List<PageRow> rows;
+    private final Map<String, Integer> rowIdsByPageId;
+    private final Map<String, BitSet> byDifficulty;
+    private final Map<String, BitSet> byConfidence;
+    private final NavigableMap<String, BitSet> byDirectory;
+    private final Map<String, BitSet> bySessionKey;
+    private final Map<String, BitSet> byController;
+    private final Map<PageQuery.Sort, int[]> orderings;
+
+    private ResultsIndex(Path outputDir, String generatedAt, List<PageRow> rows) {
+        this.outputDir = outputDir;
+        this.generatedAt = generatedAt;
+        this.rows = List.copyOf(rows);
+        this.rowIdsByPageId = new HashMap<>(rows.size() * 2);
+        this.byDifficulty = new HashMap<>();
+        this.byConfidence = new HashMap<>();
+        this.byDirectory = new TreeMap<>();
+        this.bySessionKey = new HashMap<>();
+        this.byController = new HashMap<>();
+
+        for (int id = 0; id < this.rows.size(); id++) {
+            PageRow row = this.rows.get(id);
+            rowIdsByPageId.put(row.pageId(), id);
+            mark(byDifficulty, row.difficulty(), id);
+            mark(byConfidence, row.confidence(), id);
+            mark(byDirectory, row.directory(), id);
+            for (String key : row.sessionKeys()) {
+                mark(bySessionKey, key, id);
+            }
+            for (String controller : row.controllerCandidates()) {
+                mark(byController, controller, id);
+                mark(byController, simpleName(controller), id);
+            }
+        }
+
+        Map<PageQuery.Sort, int[]> sorted = new HashMap<>();
+        sorted.put(PageQuery.Sort.COMPLEXITY, order(Comparator.comparingDouble(PageRow::complexityScore).reversed()
+                .thenComparing(PageRow::pageId)));
+        sorted.put(PageQuery.Sort.CONFIDENCE, order(Comparator.comparingDouble(PageRow::confidenceScore)
+                .thenComparing(PageRow::pageId)));
+        sorted.put(PageQuery.Sort.PAGE_ID, order(Comparator.comparing(PageRow::pageId)));
+        this.orderings = Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * Loads and indexes the analyzer artifacts found in {@code outputDir}.
+     *
+     * @param outputDir directory produced by the analyzer CLI
+     * @return populated index; empty when neither summary nor report is present
+     * @throws IOException when an artifact exists but cannot be parsed
+     */
+    public static ResultsIndex load(Path outputDir) throws IOException {
+        Objects.requireNonNull(outputDir, "outputDir");
+        Path normalized = outputDir.toAbsolutePath().normalize();
+        ObjectMapper mapper = new ObjectMapper();
+
+        Map<String, RowBuilder> builders = new LinkedHashMap<>();
+        String[] generatedAt = new String[1];
+
+        Path summary = normalized.resolve("summary.json");
+        if (Files.isRegularFile(summary)) {
+            streamPages(mapper, summary, generatedAt, node -> {
+                String pageId = text(node, "pageId");
+                if (pageId != null) {
+                    builders.computeIfAbsent(pageId, RowBuilder::new).applySummary(node);
+                }
+            });
+        }
+
+        Path report = normalized.resolve("migration-report.json");
+        if (Files.isRegularFile(report)) {
+            streamPages(mapper, report, generatedAt, node -> {
+                String pageId = text(node, "pageId");
+                if (pageId != null) {
+                    builders.computeIfAbsent(pageId, RowBuilder::new).applyReport(node);
+                }
+            });
+        }
+
+        List<PageRow> rows = new ArrayList<>(builders.size());
+        for (RowBuilder builder : builders.values()) {
+            rows.add(builder.build());
+        }
+        LOGGER.info("Indexed {} pages from {}", rows.size(), normalized);
+        return new ResultsIndex(normalized, generatedAt[0], rows);
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public PageRow find(String pageId) {
+        Integer id = pageId == null ? null : rowIdsByPageId.get(pageId);
+        return id == null ? null : rows.get(id);
+    }
+
+    /**
+     * Resolves the per-page JSON artifact for {@code pageId}, refusing paths that escape the output directory.
+     */
+    public Path resolvePageFile(String pageId) {
+        PageRow row = find(pageId);
+        String relative = row != null && row.output() != null ? row.output() : pageId + ".json";
+        Path candidate = outputDir.resolve(relative).normalize();
+        if (!candidate.startsWith(outputDir)) {
+            return null;
+        }
+        return candidate;
+    }
+
+    public PageSlice query(PageQuery query) {
+        Objects.requireNonNull(query, "query");
+        BitSet candidates = candidates(query);
+        int[] ordering = orderings.get(query.sort());
+
+        List<PageRow> page = new ArrayList<>(Math.min(query.limit(), rows.size()));
+        int matched = 0;
+        for (int id : ordering) {
+            if (candidates != null && !candidates.get(id)) {
+                continue;
+            }
+            PageRow row = rows.get(id);
+            if (query.text() != null && !row.pageId().toLowerCase(Locale.ROOT).contains(query.text())) {
+                continue;
+            }
+            if (matched >= query.offset() && page.size() < query.limit()) {
+                page.add(row);
+            }
+            matched++;
+        }
+        return new PageSlice(matched, query.offset(), query.limit(), page);
+    }
+
+    /**
+     * Returns value counts for the low-cardinality dimensions plus the top-level directories.
+     */
+    public Map<String, Object> facets() {
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("generatedAt", generatedAt);
+        facets.put("totalPages", rows.size());
+        facets.put("difficulty", counts(byDifficulty));
+        facets.put("confidence", counts(byConfidence));
+
+        Map<String, BitSet> topLevel = new TreeMap<>();
+        for (Map.Entry<String, BitSet> entry : byDirectory.entrySet()) {
+            String directory = entry.getKey();
+            int slash = directory.indexOf('/');
+            String root = slash >= 0 ? directory.substring(0, slash) : directory;
+            topLevel.computeIfAbsent(root, key -> new BitSet(rows.size())).or(entry.getValue());
+        }
+        facets.put("directories", counts(topLevel));
+        facets.put("sessionKeys", bySessionKey.size());
+        facets.put("controllers", byController.size());
+        return facets;
+    }
+
+    private BitSet candidates(PageQuery query) {
+        BitSet result = null;
+        result = intersect(result, query.difficulty() == null ? null : lookup(byDifficulty, query.difficulty()));
+        result = intersect(result, query.confidence() == null ? null : lookup(byConfidence, query.confidence()));
+        result = intersect(result, query.sessionKey() == null ? null : lookup(bySessionKey, query.sessionKey()));
+        result = intersect(result, query.controller() == null ? null : lookup(byController, query.controller()));
+        if (query.directory() != null) {
+            BitSet directories = new BitSet(rows.size());
+            String prefix = query.directory();
+            BitSet exact = byDirectory.get(prefix);
+            if (exact != null) {
+                directories.or(exact);
+            }
+            String childPrefix = prefix + "/";
+            for (BitSet child : byDirectory.subMap(childPrefix, true, childPrefix + Character.MAX_VALUE, false).values()) {
+                directories.or(child);
+            }
+            result = intersect(result, directories);
+        }
+        return result;
+    }
+
+    private BitSet lookup(Map<String, BitSet> index, String key) {
+        BitSet bits = index.get(key);
+        return bits != null ? bits : new BitSet(0);
+    }
+
+    private BitSet intersect(BitSet current, BitSet filter) {
+        if (filter == null) {
+            return current;
+        }
+        if (current == null) {
+            return (BitSet) filter.clone();
+        }
+        current.and(filter);
+        return current;
+    }
+
+    private int[] order(Comparator<PageRow> comparator) {
+        Integer[] ids = new Integer[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        Arrays.sort(ids, (a, b) -> comparator.compare(rows.get(a), rows.get(b)));
+        int[] ordering = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ordering[i] = ids[i];
+        }
+        return ordering;
+    }
+
+    private static Map<String, Integer> counts(Map<String, BitSet> index) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, BitSet> entry : index.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().cardinality());
+        }
+        return counts;
+    }
+
+    private static void mark(Map<String, BitSet> index, String key, int id) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        index.computeIfAbsent(key, ignored -> new BitSet()).set(id);
+    }
+
+    private static void streamPages(ObjectMapper mapper,
+                                    Path file,
+                                    String[] generatedAt,
+                                    Consumer<JsonNode> consumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in " + file);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("pages".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(mapper.readTree(parser));
+                    }
+                } else if ("generatedAt".equals(field) && value == JsonToken.VALUE_STRING) {
+                    if (generatedAt[0] == null) {
+                        generatedAt[0] = parser.getText();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText();
+        return text.isBlank() ? null : text;
+    }
+
+    private static String simpleName(String className) {
+        int idx = className.lastIndexOf('.') + 1;
+        return idx > 0 ? className.substring(idx) : className;
+    }
+
+    /**
+     * A window of query results together with the total number of matching rows.
+     */
+    public record PageSlice(int total, int offset, int limit, List<PageRow> pages) {
+    }
+
+    private static final class RowBuilder {
+        private final String pageId;
+        private String title;
+        private String output;
+        private Long packOffset;
+        private Integer packLength;
+        private String difficulty;
+        private double complexityScore;
+        private String confidence;
+        private double confidenceScore;
+        private int forms;
+        private int fields;
+        private int outputs;
+        private int frames;
+        private int navigationTargets;
+        private int hiddenFields;
+        private int sessionDependencies;
+        private int pageDependencies;
+        private final Set<String> controllers = new LinkedHashSet<>();
+        private final Set<String> sessionKeys = new LinkedHashSet<>();
+
+        private RowBuilder(String pageId) {
+            this.pageId = pageId;
+        }
+
+        private void applySummary(JsonNode node) {
+            output = text(node, "output");
+            if (node.hasNonNull("packOffset") && node.hasNonNull("packLength")) {
+                packOffset = node.get("packOffset").asLong();
+                packLength = node.get("packLength").asInt();
+            }
+            confidence = upper(text(node, "confidence"), confidence);
+            confidenceScore = node.path("confidenceScore").asDouble(confidenceScore);
+            forms = node.path("forms").asInt(forms);
+            fields = node.path("fields").asInt(fields);
+            outputs = node.path("outputs").asInt(outputs);
+            frames = node.path("frames").asInt(frames);
+            navigationTargets = node.path("navigationTargets").asInt(navigationTargets);
+            hiddenFields = node.path("hiddenFields").asInt(hiddenFields);
+            sessionDependencies = node.path("sessionDependencies").asInt(sessionDependencies);
+            pageDependencies = node.path("pageDependencies").asInt(pageDependencies);
+        }
+
+        private void applyReport(JsonNode node) {
+            title = text(node, "title");
+            difficulty = upper(text(node, "difficulty"), difficulty);
+            complexityScore = node.path("complexityScore").asDouble(complexityScore);
+            confidence = upper(text(node, "confidenceLabel"), confidence);
+            forms = node.path("formCount").asInt(forms);
+            fields = node.path("fieldCount").asInt(fields);
+            outputs = node.path("outputCount").asInt(outputs);
+            frames = node.path("frameCount").asInt(frames);
+            navigationTargets = node.path("navigationTargets").asInt(navigationTargets);
+            hiddenFields = node.path("hiddenFields").asInt(hiddenFields);
+            sessionDependencies = node.path("sessionDependencies").asInt(sessionDependencies);
+            pageDependencies = node.path("pageDependencies").asInt(pageDependencies);
+            for (JsonNode controller : node.path("controllerCandidates")) {
+                if (controller.isTextual() && !controller.asText().isBlank()) {
+                    controllers.add(controller.asText());
+                }
+            }
+            for (JsonNode dependency : node.path("sessionDependenciesDetail")) {
+                String key = text(dependency, "key");
+                if (key != null) {
+                    sessionKeys.add(key);
+                }
+            }
+        }
+
+        private PageRow build() {
+            int slash = pageId.lastIndexOf('/');
+            String directory = slash > 0 ? pageId.substring(0, slash) : "";
+            return new PageRow(pageId, title, output, packOffset, packLength, directory, difficulty, complexityScore,
+                    confidence, confidenceScore, forms, fields, outputs, frames, navigationTargets,
+                    hiddenFields, sessionDependencies, pageDependencies,
+                    new ArrayList<>(controllers), new ArrayList<>(sessionKeys));
+        }
+
+        private static String upper(String value, String fallback) {
+            return value == null ? fallback : value.toUpperCase(Locale.ROOT);
+        }
+    }
+}
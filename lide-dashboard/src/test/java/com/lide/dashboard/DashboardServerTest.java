@@ -0,0 +1,85 @@
+package com.lide.dashboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardServerTest {
+
+    private static final String PAGE_JSON = "{\"pageId\":\"customer/search.jsp\",\"forms\":[]}";
+
+    @TempDir
+    Path tempDir;
+
+    private DashboardServer server;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(tempDir.resolve("summary.json"), """
+                {
+                  "pageCount": 1,
+                  "pages": [
+                    {"pageId": "customer/search.jsp", "output": "customer/search.json", "forms": 0, "fields": 0,
+                     "confidence": "HIGH", "confidenceScore": 0.9}
+                  ]
+                }
+                """);
+        Files.createDirectories(tempDir.resolve("customer"));
+        Files.writeString(tempDir.resolve("customer/search.json"), PAGE_JSON);
+        server = new DashboardServer(ResultsIndex.load(tempDir));
+        server.start("127.0.0.1", 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void answersHeadRequestsWithHeadersOnly() throws Exception {
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(log, true, StandardCharsets.UTF_8));
+        try {
+            HttpResponse<byte[]> head = send("HEAD", "/api/pages/customer%2Fsearch.jsp");
+            assertEquals(200, head.statusCode());
+            assertEquals(String.valueOf(PAGE_JSON.length()), head.headers().firstValue("Content-Length").orElse(null));
+            assertTrue(head.headers().firstValue("ETag").isPresent());
+            assertEquals(0, head.body().length);
+
+            HttpResponse<byte[]> list = send("HEAD", "/api/pages");
+            assertEquals(200, list.statusCode());
+            assertEquals(0, list.body().length);
+
+            // The next exchange on the connection starts only once the HEAD handlers have finished.
+            HttpResponse<byte[]> get = send("GET", "/api/pages/customer%2Fsearch.jsp");
+            assertEquals(PAGE_JSON, new String(get.body(), StandardCharsets.UTF_8));
+        } finally {
+            System.setErr(originalErr);
+        }
+        assertFalse(log.toString(StandardCharsets.UTF_8).contains("Failed to serve"), log.toString(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<byte[]> send(String method, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
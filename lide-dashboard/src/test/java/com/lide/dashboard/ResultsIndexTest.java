@@ -0,0 +1,112 @@
+package com.lide.dashboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultsIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ResultsIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(tempDir.resolve("summary.json"), """
+                {
+                  "generatedAt": "2024-01-01T00:00:00Z",
+                  "pageCount": 3,
+                  "pages": [
+                    {"pageId": "admin/users/list.jsp", "output": "admin/users/list.json", "forms": 1, "fields": 4,
+                     "confidence": "HIGH", "confidenceScore": 0.9},
+                    {"pageId": "admin/roles.jsp", "output": "admin/roles.json", "forms": 2, "fields": 9,
+                     "confidence": "LOW", "confidenceScore": 0.2},
+                    {"pageId": "customer/search.jsp", "output": "customer/search.json", "forms": 1, "fields": 3,
+                     "confidence": "MEDIUM", "confidenceScore": 0.5}
+                  ]
+                }
+                """);
+        Files.writeString(tempDir.resolve("migration-report.json"), """
+                {
+                  "generatedAt": "2024-01-01T00:00:01Z",
+                  "totals": {"pages": 3},
+                  "pages": [
+                    {"pageId": "admin/users/list.jsp", "difficulty": "EASY", "complexityScore": 2.0,
+                     "controllerCandidates": ["com.acme.web.UserController"],
+                     "sessionDependenciesDetail": [{"key": "currentUser"}]},
+                    {"pageId": "admin/roles.jsp", "difficulty": "HARD", "complexityScore": 9.5,
+                     "controllerCandidates": ["com.acme.web.RoleController"],
+                     "sessionDependenciesDetail": [{"key": "currentUser"}, {"key": "roleCache"}]},
+                    {"pageId": "customer/search.jsp", "difficulty": "MEDIUM", "complexityScore": 5.0,
+                     "controllerCandidates": [], "sessionDependenciesDetail": []}
+                  ]
+                }
+                """);
+        index = ResultsIndex.load(tempDir);
+    }
+
+    @Test
+    void mergesSummaryAndReportEntries() {
+        assertEquals(3, index.size());
+        assertEquals("2024-01-01T00:00:00Z", index.getGeneratedAt());
+
+        PageRow roles = index.find("admin/roles.jsp");
+        assertEquals("HARD", roles.difficulty());
+        assertEquals("LOW", roles.confidence());
+        assertEquals(9, roles.fields());
+        assertEquals("admin", roles.directory());
+        assertEquals(List.of("currentUser", "roleCache"), roles.sessionKeys());
+    }
+
+    @Test
+    void sortsByComplexityAndPaginates() {
+        ResultsIndex.PageSlice first = index.query(new PageQuery(null, null, null, null, null, null,
+                PageQuery.Sort.COMPLEXITY, 0, 2));
+        assertEquals(3, first.total());
+        assertEquals(List.of("admin/roles.jsp", "customer/search.jsp"), ids(first));
+
+        ResultsIndex.PageSlice second = index.query(new PageQuery(null, null, null, null, null, null,
+                PageQuery.Sort.COMPLEXITY, 2, 2));
+        assertEquals(List.of("admin/users/list.jsp"), ids(second));
+    }
+
+    @Test
+    void intersectsFilters() {
+        ResultsIndex.PageSlice admin = index.query(PageQuery.fromParameters(Map.of("directory", "/admin/")));
+        assertEquals(2, admin.total());
+
+        ResultsIndex.PageSlice session = index.query(PageQuery.fromParameters(
+                Map.of("directory", "admin", "sessionKey", "currentUser", "difficulty", "easy")));
+        assertEquals(List.of("admin/users/list.jsp"), ids(session));
+
+        ResultsIndex.PageSlice controller = index.query(PageQuery.fromParameters(Map.of("controller", "RoleController")));
+        assertEquals(List.of("admin/roles.jsp"), ids(controller));
+
+        ResultsIndex.PageSlice text = index.query(PageQuery.fromParameters(Map.of("q", "SEARCH")));
+        assertEquals(List.of("customer/search.jsp"), ids(text));
+
+        ResultsIndex.PageSlice none = index.query(PageQuery.fromParameters(Map.of("sessionKey", "missing")));
+        assertEquals(0, none.total());
+    }
+
+    @Test
+    void rejectsPageFilesOutsideOutputDirectory() {
+        assertTrue(index.resolvePageFile("admin/roles.jsp").startsWith(index.getOutputDir()));
+        assertNull(index.resolvePageFile("../../etc/passwd"));
+    }
+
+    private List<String> ids(ResultsIndex.PageSlice slice) {
+        return slice.pages().stream().map(PageRow::pageId).collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,13 @@
-import { useCallback, useMemo, useState } from 'react';
+import { useCallback, useEffect, useMemo, useState } from 'react';
 import SchemaLoaderPanel from './components/SchemaLoaderPanel';
 import SchemaList from './components/SchemaList';
 import PageDetail from './components/PageDetail';
+import { PageCache } from './pageCache';
+import { PageFetcher, PageLoader } from './pageLoader';
 import { PageSchema, SchemaSummary, SummaryPageEntry } from './types';
 
+const PREFETCH_NEIGHBOURS = 3;
+
 function joinPaths(base: string, relative: string): string {
   const sanitizedBase = base.replace(/\/+$/, '');
   const sanitizedRelative = relative.replace(/^\/+/, '');
@@ -15,56 +19,112 @@ async function readJsonFile(file: File) {
   return JSON.parse(text);
 }
 
+function outputPathFor(entry: SummaryPageEntry): string {
+  return entry.output ?? `${entry.pageId}.json`;
+}
+
+function packRange(entry: SummaryPageEntry): [number, number] | undefined {
+  if (entry.packOffset === undefined || entry.packLength === undefined) return undefined;
+  return [entry.packOffset, entry.packOffset + entry.packLength];
+}
+
+function parsePackSlice(bytes: ArrayBuffer, [start, end]: [number, number]): PageSchema {
+  return JSON.parse(new TextDecoder().decode(bytes.slice(start, end))) as PageSchema;
+}
+
+function createUrlFetcher(baseUrl: string): PageFetcher {
+  // Fallback for hosts that ignore Range requests: the whole pack is downloaded once and sliced locally.
+  const wholePacks = new Map<string, Promise<ArrayBuffer>>();
+  return async (entry) => {
+    const pageUrl = joinPaths(baseUrl, outputPathFor(entry));
+    const range = packRange(entry);
+    if (!range) {
+      const response = await fetch(pageUrl);
+      if (!response.ok) {
+        throw new Error(`Unable to load ${pageUrl}`);
+      }
+      return (await response.json()) as PageSchema;
+    }
+
+    const cachedPack = wholePacks.get(pageUrl);
+    if (cachedPack) {
+      return parsePackSlice(await cachedPack, range);
+    }
+    const response = await fetch(pageUrl, { headers: { Range: `bytes=${range[0]}-${range[1] - 1}` } });
+    if (!response.ok) {
+      throw new Error(`Unable to load ${pageUrl}`);
+    }
+    if (response.status === 206) {
+      return (await response.json()) as PageSchema;
+    }
+    const whole = response.arrayBuffer();
+    wholePacks.set(pageUrl, whole);
+    return parsePackSlice(await whole, range);
+  };
+}
+
+function createFileFetcher(files: File[]): PageFetcher {
+  // Index once by folder-relative path (without the selected root folder) and by bare name.
+  const byPath = new Map<string, File>();
+  files.forEach((file) => {
+    const relative = file.webkitRelativePath || file.name;
+    byPath.set(relative.substring(relative.indexOf('/') + 1), file);
+    if (!byPath.has(file.name)) {
+      byPath.set(file.name, file);
+    }
+  });
+  return async (entry) => {
+    const output = outputPathFor(entry);
+    const file = byPath.get(output.replace(/^\/+/, '')) ?? byPath.get(output.substring(output.lastIndexOf('/') + 1));
+    if (!file) {
+      throw new Error(`No file found for ${output}`);
+    }
+    const range = packRange(entry);
+    if (range) {
+      return JSON.parse(await file.slice(range[0], range[1]).text()) as PageSchema;
+    }
+    return (await readJsonFile(file)) as PageSchema;
+  };
+}
+
 export default function App() {
   const [summary, setSummary] = useState<SchemaSummary | undefined>();
-  const [pages, setPages] = useState<PageSchema[]>([]);
+  const [loader, setLoader] = useState<PageLoader | undefined>();
   const [loading, setLoading] = useState(false);
+  const [pageLoading, setPageLoading] = useState(false);
   const [error, setError] = useState<string | undefined>();
   const [selectedPageId, setSelectedPageId] = useState<string | undefined>();
+  const [selectedPage, setSelectedPage] = useState<PageSchema | undefined>();
 
-  const summaryPages: SummaryPageEntry[] = useMemo(() => {
-    if (summary?.pages && summary.pages.length > 0) {
-      return summary.pages;
-    }
-    return pages.map((page) => ({ pageId: page.pageId, output: page.pageId }));
-  }, [summary, pages]);
+  const summaryPages: SummaryPageEntry[] = useMemo(() => summary?.pages ?? [], [summary]);
 
-  const fetchSummaryAndPages = useCallback(
-    async (baseUrl: string) => {
-      setLoading(true);
-      setError(undefined);
-      try {
-        const summaryUrl = baseUrl.endsWith('.json') ? baseUrl : joinPaths(baseUrl, 'summary.json');
-        const summaryResponse = await fetch(summaryUrl);
-        if (!summaryResponse.ok) {
-          throw new Error(`Unable to load summary at ${summaryUrl}`);
-        }
-        const summaryJson: SchemaSummary = await summaryResponse.json();
-        const fetchedPages: PageSchema[] = [];
-        if (summaryJson.pages && summaryJson.pages.length > 0) {
-          for (const page of summaryJson.pages) {
-            if (!page.output && !page.pageId) continue;
-            const outputPath = page.output ?? `${page.pageId}.json`;
-            const pageUrl = joinPaths(baseUrl, outputPath);
-            const pageResponse = await fetch(pageUrl);
-            if (!pageResponse.ok) {
-              // Continue loading other pages but note the error
-              console.warn(`Failed to load ${pageUrl}`);
-              continue;
-            }
-            const pageJson: PageSchema = await pageResponse.json();
-            fetchedPages.push(pageJson);
-          }
-        }
-        setSummary(summaryJson);
-        setPages(fetchedPages);
-        setSelectedPageId(fetchedPages[0]?.pageId);
-      } finally {
-        setLoading(false);
+  const pageIndex = useMemo(() => {
+    const index = new Map<string, number>();
+    summaryPages.forEach((page, position) => {
+      if (page.pageId) index.set(page.pageId, position);
+    });
+    return index;
+  }, [summaryPages]);
+
+  const fetchSummary = useCallback(async (baseUrl: string) => {
+    setLoading(true);
+    setError(undefined);
+    try {
+      const summaryUrl = baseUrl.endsWith('.json') ? baseUrl : joinPaths(baseUrl, 'summary.json');
+      const rootUrl = baseUrl.endsWith('.json') ? baseUrl.substring(0, baseUrl.lastIndexOf('/') + 1) || '.' : baseUrl;
+      const summaryResponse = await fetch(summaryUrl);
+      if (!summaryResponse.ok) {
+        throw new Error(`Unable to load summary at ${summaryUrl}`);
       }
-    },
-    [],
-  );
+      const summaryJson: SchemaSummary = await summaryResponse.json();
+      const cache = summaryJson.generatedAt ? await PageCache.open(`${summaryJson.generatedAt}@${summaryUrl}`) : undefined;
+      setLoader(new PageLoader(createUrlFetcher(rootUrl), cache));
+      setSummary(summaryJson);
+      setSelectedPageId(summaryJson.pages?.[0]?.pageId);
+    } finally {
+      setLoading(false);
+    }
+  }, []);
 
   const loadFromFiles = useCallback(async (files: FileList) => {
     setLoading(true);
@@ -72,40 +132,32 @@ export default function App() {
     try {
       const allFiles = Array.from(files);
       const summaryFile = allFiles.find((file) => file.name.toLowerCase() === 'summary.json');
-      let summaryJson: SchemaSummary | undefined;
-      let discoveredPages: PageSchema[] = [];
+      const nextLoader = new PageLoader(createFileFetcher(allFiles));
+      let summaryJson: SchemaSummary;
 
       if (summaryFile) {
         summaryJson = await readJsonFile(summaryFile);
-        const fileMap = new Map<string, File>();
-        allFiles.forEach((f) => fileMap.set(f.webkitRelativePath || f.name, f));
-        if (summaryJson.pages) {
-          for (const entry of summaryJson.pages) {
-            const output = entry.output ?? `${entry.pageId}.json`;
-            if (!output) continue;
-            const matchingFile = Array.from(fileMap.values()).find((file) =>
-              file.name === output || file.webkitRelativePath.endsWith(output),
-            );
-            if (matchingFile) {
-              const json = await readJsonFile(matchingFile);
-              discoveredPages.push(json);
-            }
-          }
-        }
-      }
-
-      if (!summaryJson) {
-        const pagePromises = allFiles
-          .filter((file) => file.name.toLowerCase().endsWith('.json') && file !== summaryFile)
-          .map((file) => readJsonFile(file) as Promise<PageSchema>);
-        discoveredPages = await Promise.all(pagePromises);
+      } else {
+        // Without a summary the page ids are only known after parsing each descriptor once.
+        const pageFiles = allFiles.filter((file) => file.name.toLowerCase().endsWith('.json'));
+        const entries = await Promise.all(
+          pageFiles.map(async (file) => {
+            const page = (await readJsonFile(file)) as PageSchema;
+            const relative = file.webkitRelativePath || file.name;
+            const entry: SummaryPageEntry = {
+              pageId: page.pageId ?? file.name,
+              output: relative.substring(relative.indexOf('/') + 1),
+            };
+            nextLoader.seed(entry, page);
+            return entry;
+          }),
+        );
+        summaryJson = { pageCount: entries.length, pages: entries };
       }
 
-      setSummary(
-        summaryJson ?? { pageCount: discoveredPages.length, pages: discoveredPages.map((p) => ({ pageId: p.pageId })) },
-      );
-      setPages(discoveredPages);
-      setSelectedPageId(discoveredPages[0]?.pageId);
+      setLoader(nextLoader);
+      setSummary(summaryJson);
+      setSelectedPageId(summaryJson.pages?.[0]?.pageId);
     } catch (e) {
       setError((e as Error).message);
     } finally {
@@ -116,15 +168,42 @@ export default function App() {
   const handleLoadFromUrl = useCallback(
     async (baseUrl: string) => {
       try {
-        await fetchSummaryAndPages(baseUrl);
+        await fetchSummary(baseUrl);
       } catch (e) {
         setError((e as Error).message);
       }
     },
-    [fetchSummaryAndPages],
+    [fetchSummary],
   );
 
-  const selectedPage = useMemo(() => pages.find((p) => p.pageId === selectedPageId), [pages, selectedPageId]);
+  useEffect(() => {
+    const position = selectedPageId === undefined ? undefined : pageIndex.get(selectedPageId);
+    if (!loader || position === undefined) {
+      setSelectedPage(undefined);
+      return;
+    }
+    const entry = summaryPages[position];
+    let cancelled = false;
+    setSelectedPage(loader.peek(entry));
+    setPageLoading(true);
+    loader
+      .load(entry)
+      .then((page) => {
+        if (!cancelled) setSelectedPage(page);
+      })
+      .catch((e) => {
+        if (!cancelled) setError((e as Error).message);
+      })
+      .finally(() => {
+        if (!cancelled) setPageLoading(false);
+      });
+    loader.prefetch(
+      summaryPages.slice(Math.max(0, position - PREFETCH_NEIGHBOURS), position + PREFETCH_NEIGHBOURS + 1),
+    );
+    return () => {
+      cancelled = true;
+    };
+  }, [loader, pageIndex, selectedPageId, summaryPages]);
 
   return (
     <div className="app-shell">
@@ -142,6 +221,7 @@ export default function App() {
       <main className="content">
         {error && <div className="alert">{error}</div>}
         {loading && <div className="loader">Loading schemas…</div>}
+        {!loading && pageLoading && !selectedPage && <div className="loader">Loading page…</div>}
         {!loading && <PageDetail page={selectedPage} />}
       </main>
     </div>
@@ -1,3 +1,4 @@
+import { UIEvent, useEffect, useRef, useState } from 'react';
 import { SummaryPageEntry } from '../types';
 
 interface SchemaListProps {
@@ -6,6 +7,11 @@ interface SchemaListProps {
   onSelect: (pageId: string) => void;
 }
 
+// Rows have a fixed height so only the visible window (plus overscan) needs to be rendered.
+const ITEM_HEIGHT = 112;
+const ITEM_GAP = 10;
+const OVERSCAN = 6;
+
 function confidenceTag(confidence?: string) {
   if (!confidence) return 'neutral';
   if (confidence.toUpperCase() === 'HIGH') return 'success';
@@ -14,36 +20,65 @@ function confidenceTag(confidence?: string) {
 }
 
 export function SchemaList({ pages, selectedPageId, onSelect }: SchemaListProps) {
+  const viewportRef = useRef<HTMLDivElement | null>(null);
+  const [scrollTop, setScrollTop] = useState(0);
+  const [viewportHeight, setViewportHeight] = useState(600);
+
+  useEffect(() => {
+    const viewport = viewportRef.current;
+    if (!viewport) return;
+    setViewportHeight(viewport.clientHeight);
+    const observer = new ResizeObserver(() => setViewportHeight(viewport.clientHeight));
+    observer.observe(viewport);
+    return () => observer.disconnect();
+  }, []);
+
+  useEffect(() => {
+    if (viewportRef.current) viewportRef.current.scrollTop = 0;
+    setScrollTop(0);
+  }, [pages]);
+
+  const start = Math.max(0, Math.floor(scrollTop / ITEM_HEIGHT) - OVERSCAN);
+  const end = Math.min(pages.length, Math.ceil((scrollTop + viewportHeight) / ITEM_HEIGHT) + OVERSCAN);
+  const visible = pages.slice(start, end);
+
   return (
     <div className="panel">
-      <h3>Pages</h3>
-      <ul className="page-list">
-        {pages.map((page) => (
-          <li
-            key={page.pageId}
-            className={`page-item ${selectedPageId === page.pageId ? 'active' : ''}`}
-            onClick={() => page.pageId && onSelect(page.pageId)}
-          >
-            <div className="flex-between">
-              <div>
-                <strong>{page.pageId}</strong>
-                <div className="muted small">
-                  {page.forms ?? 0} forms · {page.fields ?? 0} fields · {page.outputs ?? 0} outputs ·{' '}
-                  {page.frames ?? 0} frames{page.frameset ? ' (layout)' : ''} · {page.navigationTargets ?? 0} nav ·{' '}
-                  {page.jsRoutingHints ?? 0} js · {page.crossFrameInteractions ?? 0} xframe · {page.urlParameters ?? 0} params · {page.hiddenFields ?? 0} hidden ·{' '}
-                  {page.sessionDependencies ?? 0} session · {page.pageDependencies ?? 0} deps
+      <h3>Pages ({pages.length})</h3>
+      <div
+        className="page-list-viewport"
+        ref={viewportRef}
+        onScroll={(event: UIEvent<HTMLDivElement>) => setScrollTop(event.currentTarget.scrollTop)}
+      >
+        <ul className="page-list" style={{ position: 'relative', height: pages.length * ITEM_HEIGHT }}>
+          {visible.map((page, offset) => (
+            <li
+              key={page.pageId ?? start + offset}
+              className={`page-item ${selectedPageId === page.pageId ? 'active' : ''}`}
+              style={{ position: 'absolute', top: (start + offset) * ITEM_HEIGHT, height: ITEM_HEIGHT - ITEM_GAP }}
+              onClick={() => page.pageId && onSelect(page.pageId)}
+            >
+              <div className="flex-between">
+                <div>
+                  <strong>{page.pageId}</strong>
+                  <div className="muted small">
+                    {page.forms ?? 0} forms · {page.fields ?? 0} fields · {page.outputs ?? 0} outputs ·{' '}
+                    {page.frames ?? 0} frames{page.frameset ? ' (layout)' : ''} · {page.navigationTargets ?? 0} nav ·{' '}
+                    {page.jsRoutingHints ?? 0} js · {page.crossFrameInteractions ?? 0} xframe · {page.urlParameters ?? 0} params · {page.hiddenFields ?? 0} hidden ·{' '}
+                    {page.sessionDependencies ?? 0} session · {page.pageDependencies ?? 0} deps
+                  </div>
+                </div>
+                <div className={`tag ${confidenceTag(page.confidence)}`}>
+                  {page.confidence ?? 'UNKNOWN'}
                 </div>
               </div>
-              <div className={`tag ${confidenceTag(page.confidence)}`}>
-                {page.confidence ?? 'UNKNOWN'}
-              </div>
-            </div>
-            {page.confidenceScore !== undefined && (
-              <div className="muted small">Confidence score: {page.confidenceScore.toFixed(2)}</div>
-            )}
-          </li>
-        ))}
-      </ul>
+              {page.confidenceScore !== undefined && (
+                <div className="muted small">Confidence score: {page.confidenceScore.toFixed(2)}</div>
+              )}
+            </li>
+          ))}
+        </ul>
+      </div>
     </div>
   );
 }
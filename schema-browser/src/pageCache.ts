@@ -0,0 +1,69 @@
+import { PageSchema } from './types';
+
+const DB_NAME = 'lide-schema-browser';
+const DB_VERSION = 1;
+const STORE_NAME = 'pages';
+
+interface CachedPage {
+  generation: string;
+  pageId: string;
+  page: PageSchema;
+}
+
+function promisify<T>(request: IDBRequest<T>): Promise<T> {
+  return new Promise((resolve, reject) => {
+    request.onsuccess = () => resolve(request.result);
+    request.onerror = () => reject(request.error);
+  });
+}
+
+function openDatabase(): Promise<IDBDatabase> {
+  const request = indexedDB.open(DB_NAME, DB_VERSION);
+  request.onupgradeneeded = () => {
+    if (!request.result.objectStoreNames.contains(STORE_NAME)) {
+      request.result.createObjectStore(STORE_NAME, { keyPath: ['generation', 'pageId'] });
+    }
+  };
+  return promisify(request);
+}
+
+/**
+ * IndexedDB-backed page cache scoped to one analyzer run. Entries written for any other
+ * generation (a different `generatedAt` or base URL) are dropped when the cache is opened.
+ */
+export class PageCache {
+  private constructor(private readonly db: IDBDatabase, private readonly generation: string) {}
+
+  static async open(generation: string): Promise<PageCache | undefined> {
+    if (typeof indexedDB === 'undefined') {
+      return undefined;
+    }
+    try {
+      const cache = new PageCache(await openDatabase(), generation);
+      await cache.prune();
+      return cache;
+    } catch (e) {
+      console.warn('Page cache unavailable', e);
+      return undefined;
+    }
+  }
+
+  async get(pageId: string): Promise<PageSchema | undefined> {
+    const store = this.db.transaction(STORE_NAME, 'readonly').objectStore(STORE_NAME);
+    const record = (await promisify(store.get([this.generation, pageId]))) as CachedPage | undefined;
+    return record?.page;
+  }
+
+  async put(pageId: string, page: PageSchema): Promise<void> {
+    const store = this.db.transaction(STORE_NAME, 'readwrite').objectStore(STORE_NAME);
+    const record: CachedPage = { generation: this.generation, pageId, page };
+    await promisify(store.put(record));
+  }
+
+  private async prune(): Promise<void> {
+    const store = this.db.transaction(STORE_NAME, 'readwrite').objectStore(STORE_NAME);
+    // Compound keys sort by generation first: [gen] precedes every [gen, pageId] and [gen, []] follows them.
+    await promisify(store.delete(IDBKeyRange.upperBound([this.generation], true)));
+    await promisify(store.delete(IDBKeyRange.lowerBound([this.generation, []], true)));
+  }
+}
@@ -0,0 +1,113 @@
+import { PageCache } from './pageCache';
+import { PageSchema, SummaryPageEntry } from './types';
+
+export type PageFetcher = (entry: SummaryPageEntry) => Promise<PageSchema>;
+
+const MAX_CONCURRENT_REQUESTS = 4;
+const MAX_QUEUED_PREFETCHES = 16;
+const MEMORY_CACHE_LIMIT = 200;
+
+export function pageKey(entry: SummaryPageEntry): string {
+  return entry.pageId ?? entry.output ?? '';
+}
+
+/**
+ * Loads page schemas on demand. Requests are de-duplicated, served from a small in-memory LRU
+ * and an optional IndexedDB cache, and run with bounded concurrency; explicit loads jump ahead
+ * of queued prefetches.
+ */
+export class PageLoader {
+  private readonly memory = new Map<string, PageSchema>();
+  private readonly inflight = new Map<string, Promise<PageSchema>>();
+  private readonly urgentQueue: Array<() => void> = [];
+  private readonly prefetchQueue: Array<() => void> = [];
+  private active = 0;
+
+  constructor(private readonly fetcher: PageFetcher, private readonly cache?: PageCache) {}
+
+  peek(entry: SummaryPageEntry): PageSchema | undefined {
+    return this.memory.get(pageKey(entry));
+  }
+
+  load(entry: SummaryPageEntry): Promise<PageSchema> {
+    return this.request(entry, true);
+  }
+
+  prefetch(entries: SummaryPageEntry[]): void {
+    entries.forEach((entry) => {
+      this.request(entry, false).catch(() => undefined);
+    });
+  }
+
+  seed(entry: SummaryPageEntry, page: PageSchema): void {
+    this.remember(pageKey(entry), page);
+  }
+
+  private request(entry: SummaryPageEntry, urgent: boolean): Promise<PageSchema> {
+    const key = pageKey(entry);
+    const cached = this.memory.get(key);
+    if (cached) {
+      this.remember(key, cached);
+      return Promise.resolve(cached);
+    }
+    const pending = this.inflight.get(key);
+    if (pending) {
+      return pending;
+    }
+    if (!urgent && this.prefetchQueue.length >= MAX_QUEUED_PREFETCHES) {
+      return Promise.reject(new Error('Prefetch queue full'));
+    }
+    const promise = this.resolve(key, entry, urgent).finally(() => this.inflight.delete(key));
+    this.inflight.set(key, promise);
+    return promise;
+  }
+
+  private async resolve(key: string, entry: SummaryPageEntry, urgent: boolean): Promise<PageSchema> {
+    const stored = this.cache ? await this.cache.get(key).catch(() => undefined) : undefined;
+    if (stored) {
+      this.remember(key, stored);
+      return stored;
+    }
+    const page = await this.schedule(() => this.fetcher(entry), urgent);
+    this.remember(key, page);
+    this.cache?.put(key, page).catch(() => undefined);
+    return page;
+  }
+
+  private schedule<T>(task: () => Promise<T>, urgent: boolean): Promise<T> {
+    return new Promise<T>((resolve, reject) => {
+      const start = () => {
+        this.active += 1;
+        task()
+          .then(resolve, reject)
+          .finally(() => {
+            this.active -= 1;
+            this.next();
+          });
+      };
+      if (this.active < MAX_CONCURRENT_REQUESTS) {
+        start();
+      } else if (urgent) {
+        this.urgentQueue.push(start);
+      } else {
+        this.prefetchQueue.push(start);
+      }
+    });
+  }
+
+  private next(): void {
+    const task = this.urgentQueue.shift() ?? this.prefetchQueue.shift();
+    task?.();
+  }
+
+  private remember(key: string, page: PageSchema): void {
+    this.memory.delete(key);
+    this.memory.set(key, page);
+    if (this.memory.size > MEMORY_CACHE_LIMIT) {
+      const oldest = this.memory.keys().next().value;
+      if (oldest !== undefined) {
+        this.memory.delete(oldest);
+      }
+    }
+  }
+}
@@ -151,10 +151,15 @@ export interface SummaryPageEntry {
   pageDependencies?: number;
   confidence?: string;
   confidenceScore?: number;
+  packOffset?: number;
+  packLength?: number;
 }
 
 export interface SchemaSummary {
   generatedAt?: string;
   pageCount?: number;
+  outputFormat?: 'files' | 'pack';
+  pack?: string;
+  packIndex?: string;
   pages?: SummaryPageEntry[];
 }